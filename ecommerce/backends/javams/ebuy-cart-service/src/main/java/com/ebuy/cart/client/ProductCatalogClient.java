@@ -0,0 +1,49 @@
+package com.ebuy.cart.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads product data from the product catalog read service.
+ */
+@Component
+public class ProductCatalogClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalogClient.class);
+
+    private final RestClient restClient;
+
+    public ProductCatalogClient(RestClient.Builder builder,
+                                @Value("${app.cart.catalog.base-url}") String baseUrl,
+                                @Value("${app.cart.catalog.connect-timeout-ms:1000}") long connectTimeoutMs,
+                                @Value("${app.cart.catalog.read-timeout-ms:2000}") long readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restClient = builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+    }
+
+    /**
+     * Fetches all requested products in one call. Unknown or deleted products are simply
+     * absent from the result.
+     */
+    public List<ProductSummary> getProducts(Collection<? extends Long> productIds) {
+        logger.debug("Fetching {} products from catalog", productIds.size());
+        String ids = productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        List<ProductSummary> products = restClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/products/bulk").queryParam("ids", ids).build())
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<ProductSummary>>() {});
+        return products != null ? products : List.of();
+    }
+}
@@ -0,0 +1,34 @@
+package com.ebuy.cart.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * The subset of the catalog's product representation the cart needs for pricing.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductSummary {
+    private Long productId;
+    private String name;
+    private String imageUrl;
+    private BigDecimal price;
+    private BigDecimal discountedPrice;
+
+    public ProductSummary() {}
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getDiscountedPrice() { return discountedPrice; }
+    public void setDiscountedPrice(BigDecimal discountedPrice) { this.discountedPrice = discountedPrice; }
+}
@@ -0,0 +1,172 @@
+package com.ebuy.cart.concurrency;
+
+import com.ebuy.cart.engine.CartKey;
+import com.ebuy.cart.exception.CartBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes mutations per cart so concurrent requests for the same owner (two tabs, double
+ * clicks) queue up instead of colliding on {@code row_version}. Carts are spread over a fixed
+ * set of fair lock stripes; different carts only wait on each other when they share a stripe.
+ *
+ * <p>Must be entered outside any transaction, so a queued request does not hold a database
+ * connection while it waits.
+ */
+@Component
+public class CartMutationExecutor {
+
+    private static final int MAX_OWNER_ATTEMPTS = 3;
+
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMs;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter timeouts;
+    private final Counter ownerChanges;
+
+    public CartMutationExecutor(MeterRegistry meterRegistry,
+                                @Value("${app.cart.mutation.stripes:256}") int stripeCount,
+                                @Value("${app.cart.mutation.lock-timeout-ms:5000}") long lockTimeoutMs) {
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.lockTimeoutMs = lockTimeoutMs;
+
+        Gauge.builder("cart.mutation.queue.depth", queued, AtomicInteger::get)
+                .description("Cart mutations waiting for their cart to become free")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("cart.mutation.wait")
+                .description("Time a cart mutation waited for earlier mutations of the same cart")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("cart.mutation.timeouts")
+                .description("Cart mutations rejected because the cart stayed busy")
+                .register(meterRegistry);
+        this.ownerChanges = Counter.builder("cart.mutation.owner.changes")
+                .description("Line mutations retried because the line changed cart while they waited")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(CartKey key, Supplier<T> mutation) {
+        ReentrantLock lock = stripeFor(key);
+        acquire(lock);
+        try {
+            return mutation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void execute(CartKey key, Runnable mutation) {
+        execute(key, () -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a mutation of a single cart line under the lock of the cart that owns it. The owner
+     * is looked up before waiting and can change meanwhile (a merge moves session lines to the
+     * user), so it is looked up again once the lock is held and the call moves to the new
+     * owner's stripe if needed.
+     */
+    public <T> T executeForLine(Supplier<CartKey> owner, Supplier<T> mutation) {
+        CartKey key = owner.get();
+        for (int attempt = 1; ; attempt++) {
+            ReentrantLock lock = stripeFor(key);
+            acquire(lock);
+            try {
+                CartKey current = owner.get();
+                if (stripeFor(current) == lock) {
+                    return mutation.get();
+                }
+                key = current;
+            } finally {
+                lock.unlock();
+            }
+            ownerChanges.increment();
+            if (attempt == MAX_OWNER_ATTEMPTS) {
+                throw new CartBusyException("Cart item keeps moving between carts, please retry");
+            }
+        }
+    }
+
+    public void executeForLine(Supplier<CartKey> owner, Runnable mutation) {
+        executeForLine(owner, () -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a mutation that touches two carts (session to user merge). Stripes are taken in
+     * index order so two such calls can never deadlock.
+     */
+    public void execute(CartKey first, CartKey second, Runnable mutation) {
+        int a = stripeIndex(first);
+        int b = stripeIndex(second);
+        if (a == b) {
+            execute(first, mutation);
+            return;
+        }
+        ReentrantLock outer = stripes[Math.min(a, b)];
+        ReentrantLock inner = stripes[Math.max(a, b)];
+        acquire(outer);
+        try {
+            acquire(inner);
+            try {
+                mutation.run();
+            } finally {
+                inner.unlock();
+            }
+        } finally {
+            outer.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            // Timed tryLock honours fairness, unlike the untimed one
+            acquired = lock.tryLock(0, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                queued.incrementAndGet();
+                try {
+                    acquired = lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS);
+                } finally {
+                    queued.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CartBusyException("Interrupted while waiting for cart", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            timeouts.increment();
+            throw new CartBusyException("Cart is busy with another request, please retry");
+        }
+    }
+
+    private ReentrantLock stripeFor(CartKey key) {
+        return stripes[stripeIndex(key)];
+    }
+
+    int stripeIndex(CartKey key) {
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), stripes.length);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ebuy.cart.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CartEngineProperties.class)
+public class CartEngineConfig {
+    // Engine beans are conditional on app.cart.engine.enabled
+}
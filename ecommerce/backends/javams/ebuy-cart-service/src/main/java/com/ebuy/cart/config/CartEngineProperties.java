@@ -0,0 +1,58 @@
+package com.ebuy.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-process cart engine ({@code app.cart.engine.*}). The engine is off by
+ * default; when disabled every cart operation goes straight to Postgres.
+ */
+@ConfigurationProperties(prefix = "app.cart.engine")
+public class CartEngineProperties {
+
+    private boolean enabled = false;
+
+    /** Upper bound on cart aggregates held in memory across all stripes. */
+    private int maxEntries = 100_000;
+
+    /** Number of independently locked segments of the store. */
+    private int stripes = 64;
+
+    /** Delay between write-behind flush runs. */
+    private long flushIntervalMs = 500;
+
+    /** Rows per JDBC batch when flushing dirty lines. */
+    private int flushBatchSize = 25;
+
+    /** Age after which a clean resident cart is reloaded from the database; 0 disables. */
+    private long residentTtlMs = 30_000;
+
+    /** Consecutive rejected flushes after which a cart's unsaved changes are dropped. */
+    private int maxFlushAttempts = 5;
+
+    /** How long a cart's discarded changes are kept to be reported to its next request. */
+    private long unsavedNoticeTtlMs = 3_600_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+
+    public long getFlushIntervalMs() { return flushIntervalMs; }
+    public void setFlushIntervalMs(long flushIntervalMs) { this.flushIntervalMs = flushIntervalMs; }
+
+    public int getFlushBatchSize() { return flushBatchSize; }
+    public void setFlushBatchSize(int flushBatchSize) { this.flushBatchSize = flushBatchSize; }
+
+    public long getResidentTtlMs() { return residentTtlMs; }
+    public void setResidentTtlMs(long residentTtlMs) { this.residentTtlMs = residentTtlMs; }
+
+    public int getMaxFlushAttempts() { return maxFlushAttempts; }
+    public void setMaxFlushAttempts(int maxFlushAttempts) { this.maxFlushAttempts = maxFlushAttempts; }
+
+    public long getUnsavedNoticeTtlMs() { return unsavedNoticeTtlMs; }
+    public void setUnsavedNoticeTtlMs(long unsavedNoticeTtlMs) { this.unsavedNoticeTtlMs = unsavedNoticeTtlMs; }
+}
@@ -0,0 +1,10 @@
+package com.ebuy.cart.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Background jobs declare their own @Scheduled intervals
+}
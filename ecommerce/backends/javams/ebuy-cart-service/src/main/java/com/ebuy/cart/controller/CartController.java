@@ -1,16 +1,25 @@
 package com.ebuy.cart.controller;
 
+import com.ebuy.cart.concurrency.CartMutationExecutor;
 import com.ebuy.cart.dto.request.AddToCartRequest;
+import com.ebuy.cart.dto.request.CartBatchRequest;
 import com.ebuy.cart.dto.request.UpdateCartItemRequest;
+import com.ebuy.cart.dto.response.CartBatchResponse;
 import com.ebuy.cart.dto.response.CartItemResponse;
 import com.ebuy.cart.dto.response.CartResponse;
+import com.ebuy.cart.dto.response.PricedCartResponse;
+import com.ebuy.cart.engine.CartKey;
+import com.ebuy.cart.exception.CartItemNotFoundException;
+import com.ebuy.cart.pricing.CartPricingService;
 import com.ebuy.cart.service.CartService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/cart")
@@ -19,42 +28,85 @@ public class CartController {
     private static final Logger logger = LoggerFactory.getLogger(CartController.class);
 
     private final CartService cartService;
+    private final CartPricingService cartPricingService;
+    private final CartMutationExecutor mutationExecutor;
 
-    public CartController(CartService cartService) {
+    public CartController(CartService cartService,
+                          CartPricingService cartPricingService,
+                          CartMutationExecutor mutationExecutor) {
         this.cartService = cartService;
+        this.cartPricingService = cartPricingService;
+        this.mutationExecutor = mutationExecutor;
     }
 
     @GetMapping
     public ResponseEntity<CartResponse> getCart(
             @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) String sessionId) {
+            @RequestParam(required = false) String sessionId,
+            WebRequest webRequest) {
 
         logger.debug("GET /cart - userId: {}, sessionId: {}", userId, sessionId);
+
+        // Validate against the cart fingerprint before loading any items
+        String eTag = cartService.getCartVersion(userId, sessionId).toETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
         CartResponse cart = cartService.getCart(userId, sessionId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(cart);
+    }
+
+    @GetMapping("/priced")
+    public ResponseEntity<PricedCartResponse> getPricedCart(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String sessionId) {
+
+        logger.debug("GET /cart/priced - userId: {}, sessionId: {}", userId, sessionId);
+        PricedCartResponse cart = cartPricingService.getPricedCart(userId, sessionId);
         return ResponseEntity.ok(cart);
     }
 
     @PostMapping("/items")
     public ResponseEntity<CartItemResponse> addToCart(@Valid @RequestBody AddToCartRequest request) {
         logger.debug("POST /cart/items - {}", request.getProductId());
-        CartItemResponse response = cartService.addToCart(request);
+        CartItemResponse response = mutationExecutor.execute(
+                CartKey.of(request.getUserId(), request.getSessionId()),
+                () -> cartService.addToCart(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/items:batch")
+    public ResponseEntity<CartBatchResponse> applyBatch(@Valid @RequestBody CartBatchRequest request) {
+        logger.debug("POST /cart/items:batch - {} operations", request.getOperations().size());
+        CartBatchResponse response = mutationExecutor.execute(
+                CartKey.of(request.getUserId(), request.getSessionId()),
+                () -> cartService.applyBatch(request));
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/items/{cartItemId}")
     public ResponseEntity<CartItemResponse> updateCartItem(
             @PathVariable Long cartItemId,
             @Valid @RequestBody UpdateCartItemRequest request) {
 
         logger.debug("PUT /cart/items/{} - quantity: {}", cartItemId, request.getQuantity());
-        CartItemResponse response = cartService.updateCartItem(cartItemId, request);
+        CartItemResponse response = mutationExecutor.executeForLine(
+                () -> ownerOf(cartItemId),
+                () -> cartService.updateCartItem(cartItemId, request));
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/items/{cartItemId}")
     public ResponseEntity<Void> removeFromCart(@PathVariable Long cartItemId) {
         logger.debug("DELETE /cart/items/{}", cartItemId);
-        cartService.removeFromCart(cartItemId);
+        mutationExecutor.executeForLine(() -> ownerOf(cartItemId), () -> cartService.removeFromCart(cartItemId));
         return ResponseEntity.noContent().build();
     }
 
@@ -64,7 +116,7 @@ public class CartController {
             @RequestParam(required = false) String sessionId) {
 
         logger.debug("DELETE /cart - userId: {}, sessionId: {}", userId, sessionId);
-        cartService.clearCart(userId, sessionId);
+        mutationExecutor.execute(CartKey.of(userId, sessionId), () -> cartService.clearCart(userId, sessionId));
         return ResponseEntity.noContent().build();
     }
 
@@ -74,7 +126,13 @@ public class CartController {
             @RequestParam Long userId) {
 
         logger.debug("POST /cart/merge - sessionId: {}, userId: {}", sessionId, userId);
-        cartService.mergeSessionCartToUser(sessionId, userId);
+        mutationExecutor.execute(CartKey.ofSession(sessionId), CartKey.ofUser(userId),
+                () -> cartService.mergeSessionCartToUser(sessionId, userId));
         return ResponseEntity.ok().build();
     }
+
+    private CartKey ownerOf(Long cartItemId) {
+        return cartService.findCartOwner(cartItemId)
+                .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.ebuy.cart.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+public class CartBatchOperation {
+
+    public enum Type { ADD, UPDATE, REMOVE }
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    // ADD
+    private Long productId;
+
+    // UPDATE, REMOVE
+    private Long cartItemId;
+
+    // ADD, UPDATE
+    private Integer quantity;
+
+    public CartBatchOperation() {}
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Long getCartItemId() { return cartItemId; }
+    public void setCartItemId(Long cartItemId) { this.cartItemId = cartItemId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+}
@@ -0,0 +1,27 @@
+package com.ebuy.cart.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CartBatchRequest {
+    private Long userId;
+    private String sessionId;
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 100, message = "A batch may contain at most 100 operations")
+    private List<@Valid CartBatchOperation> operations;
+
+    public CartBatchRequest() {}
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public List<CartBatchOperation> getOperations() { return operations; }
+    public void setOperations(List<CartBatchOperation> operations) { this.operations = operations; }
+}
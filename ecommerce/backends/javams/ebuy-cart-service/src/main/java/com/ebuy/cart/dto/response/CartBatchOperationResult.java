@@ -0,0 +1,49 @@
+package com.ebuy.cart.dto.response;
+
+import com.ebuy.cart.dto.request.CartBatchOperation;
+
+public class CartBatchOperationResult {
+
+    public enum Status { SUCCESS, FAILED }
+
+    private int index;
+    private CartBatchOperation.Type type;
+    private Status status;
+    private CartItemResponse item;
+    private String message;
+
+    public CartBatchOperationResult() {}
+
+    public CartBatchOperationResult(int index, CartBatchOperation.Type type, Status status,
+                                    CartItemResponse item, String message) {
+        this.index = index;
+        this.type = type;
+        this.status = status;
+        this.item = item;
+        this.message = message;
+    }
+
+    public static CartBatchOperationResult success(int index, CartBatchOperation.Type type, CartItemResponse item) {
+        return new CartBatchOperationResult(index, type, Status.SUCCESS, item, null);
+    }
+
+    public static CartBatchOperationResult failure(int index, CartBatchOperation.Type type, String message) {
+        return new CartBatchOperationResult(index, type, Status.FAILED, null, message);
+    }
+
+    // Getters and setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public CartBatchOperation.Type getType() { return type; }
+    public void setType(CartBatchOperation.Type type) { this.type = type; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public CartItemResponse getItem() { return item; }
+    public void setItem(CartItemResponse item) { this.item = item; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,29 @@
+package com.ebuy.cart.dto.response;
+
+import java.util.List;
+
+public class CartBatchResponse {
+    private List<CartBatchOperationResult> results;
+    private int succeeded;
+    private int failed;
+
+    public CartBatchResponse() {}
+
+    public CartBatchResponse(List<CartBatchOperationResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() == CartBatchOperationResult.Status.SUCCESS)
+                .count();
+        this.failed = results.size() - succeeded;
+    }
+
+    // Getters and setters
+    public List<CartBatchOperationResult> getResults() { return results; }
+    public void setResults(List<CartBatchOperationResult> results) { this.results = results; }
+
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+}
@@ -0,0 +1,46 @@
+package com.ebuy.cart.dto.response;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Cheap fingerprint of a cart's active lines: line count, sum of row versions and newest
+ * modification time. Any add, change or removal moves at least one of them, so it is used
+ * as the strong ETag of {@code GET /cart}.
+ */
+public final class CartVersion {
+
+    private final long itemCount;
+    private final long versionSum;
+    private final Instant lastModified;
+
+    public CartVersion(Long itemCount, Long versionSum, Instant lastModified) {
+        this.itemCount = itemCount != null ? itemCount : 0;
+        this.versionSum = versionSum != null ? versionSum : 0;
+        this.lastModified = lastModified;
+    }
+
+    public static CartVersion of(Collection<CartItemResponse> items) {
+        long versionSum = 0;
+        Instant lastModified = null;
+        for (CartItemResponse item : items) {
+            versionSum += item.getRowVersion() != null ? item.getRowVersion() : 0;
+            if (item.getModifiedAt() != null && (lastModified == null || item.getModifiedAt().isAfter(lastModified))) {
+                lastModified = item.getModifiedAt();
+            }
+        }
+        return new CartVersion((long) items.size(), versionSum, lastModified);
+    }
+
+    public String toETag() {
+        long modifiedMicros = lastModified != null
+                ? lastModified.getEpochSecond() * 1_000_000 + lastModified.getNano() / 1_000
+                : 0;
+        return "\"" + Long.toHexString(itemCount) + "-" + Long.toHexString(versionSum)
+                + "-" + Long.toHexString(modifiedMicros) + "\"";
+    }
+
+    public long getItemCount() { return itemCount; }
+    public long getVersionSum() { return versionSum; }
+    public Instant getLastModified() { return lastModified; }
+}
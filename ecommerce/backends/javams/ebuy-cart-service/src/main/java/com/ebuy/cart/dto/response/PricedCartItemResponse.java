@@ -0,0 +1,59 @@
+package com.ebuy.cart.dto.response;
+
+import java.math.BigDecimal;
+
+public class PricedCartItemResponse {
+    private Long cartItemId;
+    private Long productId;
+    private String productName;
+    private String imageUrl;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal effectivePrice;
+    private BigDecimal lineTotal;
+    private boolean priceAvailable;
+
+    public PricedCartItemResponse() {}
+
+    public PricedCartItemResponse(Long cartItemId, Long productId, String productName, String imageUrl,
+                                  Integer quantity, BigDecimal unitPrice, BigDecimal effectivePrice,
+                                  BigDecimal lineTotal, boolean priceAvailable) {
+        this.cartItemId = cartItemId;
+        this.productId = productId;
+        this.productName = productName;
+        this.imageUrl = imageUrl;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.effectivePrice = effectivePrice;
+        this.lineTotal = lineTotal;
+        this.priceAvailable = priceAvailable;
+    }
+
+    // Getters and setters
+    public Long getCartItemId() { return cartItemId; }
+    public void setCartItemId(Long cartItemId) { this.cartItemId = cartItemId; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+
+    public BigDecimal getEffectivePrice() { return effectivePrice; }
+    public void setEffectivePrice(BigDecimal effectivePrice) { this.effectivePrice = effectivePrice; }
+
+    public BigDecimal getLineTotal() { return lineTotal; }
+    public void setLineTotal(BigDecimal lineTotal) { this.lineTotal = lineTotal; }
+
+    public boolean isPriceAvailable() { return priceAvailable; }
+    public void setPriceAvailable(boolean priceAvailable) { this.priceAvailable = priceAvailable; }
+}
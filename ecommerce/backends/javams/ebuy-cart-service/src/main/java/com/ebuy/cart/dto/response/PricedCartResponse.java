@@ -0,0 +1,45 @@
+package com.ebuy.cart.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class PricedCartResponse {
+    private Long userId;
+    private String sessionId;
+    private List<PricedCartItemResponse> items;
+    private Integer totalItems;
+    private BigDecimal subtotal;
+    private boolean complete;
+
+    public PricedCartResponse() {}
+
+    public PricedCartResponse(Long userId, String sessionId, List<PricedCartItemResponse> items,
+                              Integer totalItems, BigDecimal subtotal, boolean complete) {
+        this.userId = userId;
+        this.sessionId = sessionId;
+        this.items = items;
+        this.totalItems = totalItems;
+        this.subtotal = subtotal;
+        this.complete = complete;
+    }
+
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public List<PricedCartItemResponse> getItems() { return items; }
+    public void setItems(List<PricedCartItemResponse> items) { this.items = items; }
+
+    public Integer getTotalItems() { return totalItems; }
+    public void setTotalItems(Integer totalItems) { this.totalItems = totalItems; }
+
+    public BigDecimal getSubtotal() { return subtotal; }
+    public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
+
+    /** False when at least one line could not be priced and is missing from the subtotal. */
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
@@ -0,0 +1,95 @@
+package com.ebuy.cart.engine;
+
+import com.ebuy.cart.model.entity.CartItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A cart held in memory by the engine: every active line of one owner plus lines whose
+ * changes have not been flushed yet. Not thread-safe on its own; callers go through
+ * {@link CartAggregateStore}, which guards each aggregate with its stripe lock.
+ */
+public class CartAggregate {
+
+    private final CartKey key;
+    private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+    private final long loadedAtNanos = System.nanoTime();
+
+    CartAggregate(CartKey key, List<CartItem> items) {
+        this.key = key;
+        items.forEach(this::put);
+    }
+
+    public CartKey getKey() { return key; }
+
+    long getLoadedAtNanos() { return loadedAtNanos; }
+
+    public List<CartLine> activeLines() {
+        List<CartLine> active = new ArrayList<>(lines.size());
+        for (CartLine line : lines.values()) {
+            if (!line.isDeleted()) {
+                active.add(line);
+            }
+        }
+        return active;
+    }
+
+    public int activeCount() {
+        int count = 0;
+        for (CartLine line : lines.values()) {
+            if (!line.isDeleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Optional<CartLine> findActiveLine(Long cartItemId) {
+        CartLine line = lines.get(cartItemId);
+        return line == null || line.isDeleted() ? Optional.empty() : Optional.of(line);
+    }
+
+    public Optional<CartLine> findActiveLineByProduct(Long productId) {
+        for (CartLine line : lines.values()) {
+            if (!line.isDeleted() && line.getProductId().equals(productId)) {
+                return Optional.of(line);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adopts a row read from the database, keeping whichever copy has the newer row version.
+     */
+    CartLine put(CartItem item) {
+        CartLine current = lines.get(item.getCartItemId());
+        if (current != null && current.getRowVersion() >= item.getRowVersion()) {
+            return current;
+        }
+        CartLine line = new CartLine(item);
+        lines.put(line.getCartItemId(), line);
+        return line;
+    }
+
+    void remove(Long cartItemId) {
+        lines.remove(cartItemId);
+    }
+
+    Collection<CartLine> lines() {
+        return lines.values();
+    }
+
+    boolean hasDirtyLines() {
+        for (CartLine line : lines.values()) {
+            if (line.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,413 @@
+package com.ebuy.cart.engine;
+
+import com.ebuy.cart.config.CartEngineProperties;
+import com.ebuy.cart.model.entity.CartItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded, lock-striped home of the cart aggregates. Each stripe is an access-ordered map
+ * guarded by its own lock, so carts in different stripes never contend. When a stripe is
+ * full the least recently used cart is dropped; carts with unflushed changes, or with a
+ * flush in flight that may still fail and hand its changes back, are parked until the
+ * write-behind flusher has persisted them.
+ *
+ * <p>At most one flush per cart is in flight: a line's expected {@code row_version} only
+ * advances once its flush has committed, so a second drain of the same cart before then
+ * would be rejected by the database as a conflict. Clean carts older than
+ * {@code app.cart.engine.resident-ttl-ms} are reloaded on their next access so rows changed
+ * by other instances or removed by the purger are picked up.
+ *
+ * <p>A cart whose changes are dropped by a row version conflict or a quarantined flush is
+ * remembered until its next request takes the notice through {@link #takeUnsaved}, so the
+ * caller learns that acknowledged edits were lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cart.engine", name = "enabled", havingValue = "true")
+public class CartAggregateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartAggregateStore.class);
+
+    private final Stripe[] stripes;
+    private final Map<Long, CartKey> owners = new ConcurrentHashMap<>();
+    private final Map<CartKey, CartAggregate> evictedDirty = new ConcurrentHashMap<>();
+    private final Map<CartKey, Long> dirtySince = new ConcurrentHashMap<>();
+    private final Set<CartKey> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<CartKey, Long> unsavedSince = new ConcurrentHashMap<>();
+    private final long residentTtlNanos;
+    private final long unsavedNoticeTtlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CartAggregateStore(CartEngineProperties properties, MeterRegistry meterRegistry) {
+        int stripeCount = Math.max(1, properties.getStripes());
+        int capacity = Math.max(1, properties.getMaxEntries() / stripeCount);
+        this.residentTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getResidentTtlMs()));
+        this.unsavedNoticeTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getUnsavedNoticeTtlMs()));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+
+        this.hits = Counter.builder("cart.engine.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cart.engine.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cart.engine.entries", this, CartAggregateStore::size)
+                .description("Cart aggregates held in memory")
+                .register(meterRegistry);
+        Gauge.builder("cart.engine.dirty.entries", dirtySince, Map::size)
+                .description("Carts with changes not yet flushed to the database")
+                .register(meterRegistry);
+        Gauge.builder("cart.engine.flush.lag", this, CartAggregateStore::oldestDirtyAgeSeconds)
+                .description("Age of the oldest unflushed cart change")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} against the cart for {@code key} while holding its stripe lock,
+     * loading the cart with {@code loader} first if it is not resident. The loader runs
+     * outside the lock so a slow query never blocks other carts in the same stripe. A clean
+     * cart past its resident TTL counts as a miss and is reloaded.
+     */
+    public <T> T apply(CartKey key, Function<CartKey, List<CartItem>> loader, Function<CartAggregate, T> action) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            CartAggregate aggregate = stripe.carts.get(key);
+            if (aggregate != null && !isExpired(aggregate)) {
+                hits.increment();
+                return action.apply(aggregate);
+            }
+            if (aggregate != null) {
+                stripe.carts.remove(key);
+                forgetOwners(aggregate);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        misses.increment();
+        CartAggregate parked = evictedDirty.get(key);
+        List<CartItem> items = parked == null ? loader.apply(key) : List.of();
+
+        stripe.lock.lock();
+        try {
+            CartAggregate aggregate = stripe.carts.get(key);
+            if (aggregate == null) {
+                aggregate = parked != null ? parked : new CartAggregate(key, items);
+                for (CartLine line : aggregate.lines()) {
+                    owners.put(line.getCartItemId(), key);
+                }
+                stripe.carts.put(key, aggregate);
+            }
+            return action.apply(aggregate);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cart that owns {@code cartItemId} if that cart is held by the engine.
+     */
+    public Optional<CartKey> ownerOf(Long cartItemId) {
+        return Optional.ofNullable(owners.get(cartItemId));
+    }
+
+    /**
+     * Adds or refreshes a line that was written straight to the database. Must be called
+     * from inside {@link #apply}.
+     */
+    public CartLine register(CartAggregate aggregate, CartItem item) {
+        CartLine line = aggregate.put(item);
+        owners.put(line.getCartItemId(), aggregate.getKey());
+        return line;
+    }
+
+    public void updateQuantity(CartAggregate aggregate, CartLine line, int quantity) {
+        line.setQuantity(quantity);
+        markDirty(aggregate, line);
+    }
+
+    public void markDeleted(CartAggregate aggregate, CartLine line) {
+        line.markDeleted();
+        markDirty(aggregate, line);
+    }
+
+    /**
+     * Drops a cart from memory, including any changes that have not been flushed.
+     */
+    public void discard(CartKey key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            CartAggregate aggregate = stripe.carts.remove(key);
+            CartAggregate parked = evictedDirty.remove(key);
+            dirtySince.remove(key);
+            forgetOwners(aggregate != null ? aggregate : parked);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether changes to the cart were dropped without being saved since the last
+     * call, clearing the notice.
+     */
+    public boolean takeUnsaved(CartKey key) {
+        return !unsavedSince.isEmpty() && unsavedSince.remove(key) != null;
+    }
+
+    public boolean hasUnsaved() {
+        return !unsavedSince.isEmpty();
+    }
+
+    /**
+     * Forgets notices of dropped changes older than {@code app.cart.engine.unsaved-notice-ttl-ms},
+     * for carts that were never requested again.
+     */
+    void expireUnsaved() {
+        long cutoff = System.nanoTime() - unsavedNoticeTtlNanos;
+        unsavedSince.values().removeIf(since -> since - cutoff < 0);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.carts.size();
+        }
+        return size;
+    }
+
+    Set<CartKey> dirtyKeys() {
+        return Set.copyOf(dirtySince.keySet());
+    }
+
+    /**
+     * Takes the pending changes of one cart and marks its lines clean. Returns empty when
+     * there is nothing to write. While an earlier flush of the same cart is still in flight
+     * this either waits for it ({@code awaitInFlight}) or returns empty and leaves the cart
+     * dirty for the next run. A non-empty result must be handed back through
+     * {@link #complete}, {@link #restore} or {@link #quarantine}.
+     */
+    Optional<FlushBatch> drain(CartKey key, boolean awaitInFlight) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            while (inFlight.contains(key)) {
+                if (!awaitInFlight) {
+                    return Optional.empty();
+                }
+                stripe.flushed.awaitUninterruptibly();
+            }
+
+            Long since = dirtySince.remove(key);
+            CartAggregate aggregate = stripe.carts.get(key);
+            if (aggregate == null) {
+                aggregate = evictedDirty.get(key);
+            }
+            if (aggregate == null) {
+                return Optional.empty();
+            }
+
+            List<PendingWrite> writes = new ArrayList<>();
+            for (CartLine line : aggregate.lines()) {
+                if (line.isDirty()) {
+                    writes.add(new PendingWrite(line, line.getQuantity(), line.isDeleted(),
+                            line.getDeletedAt(), line.getRowVersion()));
+                    line.setDirty(false);
+                }
+            }
+            if (writes.isEmpty()) {
+                releaseParked(stripe, key, aggregate);
+                return Optional.empty();
+            }
+            inFlight.add(key);
+            return Optional.of(new FlushBatch(aggregate, writes, since != null ? since : System.nanoTime()));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the outcome of a flush. Rows the database accepted move to their new row
+     * version; if any row was changed behind our back the cart is dropped so the next
+     * read reloads the database state, and the loss is kept for {@link #takeUnsaved}.
+     */
+    void complete(FlushBatch batch, boolean[] applied) {
+        CartAggregate aggregate = batch.aggregate();
+        CartKey key = aggregate.getKey();
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            boolean conflict = false;
+            for (int i = 0; i < applied.length; i++) {
+                PendingWrite write = batch.writes().get(i);
+                if (!applied[i]) {
+                    conflict = true;
+                    continue;
+                }
+                write.line().setRowVersion(write.expectedVersion() + 1);
+                if (write.deleted()) {
+                    aggregate.remove(write.line().getCartItemId());
+                    owners.remove(write.line().getCartItemId());
+                }
+            }
+
+            if (conflict) {
+                logger.warn("Row version conflict while flushing cart {}, reloading from database", key);
+                dropUnsaved(stripe, key, aggregate);
+            } else if (!aggregate.hasDirtyLines()) {
+                releaseParked(stripe, key, aggregate);
+            }
+        } finally {
+            finishFlight(stripe, key);
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Puts the changes of a failed flush back so the next run retries them. A cart evicted
+     * while the flush was in flight is still parked, so the next drain finds it.
+     */
+    void restore(FlushBatch batch) {
+        CartKey key = batch.aggregate().getKey();
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            for (PendingWrite write : batch.writes()) {
+                write.line().setDirty(true);
+            }
+            dirtySince.merge(key, batch.dirtySinceNanos(), Math::min);
+        } finally {
+            finishFlight(stripe, key);
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Gives up on the changes of a cart the database keeps rejecting. The cart is dropped,
+     * including changes made since the drain, so the next read reloads the database state
+     * instead of serving edits that will never be persisted; the loss is kept for
+     * {@link #takeUnsaved}.
+     */
+    void quarantine(FlushBatch batch) {
+        CartAggregate aggregate = batch.aggregate();
+        CartKey key = aggregate.getKey();
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            dropUnsaved(stripe, key, aggregate);
+        } finally {
+            finishFlight(stripe, key);
+            stripe.lock.unlock();
+        }
+    }
+
+    private void dropUnsaved(Stripe stripe, CartKey key, CartAggregate aggregate) {
+        unsavedSince.put(key, System.nanoTime());
+        if (stripe.carts.get(key) == aggregate) {
+            stripe.carts.remove(key);
+        }
+        evictedDirty.remove(key, aggregate);
+        dirtySince.remove(key);
+        forgetOwners(aggregate);
+    }
+
+    /**
+     * Drops a parked cart once nothing of it is left to write, forgetting its owners unless
+     * it has been brought back into its stripe.
+     */
+    private void releaseParked(Stripe stripe, CartKey key, CartAggregate aggregate) {
+        if (evictedDirty.remove(key, aggregate) && !stripe.carts.containsKey(key)) {
+            forgetOwners(aggregate);
+        }
+    }
+
+    private void finishFlight(Stripe stripe, CartKey key) {
+        inFlight.remove(key);
+        stripe.flushed.signalAll();
+    }
+
+    private boolean isExpired(CartAggregate aggregate) {
+        return residentTtlNanos > 0
+                && System.nanoTime() - aggregate.getLoadedAtNanos() > residentTtlNanos
+                && !aggregate.hasDirtyLines()
+                && !inFlight.contains(aggregate.getKey());
+    }
+
+    private void markDirty(CartAggregate aggregate, CartLine line) {
+        line.setDirty(true);
+        dirtySince.putIfAbsent(aggregate.getKey(), System.nanoTime());
+    }
+
+    private void forgetOwners(CartAggregate aggregate) {
+        if (aggregate == null) {
+            return;
+        }
+        for (CartLine line : aggregate.lines()) {
+            owners.remove(line.getCartItemId(), aggregate.getKey());
+        }
+    }
+
+    private double oldestDirtyAgeSeconds() {
+        long now = System.nanoTime();
+        long oldest = now;
+        for (Long since : dirtySince.values()) {
+            oldest = Math.min(oldest, since);
+        }
+        return (double) (now - oldest) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private Stripe stripeFor(CartKey key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    record PendingWrite(CartLine line, int quantity, boolean deleted, Instant deletedAt, long expectedVersion) {}
+
+    record FlushBatch(CartAggregate aggregate, List<PendingWrite> writes, long dirtySinceNanos) {}
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition flushed = lock.newCondition();
+        private final LinkedHashMap<CartKey, CartAggregate> carts;
+
+        private Stripe(int capacity) {
+            this.carts = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CartKey, CartAggregate> eldest) {
+                    if (size() <= capacity) {
+                        return false;
+                    }
+                    CartAggregate evicted = eldest.getValue();
+                    // drain() marks lines clean before the write, so a cart in flight looks clean
+                    if (evicted.hasDirtyLines() || inFlight.contains(eldest.getKey())) {
+                        evictedDirty.put(eldest.getKey(), evicted);
+                    } else {
+                        forgetOwners(evicted);
+                    }
+                    return true;
+                }
+            };
+        }
+    }
+}
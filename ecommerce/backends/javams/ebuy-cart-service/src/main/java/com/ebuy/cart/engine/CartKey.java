@@ -0,0 +1,60 @@
+package com.ebuy.cart.engine;
+
+import com.ebuy.cart.exception.CartException;
+
+import java.util.Objects;
+
+/**
+ * Identifies a cart by its owner: the user when known, otherwise the anonymous session.
+ */
+public final class CartKey {
+
+    private final Long userId;
+    private final String sessionId;
+
+    private CartKey(Long userId, String sessionId) {
+        this.userId = userId;
+        this.sessionId = sessionId;
+    }
+
+    public static CartKey of(Long userId, String sessionId) {
+        if (userId != null) {
+            return new CartKey(userId, null);
+        }
+        if (sessionId != null) {
+            return new CartKey(null, sessionId);
+        }
+        throw new CartException("Either userId or sessionId must be provided");
+    }
+
+    public static CartKey ofUser(Long userId) {
+        return of(userId, null);
+    }
+
+    public static CartKey ofSession(String sessionId) {
+        return of(null, sessionId);
+    }
+
+    public boolean isUser() { return userId != null; }
+
+    public Long getUserId() { return userId; }
+
+    public String getSessionId() { return sessionId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CartKey other)) return false;
+        return Objects.equals(userId, other.userId) && Objects.equals(sessionId, other.sessionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return userId != null ? Long.hashCode(userId) : sessionId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return userId != null ? "user:" + userId : "session:" + sessionId;
+    }
+}
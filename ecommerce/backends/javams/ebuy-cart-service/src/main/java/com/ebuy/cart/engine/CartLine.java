@@ -0,0 +1,61 @@
+package com.ebuy.cart.engine;
+
+import com.ebuy.cart.dto.response.CartItemResponse;
+import com.ebuy.cart.model.entity.CartItem;
+
+import java.time.Instant;
+
+/**
+ * In-memory copy of one {@code cart.cart_items} row. Only touched while the owning stripe
+ * of {@link CartAggregateStore} is locked.
+ */
+public class CartLine {
+
+    private final Long cartItemId;
+    private final Long productId;
+    private int quantity;
+    private final Instant createdAt;
+    private Instant modifiedAt;
+    private Instant deletedAt;
+    private boolean deleted;
+    private long rowVersion;
+    private boolean dirty;
+
+    CartLine(CartItem item) {
+        this.cartItemId = item.getCartItemId();
+        this.productId = item.getProductId();
+        this.quantity = item.getQuantity();
+        this.createdAt = item.getCreatedAt();
+        this.modifiedAt = item.getModifiedAt();
+        this.rowVersion = item.getRowVersion();
+    }
+
+    void setQuantity(int quantity) {
+        this.quantity = quantity;
+        this.modifiedAt = Instant.now();
+    }
+
+    void markDeleted() {
+        this.deleted = true;
+        this.deletedAt = Instant.now();
+        this.modifiedAt = deletedAt;
+    }
+
+    void setRowVersion(long rowVersion) { this.rowVersion = rowVersion; }
+
+    void setDirty(boolean dirty) { this.dirty = dirty; }
+
+    public Long getCartItemId() { return cartItemId; }
+    public Long getProductId() { return productId; }
+    public int getQuantity() { return quantity; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getModifiedAt() { return modifiedAt; }
+    public Instant getDeletedAt() { return deletedAt; }
+    public boolean isDeleted() { return deleted; }
+    public long getRowVersion() { return rowVersion; }
+    public boolean isDirty() { return dirty; }
+
+    public CartItemResponse toResponse() {
+        return new CartItemResponse(cartItemId, productId, quantity, createdAt, modifiedAt, rowVersion);
+    }
+}
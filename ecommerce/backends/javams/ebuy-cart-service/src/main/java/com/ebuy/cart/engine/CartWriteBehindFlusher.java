@@ -0,0 +1,218 @@
+package com.ebuy.cart.engine;
+
+import com.ebuy.cart.config.CartEngineProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists in-memory cart changes to {@code cart.cart_items} in JDBC batches. Every update is
+ * guarded by the row version the engine last saw, so a row changed by another writer is
+ * reported as a conflict instead of being overwritten.
+ *
+ * <p>A run first writes all dirty carts in one transaction. If the database rejects it, each
+ * cart is retried in its own transaction so one bad row only holds back its own cart; a cart
+ * rejected {@code app.cart.engine.max-flush-attempts} times in a row is quarantined. Failures
+ * that mean the database is unreachable never count towards quarantine.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cart.engine", name = "enabled", havingValue = "true")
+public class CartWriteBehindFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartWriteBehindFlusher.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE cart.cart_items SET quantity = ?, is_deleted = ?, deleted_at = ? " +
+            "WHERE cart_item_id = ? AND row_version = ? AND is_deleted = false";
+
+    private final CartAggregateStore store;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Map<CartKey, Integer> rejectedAttempts = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Timer flushLagTimer;
+    private final Counter rowsFlushed;
+    private final Counter conflicts;
+    private final Counter failures;
+    private final Counter quarantined;
+
+    public CartWriteBehindFlusher(CartAggregateStore store,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  CartEngineProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.store = store;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, properties.getFlushBatchSize());
+        this.maxAttempts = Math.max(1, properties.getMaxFlushAttempts());
+        this.flushTimer = Timer.builder("cart.engine.flush.duration")
+                .description("Time spent writing one flush run")
+                .register(meterRegistry);
+        this.flushLagTimer = Timer.builder("cart.engine.flush.delay")
+                .description("Time between a cart first turning dirty and its changes being written")
+                .register(meterRegistry);
+        this.rowsFlushed = Counter.builder("cart.engine.flush.rows").register(meterRegistry);
+        this.conflicts = Counter.builder("cart.engine.flush.conflicts").register(meterRegistry);
+        this.failures = Counter.builder("cart.engine.flush.failures").register(meterRegistry);
+        this.quarantined = Counter.builder("cart.engine.flush.quarantined")
+                .description("Carts whose unsaved changes were dropped after repeated rejected flushes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.engine.flush-interval-ms:500}")
+    public void flushAll() {
+        List<CartAggregateStore.FlushBatch> batches = new ArrayList<>();
+        Set<CartKey> dirtyKeys = store.dirtyKeys();
+        // Carts dropped since their last rejected flush have nothing left to retry
+        rejectedAttempts.keySet().retainAll(dirtyKeys);
+        store.expireUnsaved();
+        for (CartKey key : dirtyKeys) {
+            store.drain(key, false).ifPresent(batches::add);
+        }
+        if (!batches.isEmpty()) {
+            write(batches);
+        }
+    }
+
+    /**
+     * Writes the pending changes of a single cart synchronously, used before an operation
+     * that goes to the database directly. Waits for a flush of the same cart that is already
+     * running. Returns {@code false} if the write failed and the changes are still pending.
+     */
+    public boolean flush(CartKey key) {
+        return store.drain(key, true)
+                .map(batch -> write(List.of(batch)))
+                .orElse(true);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing {} dirty carts before shutdown", store.dirtyKeys().size());
+        flushAll();
+    }
+
+    private boolean write(List<CartAggregateStore.FlushBatch> batches) {
+        if (batches.size() == 1) {
+            return writeCart(batches.get(0));
+        }
+        try {
+            writeInTransaction(batches);
+            return true;
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (isDatabaseUnavailable(e)) {
+                logger.error("Write-behind flush of {} carts failed, will retry: {}", batches.size(), e.getMessage(), e);
+                batches.forEach(store::restore);
+                return false;
+            }
+            logger.warn("Write-behind flush of {} carts was rejected, retrying cart by cart: {}",
+                    batches.size(), e.getMessage());
+        }
+        boolean written = true;
+        for (CartAggregateStore.FlushBatch batch : batches) {
+            written &= writeCart(batch);
+        }
+        return written;
+    }
+
+    private boolean writeCart(CartAggregateStore.FlushBatch batch) {
+        CartKey key = batch.aggregate().getKey();
+        try {
+            writeInTransaction(List.of(batch));
+            rejectedAttempts.remove(key);
+            return true;
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (isDatabaseUnavailable(e)) {
+                logger.error("Write-behind flush of cart {} failed, will retry: {}", key, e.getMessage(), e);
+                store.restore(batch);
+                return false;
+            }
+            int attempts = rejectedAttempts.merge(key, 1, Integer::sum);
+            if (attempts < maxAttempts) {
+                logger.warn("Write-behind flush of cart {} was rejected ({} of {} attempts), will retry: {}",
+                        key, attempts, maxAttempts, e.getMessage());
+                store.restore(batch);
+                return false;
+            }
+            rejectedAttempts.remove(key);
+            quarantined.increment();
+            logger.error("Write-behind flush of cart {} was rejected {} times, dropping {} unsaved rows: {}",
+                    key, attempts, batch.writes().size(), e.getMessage(), e);
+            store.quarantine(batch);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given carts in one transaction and hands each back to the store. Throws
+     * without touching the store if the transaction fails.
+     */
+    private void writeInTransaction(List<CartAggregateStore.FlushBatch> batches) {
+        List<CartAggregateStore.PendingWrite> writes = new ArrayList<>();
+        batches.forEach(batch -> writes.addAll(batch.writes()));
+
+        long start = System.nanoTime();
+        int[][] counts = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(UPDATE_SQL, writes, batchSize, (ps, write) -> {
+                    ps.setInt(1, write.quantity());
+                    ps.setBoolean(2, write.deleted());
+                    ps.setTimestamp(3, write.deletedAt() != null ? Timestamp.from(write.deletedAt()) : null);
+                    ps.setLong(4, write.line().getCartItemId());
+                    ps.setLong(5, write.expectedVersion());
+                }));
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        int offset = 0;
+        long now = System.nanoTime();
+        for (CartAggregateStore.FlushBatch batch : batches) {
+            boolean[] applied = new boolean[batch.writes().size()];
+            for (int i = 0; i < applied.length; i++) {
+                int index = offset + i;
+                applied[i] = counts[index / batchSize][index % batchSize] != 0;
+                if (!applied[i]) {
+                    conflicts.increment();
+                }
+            }
+            offset += applied.length;
+            store.complete(batch, applied);
+            flushLagTimer.record(now - batch.dirtySinceNanos(), TimeUnit.NANOSECONDS);
+        }
+        rowsFlushed.increment(writes.size());
+        logger.debug("Flushed {} cart rows from {} carts", writes.size(), batches.size());
+    }
+
+    /**
+     * Whether a failure says nothing about the rows themselves: the connection or the
+     * database is gone, or the transaction lost a race and may simply be retried.
+     */
+    private static boolean isDatabaseUnavailable(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof NonTransientDataAccessResourceException;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ebuy.cart.exception;
+
+public class CartBusyException extends CartException {
+    public CartBusyException(String message) {
+        super(message);
+    }
+
+    public CartBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ebuy.cart.exception;
+
+public class CartConflictException extends CartException {
+    public CartConflictException(String message) {
+        super(message);
+    }
+
+    public CartConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -30,6 +30,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(CartBusyException.class)
+    public ResponseEntity<ErrorResponse> handleCartBusy(CartBusyException ex) {
+        logger.warn("Cart busy: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Cart busy",
+                ex.getMessage(),
+                Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(CartConflictException.class)
+    public ResponseEntity<ErrorResponse> handleCartConflict(CartConflictException ex) {
+        logger.warn("Cart conflict: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Cart changes not saved",
+                ex.getMessage(),
+                Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(CartException.class)
     public ResponseEntity<ErrorResponse> handleCartException(CartException ex) {
         logger.error("Cart operation failed: {}", ex.getMessage(), ex);
@@ -0,0 +1,165 @@
+package com.ebuy.cart.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Physically removes cart rows nobody will read again: tombstones older than the retention
+ * period and guest rows whose session was abandoned. Rows are taken in small keyset batches
+ * by {@code cart_item_id}, each batch in its own short statement, skipping rows that are
+ * locked by live traffic. With {@code app.cart.purge.mode=archive} the rows are copied to
+ * {@code cart.cart_items_archive} in the same statement that deletes them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cart.purge", name = "enabled", havingValue = "true")
+public class CartItemPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartItemPurger.class);
+
+    enum Reason {
+        TOMBSTONED("is_deleted = true AND deleted_at < ?"),
+        ABANDONED("is_deleted = false AND user_id IS NULL AND session_id IS NOT NULL AND modified_at < ?");
+
+        private final String predicate;
+
+        Reason(String predicate) {
+            this.predicate = predicate;
+        }
+    }
+
+    private static final String COLUMNS = "cart_item_id, user_id, session_id, product_id, quantity, created_at, " +
+            "modified_at, deleted_at, is_deleted, correlation_id, service_origin, row_version";
+
+    private static final String BATCH_SQL =
+            "WITH batch AS (" +
+            "  SELECT cart_item_id FROM cart.cart_items" +
+            "  WHERE cart_item_id > ? AND %s" +
+            "  ORDER BY cart_item_id LIMIT ?" +
+            "  FOR UPDATE SKIP LOCKED" +
+            "), purged AS (" +
+            "  DELETE FROM cart.cart_items c USING batch b" +
+            "  WHERE c.cart_item_id = b.cart_item_id" +
+            "  RETURNING c.*" +
+            ")%s " +
+            "SELECT (SELECT COUNT(*) FROM batch), COALESCE((SELECT MAX(cart_item_id) FROM batch), 0), " +
+            "(SELECT COUNT(*) FROM %s)";
+
+    private static final String ARCHIVE_CTE =
+            ", archived AS (" +
+            "  INSERT INTO cart.cart_items_archive (" + COLUMNS + ", archive_reason)" +
+            "  SELECT " + COLUMNS + ", ? FROM purged" +
+            "  RETURNING cart_item_id" +
+            ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean archive;
+    private final Duration tombstoneRetention;
+    private final Duration abandonedSessionAge;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxBatchesPerRun;
+    private final Map<Reason, Counter> purgedRows = new EnumMap<>(Reason.class);
+    private final DistributionSummary rowsPerRun;
+    private final Timer runTimer;
+
+    public CartItemPurger(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.cart.purge.mode:delete}") String mode,
+                          @Value("${app.cart.purge.tombstone-retention-days:7}") long tombstoneRetentionDays,
+                          @Value("${app.cart.purge.abandoned-session-days:30}") long abandonedSessionDays,
+                          @Value("${app.cart.purge.batch-size:500}") int batchSize,
+                          @Value("${app.cart.purge.batch-pause-ms:100}") long batchPauseMs,
+                          @Value("${app.cart.purge.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = "archive".equalsIgnoreCase(mode);
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+        this.abandonedSessionAge = Duration.ofDays(abandonedSessionDays);
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        for (Reason reason : Reason.values()) {
+            purgedRows.put(reason, Counter.builder("cart.purge.rows")
+                    .tag("reason", reason.name().toLowerCase())
+                    .tag("mode", archive ? "archive" : "delete")
+                    .register(meterRegistry));
+        }
+        this.rowsPerRun = DistributionSummary.builder("cart.purge.rows.per.run")
+                .description("Cart rows purged by one purge run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("cart.purge.run.duration").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.purge.interval-ms:300000}",
+               initialDelayString = "${app.cart.purge.initial-delay-ms:60000}")
+    public void purge() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        long total = purge(Reason.TOMBSTONED, now.minus(tombstoneRetention))
+                + purge(Reason.ABANDONED, now.minus(abandonedSessionAge));
+
+        int summaries = jdbcTemplate.update(
+                "DELETE FROM cart.cart_summary WHERE item_count = 0 AND modified_at < ?",
+                Timestamp.from(now.minus(abandonedSessionAge)));
+
+        rowsPerRun.record(total);
+        runTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        if (total > 0 || summaries > 0) {
+            logger.info("Cart purge removed {} item rows and {} empty summaries", total, summaries);
+        }
+    }
+
+    private long purge(Reason reason, Instant cutoff) {
+        String sql = String.format(BATCH_SQL, reason.predicate,
+                archive ? ARCHIVE_CTE : "", archive ? "archived" : "purged");
+        long afterId = 0;
+        long purged = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Object[] args = archive
+                    ? new Object[]{afterId, Timestamp.from(cutoff), batchSize, reason.name()}
+                    : new Object[]{afterId, Timestamp.from(cutoff), batchSize};
+            long[] result = jdbcTemplate.queryForObject(sql,
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)}, args);
+
+            purged += result[2];
+            purgedRows.get(reason).increment(result[2]);
+            if (result[0] < batchSize) {
+                break;
+            }
+            afterId = result[1];
+            if (!pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
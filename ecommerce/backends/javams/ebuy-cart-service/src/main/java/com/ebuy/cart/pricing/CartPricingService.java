@@ -0,0 +1,69 @@
+package com.ebuy.cart.pricing;
+
+import com.ebuy.cart.dto.response.CartItemResponse;
+import com.ebuy.cart.dto.response.CartResponse;
+import com.ebuy.cart.dto.response.PricedCartItemResponse;
+import com.ebuy.cart.dto.response.PricedCartResponse;
+import com.ebuy.cart.service.CartService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a cart view with prices, so the frontend does not have to look up every product
+ * on its own. All lines are priced through one {@link ProductPriceCache} lookup.
+ */
+@Service
+public class CartPricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartPricingService.class);
+
+    private final CartService cartService;
+    private final ProductPriceCache productPriceCache;
+
+    public CartPricingService(CartService cartService, ProductPriceCache productPriceCache) {
+        this.cartService = cartService;
+        this.productPriceCache = productPriceCache;
+    }
+
+    public PricedCartResponse getPricedCart(Long userId, String sessionId) {
+        CartResponse cart = cartService.getCart(userId, sessionId);
+        List<CartItemResponse> items = cart.getItems();
+
+        Map<Long, ProductPrice> prices = items.isEmpty()
+                ? Map.of()
+                : productPriceCache.getPrices(items.stream()
+                        .map(CartItemResponse::getProductId)
+                        .collect(Collectors.toSet()));
+
+        List<PricedCartItemResponse> pricedItems = new ArrayList<>(items.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        boolean complete = true;
+        for (CartItemResponse item : items) {
+            ProductPrice price = prices.get(item.getProductId());
+            if (price == null || !price.isAvailable()) {
+                complete = false;
+                pricedItems.add(new PricedCartItemResponse(item.getCartItemId(), item.getProductId(),
+                        price != null ? price.getName() : null, null, item.getQuantity(),
+                        null, null, null, false));
+                continue;
+            }
+            BigDecimal lineTotal = price.getEffectivePrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+            subtotal = subtotal.add(lineTotal);
+            pricedItems.add(new PricedCartItemResponse(item.getCartItemId(), item.getProductId(),
+                    price.getName(), price.getImageUrl(), item.getQuantity(),
+                    price.getUnitPrice(), price.getEffectivePrice(), lineTotal, true));
+        }
+
+        if (!complete) {
+            logger.debug("Cart for userId: {}, sessionId: {} has unpriced lines", userId, sessionId);
+        }
+        return new PricedCartResponse(userId, sessionId, pricedItems, cart.getTotalItems(), subtotal, complete);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ebuy.cart.pricing;
+
+import com.ebuy.cart.client.ProductSummary;
+
+import java.math.BigDecimal;
+
+/**
+ * Cached price of one product. {@code available} is false for products the catalog does
+ * not know (deleted or never existed), so those are not looked up on every render either.
+ */
+public final class ProductPrice {
+
+    private final Long productId;
+    private final String name;
+    private final String imageUrl;
+    private final BigDecimal unitPrice;
+    private final BigDecimal effectivePrice;
+    private final boolean available;
+
+    private ProductPrice(Long productId, String name, String imageUrl,
+                         BigDecimal unitPrice, BigDecimal effectivePrice, boolean available) {
+        this.productId = productId;
+        this.name = name;
+        this.imageUrl = imageUrl;
+        this.unitPrice = unitPrice;
+        this.effectivePrice = effectivePrice;
+        this.available = available;
+    }
+
+    public static ProductPrice of(ProductSummary product) {
+        BigDecimal effective = product.getDiscountedPrice() != null ? product.getDiscountedPrice() : product.getPrice();
+        return new ProductPrice(product.getProductId(), product.getName(), product.getImageUrl(),
+                product.getPrice(), effective, product.getPrice() != null);
+    }
+
+    public static ProductPrice unavailable(Long productId) {
+        return new ProductPrice(productId, null, null, null, null, false);
+    }
+
+    public Long getProductId() { return productId; }
+    public String getName() { return name; }
+    public String getImageUrl() { return imageUrl; }
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public BigDecimal getEffectivePrice() { return effectivePrice; }
+    public boolean isAvailable() { return available; }
+}
@@ -0,0 +1,64 @@
+package com.ebuy.cart.pricing;
+
+import com.ebuy.cart.client.ProductCatalogClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded, short-lived local cache of catalog prices. Misses for a whole cart are resolved
+ * with a single bulk call to the catalog.
+ */
+@Component
+public class ProductPriceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPriceCache.class);
+
+    private final ProductCatalogClient catalogClient;
+    private final Cache<Long, ProductPrice> cache;
+
+    public ProductPriceCache(ProductCatalogClient catalogClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.cart.catalog.price-cache.max-size:10000}") long maxSize,
+                             @Value("${app.cart.catalog.price-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.catalogClient = catalogClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cart.product-prices");
+    }
+
+    /**
+     * Returns a price for every requested product. If the catalog cannot be reached, only the
+     * prices still cached are returned.
+     */
+    public Map<Long, ProductPrice> getPrices(Collection<Long> productIds) {
+        try {
+            return cache.getAll(productIds, this::load);
+        } catch (RuntimeException e) {
+            logger.warn("Product catalog lookup failed, pricing from cache only: {}", e.getMessage());
+            return cache.getAllPresent(productIds);
+        }
+    }
+
+    private Map<Long, ProductPrice> load(Set<? extends Long> productIds) {
+        Map<Long, ProductPrice> prices = new HashMap<>();
+        catalogClient.getProducts(productIds)
+                .forEach(product -> prices.put(product.getProductId(), ProductPrice.of(product)));
+        productIds.forEach(productId -> prices.putIfAbsent(productId, ProductPrice.unavailable(productId)));
+        return prices;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ebuy.cart.repository;
 
+import com.ebuy.cart.dto.response.CartVersion;
 import com.ebuy.cart.model.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -20,18 +21,164 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @Query("SELECT c FROM CartItem c WHERE c.sessionId = :sessionId AND c.isDeleted = false")
     List<CartItem> findActiveCartItemsBySessionId(@Param("sessionId") String sessionId);
 
+    @Query("SELECT new com.ebuy.cart.dto.response.CartVersion(COUNT(c), COALESCE(SUM(c.rowVersion), 0L), MAX(c.modifiedAt)) " +
+            "FROM CartItem c WHERE c.userId = :userId AND c.isDeleted = false")
+    CartVersion findCartVersionByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.ebuy.cart.dto.response.CartVersion(COUNT(c), COALESCE(SUM(c.rowVersion), 0L), MAX(c.modifiedAt)) " +
+            "FROM CartItem c WHERE c.sessionId = :sessionId AND c.isDeleted = false")
+    CartVersion findCartVersionBySessionId(@Param("sessionId") String sessionId);
+
+    @Query("SELECT c.userId AS userId, c.sessionId AS sessionId FROM CartItem c WHERE c.cartItemId = :cartItemId")
+    Optional<CartItemOwner> findOwnerByCartItemId(@Param("cartItemId") Long cartItemId);
+
     @Query("SELECT c FROM CartItem c WHERE c.userId = :userId AND c.productId = :productId AND c.isDeleted = false")
     Optional<CartItem> findActiveCartItemByUserIdAndProductId(@Param("userId") Long userId, @Param("productId") Long productId);
 
     @Query("SELECT c FROM CartItem c WHERE c.sessionId = :sessionId AND c.productId = :productId AND c.isDeleted = false")
     Optional<CartItem> findActiveCartItemBySessionIdAndProductId(@Param("sessionId") String sessionId, @Param("productId") Long productId);
 
-    @Query("SELECT COUNT(c) FROM CartItem c WHERE c.userId = :userId AND c.isDeleted = false")
+    @Query(value = "SELECT COALESCE((SELECT item_count FROM cart.cart_summary " +
+            "WHERE owner_type = 'U' AND owner_id = CAST(:userId AS VARCHAR)), 0)", nativeQuery = true)
     long countActiveItemsByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(c) FROM CartItem c WHERE c.sessionId = :sessionId AND c.isDeleted = false")
+    @Query(value = "SELECT COALESCE((SELECT item_count FROM cart.cart_summary " +
+            "WHERE owner_type = 'S' AND owner_id = :sessionId), 0)", nativeQuery = true)
     long countActiveItemsBySessionId(@Param("sessionId") String sessionId);
 
+    /**
+     * Creates the user's {@code cart.cart_summary} row if it does not exist yet. Run it in the
+     * same transaction before {@link #upsertActiveItemForUser}: {@code FOR UPDATE} only locks
+     * rows that exist, so without it concurrent first adds to an empty cart would all read a
+     * count of zero.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cart.cart_summary (owner_type, owner_id) VALUES ('U', CAST(:userId AS VARCHAR)) " +
+            "ON CONFLICT (owner_type, owner_id) DO NOTHING", nativeQuery = true)
+    void ensureUserSummary(@Param("userId") Long userId);
+
+    /**
+     * Session-cart counterpart of {@link #ensureUserSummary}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cart.cart_summary (owner_type, owner_id) VALUES ('S', :sessionId) " +
+            "ON CONFLICT (owner_type, owner_id) DO NOTHING", nativeQuery = true)
+    void ensureSessionSummary(@Param("sessionId") String sessionId);
+
+    /**
+     * Adds {@code quantity} of a product to a user's cart in a single statement. Relies on the
+     * partial unique index {@code uq_cart_user_product_active} to merge into an existing active
+     * line, and only writes while the cart holds fewer than {@code maxItems} active lines. The
+     * line count comes from the trigger-maintained {@code cart.cart_summary} row, which is
+     * locked so concurrent adds to the same cart cannot overshoot the limit; the row must
+     * already exist, see {@link #ensureUserSummary}. Returns empty when the limit has been
+     * reached.
+     */
+    @Query(value = """
+            INSERT INTO cart.cart_items (user_id, session_id, product_id, quantity, service_origin)
+            SELECT :userId, NULL, :productId, :quantity, 'cart-service'
+            WHERE COALESCE((SELECT item_count FROM cart.cart_summary
+                            WHERE owner_type = 'U' AND owner_id = CAST(:userId AS VARCHAR)
+                            FOR UPDATE), 0) < :maxItems
+            ON CONFLICT (user_id, product_id) WHERE session_id IS NULL AND is_deleted = false
+            DO UPDATE SET quantity = cart.cart_items.quantity + EXCLUDED.quantity
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<CartItem> upsertActiveItemForUser(@Param("userId") Long userId,
+                                               @Param("productId") Long productId,
+                                               @Param("quantity") Integer quantity,
+                                               @Param("maxItems") int maxItems);
+
+    /**
+     * Session-cart counterpart of {@link #upsertActiveItemForUser}, backed by
+     * {@code uq_cart_session_product_active}. Call {@link #ensureSessionSummary} first.
+     */
+    @Query(value = """
+            INSERT INTO cart.cart_items (user_id, session_id, product_id, quantity, service_origin)
+            SELECT NULL, :sessionId, :productId, :quantity, 'cart-service'
+            WHERE COALESCE((SELECT item_count FROM cart.cart_summary
+                            WHERE owner_type = 'S' AND owner_id = :sessionId
+                            FOR UPDATE), 0) < :maxItems
+            ON CONFLICT (session_id, product_id) WHERE user_id IS NULL AND is_deleted = false
+            DO UPDATE SET quantity = cart.cart_items.quantity + EXCLUDED.quantity
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<CartItem> upsertActiveItemForSession(@Param("sessionId") String sessionId,
+                                                  @Param("productId") Long productId,
+                                                  @Param("quantity") Integer quantity,
+                                                  @Param("maxItems") int maxItems);
+
+    /**
+     * Merges a session cart into a user cart in one statement. Session quantities are summed
+     * per product and added to the user's existing line. Products the user does not have yet
+     * keep one session row, which is reassigned to the user while the cart holds fewer than
+     * {@code maxItems} active lines; the user's {@code cart.cart_summary} row is locked as in
+     * {@link #upsertActiveItemForUser} and must exist, see {@link #ensureUserSummary}. Products
+     * beyond the limit stay in the session cart untouched. Every other session row is
+     * tombstoned. Returns the number of session rows consumed.
+     */
+    @Query(value = """
+            WITH free AS (
+                SELECT GREATEST(:maxItems - COALESCE((SELECT item_count FROM cart.cart_summary
+                                                      WHERE owner_type = 'U' AND owner_id = CAST(:userId AS VARCHAR)
+                                                      FOR UPDATE), 0), 0) AS slots
+            ),
+            session_items AS (
+                SELECT cart_item_id, product_id, quantity
+                FROM cart.cart_items
+                WHERE session_id = :sessionId AND is_deleted = false
+                  AND user_id IS DISTINCT FROM :userId
+            ),
+            session_products AS (
+                SELECT product_id, MIN(cart_item_id) AS keep_id, SUM(quantity) AS quantity
+                FROM session_items
+                GROUP BY product_id
+            ),
+            user_items AS (
+                SELECT DISTINCT ON (product_id) cart_item_id, product_id
+                FROM cart.cart_items
+                WHERE user_id = :userId AND is_deleted = false
+                ORDER BY product_id, (session_id IS NULL) DESC, cart_item_id
+            ),
+            new_products AS (
+                SELECT p.product_id, p.keep_id, p.quantity, ROW_NUMBER() OVER (ORDER BY p.keep_id) AS position
+                FROM session_products p
+                WHERE NOT EXISTS (SELECT 1 FROM user_items u WHERE u.product_id = p.product_id)
+            ),
+            left_over AS (
+                SELECT product_id FROM new_products WHERE position > (SELECT slots FROM free)
+            ),
+            summed AS (
+                UPDATE cart.cart_items c
+                SET quantity = c.quantity + p.quantity
+                FROM session_products p
+                JOIN user_items u ON u.product_id = p.product_id
+                WHERE c.cart_item_id = u.cart_item_id
+                RETURNING c.cart_item_id
+            ),
+            reassigned AS (
+                UPDATE cart.cart_items c
+                SET user_id = :userId, session_id = NULL, quantity = p.quantity
+                FROM new_products p
+                WHERE c.cart_item_id = p.keep_id
+                  AND p.position <= (SELECT slots FROM free)
+                RETURNING c.cart_item_id
+            ),
+            tombstoned AS (
+                UPDATE cart.cart_items c
+                SET is_deleted = true, deleted_at = NOW()
+                FROM session_items s
+                WHERE c.cart_item_id = s.cart_item_id
+                  AND s.product_id NOT IN (SELECT product_id FROM left_over)
+                  AND c.cart_item_id NOT IN (SELECT cart_item_id FROM reassigned)
+                RETURNING c.cart_item_id
+            )
+            SELECT COUNT(*) FROM session_items
+            WHERE product_id NOT IN (SELECT product_id FROM left_over)
+            """, nativeQuery = true)
+    long mergeSessionItemsIntoUserCart(@Param("sessionId") String sessionId, @Param("userId") Long userId,
+                                       @Param("maxItems") int maxItems);
+
     @Modifying
     @Query("UPDATE CartItem c SET c.isDeleted = true, c.deletedAt = :deletedAt WHERE c.userId = :userId AND c.isDeleted = false")
     int softDeleteAllByUserId(@Param("userId") Long userId, @Param("deletedAt") Instant deletedAt);
@@ -39,4 +186,9 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @Modifying
     @Query("UPDATE CartItem c SET c.isDeleted = true, c.deletedAt = :deletedAt WHERE c.sessionId = :sessionId AND c.isDeleted = false")
     int softDeleteAllBySessionId(@Param("sessionId") String sessionId, @Param("deletedAt") Instant deletedAt);
-}
\ No newline at end of file
+
+    interface CartItemOwner {
+        Long getUserId();
+        String getSessionId();
+    }
+}
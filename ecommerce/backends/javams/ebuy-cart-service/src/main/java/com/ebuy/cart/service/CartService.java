@@ -1,15 +1,87 @@
 package com.ebuy.cart.service;
 
 import com.ebuy.cart.dto.request.AddToCartRequest;
+import com.ebuy.cart.dto.request.CartBatchOperation;
+import com.ebuy.cart.dto.request.CartBatchRequest;
 import com.ebuy.cart.dto.request.UpdateCartItemRequest;
+import com.ebuy.cart.dto.response.CartBatchOperationResult;
+import com.ebuy.cart.dto.response.CartBatchResponse;
 import com.ebuy.cart.dto.response.CartResponse;
 import com.ebuy.cart.dto.response.CartItemResponse;
+import com.ebuy.cart.dto.response.CartVersion;
+import com.ebuy.cart.engine.CartKey;
+import com.ebuy.cart.exception.CartException;
+import com.ebuy.cart.exception.CartItemNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 public interface CartService {
     CartResponse getCart(Long userId, String sessionId);
+    CartVersion getCartVersion(Long userId, String sessionId);
+    Optional<CartKey> findCartOwner(Long cartItemId);
     CartItemResponse addToCart(AddToCartRequest request);
     CartItemResponse updateCartItem(Long cartItemId, UpdateCartItemRequest request);
     void removeFromCart(Long cartItemId);
     void clearCart(Long userId, String sessionId);
     void mergeSessionCartToUser(String sessionId, Long userId);
+
+    /**
+     * Applies a list of add/update/remove operations in order. An operation rejected by a
+     * business rule is reported as FAILED and the rest still run; implementations decide the
+     * transaction boundary. UPDATE and REMOVE only touch lines of the cart named by the
+     * request; any other {@code cartItemId} fails as not found.
+     */
+    default CartBatchResponse applyBatch(CartBatchRequest request) {
+        CartKey cart = CartKey.of(request.getUserId(), request.getSessionId());
+
+        List<CartBatchOperation> operations = request.getOperations();
+        List<CartBatchOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            CartBatchOperation operation = operations.get(i);
+            try {
+                CartItemResponse item = switch (operation.getType()) {
+                    case ADD -> {
+                        if (operation.getProductId() == null || operation.getQuantity() == null || operation.getQuantity() < 1) {
+                            throw new CartException("ADD requires productId and a quantity of at least 1");
+                        }
+                        AddToCartRequest add = new AddToCartRequest();
+                        add.setUserId(request.getUserId());
+                        add.setSessionId(request.getSessionId());
+                        add.setProductId(operation.getProductId());
+                        add.setQuantity(operation.getQuantity());
+                        yield addToCart(add);
+                    }
+                    case UPDATE -> {
+                        if (operation.getCartItemId() == null || operation.getQuantity() == null || operation.getQuantity() < 1) {
+                            throw new CartException("UPDATE requires cartItemId and a quantity of at least 1");
+                        }
+                        requireLineOf(cart, operation.getCartItemId());
+                        UpdateCartItemRequest update = new UpdateCartItemRequest();
+                        update.setQuantity(operation.getQuantity());
+                        yield updateCartItem(operation.getCartItemId(), update);
+                    }
+                    case REMOVE -> {
+                        if (operation.getCartItemId() == null) {
+                            throw new CartException("REMOVE requires cartItemId");
+                        }
+                        requireLineOf(cart, operation.getCartItemId());
+                        removeFromCart(operation.getCartItemId());
+                        yield null;
+                    }
+                };
+                results.add(CartBatchOperationResult.success(i, operation.getType(), item));
+            } catch (CartException e) {
+                results.add(CartBatchOperationResult.failure(i, operation.getType(), e.getMessage()));
+            }
+        }
+        return new CartBatchResponse(results);
+    }
+
+    private void requireLineOf(CartKey cart, Long cartItemId) {
+        if (!findCartOwner(cartItemId).map(cart::equals).orElse(false)) {
+            throw new CartItemNotFoundException("Cart item not found with id: " + cartItemId);
+        }
+    }
 }
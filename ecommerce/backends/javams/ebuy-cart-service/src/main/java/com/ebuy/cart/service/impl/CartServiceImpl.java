@@ -1,14 +1,21 @@
 package com.ebuy.cart.service.impl;
 
 import com.ebuy.cart.dto.request.AddToCartRequest;
+import com.ebuy.cart.dto.request.CartBatchRequest;
 import com.ebuy.cart.dto.request.UpdateCartItemRequest;
+import com.ebuy.cart.dto.response.CartBatchResponse;
 import com.ebuy.cart.dto.response.CartItemResponse;
 import com.ebuy.cart.dto.response.CartResponse;
+import com.ebuy.cart.dto.response.CartVersion;
+import com.ebuy.cart.engine.CartKey;
 import com.ebuy.cart.exception.CartException;
 import com.ebuy.cart.exception.CartItemNotFoundException;
 import com.ebuy.cart.model.entity.CartItem;
 import com.ebuy.cart.repository.CartItemRepository;
 import com.ebuy.cart.service.CartService;
+import com.ebuy.cart.session.GuestCartService;
+import com.ebuy.cart.session.SessionCartItem;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,8 +23,11 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,18 +39,28 @@ public class CartServiceImpl implements CartService {
     private static final Logger logger = LoggerFactory.getLogger(CartServiceImpl.class);
 
     private final CartItemRepository cartItemRepository;
+    private final Optional<GuestCartService> guestCartService;
+    private final EntityManager entityManager;
 
     @Value("${app.cart.max-items-per-user:100}")
     private int maxItemsPerUser;
 
-    public CartServiceImpl(CartItemRepository cartItemRepository) {
+    public CartServiceImpl(CartItemRepository cartItemRepository,
+                           Optional<GuestCartService> guestCartService,
+                           EntityManager entityManager) {
         this.cartItemRepository = cartItemRepository;
+        this.guestCartService = guestCartService;
+        this.entityManager = entityManager;
     }
 
     @Override
     public CartResponse getCart(Long userId, String sessionId) {
         logger.debug("Getting cart for userId: {}, sessionId: {}", userId, sessionId);
 
+        if (guestCartService.isPresent() && GuestCartService.isGuestCart(userId, sessionId)) {
+            return guestCartService.get().getCart(sessionId);
+        }
+
         List<CartItem> cartItems;
         if (userId != null) {
             cartItems = cartItemRepository.findActiveCartItemsByUserId(userId);
@@ -57,6 +77,31 @@ public class CartServiceImpl implements CartService {
         return new CartResponse(userId, sessionId, itemResponses, itemResponses.size());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CartVersion getCartVersion(Long userId, String sessionId) {
+        if (guestCartService.isPresent() && GuestCartService.isGuestCart(userId, sessionId)) {
+            return guestCartService.get().getCartVersion(sessionId);
+        }
+
+        if (userId != null) {
+            return cartItemRepository.findCartVersionByUserId(userId);
+        } else if (sessionId != null) {
+            return cartItemRepository.findCartVersionBySessionId(sessionId);
+        }
+        throw new CartException("Either userId or sessionId must be provided");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CartKey> findCartOwner(Long cartItemId) {
+        if (guestCartService.isPresent() && GuestCartService.isGuestItem(cartItemId)) {
+            return guestCartService.get().findSessionId(cartItemId).map(CartKey::ofSession);
+        }
+        return cartItemRepository.findOwnerByCartItemId(cartItemId)
+                .map(owner -> CartKey.of(owner.getUserId(), owner.getSessionId()));
+    }
+
     @Override
     public CartItemResponse addToCart(AddToCartRequest request) {
         logger.debug("Adding item to cart: productId={}, quantity={}, userId={}, sessionId={}",
@@ -66,32 +111,32 @@ public class CartServiceImpl implements CartService {
             throw new CartException("Either userId or sessionId must be provided");
         }
 
-        // Check maximum items limit
-        long currentItemCount = request.getUserId() != null
-                ? cartItemRepository.countActiveItemsByUserId(request.getUserId())
-                : cartItemRepository.countActiveItemsBySessionId(request.getSessionId());
-
-        if (currentItemCount >= maxItemsPerUser) {
-            throw new CartException("Maximum cart items limit reached");
+        if (guestCartService.isPresent() && GuestCartService.isGuestCart(request.getUserId(), request.getSessionId())) {
+            return guestCartService.get().addToCart(request);
         }
 
-        // Check if item already exists in cart
-        Optional<CartItem> existingItem = request.getUserId() != null
-                ? cartItemRepository.findActiveCartItemByUserIdAndProductId(request.getUserId(), request.getProductId())
-                : cartItemRepository.findActiveCartItemBySessionIdAndProductId(request.getSessionId(), request.getProductId());
-
-        CartItem cartItem;
-        if (existingItem.isPresent()) {
-            // Update quantity if item already exists
-            cartItem = existingItem.get();
-            cartItem.setQuantity(cartItem.getQuantity() + request.getQuantity());
+        // The limit check locks the cart's summary row, which must exist before the upsert's
+        // snapshot is taken
+        if (request.getUserId() != null) {
+            cartItemRepository.ensureUserSummary(request.getUserId());
         } else {
-            // Create new cart item
-            cartItem = new CartItem(request.getUserId(), request.getSessionId(),
-                    request.getProductId(), request.getQuantity());
+            cartItemRepository.ensureSessionSummary(request.getSessionId());
+        }
+
+        // One statement: limit check, insert-or-increment and read-back
+        CartItem cartItem = (request.getUserId() != null
+                ? cartItemRepository.upsertActiveItemForUser(request.getUserId(), request.getProductId(),
+                        request.getQuantity(), maxItemsPerUser)
+                : cartItemRepository.upsertActiveItemForSession(request.getSessionId(), request.getProductId(),
+                        request.getQuantity(), maxItemsPerUser))
+                .orElseThrow(() -> new CartException("Maximum cart items limit reached"));
+        // RETURNING * resolves to the already managed instance, without the upsert's new state,
+        // when an earlier operation in this transaction loaded the line; reload just that line
+        // rather than detaching everything else the transaction holds
+        if (entityManager.contains(cartItem)) {
+            entityManager.refresh(cartItem);
         }
 
-        cartItem = cartItemRepository.save(cartItem);
         logger.info("Cart item saved: {}", cartItem.getCartItemId());
 
         return convertToCartItemResponse(cartItem);
@@ -101,6 +146,10 @@ public class CartServiceImpl implements CartService {
     public CartItemResponse updateCartItem(Long cartItemId, UpdateCartItemRequest request) {
         logger.debug("Updating cart item: cartItemId={}, quantity={}", cartItemId, request.getQuantity());
 
+        if (guestCartService.isPresent() && GuestCartService.isGuestItem(cartItemId)) {
+            return guestCartService.get().updateCartItem(cartItemId, request);
+        }
+
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
 
@@ -125,6 +174,11 @@ public class CartServiceImpl implements CartService {
     public void removeFromCart(Long cartItemId) {
         logger.debug("Removing cart item: cartItemId={}", cartItemId);
 
+        if (guestCartService.isPresent() && GuestCartService.isGuestItem(cartItemId)) {
+            guestCartService.get().removeFromCart(cartItemId);
+            return;
+        }
+
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
 
@@ -144,6 +198,11 @@ public class CartServiceImpl implements CartService {
     public void clearCart(Long userId, String sessionId) {
         logger.debug("Clearing cart for userId: {}, sessionId: {}", userId, sessionId);
 
+        if (guestCartService.isPresent() && GuestCartService.isGuestCart(userId, sessionId)) {
+            guestCartService.get().clearCart(sessionId);
+            return;
+        }
+
         int deletedCount;
         if (userId != null) {
             deletedCount = cartItemRepository.softDeleteAllByUserId(userId, Instant.now());
@@ -161,31 +220,52 @@ public class CartServiceImpl implements CartService {
     public void mergeSessionCartToUser(String sessionId, Long userId) {
         logger.debug("Merging session cart to user: sessionId={}, userId={}", sessionId, userId);
 
-        List<CartItem> sessionItems = cartItemRepository.findActiveCartItemsBySessionId(sessionId);
-        List<CartItem> userItems = cartItemRepository.findActiveCartItemsByUserId(userId);
-
-        for (CartItem sessionItem : sessionItems) {
-            Optional<CartItem> existingUserItem = userItems.stream()
-                    .filter(item -> item.getProductId().equals(sessionItem.getProductId()))
-                    .findFirst();
-
-            if (existingUserItem.isPresent()) {
-                // Merge quantities
-                CartItem userItem = existingUserItem.get();
-                userItem.setQuantity(userItem.getQuantity() + sessionItem.getQuantity());
-                cartItemRepository.save(userItem);
-            } else {
-                // Transfer session item to user
-                sessionItem.setUserId(userId);
-                sessionItem.setSessionId(null);
-                cartItemRepository.save(sessionItem);
+        // Both merges lock the user's summary row to hold the cart to maxItemsPerUser; lines
+        // that do not fit stay in the session cart
+        cartItemRepository.ensureUserSummary(userId);
+
+        // Guest carts held outside Postgres are persisted here for the first time
+        if (guestCartService.isPresent()) {
+            GuestCartService guestCarts = guestCartService.get();
+            List<SessionCartItem> guestItems = guestCarts.getItems(sessionId);
+            List<Long> persisted = new ArrayList<>(guestItems.size());
+            for (SessionCartItem guestItem : guestItems) {
+                if (cartItemRepository.upsertActiveItemForUser(userId, guestItem.getProductId(),
+                        guestItem.getQuantity(), maxItemsPerUser).isPresent()) {
+                    persisted.add(guestItem.getCartItemId());
+                }
             }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (persisted.size() == guestItems.size()) {
+                        guestCarts.clearCart(sessionId);
+                    } else {
+                        persisted.forEach(guestCarts::removeFromCart);
+                    }
+                }
+            });
+            logger.info("Persisted {} of {} guest items to user cart", persisted.size(), guestItems.size());
         }
 
-        // Clear remaining session items
-        cartItemRepository.softDeleteAllBySessionId(sessionId, Instant.now());
+        long mergedCount = cartItemRepository.mergeSessionItemsIntoUserCart(sessionId, userId, maxItemsPerUser);
 
-        logger.info("Merged {} session items to user cart", sessionItems.size());
+        logger.info("Merged {} session items to user cart", mergedCount);
+    }
+
+    /**
+     * Runs the whole batch in one transaction. Quantity changes and removals are flushed
+     * through Hibernate's JDBC batching ({@code hibernate.jdbc.batch_size}); adds go through
+     * the single-statement upsert.
+     */
+    @Override
+    @Transactional
+    public CartBatchResponse applyBatch(CartBatchRequest request) {
+        logger.debug("Applying {} cart operations for userId: {}, sessionId: {}",
+                request.getOperations().size(), request.getUserId(), request.getSessionId());
+        CartBatchResponse response = CartService.super.applyBatch(request);
+        logger.info("Cart batch applied: {} succeeded, {} failed", response.getSucceeded(), response.getFailed());
+        return response;
     }
 
     private CartItemResponse convertToCartItemResponse(CartItem cartItem) {
@@ -0,0 +1,258 @@
+package com.ebuy.cart.service.impl;
+
+import com.ebuy.cart.dto.request.AddToCartRequest;
+import com.ebuy.cart.dto.request.CartBatchRequest;
+import com.ebuy.cart.dto.request.UpdateCartItemRequest;
+import com.ebuy.cart.dto.response.CartBatchResponse;
+import com.ebuy.cart.dto.response.CartItemResponse;
+import com.ebuy.cart.dto.response.CartResponse;
+import com.ebuy.cart.dto.response.CartVersion;
+import com.ebuy.cart.engine.CartAggregate;
+import com.ebuy.cart.engine.CartAggregateStore;
+import com.ebuy.cart.engine.CartKey;
+import com.ebuy.cart.engine.CartLine;
+import com.ebuy.cart.engine.CartWriteBehindFlusher;
+import com.ebuy.cart.exception.CartBusyException;
+import com.ebuy.cart.exception.CartConflictException;
+import com.ebuy.cart.exception.CartException;
+import com.ebuy.cart.exception.CartItemNotFoundException;
+import com.ebuy.cart.model.entity.CartItem;
+import com.ebuy.cart.repository.CartItemRepository;
+import com.ebuy.cart.service.CartService;
+import com.ebuy.cart.session.GuestCartService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cart service backed by the in-process cart engine. Reads and quantity changes are served
+ * from memory and persisted by {@link CartWriteBehindFlusher}; new lines are still inserted
+ * straight away so callers get a real {@code cartItemId}. Operations that rewrite a whole
+ * cart in SQL (clear, merge, batch) flush and drop the in-memory copy, then delegate to
+ * {@link CartServiceImpl}.
+ *
+ * <p>Guest carts are left to {@link GuestCartService} when a session store is configured.
+ *
+ * <p>The engine assumes a cart is served by one instance at a time (sticky routing);
+ * concurrent writers elsewhere are detected through {@code row_version} on flush. Changes the
+ * engine had to drop, on such a conflict or after repeated rejected flushes, are reported to
+ * the next request for that cart as a {@link CartConflictException}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "app.cart.engine", name = "enabled", havingValue = "true")
+public class WriteBehindCartService implements CartService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindCartService.class);
+
+    private final CartService delegate;
+    private final CartAggregateStore store;
+    private final CartWriteBehindFlusher flusher;
+    private final CartItemRepository cartItemRepository;
+    private final boolean guestCartsExternal;
+
+    @Value("${app.cart.max-items-per-user:100}")
+    private int maxItemsPerUser;
+
+    public WriteBehindCartService(@Qualifier("cartServiceImpl") CartService delegate,
+                                  CartAggregateStore store,
+                                  CartWriteBehindFlusher flusher,
+                                  CartItemRepository cartItemRepository,
+                                  Optional<GuestCartService> guestCartService) {
+        this.delegate = delegate;
+        this.store = store;
+        this.flusher = flusher;
+        this.cartItemRepository = cartItemRepository;
+        this.guestCartsExternal = guestCartService.isPresent();
+    }
+
+    @Override
+    public CartResponse getCart(Long userId, String sessionId) {
+        if (isExternalGuestCart(userId, sessionId)) {
+            return delegate.getCart(userId, sessionId);
+        }
+        CartKey key = CartKey.of(userId, sessionId);
+        reportUnsaved(key);
+        List<CartItemResponse> items = store.apply(key, this::loadCart, aggregate ->
+                aggregate.activeLines().stream()
+                        .map(CartLine::toResponse)
+                        .collect(Collectors.toList()));
+        return new CartResponse(userId, sessionId, items, items.size());
+    }
+
+    @Override
+    public CartVersion getCartVersion(Long userId, String sessionId) {
+        if (isExternalGuestCart(userId, sessionId)) {
+            return delegate.getCartVersion(userId, sessionId);
+        }
+        CartKey key = CartKey.of(userId, sessionId);
+        reportUnsaved(key);
+        return store.apply(key, this::loadCart, aggregate ->
+                CartVersion.of(aggregate.activeLines().stream()
+                        .map(CartLine::toResponse)
+                        .collect(Collectors.toList())));
+    }
+
+    @Override
+    public Optional<CartKey> findCartOwner(Long cartItemId) {
+        Optional<CartKey> owner = store.ownerOf(cartItemId);
+        return owner.isPresent() ? owner : delegate.findCartOwner(cartItemId);
+    }
+
+    @Override
+    public CartItemResponse addToCart(AddToCartRequest request) {
+        if (isExternalGuestCart(request.getUserId(), request.getSessionId())) {
+            return delegate.addToCart(request);
+        }
+        CartKey key = CartKey.of(request.getUserId(), request.getSessionId());
+        reportUnsaved(key);
+
+        Optional<CartItemResponse> merged = store.apply(key, this::loadCart, aggregate -> {
+            // Same rule as the SQL upsert, which refuses increments of a full cart too
+            if (aggregate.activeCount() >= maxItemsPerUser) {
+                throw new CartException("Maximum cart items limit reached");
+            }
+            Optional<CartLine> existing = aggregate.findActiveLineByProduct(request.getProductId());
+            if (existing.isPresent()) {
+                CartLine line = existing.get();
+                store.updateQuantity(aggregate, line, line.getQuantity() + request.getQuantity());
+                return Optional.of(line.toResponse());
+            }
+            return Optional.empty();
+        });
+        if (merged.isPresent()) {
+            return merged.get();
+        }
+
+        // New line: pending removals must reach the database before its limit check runs
+        flushOrFail(key);
+        CartItemResponse created = delegate.addToCart(request);
+        CartItem item = toEntity(created, key);
+        store.apply(key, this::loadCart, aggregate -> store.register(aggregate, item));
+        return created;
+    }
+
+    @Override
+    public CartItemResponse updateCartItem(Long cartItemId, UpdateCartItemRequest request) {
+        Optional<CartKey> owner = store.ownerOf(cartItemId);
+        if (owner.isEmpty()) {
+            reportUnsavedOfItem(cartItemId);
+            return delegate.updateCartItem(cartItemId, request);
+        }
+        reportUnsaved(owner.get());
+        return store.apply(owner.get(), this::loadCart, aggregate -> {
+            CartLine line = aggregate.findActiveLine(cartItemId)
+                    .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
+            store.updateQuantity(aggregate, line, request.getQuantity());
+            return line.toResponse();
+        });
+    }
+
+    @Override
+    public void removeFromCart(Long cartItemId) {
+        Optional<CartKey> owner = store.ownerOf(cartItemId);
+        if (owner.isEmpty()) {
+            reportUnsavedOfItem(cartItemId);
+            delegate.removeFromCart(cartItemId);
+            return;
+        }
+        reportUnsaved(owner.get());
+        store.apply(owner.get(), this::loadCart, aggregate -> {
+            CartLine line = aggregate.findActiveLine(cartItemId)
+                    .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
+            store.markDeleted(aggregate, line);
+            return line;
+        });
+        logger.debug("Cart item {} removed in memory", cartItemId);
+    }
+
+    @Override
+    public void clearCart(Long userId, String sessionId) {
+        if (isExternalGuestCart(userId, sessionId)) {
+            delegate.clearCart(userId, sessionId);
+            return;
+        }
+        CartKey key = CartKey.of(userId, sessionId);
+        // Clearing replaces whatever was lost, so there is nothing left to report
+        store.takeUnsaved(key);
+        store.discard(key);
+        delegate.clearCart(userId, sessionId);
+    }
+
+    @Override
+    public void mergeSessionCartToUser(String sessionId, Long userId) {
+        CartKey sessionKey = CartKey.ofSession(sessionId);
+        CartKey userKey = CartKey.ofUser(userId);
+        reportUnsaved(sessionKey);
+        reportUnsaved(userKey);
+        flushOrFail(sessionKey);
+        flushOrFail(userKey);
+        store.discard(sessionKey);
+        store.discard(userKey);
+        delegate.mergeSessionCartToUser(sessionId, userId);
+    }
+
+    /**
+     * Runs the whole batch in one database transaction through {@link CartServiceImpl}
+     * rather than op by op against memory. The batch allows partial success: an op rejected
+     * by a business rule is reported as FAILED, and the ops that succeeded stay committed.
+     */
+    @Override
+    public CartBatchResponse applyBatch(CartBatchRequest request) {
+        if (isExternalGuestCart(request.getUserId(), request.getSessionId())) {
+            return delegate.applyBatch(request);
+        }
+        CartKey key = CartKey.of(request.getUserId(), request.getSessionId());
+        reportUnsaved(key);
+        flushOrFail(key);
+        store.discard(key);
+        return delegate.applyBatch(request);
+    }
+
+    private void flushOrFail(CartKey key) {
+        if (!flusher.flush(key)) {
+            throw new CartBusyException("Pending changes for cart " + key + " could not be saved, retry later");
+        }
+    }
+
+    private void reportUnsaved(CartKey key) {
+        if (store.takeUnsaved(key)) {
+            throw new CartConflictException("Recent changes to cart " + key
+                    + " could not be saved and were discarded, reload the cart and retry");
+        }
+    }
+
+    private void reportUnsavedOfItem(Long cartItemId) {
+        // Only worth a lookup while some cart has a notice pending
+        if (store.hasUnsaved()) {
+            delegate.findCartOwner(cartItemId).ifPresent(this::reportUnsaved);
+        }
+    }
+
+    private boolean isExternalGuestCart(Long userId, String sessionId) {
+        return guestCartsExternal && GuestCartService.isGuestCart(userId, sessionId);
+    }
+
+    private List<CartItem> loadCart(CartKey key) {
+        return key.isUser()
+                ? cartItemRepository.findActiveCartItemsByUserId(key.getUserId())
+                : cartItemRepository.findActiveCartItemsBySessionId(key.getSessionId());
+    }
+
+    private CartItem toEntity(CartItemResponse response, CartKey key) {
+        CartItem item = new CartItem(key.getUserId(), key.getSessionId(), response.getProductId(), response.getQuantity());
+        item.setCartItemId(response.getCartItemId());
+        item.setCreatedAt(response.getCreatedAt());
+        item.setModifiedAt(response.getModifiedAt());
+        item.setRowVersion(response.getRowVersion());
+        return item;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ebuy.cart.session;
+
+import com.ebuy.cart.dto.request.AddToCartRequest;
+import com.ebuy.cart.dto.request.UpdateCartItemRequest;
+import com.ebuy.cart.dto.response.CartItemResponse;
+import com.ebuy.cart.dto.response.CartResponse;
+import com.ebuy.cart.dto.response.CartVersion;
+import com.ebuy.cart.exception.CartException;
+import com.ebuy.cart.exception.CartItemNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cart operations for anonymous (session-only) carts held in a {@link SessionCartStore}.
+ * Guest carts never reach {@code cart.cart_items} until they are merged into a user cart.
+ */
+@Service
+@ConditionalOnExpression("'${app.cart.session-store.type:none}' != 'none'")
+public class GuestCartService {
+
+    private final SessionCartStore sessionCartStore;
+
+    @Value("${app.cart.max-items-per-user:100}")
+    private int maxItemsPerUser;
+
+    public GuestCartService(SessionCartStore sessionCartStore) {
+        this.sessionCartStore = sessionCartStore;
+    }
+
+    public static boolean isGuestCart(Long userId, String sessionId) {
+        return userId == null && sessionId != null;
+    }
+
+    public static boolean isGuestItem(Long cartItemId) {
+        return cartItemId != null && cartItemId < 0;
+    }
+
+    public CartResponse getCart(String sessionId) {
+        List<CartItemResponse> items = sessionCartStore.find(sessionId)
+                .map(cart -> cart.getItems().stream()
+                        .map(SessionCartItem::toResponse)
+                        .collect(Collectors.toList()))
+                .orElse(List.of());
+        return new CartResponse(null, sessionId, items, items.size());
+    }
+
+    public CartVersion getCartVersion(String sessionId) {
+        return CartVersion.of(getCart(sessionId).getItems());
+    }
+
+    public CartItemResponse addToCart(AddToCartRequest request) {
+        return sessionCartStore.update(request.getSessionId(), cart -> {
+            SessionCartItem item = cart.findItemByProduct(request.getProductId()).orElse(null);
+            if (item != null) {
+                item.changeQuantity(item.getQuantity() + request.getQuantity());
+            } else {
+                if (cart.getItems().size() >= maxItemsPerUser) {
+                    throw new CartException("Maximum cart items limit reached");
+                }
+                item = new SessionCartItem(sessionCartStore.nextItemId(), request.getProductId(), request.getQuantity());
+                cart.getItems().add(item);
+            }
+            return item.toResponse();
+        });
+    }
+
+    public CartItemResponse updateCartItem(Long cartItemId, UpdateCartItemRequest request) {
+        String sessionId = ownerOf(cartItemId);
+        return sessionCartStore.update(sessionId, cart -> {
+            SessionCartItem item = cart.findItem(cartItemId)
+                    .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
+            item.changeQuantity(request.getQuantity());
+            return item.toResponse();
+        });
+    }
+
+    public void removeFromCart(Long cartItemId) {
+        String sessionId = ownerOf(cartItemId);
+        sessionCartStore.update(sessionId, cart -> {
+            if (!cart.removeItem(cartItemId)) {
+                throw new CartItemNotFoundException("Cart item not found with id: " + cartItemId);
+            }
+            return null;
+        });
+    }
+
+    public void clearCart(String sessionId) {
+        sessionCartStore.delete(sessionId);
+    }
+
+    public List<SessionCartItem> getItems(String sessionId) {
+        return sessionCartStore.find(sessionId)
+                .map(SessionCart::getItems)
+                .orElse(List.of());
+    }
+
+    public Optional<String> findSessionId(Long cartItemId) {
+        return sessionCartStore.findSessionIdByItemId(cartItemId);
+    }
+
+    private String ownerOf(Long cartItemId) {
+        return sessionCartStore.findSessionIdByItemId(cartItemId)
+                .orElseThrow(() -> new CartItemNotFoundException("Cart item not found with id: " + cartItemId));
+    }
+}
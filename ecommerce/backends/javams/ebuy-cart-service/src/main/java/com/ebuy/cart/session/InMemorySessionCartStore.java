@@ -0,0 +1,100 @@
+package com.ebuy.cart.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Embedded {@link SessionCartStore} for single-instance deployments and local development.
+ * Expired carts are hidden on read and removed by a periodic sweep.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cart.session-store", name = "type", havingValue = "memory")
+public class InMemorySessionCartStore implements SessionCartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySessionCartStore.class);
+
+    private final Map<String, Entry> carts = new ConcurrentHashMap<>();
+    private final Map<Long, String> itemOwners = new ConcurrentHashMap<>();
+    private final AtomicLong itemIds = new AtomicLong();
+    private final long ttlMillis;
+
+    public InMemorySessionCartStore(@Value("${app.cart.default-session-timeout:1800}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public Optional<SessionCart> find(String sessionId) {
+        Entry entry = carts.get(sessionId);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.cart.copy());
+    }
+
+    @Override
+    public <T> T update(String sessionId, Function<SessionCart, T> mutation) {
+        AtomicReference<T> result = new AtomicReference<>();
+        carts.compute(sessionId, (id, entry) -> {
+            long now = System.currentTimeMillis();
+            SessionCart cart = entry == null || entry.isExpired(now) ? new SessionCart(id) : entry.cart.copy();
+            result.set(mutation.apply(cart));
+            if (entry != null) {
+                entry.cart.getItems().forEach(item -> itemOwners.remove(item.getCartItemId(), id));
+            }
+            cart.getItems().forEach(item -> itemOwners.put(item.getCartItemId(), id));
+            return new Entry(cart, now + ttlMillis);
+        });
+        return result.get();
+    }
+
+    @Override
+    public Optional<String> findSessionIdByItemId(Long cartItemId) {
+        return Optional.ofNullable(itemOwners.get(cartItemId));
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        Entry removed = carts.remove(sessionId);
+        if (removed != null) {
+            removed.cart.getItems().forEach(item -> itemOwners.remove(item.getCartItemId(), sessionId));
+        }
+    }
+
+    @Override
+    public long nextItemId() {
+        return itemIds.decrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.session-store.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, Entry> candidate : carts.entrySet()) {
+            if (candidate.getValue().isExpired(now) && carts.remove(candidate.getKey(), candidate.getValue())) {
+                candidate.getValue().cart.getItems()
+                        .forEach(item -> itemOwners.remove(item.getCartItemId(), candidate.getKey()));
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired session carts", evicted);
+        }
+    }
+
+    private record Entry(SessionCart cart, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ebuy.cart.session;
+
+import com.ebuy.cart.exception.CartException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Redis-backed {@link SessionCartStore}. Each cart is one JSON value with a TTL; a per-line
+ * index key maps guest line ids back to their session. Updates use WATCH/MULTI so concurrent
+ * changes to the same guest cart are retried rather than lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cart.session-store", name = "type", havingValue = "redis")
+public class RedisSessionCartStore implements SessionCartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSessionCartStore.class);
+
+    private static final String CART_KEY_PREFIX = "ebuy:cart:session:";
+    private static final String ITEM_KEY_PREFIX = "ebuy:cart:session-item:";
+    private static final String ITEM_SEQUENCE_KEY = "ebuy:cart:session-item-seq";
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisSessionCartStore(StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.cart.default-session-timeout:1800}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @Override
+    public Optional<SessionCart> find(String sessionId) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(cartKey(sessionId))).map(this::read);
+    }
+
+    @Override
+    public <T> T update(String sessionId, Function<SessionCart, T> mutation) {
+        String cartKey = cartKey(sessionId);
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            AtomicReference<T> result = new AtomicReference<>();
+            List<Object> committed = redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.watch(cartKey);
+                    String current = ops.opsForValue().get(cartKey);
+                    SessionCart cart = current != null ? read(current) : new SessionCart(sessionId);
+                    Set<Long> previousIds = itemIds(cart);
+                    try {
+                        result.set(mutation.apply(cart));
+                    } catch (RuntimeException e) {
+                        ops.unwatch();
+                        throw e;
+                    }
+
+                    ops.multi();
+                    ops.opsForValue().set(cartKey, write(cart), ttl);
+                    for (SessionCartItem item : cart.getItems()) {
+                        ops.opsForValue().set(itemKey(item.getCartItemId()), sessionId, ttl);
+                        previousIds.remove(item.getCartItemId());
+                    }
+                    previousIds.forEach(id -> ops.delete(itemKey(id)));
+                    return ops.exec();
+                }
+            });
+            if (committed != null && !committed.isEmpty()) {
+                return result.get();
+            }
+            logger.debug("Concurrent update of session cart {}, retrying (attempt {})", sessionId, attempt);
+        }
+        throw new CartException("Cart is being modified concurrently, please retry");
+    }
+
+    @Override
+    public Optional<String> findSessionIdByItemId(Long cartItemId) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(itemKey(cartItemId)));
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        find(sessionId).ifPresent(cart -> redisTemplate.delete(
+                cart.getItems().stream().map(item -> itemKey(item.getCartItemId())).toList()));
+        redisTemplate.delete(cartKey(sessionId));
+    }
+
+    @Override
+    public long nextItemId() {
+        Long next = redisTemplate.opsForValue().increment(ITEM_SEQUENCE_KEY);
+        return -next;
+    }
+
+    private Set<Long> itemIds(SessionCart cart) {
+        Set<Long> ids = new HashSet<>();
+        cart.getItems().forEach(item -> ids.add(item.getCartItemId()));
+        return ids;
+    }
+
+    private SessionCart read(String json) {
+        try {
+            return objectMapper.readValue(json, SessionCart.class);
+        } catch (JsonProcessingException e) {
+            throw new CartException("Failed to read session cart", e);
+        }
+    }
+
+    private String write(SessionCart cart) {
+        try {
+            return objectMapper.writeValueAsString(cart);
+        } catch (JsonProcessingException e) {
+            throw new CartException("Failed to write session cart", e);
+        }
+    }
+
+    private static String cartKey(String sessionId) {
+        return CART_KEY_PREFIX + sessionId;
+    }
+
+    private static String itemKey(Long cartItemId) {
+        return ITEM_KEY_PREFIX + cartItemId;
+    }
+}
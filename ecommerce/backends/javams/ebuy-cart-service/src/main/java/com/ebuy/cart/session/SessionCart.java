@@ -0,0 +1,51 @@
+package com.ebuy.cart.session;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Guest cart as kept in a {@link SessionCartStore}.
+ */
+public class SessionCart {
+
+    private String sessionId;
+    private List<SessionCartItem> items = new ArrayList<>();
+
+    public SessionCart() {}
+
+    public SessionCart(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Optional<SessionCartItem> findItem(Long cartItemId) {
+        return items.stream().filter(item -> item.getCartItemId().equals(cartItemId)).findFirst();
+    }
+
+    public Optional<SessionCartItem> findItemByProduct(Long productId) {
+        return items.stream().filter(item -> item.getProductId().equals(productId)).findFirst();
+    }
+
+    public boolean removeItem(Long cartItemId) {
+        return items.removeIf(item -> item.getCartItemId().equals(cartItemId));
+    }
+
+    public SessionCart copy() {
+        SessionCart copy = new SessionCart(sessionId);
+        items.forEach(item -> copy.items.add(item.copy()));
+        return copy;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+
+    public List<SessionCartItem> getItems() { return items; }
+    public void setItems(List<SessionCartItem> items) { this.items = items; }
+}
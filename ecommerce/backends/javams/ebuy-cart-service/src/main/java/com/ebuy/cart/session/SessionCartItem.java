@@ -0,0 +1,69 @@
+package com.ebuy.cart.session;
+
+import com.ebuy.cart.dto.response.CartItemResponse;
+
+import java.time.Instant;
+
+/**
+ * A line of a guest cart. Ids are negative so they never collide with
+ * {@code cart.cart_items.cart_item_id}.
+ */
+public class SessionCartItem {
+
+    private Long cartItemId;
+    private Long productId;
+    private Integer quantity;
+    private Instant createdAt;
+    private Instant modifiedAt;
+    private Long rowVersion;
+
+    public SessionCartItem() {}
+
+    public SessionCartItem(Long cartItemId, Long productId, Integer quantity) {
+        this.cartItemId = cartItemId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.createdAt = Instant.now();
+        this.modifiedAt = createdAt;
+        this.rowVersion = 1L;
+    }
+
+    public void changeQuantity(int quantity) {
+        this.quantity = quantity;
+        this.modifiedAt = Instant.now();
+        this.rowVersion = rowVersion + 1;
+    }
+
+    public SessionCartItem copy() {
+        SessionCartItem copy = new SessionCartItem();
+        copy.cartItemId = cartItemId;
+        copy.productId = productId;
+        copy.quantity = quantity;
+        copy.createdAt = createdAt;
+        copy.modifiedAt = modifiedAt;
+        copy.rowVersion = rowVersion;
+        return copy;
+    }
+
+    public CartItemResponse toResponse() {
+        return new CartItemResponse(cartItemId, productId, quantity, createdAt, modifiedAt, rowVersion);
+    }
+
+    public Long getCartItemId() { return cartItemId; }
+    public void setCartItemId(Long cartItemId) { this.cartItemId = cartItemId; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getModifiedAt() { return modifiedAt; }
+    public void setModifiedAt(Instant modifiedAt) { this.modifiedAt = modifiedAt; }
+
+    public Long getRowVersion() { return rowVersion; }
+    public void setRowVersion(Long rowVersion) { this.rowVersion = rowVersion; }
+}
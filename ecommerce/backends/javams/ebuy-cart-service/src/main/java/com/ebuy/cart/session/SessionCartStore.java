@@ -0,0 +1,28 @@
+package com.ebuy.cart.session;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Expiring key/value storage for guest carts. Entries live for
+ * {@code app.cart.default-session-timeout} seconds after their last change.
+ */
+public interface SessionCartStore {
+
+    Optional<SessionCart> find(String sessionId);
+
+    /**
+     * Applies {@code mutation} to the cart of {@code sessionId} (an empty cart if none exists)
+     * and stores the result with a fresh TTL. If the mutation throws, nothing is stored.
+     */
+    <T> T update(String sessionId, Function<SessionCart, T> mutation);
+
+    Optional<String> findSessionIdByItemId(Long cartItemId);
+
+    void delete(String sessionId);
+
+    /**
+     * Allocates a new, negative guest line id.
+     */
+    long nextItemId();
+}
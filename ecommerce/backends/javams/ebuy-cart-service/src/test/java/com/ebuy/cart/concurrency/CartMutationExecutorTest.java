@@ -0,0 +1,122 @@
+package com.ebuy.cart.concurrency;
+
+import com.ebuy.cart.engine.CartKey;
+import com.ebuy.cart.exception.CartBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CartMutationExecutorTest {
+
+    private static final CartKey SESSION = CartKey.ofSession("guest-1");
+
+    private SimpleMeterRegistry meterRegistry;
+    private CartMutationExecutor executor;
+    private CartKey user;
+    private ExecutorService threads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new CartMutationExecutor(meterRegistry, 8, 5_000);
+        user = userOnOtherStripeThan(SESSION);
+        threads = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void lineMutationFollowsLineMergedIntoAnotherCartWhileWaiting() throws Exception {
+        AtomicReference<CartKey> owner = new AtomicReference<>(SESSION);
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch mergeHoldsSession = new CountDownLatch(1);
+        CountDownLatch finishMerge = new CountDownLatch(1);
+        CountDownLatch updateRunning = new CountDownLatch(1);
+        CountDownLatch finishUpdate = new CountDownLatch(1);
+
+        Future<?> merge = threads.submit(() -> executor.execute(SESSION, () -> {
+            mergeHoldsSession.countDown();
+            await(finishMerge);
+            owner.set(user);
+        }));
+        assertTrue(mergeHoldsSession.await(5, TimeUnit.SECONDS));
+
+        Future<?> update = threads.submit(() -> executor.executeForLine(() -> {
+            lookups.incrementAndGet();
+            return owner.get();
+        }, () -> {
+            updateRunning.countDown();
+            await(finishUpdate);
+        }));
+        Thread.sleep(100);
+        assertEquals(1, lookups.get());
+
+        finishMerge.countDown();
+        merge.get(5, TimeUnit.SECONDS);
+        assertTrue(updateRunning.await(5, TimeUnit.SECONDS));
+
+        // The update now holds the user's stripe, so another mutation of the user cart waits
+        Future<?> other = threads.submit(() -> executor.execute(user, () -> { }));
+        Thread.sleep(100);
+        assertFalse(other.isDone());
+
+        finishUpdate.countDown();
+        update.get(5, TimeUnit.SECONDS);
+        other.get(5, TimeUnit.SECONDS);
+        assertEquals(3, lookups.get());
+        assertEquals(1.0, meterRegistry.get("cart.mutation.owner.changes").counter().count());
+    }
+
+    @Test
+    void lineMutationRunsOnceWhenOwnerIsStable() {
+        AtomicInteger runs = new AtomicInteger();
+
+        int result = executor.executeForLine(() -> SESSION, runs::incrementAndGet);
+
+        assertEquals(1, result);
+        assertEquals(0.0, meterRegistry.get("cart.mutation.owner.changes").counter().count());
+    }
+
+    @Test
+    void lineMutationGivesUpWhenOwnerKeepsChanging() {
+        AtomicInteger lookups = new AtomicInteger();
+
+        assertThrows(CartBusyException.class, () -> executor.executeForLine(
+                () -> lookups.incrementAndGet() % 2 == 0 ? user : SESSION,
+                () -> { }));
+    }
+
+    private CartKey userOnOtherStripeThan(CartKey key) {
+        for (long userId = 1; ; userId++) {
+            CartKey candidate = CartKey.ofUser(userId);
+            if (executor.stripeIndex(candidate) != executor.stripeIndex(key)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.ebuy.cart.engine;
+
+import com.ebuy.cart.config.CartEngineProperties;
+import com.ebuy.cart.model.entity.CartItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CartWriteBehindFlusherTest {
+
+    private static final CartKey KEY = CartKey.ofUser(7L);
+    private static final long ITEM_ID = 100L;
+    private static final CartKey OTHER_KEY = CartKey.ofUser(8L);
+    private static final long OTHER_ITEM_ID = 200L;
+
+    private FakeCartTable table;
+    private SimpleMeterRegistry meterRegistry;
+    private CartAggregateStore store;
+    private CartWriteBehindFlusher flusher;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setStripes(4);
+        properties.setMaxEntries(64);
+        properties.setFlushBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        table = new FakeCartTable();
+        table.insert(KEY, ITEM_ID, 1);
+        loads = new AtomicInteger();
+        store = new CartAggregateStore(properties, meterRegistry);
+        flusher = new CartWriteBehindFlusher(store, table,
+                new TransactionTemplate(new NoOpTransactionManager()), properties, meterRegistry);
+    }
+
+    @Test
+    void scheduledRunSkipsCartWhoseFlushIsStillInFlight() throws Exception {
+        setQuantity(2);
+        CountDownLatch release = table.blockNextWrite();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> first = executor.submit(() -> flusher.flush(KEY));
+            assertTrue(table.awaitBlockedWrite());
+
+            // Edit while the first flush is between drain and commit
+            setQuantity(3);
+            flusher.flushAll();
+            assertEquals(1, table.writes.get());
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        flusher.flushAll();
+
+        assertEquals(3, table.quantity(ITEM_ID));
+        assertEquals(3, table.version(ITEM_ID));
+        assertEquals(0.0, conflicts());
+        assertEquals(Optional.of(KEY), store.ownerOf(ITEM_ID));
+        assertTrue(store.dirtyKeys().isEmpty());
+    }
+
+    @Test
+    void synchronousFlushWaitsForInFlightFlushOfSameCart() throws Exception {
+        setQuantity(2);
+        CountDownLatch release = table.blockNextWrite();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> flusher.flush(KEY));
+            assertTrue(table.awaitBlockedWrite());
+            setQuantity(5);
+
+            Future<Boolean> second = executor.submit(() -> flusher.flush(KEY));
+            Thread.sleep(100);
+            assertFalse(second.isDone());
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5, table.quantity(ITEM_ID));
+        assertEquals(0.0, conflicts());
+    }
+
+    @Test
+    void cartEvictedMidFlushKeepsItsChangesWhenTheFlushFails() throws Exception {
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setStripes(1);
+        properties.setMaxEntries(1);
+        store = new CartAggregateStore(properties, meterRegistry);
+        flusher = new CartWriteBehindFlusher(store, table,
+                new TransactionTemplate(new NoOpTransactionManager()), properties, meterRegistry);
+        setQuantity(2);
+        CountDownLatch release = table.failNextWrite();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> first = executor.submit(() -> flusher.flush(KEY));
+            assertTrue(table.awaitBlockedWrite());
+
+            // Another cart takes the only slot while the first flush is between drain and commit
+            store.apply(CartKey.ofUser(8L), key -> List.of(), aggregate -> aggregate);
+
+            release.countDown();
+            assertFalse(first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Set.of(KEY), store.dirtyKeys());
+        assertTrue(flusher.flush(KEY));
+
+        assertEquals(2, table.quantity(ITEM_ID));
+        assertEquals(2, table.version(ITEM_ID));
+        assertTrue(store.dirtyKeys().isEmpty());
+        // Flushed and no longer resident, so the engine lets go of the cart's lines
+        assertTrue(store.ownerOf(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void concurrentEditsAndFlushesConvergeWithoutConflicts() throws Exception {
+        int editors = 4;
+        int editsPerEditor = 500;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch editsDone = new CountDownLatch(editors);
+        ExecutorService executor = Executors.newFixedThreadPool(editors + 2);
+        try {
+            for (int e = 0; e < editors; e++) {
+                int base = e * editsPerEditor;
+                executor.submit(() -> {
+                    try {
+                        for (int i = 1; i <= editsPerEditor; i++) {
+                            setQuantity(base + i);
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        editsDone.countDown();
+                    }
+                });
+            }
+            Runnable scheduled = () -> {
+                while (editsDone.getCount() > 0) {
+                    flusher.flushAll();
+                }
+            };
+            Runnable synchronous = () -> {
+                while (editsDone.getCount() > 0) {
+                    flusher.flush(KEY);
+                }
+            };
+            Future<?> scheduledRuns = executor.submit(scheduled);
+            Future<?> synchronousRuns = executor.submit(synchronous);
+
+            assertTrue(editsDone.await(30, TimeUnit.SECONDS));
+            scheduledRuns.get(30, TimeUnit.SECONDS);
+            synchronousRuns.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNull(failure.get());
+
+        assertTrue(flusher.flush(KEY));
+
+        int inMemory = store.apply(KEY, this::load, aggregate -> aggregate.findActiveLine(ITEM_ID).orElseThrow().getQuantity());
+        assertEquals(inMemory, table.quantity(ITEM_ID));
+        assertEquals(0.0, conflicts());
+        assertTrue(store.dirtyKeys().isEmpty());
+    }
+
+    @Test
+    void conflictingWriteFromAnotherInstanceEvictsCart() {
+        setQuantity(2);
+        table.bumpVersion(ITEM_ID);
+
+        flusher.flushAll();
+
+        assertEquals(1.0, conflicts());
+        assertTrue(store.ownerOf(ITEM_ID).isEmpty());
+        // The lost edit is reported once, to the next request for the cart
+        assertTrue(store.takeUnsaved(KEY));
+        assertFalse(store.takeUnsaved(KEY));
+    }
+
+    @Test
+    void rejectedCartIsRetriedAloneAndQuarantinedAfterMaxAttempts() {
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setMaxFlushAttempts(3);
+        flusher = new CartWriteBehindFlusher(store, table,
+                new TransactionTemplate(new NoOpTransactionManager()), properties, meterRegistry);
+        table.insert(OTHER_KEY, OTHER_ITEM_ID, 1);
+        setQuantity(2);
+        setQuantity(OTHER_KEY, OTHER_ITEM_ID, 4);
+        table.reject(ITEM_ID);
+
+        flusher.flushAll();
+
+        // The other cart is written in its own transaction despite the rejected row
+        assertEquals(4, table.quantity(OTHER_ITEM_ID));
+        assertEquals(Set.of(KEY), store.dirtyKeys());
+        assertEquals(Optional.of(KEY), store.ownerOf(ITEM_ID));
+
+        flusher.flushAll();
+        assertEquals(Set.of(KEY), store.dirtyKeys());
+        assertEquals(0.0, quarantined());
+
+        flusher.flushAll();
+        assertTrue(store.dirtyKeys().isEmpty());
+        assertEquals(1.0, quarantined());
+        assertTrue(store.ownerOf(ITEM_ID).isEmpty());
+        assertTrue(store.takeUnsaved(KEY));
+        assertFalse(store.takeUnsaved(OTHER_KEY));
+
+        // Dropped from memory, so the next read sees what the database holds
+        int quantity = store.apply(KEY, this::load, aggregate -> aggregate.findActiveLine(ITEM_ID).orElseThrow().getQuantity());
+        assertEquals(1, quantity);
+    }
+
+    @Test
+    void cleanCartPastResidentTtlIsReloaded() throws Exception {
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setResidentTtlMs(50);
+        CartAggregateStore shortLived = new CartAggregateStore(properties, new SimpleMeterRegistry());
+
+        shortLived.apply(KEY, this::load, aggregate -> aggregate);
+        Thread.sleep(100);
+        shortLived.apply(KEY, this::load, aggregate -> {
+            shortLived.updateQuantity(aggregate, aggregate.findActiveLine(ITEM_ID).orElseThrow(), 9);
+            return aggregate;
+        });
+        assertEquals(2, loads.get());
+
+        Thread.sleep(100);
+        int quantity = shortLived.apply(KEY, this::load, aggregate -> aggregate.findActiveLine(ITEM_ID).orElseThrow().getQuantity());
+        // Unflushed changes keep the cart resident past its TTL
+        assertEquals(2, loads.get());
+        assertEquals(9, quantity);
+    }
+
+    private void setQuantity(int quantity) {
+        setQuantity(KEY, ITEM_ID, quantity);
+    }
+
+    private void setQuantity(CartKey key, long cartItemId, int quantity) {
+        store.apply(key, this::load, aggregate -> {
+            store.updateQuantity(aggregate, aggregate.findActiveLine(cartItemId).orElseThrow(), quantity);
+            return aggregate;
+        });
+    }
+
+    private List<CartItem> load(CartKey key) {
+        loads.incrementAndGet();
+        return table.load(key);
+    }
+
+    private double conflicts() {
+        return meterRegistry.get("cart.engine.flush.conflicts").counter().count();
+    }
+
+    private double quarantined() {
+        return meterRegistry.get("cart.engine.flush.quarantined").counter().count();
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    /**
+     * Stand-in for {@code cart.cart_items} that applies the flusher's guarded update the way
+     * Postgres does: the row only changes when the expected version matches, and every
+     * change bumps the version.
+     */
+    private static final class FakeCartTable extends JdbcTemplate {
+
+        private final Map<Long, long[]> rows = new ConcurrentHashMap<>();
+        private final Map<Long, CartKey> owners = new ConcurrentHashMap<>();
+        private final Set<Long> rejected = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger writes = new AtomicInteger();
+        private volatile CountDownLatch blockedWrite;
+        private volatile CountDownLatch release;
+        private volatile boolean failBlockedWrite;
+
+        void insert(CartKey owner, long cartItemId, int quantity) {
+            rows.put(cartItemId, new long[] {quantity, 1});
+            owners.put(cartItemId, owner);
+        }
+
+        /**
+         * Makes every write that touches {@code cartItemId} fail, like a constraint violation.
+         */
+        void reject(long cartItemId) {
+            rejected.add(cartItemId);
+        }
+
+        synchronized void bumpVersion(long cartItemId) {
+            rows.get(cartItemId)[1]++;
+        }
+
+        long quantity(long cartItemId) {
+            return rows.get(cartItemId)[0];
+        }
+
+        long version(long cartItemId) {
+            return rows.get(cartItemId)[1];
+        }
+
+        CountDownLatch blockNextWrite() {
+            blockedWrite = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+            return release;
+        }
+
+        /**
+         * Like {@link #blockNextWrite}, but the write fails once released.
+         */
+        CountDownLatch failNextWrite() {
+            failBlockedWrite = true;
+            return blockNextWrite();
+        }
+
+        boolean awaitBlockedWrite() throws InterruptedException {
+            return blockedWrite.await(5, TimeUnit.SECONDS);
+        }
+
+        synchronized List<CartItem> load(CartKey key) {
+            List<CartItem> items = new ArrayList<>();
+            rows.forEach((id, row) -> {
+                if (!key.equals(owners.get(id))) {
+                    return;
+                }
+                CartItem item = new CartItem(key.getUserId(), key.getSessionId(), 1L, (int) row[0]);
+                item.setCartItemId(id);
+                item.setRowVersion(row[1]);
+                items.add(item);
+            });
+            return items;
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            writes.incrementAndGet();
+            CountDownLatch gate = release;
+            if (gate != null) {
+                release = null;
+                blockedWrite.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failBlockedWrite) {
+                    failBlockedWrite = false;
+                    throw new DataAccessResourceFailureException("Connection reset");
+                }
+            }
+
+            List<T> args = new ArrayList<>(batchArgs);
+            for (T arg : args) {
+                if (rejected.contains(((CartAggregateStore.PendingWrite) arg).line().getCartItemId())) {
+                    throw new DataIntegrityViolationException("new row violates check constraint");
+                }
+            }
+            int[][] counts = new int[(args.size() + batchSize - 1) / batchSize][];
+            for (int i = 0; i < args.size(); i++) {
+                if (i % batchSize == 0) {
+                    counts[i / batchSize] = new int[Math.min(batchSize, args.size() - i)];
+                }
+                counts[i / batchSize][i % batchSize] = apply((CartAggregateStore.PendingWrite) args.get(i));
+            }
+            return counts;
+        }
+
+        private synchronized int apply(CartAggregateStore.PendingWrite write) {
+            long[] row = rows.get(write.line().getCartItemId());
+            if (row == null || row[1] != write.expectedVersion()) {
+                return 0;
+            }
+            row[0] = write.quantity();
+            row[1]++;
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.ebuy.cart.repository;
+
+import com.ebuy.cart.model.entity.CartItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the cart repository's native statements against a real Postgres built from
+ * {@code databases/cart_db/create_schema.sql}, triggers included.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class CartItemRepositoryIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartItemRepositoryIntegrationTest.class);
+
+    private static final Path SCHEMA = Path.of("../../../databases/cart_db/create_schema.sql");
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath(SCHEMA), "/docker-entrypoint-initdb.d/01-cart-schema.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    @Autowired
+    private CartItemRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mergeSumsSharedProductsAndMovesTheRestToTheUser() {
+        long userId = 1L;
+        String sessionId = "merge-basic";
+        repository.upsertActiveItemForUser(userId, 10L, 2, 100);
+        repository.upsertActiveItemForSession(sessionId, 10L, 3, 100);
+        CartItem sessionOnly = repository.upsertActiveItemForSession(sessionId, 20L, 1, 100).orElseThrow();
+
+        long consumed = repository.mergeSessionItemsIntoUserCart(sessionId, userId, 100);
+        entityManager.clear();
+
+        assertEquals(2, consumed);
+        Map<Long, CartItem> userCart = byProduct(repository.findActiveCartItemsByUserId(userId));
+        assertEquals(2, userCart.size());
+        assertEquals(5, userCart.get(10L).getQuantity());
+        assertEquals(1, userCart.get(20L).getQuantity());
+        assertEquals(sessionOnly.getCartItemId(), userCart.get(20L).getCartItemId());
+        assertTrue(repository.findActiveCartItemsBySessionId(sessionId).isEmpty());
+        assertEquals(2, repository.countActiveItemsByUserId(userId));
+        assertEquals(0, repository.countActiveItemsBySessionId(sessionId));
+    }
+
+    @Test
+    void mergeIsANoOpForAnEmptySessionCart() {
+        long userId = 2L;
+        repository.upsertActiveItemForUser(userId, 10L, 4, 100);
+
+        long consumed = repository.mergeSessionItemsIntoUserCart("merge-empty", userId, 100);
+        entityManager.clear();
+
+        assertEquals(0, consumed);
+        List<CartItem> userCart = repository.findActiveCartItemsByUserId(userId);
+        assertEquals(1, userCart.size());
+        assertEquals(4, userCart.get(0).getQuantity());
+    }
+
+    @Test
+    void mergesLargeCartsInOneStatement() {
+        long userId = 3L;
+        String sessionId = "merge-large";
+        int sessionLines = 100;
+        for (long productId = 1; productId <= sessionLines; productId++) {
+            repository.upsertActiveItemForSession(sessionId, productId, 1, Integer.MAX_VALUE);
+            if (productId % 2 == 0) {
+                repository.upsertActiveItemForUser(userId, productId, 2, Integer.MAX_VALUE);
+            }
+        }
+        entityManager.flush();
+
+        long consumed = repository.mergeSessionItemsIntoUserCart(sessionId, userId, Integer.MAX_VALUE);
+        entityManager.clear();
+
+        assertEquals(sessionLines, consumed);
+        Map<Long, CartItem> userCart = byProduct(repository.findActiveCartItemsByUserId(userId));
+        assertEquals(sessionLines, userCart.size());
+        assertEquals(3, userCart.get(2L).getQuantity());
+        assertEquals(1, userCart.get(1L).getQuantity());
+        assertEquals(sessionLines, repository.countActiveItemsByUserId(userId));
+        assertEquals(0, repository.countActiveItemsBySessionId(sessionId));
+    }
+
+    @Test
+    void mergeStopsAddingLinesAtTheLimitAndLeavesTheRestInTheSessionCart() {
+        long userId = 5L;
+        String sessionId = "merge-limit";
+        repository.upsertActiveItemForUser(userId, 10L, 1, 100);
+        repository.upsertActiveItemForUser(userId, 20L, 1, 100);
+        repository.upsertActiveItemForSession(sessionId, 10L, 2, 100);
+        repository.upsertActiveItemForSession(sessionId, 30L, 1, 100);
+        repository.upsertActiveItemForSession(sessionId, 40L, 1, 100);
+        entityManager.flush();
+
+        long consumed = repository.mergeSessionItemsIntoUserCart(sessionId, userId, 3);
+        entityManager.clear();
+
+        // The shared product still merges into its line; only one new line fits
+        assertEquals(2, consumed);
+        Map<Long, CartItem> userCart = byProduct(repository.findActiveCartItemsByUserId(userId));
+        assertEquals(List.of(10L, 20L, 30L), userCart.keySet().stream().sorted().toList());
+        assertEquals(3, userCart.get(10L).getQuantity());
+        assertEquals(3, repository.countActiveItemsByUserId(userId));
+        List<CartItem> leftOver = repository.findActiveCartItemsBySessionId(sessionId);
+        assertEquals(1, leftOver.size());
+        assertEquals(40L, leftOver.get(0).getProductId());
+        assertEquals(1, repository.countActiveItemsBySessionId(sessionId));
+    }
+
+    /**
+     * Times the set-based merge against the row-by-row merge it replaced, on the same
+     * container and the same cart shapes: a session cart of {@code lines} products, half of
+     * which the user cart already holds. Both paths must leave identical user carts.
+     */
+    @ParameterizedTest(name = "{0} session lines")
+    @ValueSource(ints = {1, 10, 100})
+    void setBasedMergeAgainstRowByRowMerge(int lines) {
+        int rounds = 5;
+        long rowByRowNanos = 0;
+        long setBasedNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            long rowByRowUser = 10_000L + lines * 10L + round;
+            String rowByRowSession = "bench-row-" + lines + "-" + round;
+            prepareMerge(rowByRowSession, rowByRowUser, lines);
+            long start = System.nanoTime();
+            mergeRowByRow(rowByRowSession, rowByRowUser);
+            entityManager.flush();
+            rowByRowNanos += System.nanoTime() - start;
+            entityManager.clear();
+
+            long setBasedUser = 20_000L + lines * 10L + round;
+            String setBasedSession = "bench-set-" + lines + "-" + round;
+            prepareMerge(setBasedSession, setBasedUser, lines);
+            start = System.nanoTime();
+            repository.mergeSessionItemsIntoUserCart(setBasedSession, setBasedUser, Integer.MAX_VALUE);
+            entityManager.flush();
+            setBasedNanos += System.nanoTime() - start;
+            entityManager.clear();
+
+            assertEquals(quantities(rowByRowUser), quantities(setBasedUser));
+            assertTrue(repository.findActiveCartItemsBySessionId(rowByRowSession).isEmpty());
+            assertTrue(repository.findActiveCartItemsBySessionId(setBasedSession).isEmpty());
+        }
+
+        logger.info("Merging {} session lines: row by row {} us, set-based {} us (mean of {} rounds)", lines,
+                TimeUnit.NANOSECONDS.toMicros(rowByRowNanos / rounds),
+                TimeUnit.NANOSECONDS.toMicros(setBasedNanos / rounds), rounds);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentFirstAddsToAnEmptyCartRespectTheLimit() throws Exception {
+        long userId = 4L;
+        int maxItems = 3;
+        int adders = 8;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(adders);
+        List<Future<Optional<CartItem>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < adders; i++) {
+                long productId = 100 + i;
+                Callable<Optional<CartItem>> add = () -> {
+                    start.await();
+                    return tx.execute(status -> {
+                        repository.ensureUserSummary(userId);
+                        return repository.upsertActiveItemForUser(userId, productId, 1, maxItems);
+                    });
+                };
+                results.add(executor.submit(add));
+            }
+            start.countDown();
+
+            int added = 0;
+            for (Future<Optional<CartItem>> result : results) {
+                if (result.get(30, TimeUnit.SECONDS).isPresent()) {
+                    added++;
+                }
+            }
+            assertEquals(maxItems, added);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(maxItems, repository.countActiveItemsByUserId(userId));
+        assertEquals(maxItems, repository.findActiveCartItemsByUserId(userId).size());
+    }
+
+    private void prepareMerge(String sessionId, long userId, int sessionLines) {
+        for (long productId = 1; productId <= sessionLines; productId++) {
+            repository.upsertActiveItemForSession(sessionId, productId, 1, Integer.MAX_VALUE);
+            if (productId % 2 == 0) {
+                repository.upsertActiveItemForUser(userId, productId, 2, Integer.MAX_VALUE);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * The merge CartServiceImpl ran before the set-based statement: load both carts, match
+     * them pairwise, save each row, then tombstone what is left of the session cart.
+     */
+    private void mergeRowByRow(String sessionId, Long userId) {
+        List<CartItem> sessionItems = repository.findActiveCartItemsBySessionId(sessionId);
+        List<CartItem> userItems = repository.findActiveCartItemsByUserId(userId);
+
+        for (CartItem sessionItem : sessionItems) {
+            Optional<CartItem> existingUserItem = userItems.stream()
+                    .filter(item -> item.getProductId().equals(sessionItem.getProductId()))
+                    .findFirst();
+
+            if (existingUserItem.isPresent()) {
+                CartItem userItem = existingUserItem.get();
+                userItem.setQuantity(userItem.getQuantity() + sessionItem.getQuantity());
+                repository.save(userItem);
+            } else {
+                sessionItem.setUserId(userId);
+                sessionItem.setSessionId(null);
+                repository.save(sessionItem);
+            }
+        }
+
+        repository.softDeleteAllBySessionId(sessionId, Instant.now());
+    }
+
+    private Map<Long, Integer> quantities(long userId) {
+        return repository.findActiveCartItemsByUserId(userId).stream()
+                .collect(Collectors.toMap(CartItem::getProductId, CartItem::getQuantity));
+    }
+
+    private static Map<Long, CartItem> byProduct(List<CartItem> items) {
+        return items.stream().collect(Collectors.toMap(CartItem::getProductId, item -> item));
+    }
+}
@@ -26,6 +26,21 @@ configurations {
     }
 }
 
+// JMH benchmarks live in src/jmh/java and share the unit tests' fixtures
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+}
+
+configurations {
+    named("jmhImplementation") {
+        extendsFrom(configurations.testImplementation.get())
+    }
+    named("jmhRuntimeOnly") {
+        extendsFrom(configurations.testRuntimeOnly.get())
+    }
+}
+
 repositories {
     mavenCentral()
     gradlePluginPortal()
@@ -61,6 +76,7 @@ dependencies {
     // Redis for caching
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.session:spring-session-data-redis")
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Messaging
     implementation("org.springframework.kafka:spring-kafka")
@@ -139,8 +155,8 @@ dependencies {
     testImplementation("com.tngtech.archunit:archunit-junit5:1.3.0")
 
     // Performance testing
-    testImplementation("org.openjdk.jmh:jmh-core:1.37")
-    testImplementation("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 dependencyManagement {
@@ -240,12 +256,17 @@ tasks.register("dockerImage") {
     }
 }
 
-// Custom task for performance testing
-tasks.register<Test>("performanceTest") {
+// Custom task for performance testing: runs the JMH benchmarks in src/jmh/java.
+// -PjmhInclude=<regex> narrows the run, e.g. -PjmhInclude=CacheValueCodecBenchmark;
+// -PjmhArgs passes further JMH options, e.g. -PjmhArgs="-prof gc"
+tasks.register<JavaExec>("performanceTest") {
     group = "verification"
-    description = "Runs performance tests"
+    description = "Runs JMH benchmarks"
 
-    include("**/*PerformanceTest.class")
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(project.findProperty("jmhInclude")?.toString() ?: ".*Benchmark.*")
+    project.findProperty("jmhArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() }?.let { args(it) }
     shouldRunAfter("test")
 
     systemProperty("spring.profiles.active", "performance-test")
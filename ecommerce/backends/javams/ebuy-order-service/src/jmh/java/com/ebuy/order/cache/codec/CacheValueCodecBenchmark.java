@@ -0,0 +1,86 @@
+package com.ebuy.order.cache.codec;
+
+import com.ebuy.order.dto.OrderDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time per cached order graph for the binary order codec, against JDK
+ * serialization, which the cache wrote before the codec and still uses as its fallback,
+ * and against JSON as a second baseline. Payload sizes are checked in
+ * {@link CacheValueSerializerTest}. Runs with the {@code performanceTest} task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheValueCodecBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private CacheValueSerializer binary;
+    private JdkSerializationRedisSerializer jdk;
+    private RedisSerializer<Object> json;
+    private OrderDto order;
+    private byte[] binaryBytes;
+    private byte[] jdkBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        jdk = new JdkSerializationRedisSerializer();
+        binary = new CacheValueSerializer(List.of(new OrderDtoBinaryCodec()), jdk, true);
+        json = OrderFixtures.json();
+        order = OrderFixtures.order(items);
+        binaryBytes = binary.serialize(order);
+        jdkBytes = jdk.serialize(order);
+        jsonBytes = json.serialize(order);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.serialize(order);
+    }
+
+    @Benchmark
+    public byte[] encodeJdk() {
+        return jdk.serialize(order);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.serialize(order);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    @Benchmark
+    public Object decodeJdk() {
+        return jdk.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return json.deserialize(jsonBytes);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ebuy.order.event.bus;
+
+import com.ebuy.order.event.model.OrderItemEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Events per second through the path {@link LocalEventBus} replaced: one
+ * {@code CompletableFuture.runAsync} task per event on the common pool, each publishing the
+ * event as a Spring application event to every listener. That path had no bound, so to
+ * measure delivery rather than how fast the common pool's queue grows, at most
+ * {@link LocalEventBusBenchmark#RING_SIZE} events are in flight, as in the bus ring. Runs with
+ * the {@code performanceTest} task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationEventPublisherBenchmark {
+
+    @Param({"1", "3"})
+    public int subscribers;
+
+    private final OrderItemEvent event = new OrderItemEvent();
+    private final Semaphore inFlight = new Semaphore(LocalEventBusBenchmark.RING_SIZE);
+    private SimpleApplicationEventMulticaster multicaster;
+
+    @Setup
+    public void setUp() {
+        // What AbstractApplicationContext.publishEvent hands to the multicaster for a plain object
+        multicaster = new SimpleApplicationEventMulticaster();
+        for (int i = 0; i < subscribers; i++) {
+            multicaster.addApplicationListener(new CountingListener());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        inFlight.acquireUninterruptibly(LocalEventBusBenchmark.RING_SIZE);
+        inFlight.release(LocalEventBusBenchmark.RING_SIZE);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> publish() {
+        return publishAsync();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompletableFuture<Void> publishContended() {
+        return publishAsync();
+    }
+
+    private CompletableFuture<Void> publishAsync() {
+        inFlight.acquireUninterruptibly();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                multicaster.multicastEvent(new PayloadApplicationEvent<>(this, event));
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static final class CountingListener implements ApplicationListener<PayloadApplicationEvent<OrderItemEvent>> {
+
+        // Listeners run on any common pool thread
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void onApplicationEvent(PayloadApplicationEvent<OrderItemEvent> applicationEvent) {
+            count.increment();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ebuy.order.event.bus;
+
+import com.ebuy.order.event.model.OrderItemEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second through {@link LocalEventBus} for each wait strategy, with one and with
+ * several subscribers, from a single producer and from contending producers. Once the ring
+ * is full a publish waits for the slowest consumer, so the measured rate is end-to-end
+ * delivery, not just the claim. {@link ApplicationEventPublisherBenchmark} measures the path
+ * the bus replaced. Runs with the {@code performanceTest} task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalEventBusBenchmark {
+
+    static final int RING_SIZE = 8192;
+
+    @Param({"busy-spin", "yielding", "sleeping", "blocking"})
+    public String waitStrategy;
+
+    @Param({"1", "3"})
+    public int subscribers;
+
+    private final OrderItemEvent event = new OrderItemEvent();
+    private LocalEventBus bus;
+
+    @Setup
+    public void setUp() {
+        List<LocalEventSubscriber> counters = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            counters.add(new CountingSubscriber());
+        }
+        bus = new LocalEventBus(counters, RING_SIZE, waitStrategy, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        bus.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.stop();
+    }
+
+    @Benchmark
+    public boolean publish() {
+        return bus.publish(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean publishContended() {
+        return bus.publish(event);
+    }
+
+    private static final class CountingSubscriber implements LocalEventSubscriber {
+
+        // Written only by this subscriber's consumer thread
+        private long count;
+
+        @Override
+        public void onEvent(Object event, long sequence, boolean endOfBatch) {
+            count++;
+        }
+    }
+}
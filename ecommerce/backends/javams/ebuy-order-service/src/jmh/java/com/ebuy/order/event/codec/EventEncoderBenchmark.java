@@ -0,0 +1,70 @@
+package com.ebuy.order.event.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time per event for the binary event encoding against the JSON the publisher
+ * wrote before it. Payload sizes are checked in {@link EventEncoderTest}. Runs with the
+ * {@code performanceTest} task; {@code -PjmhArgs="-prof gc"} adds allocation per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventEncoderBenchmark {
+
+    @Param({"OrderItemEvent", "InventoryEvent", "PricingEvent", "BulkOperationEvent"})
+    public String eventType;
+
+    private EventEncoder binary;
+    private ObjectMapper json;
+    private Object event;
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        binary = EventFixtures.encoder();
+        json = EventFixtures.json();
+        event = EventFixtures.event(eventType);
+        binaryBytes = binary.encode(event);
+        jsonBytes = json.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binary.decode(binaryBytes);
+    }
+
+    @Benchmark
+    public Object decodeJson() throws IOException {
+        return json.readValue(jsonBytes, event.getClass());
+    }
+}
@@ -0,0 +1,123 @@
+package com.ebuy.order.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts one virtual thread per task, with a semaphore limiting how many run at once. There
+ * is no task queue: a submitter waits up to {@code acquireTimeout} for a free slot, after
+ * which the {@link RejectionPolicy} applies.
+ */
+public class BoundedVirtualThreadExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedVirtualThreadExecutor.class);
+
+    private final String name;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final RejectionPolicy rejectionPolicy;
+    private final Duration awaitTermination;
+    private final ThreadFactory threadFactory;
+    private final TaskDecorator taskDecorator;
+    private final ExecutorMetrics metrics;
+    private volatile boolean shutdown;
+
+    public BoundedVirtualThreadExecutor(String name,
+                                        int maxConcurrency,
+                                        Duration acquireTimeout,
+                                        RejectionPolicy rejectionPolicy,
+                                        Duration awaitTermination,
+                                        TaskDecorator taskDecorator,
+                                        ExecutorMetrics metrics) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejectionPolicy = rejectionPolicy;
+        this.awaitTermination = awaitTermination;
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+        this.taskDecorator = taskDecorator;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Runnable decorated = taskDecorator.decorate(task);
+        if (shutdown || !acquire()) {
+            reject(decorated);
+            return;
+        }
+
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    decorated.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    private boolean acquire() {
+        if (acquireTimeoutNanos <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(Runnable task) {
+        metrics.recordRejection();
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                if (!shutdown) {
+                    task.run();
+                    return;
+                }
+                logger.debug("Executor {} is shut down, discarding task", name);
+                return;
+            case DISCARD:
+            case DISCARD_OLDEST:
+                logger.debug("Executor {} is saturated, discarding task", name);
+                return;
+            case ABORT:
+            default:
+                throw new TaskRejectedException("Executor " + name + " did not accept task: "
+                        + (shutdown ? "shut down" : maxConcurrency + " tasks already running"));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdown = true;
+        if (!permits.tryAcquire(maxConcurrency, awaitTermination.toNanos(), TimeUnit.NANOSECONDS)) {
+            logger.warn("Executor {} shut down with {} tasks still running", name, getActiveCount());
+        }
+    }
+}
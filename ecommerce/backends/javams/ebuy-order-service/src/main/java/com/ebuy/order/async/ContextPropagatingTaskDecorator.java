@@ -0,0 +1,51 @@
+package com.ebuy.order.async;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Runs on the submitting thread: captures the MDC and a {@link RequestContextSnapshot}, and
+ * installs both around the task on the worker thread. Also feeds the pool's wait and
+ * execution timers.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    private final ExecutorMetrics metrics;
+
+    public ContextPropagatingTaskDecorator(ExecutorMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RequestContextSnapshot snapshot = RequestContextSnapshot.capture();
+        long submittedAt = System.nanoTime();
+
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            RequestContextSnapshot previousSnapshot = RequestContextSnapshot.install(snapshot);
+            setMdc(mdc);
+            long startedAt = System.nanoTime();
+            metrics.recordStart(startedAt - submittedAt);
+            try {
+                task.run();
+            } finally {
+                metrics.recordCompletion(System.nanoTime() - startedAt);
+                // Caller-runs tasks execute on the submitting thread, so restore rather than clear
+                setMdc(previousMdc);
+                RequestContextSnapshot.install(previousSnapshot);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ebuy.order.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of one named executor, all tagged {@code name=<bean name>}: active and queued
+ * gauges, completed and rejected counters, and timers for queue wait and execution.
+ */
+public class ExecutorMetrics {
+
+    private final Counter completed;
+    private final Counter rejected;
+    private final Timer wait;
+    private final Timer execution;
+
+    public ExecutorMetrics(MeterRegistry meterRegistry, String name,
+                           Supplier<Number> active, Supplier<Number> queued) {
+        Gauge.builder("ebuy.executor.active", active)
+                .tag("name", name)
+                .description("Tasks currently running")
+                .register(meterRegistry);
+        Gauge.builder("ebuy.executor.queued", queued)
+                .tag("name", name)
+                .description("Tasks waiting to run")
+                .register(meterRegistry);
+        this.completed = Counter.builder("ebuy.executor.completed")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ebuy.executor.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.wait = Timer.builder("ebuy.executor.wait")
+                .tag("name", name)
+                .description("Time from submission until a task starts")
+                .register(meterRegistry);
+        this.execution = Timer.builder("ebuy.executor.execution")
+                .tag("name", name)
+                .description("Task run time")
+                .register(meterRegistry);
+    }
+
+    void recordStart(long waitNanos) {
+        wait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordCompletion(long executionNanos) {
+        execution.record(executionNanos, TimeUnit.NANOSECONDS);
+        completed.increment();
+    }
+
+    public void recordRejection() {
+        rejected.increment();
+    }
+}
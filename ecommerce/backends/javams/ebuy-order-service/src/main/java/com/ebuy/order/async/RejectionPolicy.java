@@ -0,0 +1,19 @@
+package com.ebuy.order.async;
+
+/**
+ * What an executor does with a task it cannot accept.
+ */
+public enum RejectionPolicy {
+
+    /** Throw {@code TaskRejectedException} to the submitter. */
+    ABORT,
+
+    /** Run the task on the submitting thread, which slows the producer down. */
+    CALLER_RUNS,
+
+    /** Drop the task. */
+    DISCARD,
+
+    /** Drop the oldest queued task and retry; behaves as {@link #DISCARD} where there is no queue. */
+    DISCARD_OLDEST
+}
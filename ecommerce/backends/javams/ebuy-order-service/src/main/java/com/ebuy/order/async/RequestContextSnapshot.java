@@ -0,0 +1,68 @@
+package com.ebuy.order.async;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Request details copied on the submitting thread, so async tasks can read them after the
+ * servlet request has completed and been recycled.
+ */
+public record RequestContextSnapshot(String clientIp, String userAgent, String sessionId) {
+
+    private static final ThreadLocal<RequestContextSnapshot> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The snapshot installed for the running task, or null on a thread without one.
+     */
+    public static RequestContextSnapshot current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Snapshot of the current request; a task that submits further work passes its own
+     * snapshot on. Null outside of a request.
+     */
+    public static RequestContextSnapshot capture() {
+        RequestContextSnapshot current = CURRENT.get();
+        if (current != null) {
+            return current;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        HttpSession session = request.getSession(false);
+        return new RequestContextSnapshot(clientIp(request), request.getHeader("User-Agent"),
+                session != null ? session.getId() : null);
+    }
+
+    static RequestContextSnapshot install(RequestContextSnapshot snapshot) {
+        RequestContextSnapshot previous = CURRENT.get();
+        if (snapshot != null) {
+            CURRENT.set(snapshot);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
+}
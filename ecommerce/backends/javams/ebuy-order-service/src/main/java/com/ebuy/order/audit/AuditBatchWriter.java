@@ -0,0 +1,567 @@
+package com.ebuy.order.audit;
+
+import com.ebuy.order.entity.AuditLog;
+import com.ebuy.order.enums.AuditLevel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers audit records in a bounded queue and writes them with one multi-row
+ * {@code INSERT} per batch, or several in one transaction when a batch exceeds the bind
+ * parameter limit. A single flusher thread drains the queue whenever
+ * {@code ebuy.audit.batch-size} records are waiting or the oldest one has waited
+ * {@code ebuy.audit.max-delay}. What happens when the queue is full is decided by
+ * {@link AuditOverflowPolicy}. A batch the database rejects is retried row by row so one bad
+ * record does not take the rest of the batch with it. Every insert commits in its own
+ * transaction; the pool does not autocommit.
+ */
+@Component
+public class AuditBatchWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditBatchWriter.class);
+
+    private static final String INSERT_PREFIX = "INSERT INTO order_schema.audit_logs "
+            + "(action, level, entity_type, entity_id, user_id, description, audit_data, "
+            + "ip_address, user_agent, session_id, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 11;
+    // The Postgres wire protocol caps a statement at 32767 bind parameters
+    private static final int MAX_ROWS_PER_STATEMENT = Short.MAX_VALUE / COLUMNS;
+    private static final String SPILL_PREFIX = "audit-spill-";
+    private static final String SPILL_SUFFIX = ".jsonl";
+    private static final String REPLAYING_SUFFIX = ".replaying";
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final String DEAD_LETTER_PREFIX = "audit-dead-letter-";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long offerTimeoutNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final Path spillDirectory;
+    private final int spillMaxAttempts;
+    private final Object spillLock = new Object();
+    private final Thread flusher;
+    private volatile boolean running;
+    private volatile boolean spilled;
+
+    private final Timer flushTimer;
+    private final Counter writtenRecords;
+    private final Counter droppedRecords;
+    private final Counter spilledRecords;
+    private final Counter failedRecords;
+    private final Counter deadLetteredRecords;
+    private final Counter offerTimeouts;
+
+    public AuditBatchWriter(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${ebuy.audit.batch-size:1000}") int batchSize,
+                            @Value("${ebuy.audit.max-delay:500ms}") Duration maxDelay,
+                            @Value("${ebuy.audit.queue.capacity:20000}") int queueCapacity,
+                            @Value("${ebuy.audit.queue.overflow-policy:block}") String overflowPolicy,
+                            @Value("${ebuy.audit.queue.offer-timeout:200ms}") Duration offerTimeout,
+                            @Value("${ebuy.audit.spill.directory:${java.io.tmpdir}/ebuy-order-audit}") String spillDirectory,
+                            @Value("${ebuy.audit.spill.max-attempts:5}") int spillMaxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.overflowPolicy = AuditOverflowPolicy.fromProperty(overflowPolicy);
+        this.spillDirectory = Path.of(spillDirectory);
+        this.spillMaxAttempts = spillMaxAttempts;
+        this.flusher = new Thread(this::runFlusher, "audit-batch-writer");
+        this.flusher.setDaemon(true);
+
+        Gauge.builder("ebuy.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("ebuy.audit.flush")
+                .description("Time to write one audit batch")
+                .register(meterRegistry);
+        this.writtenRecords = recordCounter(meterRegistry, "written");
+        this.droppedRecords = recordCounter(meterRegistry, "dropped");
+        this.spilledRecords = recordCounter(meterRegistry, "spilled");
+        this.failedRecords = recordCounter(meterRegistry, "failed");
+        this.deadLetteredRecords = recordCounter(meterRegistry, "dead_lettered");
+        this.offerTimeouts = Counter.builder("ebuy.audit.queue.offer-timeouts")
+                .description("Audit records dropped after waiting ebuy.audit.queue.offer-timeout for queue space")
+                .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ebuy.audit.records")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a record for the next batch.
+     *
+     * @return false if the record was dropped
+     */
+    public boolean submit(AuditLog auditLog) {
+        if (queue.offer(auditLog)) {
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case SPILL:
+                return spill(List.of(auditLog));
+            case DROP_DEBUG:
+                if (auditLog.getLevel() == AuditLevel.DEBUG) {
+                    return drop(auditLog);
+                }
+                // fall through: higher levels wait for space
+            case BLOCK:
+            default:
+                try {
+                    if (queue.offer(auditLog, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return drop(auditLog);
+                }
+                return dropAfterTimeout(auditLog);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private boolean drop(AuditLog auditLog) {
+        droppedRecords.increment();
+        logger.debug("Audit queue full, dropped {} {} for {} {}", auditLog.getLevel(), auditLog.getAction(),
+                auditLog.getEntityType(), auditLog.getEntityId());
+        return false;
+    }
+
+    // Unlike a shed DEBUG record this loses a record the policy meant to keep, so it is not quiet
+    private boolean dropAfterTimeout(AuditLog auditLog) {
+        droppedRecords.increment();
+        offerTimeouts.increment();
+        logger.warn("Audit queue still full after {} ms, dropped {} {} for {} {}",
+                TimeUnit.NANOSECONDS.toMillis(offerTimeoutNanos), auditLog.getLevel(), auditLog.getAction(),
+                auditLog.getEntityType(), auditLog.getEntityId());
+        return false;
+    }
+
+    private void runFlusher() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Audit flusher failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            insert(batch);
+            writtenRecords.increment(batch.size());
+        } catch (Exception e) {
+            if (isRowError(e) && batch.size() > 1) {
+                logger.warn("Batch of {} audit records was rejected, writing it row by row", batch.size(), e);
+                insertRowByRow(batch);
+            } else {
+                logger.error("Failed to write batch of {} audit records", batch.size(), e);
+                notWritten(batch);
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void insertRowByRow(List<AuditLog> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            AuditLog auditLog = batch.get(i);
+            try {
+                insert(List.of(auditLog));
+                writtenRecords.increment();
+            } catch (Exception e) {
+                if (!isRowError(e)) {
+                    logger.error("Failed to write {} audit records", batch.size() - i, e);
+                    notWritten(batch.subList(i, batch.size()));
+                    return;
+                }
+                logger.error("Audit record {} {} for {} {} was rejected", auditLog.getLevel(), auditLog.getAction(),
+                        auditLog.getEntityType(), auditLog.getEntityId(), e);
+                notWritten(List.of(auditLog));
+            }
+        }
+    }
+
+    private void notWritten(List<AuditLog> records) {
+        if (overflowPolicy != AuditOverflowPolicy.SPILL || !spill(records)) {
+            failedRecords.increment(records.size());
+        }
+    }
+
+    /**
+     * Whether a failure is down to the rows themselves. Losing the connection or the database
+     * says nothing about the rows, so retrying them one by one or counting an attempt against
+     * them would be wrong.
+     */
+    private static boolean isRowError(Exception e) {
+        return !(e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException);
+    }
+
+    /**
+     * Writes the batch in one transaction, split into as many statements as the bind parameter
+     * limit requires, so a batch is still written or rejected as a whole.
+     */
+    private void insert(List<AuditLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < batch.size(); from += MAX_ROWS_PER_STATEMENT) {
+                insertStatement(batch.subList(from, Math.min(batch.size(), from + MAX_ROWS_PER_STATEMENT)));
+            }
+        });
+    }
+
+    private void insertStatement(List<AuditLog> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[rows.size() * COLUMNS];
+        int[] types = new int[args.length];
+        int i = 0;
+        for (AuditLog auditLog : rows) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+            i = bind(args, types, i, auditLog.getAction() != null ? auditLog.getAction().name() : null, Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getLevel() != null ? auditLog.getLevel().name() : null, Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getEntityType(), Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getEntityId(), Types.BIGINT);
+            i = bind(args, types, i, auditLog.getUserId(), Types.BIGINT);
+            i = bind(args, types, i, auditLog.getDescription(), Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getAuditData(), Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getIpAddress(), Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getUserAgent(), Types.VARCHAR);
+            i = bind(args, types, i, auditLog.getSessionId(), Types.VARCHAR);
+            OffsetDateTime createdAt = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : OffsetDateTime.now();
+            i = bind(args, types, i, Timestamp.from(createdAt.toInstant()), Types.TIMESTAMP);
+        }
+        jdbcTemplate.update(sql.toString(), args, types);
+    }
+
+    private static int bind(Object[] args, int[] types, int index, Object value, int type) {
+        args[index] = value;
+        types[index] = type;
+        return index + 1;
+    }
+
+    private boolean spill(List<AuditLog> records) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDirectory);
+                Path file = spillDirectory.resolve(SPILL_PREFIX + LocalDate.now() + SPILL_SUFFIX);
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog auditLog : records) {
+                        writer.write(objectMapper.writeValueAsString(auditLog));
+                        writer.newLine();
+                    }
+                }
+                spilled = true;
+                spilledRecords.increment(records.size());
+                return true;
+            } catch (IOException e) {
+                logger.error("Failed to spill {} audit records to {}", records.size(), spillDirectory, e);
+                droppedRecords.increment(records.size());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Writes spilled records back once the queue is idle. A file is moved aside before it is
+     * read so that concurrent spills go to a fresh file. Progress through each file is
+     * committed to a {@code .offset} file after every batch, so an interrupted replay resumes
+     * where it stopped instead of writing the file again from the top; at most the batch in
+     * flight can repeat.
+     */
+    private void replaySpilled() {
+        if (!spilled || !queue.isEmpty()) {
+            return;
+        }
+
+        List<Path> files = new ArrayList<>();
+        synchronized (spillLock) {
+            spilled = false;
+            if (!Files.isDirectory(spillDirectory)) {
+                return;
+            }
+            try {
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, SPILL_PREFIX + "*" + SPILL_SUFFIX)) {
+                    for (Path file : stream) {
+                        Files.move(file, file.resolveSibling(file.getFileName() + "." + System.currentTimeMillis() + REPLAYING_SUFFIX));
+                    }
+                }
+                // Includes files left over from an earlier replay that failed or was cut short
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, SPILL_PREFIX + "*" + REPLAYING_SUFFIX)) {
+                    stream.forEach(files::add);
+                }
+            } catch (IOException e) {
+                logger.error("Failed to list audit spill files in {}", spillDirectory, e);
+                spilled = true;
+                return;
+            }
+        }
+        Collections.sort(files);
+
+        for (Path file : files) {
+            try {
+                if (!replay(file)) {
+                    spilled = true;
+                    return;
+                }
+            } catch (Exception e) {
+                logger.error("Failed to replay audit spill file {}", file, e);
+                spilled = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if the file was not finished and has to be retried later
+     */
+    private boolean replay(Path file) throws IOException {
+        Path offsetFile = file.resolveSibling(file.getFileName() + OFFSET_SUFFIX);
+        SpillOffset offset = SpillOffset.read(offsetFile);
+        List<SpilledRecord> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long line = 0;
+            String json;
+            while ((json = reader.readLine()) != null) {
+                line++;
+                if (line <= offset.committed || json.isBlank()) {
+                    continue;
+                }
+                AuditLog auditLog;
+                try {
+                    auditLog = objectMapper.readValue(json, AuditLog.class);
+                } catch (IOException e) {
+                    // Can never be written; quarantine it straight away
+                    if (!replayBatch(file, batch, offset, offsetFile)) {
+                        return false;
+                    }
+                    deadLetter(file, json, e);
+                    offset.commit(line, offsetFile);
+                    continue;
+                }
+                batch.add(new SpilledRecord(auditLog, json, line));
+                if (batch.size() == batchSize && !replayBatch(file, batch, offset, offsetFile)) {
+                    return false;
+                }
+            }
+        }
+        if (!replayBatch(file, batch, offset, offsetFile)) {
+            return false;
+        }
+        Files.delete(file);
+        Files.deleteIfExists(offsetFile);
+        logger.info("Replayed spilled audit records from {}", file.getFileName());
+        return true;
+    }
+
+    /**
+     * Writes one batch of a spill file, falling back to row-by-row inserts when the batch is
+     * rejected. A row that keeps being rejected is moved to the dead-letter file after
+     * {@code ebuy.audit.spill.max-attempts} replays, so it cannot hold up the rest of the file.
+     */
+    private boolean replayBatch(Path file, List<SpilledRecord> batch, SpillOffset offset, Path offsetFile) throws IOException {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            try {
+                insert(batch.stream().map(SpilledRecord::auditLog).toList());
+                writtenRecords.increment(batch.size());
+                offset.commit(batch.get(batch.size() - 1).line(), offsetFile);
+                return true;
+            } catch (Exception e) {
+                if (!isRowError(e)) {
+                    logger.error("Failed to replay {} spilled audit records", batch.size(), e);
+                    return false;
+                }
+            }
+
+            for (SpilledRecord record : batch) {
+                try {
+                    insert(List.of(record.auditLog()));
+                    writtenRecords.increment();
+                    offset.commit(record.line(), offsetFile);
+                } catch (Exception e) {
+                    if (!isRowError(e)) {
+                        logger.error("Failed to replay spilled audit records", e);
+                        return false;
+                    }
+                    if (offset.failedAttempt(offsetFile) < spillMaxAttempts) {
+                        logger.warn("Spilled audit record at line {} of {} was rejected (attempt {} of {})",
+                                record.line(), file.getFileName(), offset.attempts, spillMaxAttempts, e);
+                        return false;
+                    }
+                    deadLetter(file, record.json(), e);
+                    offset.commit(record.line(), offsetFile);
+                }
+            }
+            return true;
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void deadLetter(Path source, String json, Exception cause) throws IOException {
+        Path file = spillDirectory.resolve(DEAD_LETTER_PREFIX + LocalDate.now() + SPILL_SUFFIX);
+        Files.writeString(file, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        deadLetteredRecords.increment();
+        logger.error("Moved spilled audit record from {} to {}: {}", source.getFileName(), file.getFileName(),
+                cause.getMessage());
+    }
+
+    private record SpilledRecord(AuditLog auditLog, String json, long line) {
+    }
+
+    /**
+     * Lines of a spill file already written, and how often the line after them has been rejected.
+     */
+    private static final class SpillOffset {
+
+        private long committed;
+        private int attempts;
+
+        static SpillOffset read(Path file) throws IOException {
+            SpillOffset offset = new SpillOffset();
+            if (Files.exists(file)) {
+                String[] parts = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+                offset.committed = Long.parseLong(parts[0]);
+                offset.attempts = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            }
+            return offset;
+        }
+
+        void commit(long line, Path file) throws IOException {
+            committed = line;
+            attempts = 0;
+            write(file);
+        }
+
+        int failedAttempt(Path file) throws IOException {
+            attempts++;
+            write(file);
+            return attempts;
+        }
+
+        private void write(Path file) throws IOException {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(tmp, committed + " " + attempts, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // Pick up anything spilled before the last shutdown
+        spilled = overflowPolicy == AuditOverflowPolicy.SPILL;
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(maxDelayNanos) + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("{} audit records were not written at shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
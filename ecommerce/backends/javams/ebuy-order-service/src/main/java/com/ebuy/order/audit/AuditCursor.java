@@ -0,0 +1,43 @@
+package com.ebuy.order.audit;
+
+import com.ebuy.order.exception.InvalidAuditCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Keyset position in audit history, ordered by {@code created_at DESC, audit_id DESC}. Encoded
+ * as an opaque URL-safe token of the last row's timestamp (epoch microseconds) and id.
+ */
+public record AuditCursor(OffsetDateTime createdAt, long auditId) {
+
+    /** Position before the newest row; used for the first page. */
+    public static final AuditCursor START = new AuditCursor(
+            OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC), Long.MAX_VALUE);
+
+    public static AuditCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = value.indexOf(':');
+            long micros = Long.parseLong(value.substring(0, separator));
+            long auditId = Long.parseLong(value.substring(separator + 1));
+            Instant instant = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+            return new AuditCursor(instant.atOffset(ZoneOffset.UTC), auditId);
+        } catch (RuntimeException e) {
+            throw new InvalidAuditCursorException("Invalid audit cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, createdAt.toInstant());
+        String value = micros + ":" + auditId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,22 @@
+package com.ebuy.order.audit;
+
+import java.util.Locale;
+
+/**
+ * What {@link AuditBatchWriter} does with a record when its queue is full.
+ */
+public enum AuditOverflowPolicy {
+
+    /** Wait for space, up to {@code ebuy.audit.queue.offer-timeout}; drop only after that. */
+    BLOCK,
+
+    /** Drop {@code DEBUG} records straight away; other levels are handled as {@link #BLOCK}. */
+    DROP_DEBUG,
+
+    /** Append the record to a local spill file; the writer replays it once the queue drains. */
+    SPILL;
+
+    public static AuditOverflowPolicy fromProperty(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
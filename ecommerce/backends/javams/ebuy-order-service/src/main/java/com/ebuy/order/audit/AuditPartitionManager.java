@@ -0,0 +1,214 @@
+package com.ebuy.order.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the daily partitions of {@code order_schema.audit_logs}: creates the next
+ * {@code ebuy.audit.partitioning.days-ahead} days in advance and enforces
+ * {@code ebuy.audit.retention-days} by detaching and dropping whole partitions instead of
+ * deleting rows.
+ *
+ * <p>Every instance runs the schedule; a session advisory lock makes sure only one of them
+ * changes partitions at a time, the others skip the run.
+ */
+@Component
+public class AuditPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    private static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final DateTimeFormatter PARTITION_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    // Same key as ensure_audit_log_partitions() in create_schema.sql
+    private static final String LOCK_KEY = "hashtext('order_schema.audit_logs')";
+
+    // Attached partitions, partitions whose concurrent detach was interrupted, and tables left
+    // behind by a detach whose drop failed
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname, i.inhrelid IS NOT NULL AS attached, COALESCE(i.inhdetachpending, false) AS detach_pending " +
+            "FROM pg_class c " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "LEFT JOIN pg_inherits i ON i.inhrelid = c.oid " +
+            "WHERE n.nspname = 'order_schema' AND c.relkind = 'r' AND c.relname LIKE 'audit\\_logs\\_p%' " +
+            "ORDER BY c.relname";
+
+    private record Partition(String name, boolean attached, boolean detachPending) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int daysAhead;
+    private final int retentionDays;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${ebuy.audit.partitioning.enabled:true}") boolean enabled,
+                                 @Value("${ebuy.audit.partitioning.days-ahead:30}") int daysAhead,
+                                 @Value("${ebuy.audit.retention-days:90}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.daysAhead = daysAhead;
+        this.retentionDays = retentionDays;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            ensureFuturePartitions();
+        }
+    }
+
+    @Scheduled(cron = "${ebuy.audit.partitioning.cron:0 15 0 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        ensureFuturePartitions();
+        dropExpiredPartitions();
+    }
+
+    /**
+     * Creates the missing partitions up to {@code days-ahead} days out. Runs in a transaction of
+     * its own: the pool does not autocommit, and the function's advisory lock is held until commit.
+     *
+     * @return the number of partitions created
+     */
+    public int ensureFuturePartitions() {
+        try {
+            Integer created = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT order_schema.ensure_audit_log_partitions(?)", Integer.class, daysAhead));
+            if (created != null && created > 0) {
+                logger.info("Created {} audit log partitions", created);
+            }
+            return created != null ? created : 0;
+        } catch (Exception e) {
+            logger.error("Failed to create audit log partitions", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Detaches and drops every partition whose whole day lies before the retention cutoff.
+     * {@code DETACH PARTITION ... CONCURRENTLY} only waits for queries already running on
+     * {@code audit_logs} instead of blocking inserts and history reads behind an exclusive lock.
+     * It cannot run inside a transaction, so this switches one pooled connection to autocommit
+     * for the run, holds the advisory lock on it, and restores its autocommit setting after.
+     *
+     * @return the number of partitions dropped
+     */
+    public int dropExpiredPartitions() {
+        // Switching a transaction's connection to autocommit would commit the caller's work
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Audit partition retention cannot run inside a transaction");
+        }
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        Integer dropped = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            if (!autoCommit) {
+                // Nothing is pending on a connection outside a transaction, so this commits nothing
+                connection.setAutoCommit(true);
+            }
+            try {
+                if (!tryLock(connection)) {
+                    logger.info("Audit log partitions are being maintained by another instance, skipping retention");
+                    return 0;
+                }
+                try {
+                    return dropExpiredPartitions(connection, cutoff);
+                } finally {
+                    unlock(connection);
+                }
+            } finally {
+                if (!autoCommit) {
+                    connection.setAutoCommit(false);
+                }
+            }
+        });
+        return dropped != null ? dropped : 0;
+    }
+
+    private int dropExpiredPartitions(Connection connection, LocalDate cutoff) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LIST_PARTITIONS)) {
+            while (rs.next()) {
+                partitions.add(new Partition(rs.getString(1), rs.getBoolean(2), rs.getBoolean(3)));
+            }
+        }
+
+        int dropped = 0;
+        for (Partition partition : partitions) {
+            LocalDate day = partitionDay(partition.name());
+            if (day == null || !day.isBefore(cutoff)) {
+                continue;
+            }
+            try (Statement statement = connection.createStatement()) {
+                if (partition.detachPending()) {
+                    statement.execute("ALTER TABLE order_schema.audit_logs DETACH PARTITION order_schema."
+                            + partition.name() + " FINALIZE");
+                } else if (partition.attached()) {
+                    statement.execute("ALTER TABLE order_schema.audit_logs DETACH PARTITION order_schema."
+                            + partition.name() + " CONCURRENTLY");
+                }
+                statement.execute("DROP TABLE order_schema." + partition.name());
+                dropped++;
+                logger.info("Dropped audit log partition {}", partition.name());
+            } catch (SQLException e) {
+                // The next run finalizes a pending detach or drops the detached table
+                logger.error("Failed to drop audit log partition {}", partition.name(), e);
+            }
+        }
+        return dropped;
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")");
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static void unlock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(" + LOCK_KEY + ")")) {
+            statement.execute();
+        } catch (SQLException e) {
+            // A pooled connection keeps a session lock; closing the session is the only other release
+            logger.error("Failed to release the audit partition lock", e);
+        }
+    }
+
+    private static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
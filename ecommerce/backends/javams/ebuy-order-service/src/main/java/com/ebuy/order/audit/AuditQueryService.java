@@ -0,0 +1,127 @@
+package com.ebuy.order.audit;
+
+import com.ebuy.order.dto.AuditLogPageDto;
+import com.ebuy.order.dto.AuditLogSummaryDto;
+import com.ebuy.order.enums.AuditAction;
+import com.ebuy.order.enums.AuditLevel;
+import com.ebuy.order.repository.AuditLogRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the audit log: keyset-paginated history pages and streamed exports, both
+ * returning {@link AuditLogSummaryDto} projections instead of full entities. History pages
+ * cover {@code since} onwards, by default the last {@code ebuy.audit.history-lookback}; older
+ * entries stay reachable for as long as retention keeps them by passing an earlier
+ * {@code since}.
+ */
+@Service
+public class AuditQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditQueryService.class);
+
+    private static final String ORDER_ITEM_ENTITY = "OrderItem";
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Duration historyLookback;
+    private final Duration exportLookback;
+
+    public AuditQueryService(AuditLogRepository auditLogRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${ebuy.audit.query.default-page-size:50}") int defaultPageSize,
+                             @Value("${ebuy.audit.query.max-page-size:500}") int maxPageSize,
+                             @Value("${ebuy.audit.history-lookback:30d}") Duration historyLookback,
+                             @Value("${ebuy.audit.query.export-lookback:90d}") Duration exportLookback) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.historyLookback = historyLookback;
+        this.exportLookback = exportLookback;
+    }
+
+    public AuditLogPageDto getOrderItemHistory(Long orderItemId, AuditLevel level, AuditAction action,
+                                               OffsetDateTime since, String cursor, Integer limit) {
+        AuditCursor position = AuditCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        logger.debug("Retrieving audit page for order item: {} (size {})", orderItemId, pageSize);
+
+        // One extra row tells whether another page exists without a count query
+        List<AuditLogSummaryDto> rows = auditLogRepository.findEntityHistoryPage(ORDER_ITEM_ENTITY, orderItemId,
+                historyCutoff(since), level, action, position.createdAt(), position.auditId(), PageRequest.of(0, pageSize + 1));
+        return toPage(rows, pageSize);
+    }
+
+    public AuditLogPageDto getUserHistory(Long userId, AuditLevel level, AuditAction action,
+                                          OffsetDateTime since, String cursor, Integer limit) {
+        AuditCursor position = AuditCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        logger.debug("Retrieving audit page for user: {} (size {})", userId, pageSize);
+
+        List<AuditLogSummaryDto> rows = auditLogRepository.findUserHistoryPage(userId,
+                historyCutoff(since), level, action, position.createdAt(), position.auditId(), PageRequest.of(0, pageSize + 1));
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Writes an order item's audit history as newline-delimited JSON, row by row from a
+     * database cursor, so the export never holds the whole history in memory.
+     */
+    public void exportOrderItemHistory(Long orderItemId, AuditLevel level, AuditAction action, OutputStream out) {
+        OffsetDateTime since = OffsetDateTime.now().minus(exportLookback);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<AuditLogSummaryDto> rows = auditLogRepository.streamEntityHistory(
+                    ORDER_ITEM_ENTITY, orderItemId, since, level, action);
+                 SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                for (AuditLogSummaryDto row : (Iterable<AuditLogSummaryDto>) rows::iterator) {
+                    writer.write(row);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to export audit history for order item " + orderItemId, e);
+            }
+        });
+    }
+
+    private AuditLogPageDto toPage(List<AuditLogSummaryDto> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new AuditLogPageDto(rows, null);
+        }
+        List<AuditLogSummaryDto> items = rows.subList(0, pageSize);
+        AuditLogSummaryDto last = items.get(pageSize - 1);
+        return new AuditLogPageDto(List.copyOf(items), new AuditCursor(last.getCreatedAt(), last.getAuditId()).encode());
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private OffsetDateTime historyCutoff(OffsetDateTime since) {
+        return since != null ? since : OffsetDateTime.now().minus(historyLookback);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ebuy.order.audit;
 
+import com.ebuy.order.async.RequestContextSnapshot;
 import com.ebuy.order.dto.OrderItemDto;
 import com.ebuy.order.entity.AuditLog;
 import com.ebuy.order.repository.AuditLogRepository;
@@ -12,12 +13,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -39,21 +40,24 @@ public class AuditService {
     @Value("${ebuy.audit.async-enabled:true}")
     private boolean asyncAuditEnabled;
 
-    @Value("${ebuy.audit.retention-days:90}")
-    private Integer auditRetentionDays;
-
-    @Value("${ebuy.audit.batch-size:1000}")
-    private Integer auditBatchSize;
+    @Value("${ebuy.audit.history-lookback:30d}")
+    private Duration historyLookback;
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditBatchWriter auditBatchWriter;
+    private final AuditPartitionManager auditPartitionManager;
     private final ObjectMapper objectMapper;
     private final HttpServletRequest httpServletRequest;
 
     @Autowired
     public AuditService(AuditLogRepository auditLogRepository,
+                        AuditBatchWriter auditBatchWriter,
+                        AuditPartitionManager auditPartitionManager,
                         ObjectMapper objectMapper,
                         HttpServletRequest httpServletRequest) {
         this.auditLogRepository = auditLogRepository;
+        this.auditBatchWriter = auditBatchWriter;
+        this.auditPartitionManager = auditPartitionManager;
         this.objectMapper = objectMapper;
         this.httpServletRequest = httpServletRequest;
     }
@@ -279,14 +283,14 @@ public class AuditService {
     }
 
     /**
-     * Retrieves audit logs for a specific order item.
+     * Retrieves audit logs for a specific order item within {@code ebuy.audit.history-lookback}.
      */
     public List<AuditLog> getAuditLogsForOrderItem(Long orderItemId, int limit) {
         logger.debug("Retrieving audit logs for order item: {}", orderItemId);
 
         try {
-            return auditLogRepository.findByEntityTypeAndEntityIdOrderByCreatedAtDesc(
-                    "OrderItem", orderItemId, limit);
+            return auditLogRepository.findEntityHistorySince(
+                    "OrderItem", orderItemId, historyCutoff(), PageRequest.of(0, limit));
         } catch (Exception e) {
             logger.error("Error retrieving audit logs for order item: {}", orderItemId, e);
             throw new RuntimeException("Failed to retrieve audit logs", e);
@@ -294,13 +298,13 @@ public class AuditService {
     }
 
     /**
-     * Retrieves audit logs for a specific user.
+     * Retrieves audit logs for a specific user within {@code ebuy.audit.history-lookback}.
      */
     public List<AuditLog> getAuditLogsForUser(Long userId, int limit) {
         logger.debug("Retrieving audit logs for user: {}", userId);
 
         try {
-            return auditLogRepository.findByUserIdOrderByCreatedAtDesc(userId, limit);
+            return auditLogRepository.findUserHistorySince(userId, historyCutoff(), PageRequest.of(0, limit));
         } catch (Exception e) {
             logger.error("Error retrieving audit logs for user: {}", userId, e);
             throw new RuntimeException("Failed to retrieve audit logs", e);
@@ -308,10 +312,11 @@ public class AuditService {
     }
 
     /**
-     * Cleans up old audit logs based on retention policy.
+     * Cleans up old audit logs based on retention policy by dropping expired daily partitions.
+     *
+     * @return the number of partitions dropped
      */
     @Async("auditExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public CompletableFuture<Integer> cleanupOldAuditLogs() {
         if (!auditEnabled) {
             return CompletableFuture.completedFuture(0);
@@ -320,11 +325,10 @@ public class AuditService {
         logger.info("Starting audit log cleanup process");
 
         try {
-            OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(auditRetentionDays);
-            int deletedCount = auditLogRepository.deleteByCreatedAtBefore(cutoffDate);
+            int droppedPartitions = auditPartitionManager.dropExpiredPartitions();
 
-            logger.info("Cleaned up {} audit log entries older than {}", deletedCount, cutoffDate);
-            return CompletableFuture.completedFuture(deletedCount);
+            logger.info("Dropped {} expired audit log partitions", droppedPartitions);
+            return CompletableFuture.completedFuture(droppedPartitions);
 
         } catch (Exception e) {
             logger.error("Error during audit log cleanup", e);
@@ -334,7 +338,9 @@ public class AuditService {
 
     // Private helper methods
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    /**
+     * Hands the record to {@link AuditBatchWriter}; it is inserted with the next batch.
+     */
     private CompletableFuture<Void> createAuditLogAsync(AuditAction action,
                                                         AuditLevel level,
                                                         String entityType,
@@ -356,9 +362,9 @@ public class AuditService {
             auditLog.setSessionId(getSessionId());
             auditLog.setCreatedAt(OffsetDateTime.now());
 
-            auditLogRepository.save(auditLog);
-
-            logger.debug("Audit log created successfully for action: {}", action);
+            if (auditBatchWriter.submit(auditLog)) {
+                logger.debug("Audit log queued for action: {}", action);
+            }
             return CompletableFuture.completedFuture(null);
 
         } catch (JsonProcessingException e) {
@@ -389,7 +395,7 @@ public class AuditService {
             auditLog.setIpAddress(getClientIpAddress());
             auditLog.setCreatedAt(OffsetDateTime.now());
 
-            auditLogRepository.save(auditLog);
+            auditBatchWriter.submit(auditLog);
             return CompletableFuture.completedFuture(null);
 
         } catch (Exception e) {
@@ -398,6 +404,10 @@ public class AuditService {
         }
     }
 
+    private OffsetDateTime historyCutoff() {
+        return OffsetDateTime.now().minus(historyLookback);
+    }
+
     private Map<String, Object> createBaseAuditData(OrderItemDto orderItemDto) {
         Map<String, Object> auditData = new HashMap<>();
         auditData.put("orderItemId", orderItemDto.getOrderItemId());
@@ -452,6 +462,10 @@ public class AuditService {
     }
 
     private String getClientIpAddress() {
+        RequestContextSnapshot snapshot = RequestContextSnapshot.current();
+        if (snapshot != null) {
+            return snapshot.clientIp();
+        }
         try {
             String xForwardedFor = httpServletRequest.getHeader("X-Forwarded-For");
             if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -471,6 +485,10 @@ public class AuditService {
     }
 
     private String getUserAgent() {
+        RequestContextSnapshot snapshot = RequestContextSnapshot.current();
+        if (snapshot != null) {
+            return snapshot.userAgent();
+        }
         try {
             return httpServletRequest.getHeader("User-Agent");
         } catch (Exception e) {
@@ -480,6 +498,10 @@ public class AuditService {
     }
 
     private String getSessionId() {
+        RequestContextSnapshot snapshot = RequestContextSnapshot.current();
+        if (snapshot != null) {
+            return snapshot.sessionId();
+        }
         try {
             return httpServletRequest.getSession(false) != null ?
                     httpServletRequest.getSession().getId() : null;
@@ -0,0 +1,117 @@
+package com.ebuy.order.cache;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcasts L1 invalidations to every order-service instance over Redis pub/sub, so a
+ * write or evict on one node drops the stale near-cache copies held by the others.
+ *
+ * <p>Message format: {@code <instanceId>|<E|C>|<cacheName>|<key>[\u001F<key>...]} where
+ * {@code E} evicts the listed keys and {@code C} clears the whole cache (and forces the
+ * cache generation to be re-read). Messages sent by
+ * this instance are ignored on receipt; the local tier is already updated by the caller.
+ * With Redis disabled the bus is local only.
+ */
+@Component
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String FIELD_SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = "\u001F";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final LocalCacheTier localTier;
+    private final CacheNamespaces namespaces;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    @Value("${ebuy.cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${ebuy.cache.invalidation.channel:ebuy:cache:invalidation}")
+    private String channel;
+
+    public CacheInvalidationBus(LocalCacheTier localTier,
+                                CacheNamespaces namespaces,
+                                StringRedisTemplate stringRedisTemplate,
+                                ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.localTier = localTier;
+        this.namespaces = namespaces;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (!redisEnabled) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainer.getIfAvailable();
+        if (container == null) {
+            logger.warn("No RedisMessageListenerContainer available, near-cache invalidation is local only");
+            return;
+        }
+        container.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    public void publishEvict(String cacheName, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        publish(EVICT, cacheName, String.join(KEY_SEPARATOR, keys));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(CLEAR, cacheName, "");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        String cacheName = parts[2];
+        if (CLEAR.equals(parts[1])) {
+            localTier.clear(cacheName);
+            namespaces.forget(cacheName);
+        } else {
+            List<String> keys = Arrays.asList(parts[3].split(KEY_SEPARATOR));
+            localTier.invalidateAll(cacheName, keys);
+        }
+        logger.debug("Applied remote invalidation {} for cache: {}", parts[1], cacheName);
+    }
+
+    private void publish(String type, String cacheName, String keys) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(channel,
+                    instanceId + FIELD_SEPARATOR + type + FIELD_SEPARATOR + cacheName + FIELD_SEPARATOR + keys);
+        } catch (Exception e) {
+            // Remote L1 copies then live until their local TTL
+            logger.warn("Error broadcasting invalidation for cache: {}", cacheName, e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ebuy.order.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Incremental cleanup of orphaned cache entries. Walks {@code ebuy:cache:*} with
+ * {@code SCAN} (never {@code KEYS}) and {@code UNLINK}s entries of superseded generations, and
+ * legacy keys without a generation or hash tag, in small batches. The live-entry tally of each full pass
+ * is written back to the per-generation counters, correcting drift from TTL expiries, which
+ * never decrement them. The tally is applied as a delta: the counter becomes the tally plus
+ * whatever the write and evict scripts added to it since the pass first saw that cache, so
+ * concurrent updates are kept rather than overwritten. Writes the scan also saw are counted
+ * twice until the next pass, so between passes the count is approximate by at most one
+ * interval's churn.
+ *
+ * <p>One instance sweeps per interval: a run starts only after taking
+ * {@code ebuy:cache-sweeper:lock}, which is held until the next run is due.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ebuy.cache.sweeper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheKeySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheKeySweeper.class);
+
+    private static final String LOCK_KEY = "ebuy:cache-sweeper:lock";
+
+    // Set the counter to the tally plus the net change made to it during the pass.
+    // KEYS: counter; ARGV: value before the pass, tally, ttl millis
+    private static final RedisScript<Long> CORRECT_COUNT_SCRIPT = RedisScript.of(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local corrected = tonumber(ARGV[2]) + current - tonumber(ARGV[1]) " +
+            "if corrected < 0 then corrected = 0 end " +
+            "redis.call('SET', KEYS[1], corrected, 'PX', ARGV[3]) " +
+            "return corrected", Long.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheNamespaces namespaces;
+    private final Counter sweptKeys;
+
+    @Value("${ebuy.cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${ebuy.cache.sweeper.scan-count:1000}")
+    private long scanCount;
+
+    @Value("${ebuy.cache.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ebuy.cache.sweeper.batch-pause-ms:20}")
+    private long batchPauseMs;
+
+    @Value("${ebuy.cache.sweeper.interval-ms:600000}")
+    private long intervalMs;
+
+    public CacheKeySweeper(StringRedisTemplate stringRedisTemplate,
+                           CacheNamespaces namespaces,
+                           MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.namespaces = namespaces;
+        this.sweptKeys = Counter.builder("ebuy.cache.sweeper.deleted")
+                .description("Orphaned cache entries removed by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ebuy.cache.sweeper.interval-ms:600000}",
+            initialDelayString = "${ebuy.cache.sweeper.initial-delay-ms:60000}")
+    public void sweep() {
+        if (!redisEnabled || !acquireRun()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, CounterSnapshot> counters = new HashMap<>();
+        Map<String, Long> liveEntries = new HashMap<>();
+        List<String> stale = new ArrayList<>(batchSize);
+        long deleted = 0;
+
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(CacheNamespaces.ENTRY_KEY_PREFIX + "*")
+                .count(scanCount)
+                .build();
+
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                String cacheName = cacheNameOf(key);
+                if (cacheName == null) {
+                    continue;
+                }
+                counters.computeIfAbsent(cacheName, this::snapshotCounter);
+
+                long generation = generationOf(key, cacheName);
+                if (generation >= 0 && generation >= namespaces.current(cacheName)) {
+                    liveEntries.merge(cacheName, 1L, Long::sum);
+                    continue;
+                }
+
+                stale.add(key);
+                if (stale.size() >= batchSize) {
+                    deleted += unlink(stale);
+                    pause();
+                }
+            }
+            deleted += unlink(stale);
+
+        } catch (Exception e) {
+            logger.warn("Cache sweep aborted after removing {} keys", deleted, e);
+            sweptKeys.increment(deleted);
+            return;
+        }
+
+        int corrected = 0;
+        for (Map.Entry<String, CounterSnapshot> entry : counters.entrySet()) {
+            if (correctCounter(entry.getKey(), entry.getValue(), liveEntries.getOrDefault(entry.getKey(), 0L))) {
+                corrected++;
+            }
+        }
+        logger.debug("Cache sweep corrected {} of {} entry counters", corrected, counters.size());
+
+        sweptKeys.increment(deleted);
+        logger.info("Cache sweep removed {} orphaned keys across {} caches in {} ms",
+                deleted, liveEntries.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Takes the cluster-wide sweep slot for one interval. The lock is not released at the end
+     * of the run, so other instances skip their runs until the next one is due.
+     */
+    private boolean acquireRun() {
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, instanceId, Duration.ofMillis(Math.max(1000, intervalMs)));
+            if (!Boolean.TRUE.equals(acquired)) {
+                logger.debug("Cache sweep skipped, another instance holds {}", LOCK_KEY);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not take cache sweep lock, skipping this run", e);
+            return false;
+        }
+    }
+
+    private CounterSnapshot snapshotCounter(String cacheName) {
+        long generation = namespaces.current(cacheName);
+        String value = stringRedisTemplate.opsForValue().get(namespaces.countKey(cacheName, generation));
+        return new CounterSnapshot(generation, value != null ? Long.parseLong(value) : 0L);
+    }
+
+    private boolean correctCounter(String cacheName, CounterSnapshot before, long tally) {
+        if (namespaces.current(cacheName) != before.generation()) {
+            return false;
+        }
+        Long corrected = stringRedisTemplate.execute(CORRECT_COUNT_SCRIPT,
+                List.of(namespaces.countKey(cacheName, before.generation())),
+                Long.toString(before.value()), Long.toString(tally),
+                Long.toString(namespaces.generationTtl().toMillis()));
+        return corrected != null;
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long removed = stringRedisTemplate.unlink(keys);
+        keys.clear();
+        return removed != null ? removed : 0;
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cache name of an entry key: {@code <name>} in {@code ebuy:cache:{<name>:g<gen>}:<key>}, or
+     * the first segment of legacy keys written without a hash tag.
+     */
+    private static String cacheNameOf(String key) {
+        int start = CacheNamespaces.ENTRY_KEY_PREFIX.length();
+        if (key.startsWith("{", start)) {
+            start++;
+        }
+        int end = key.indexOf(':', start);
+        return end > start ? key.substring(start, end) : null;
+    }
+
+    private record CounterSnapshot(long generation, long value) {
+    }
+
+    /**
+     * Generation embedded in an entry key, or -1 for legacy keys written without one or
+     * without the hash tag around it.
+     */
+    private static long generationOf(String key, String cacheName) {
+        int tag = CacheNamespaces.ENTRY_KEY_PREFIX.length();
+        if (!key.startsWith("{", tag)) {
+            return -1;
+        }
+        int start = tag + 1 + cacheName.length() + 1;
+        int end = key.indexOf("}:", start);
+        if (end < 0 || key.charAt(start) != 'g') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(key, start + 1, end, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ebuy.order.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit/miss counters and lookup latency per cache name and tier ({@code l1} = in-process,
+ * {@code l2} = Redis) for {@link CacheService}.
+ */
+@Component
+public class CacheMetrics {
+
+    public static final String L1 = "l1";
+    public static final String L2 = "l2";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TierMeters> meters = new ConcurrentHashMap<>();
+
+    public CacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordHit(String cacheName, String tier, long startNanos) {
+        TierMeters m = meters(cacheName, tier);
+        m.hits.increment();
+        m.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMiss(String cacheName, String tier, long startNanos) {
+        TierMeters m = meters(cacheName, tier);
+        m.misses.increment();
+        m.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHits(String cacheName, String tier, int hits, int misses, long startNanos) {
+        TierMeters m = meters(cacheName, tier);
+        m.hits.increment(hits);
+        m.misses.increment(misses);
+        m.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long hitCount(String cacheName, String tier) {
+        return (long) meters(cacheName, tier).hits.count();
+    }
+
+    public long missCount(String cacheName, String tier) {
+        return (long) meters(cacheName, tier).misses.count();
+    }
+
+    private TierMeters meters(String cacheName, String tier) {
+        return meters.computeIfAbsent(cacheName + '\0' + tier, k -> new TierMeters(cacheName, tier));
+    }
+
+    private final class TierMeters {
+        final Counter hits;
+        final Counter misses;
+        final Timer latency;
+
+        TierMeters(String cacheName, String tier) {
+            this.hits = Counter.builder("ebuy.cache.requests")
+                    .tag("cache", cacheName).tag("tier", tier).tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("ebuy.cache.requests")
+                    .tag("cache", cacheName).tag("tier", tier).tag("result", "miss")
+                    .register(meterRegistry);
+            this.latency = Timer.builder("ebuy.cache.latency")
+                    .tag("cache", cacheName).tag("tier", tier)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.ebuy.order.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Generation-versioned Redis namespaces for {@link CacheService}. Every entry key embeds the
+ * current generation of its cache ({@code ebuy:cache:{<name>:g<gen>}:<key>}), so clearing a
+ * cache is a single {@code INCR} of {@code ebuy:cache-gen:<name>}: entries of older
+ * generations become unreachable and age out through their TTL or {@link CacheKeySweeper}.
+ *
+ * <p>The {@code {<name>:g<gen>}} hash tag is shared with the generation's count key
+ * ({@code ebuy:cache-count:{<name>:g<gen>}}), so on Redis Cluster the scripts that touch an
+ * entry and its counter, and {@code MGET}s within one cache, stay in a single slot. The cost
+ * is that one cache generation lives on one shard.
+ *
+ * <p>Generations are cached locally and re-read after {@code ebuy.cache.generation-refresh};
+ * remote clears arriving through {@link CacheInvalidationBus} drop the local copy at once.
+ *
+ * <p>Generation and count keys expire after {@code ebuy.cache.generation-ttl}, refreshed on
+ * every clear and write. The TTL must exceed the longest entry TTL: a generation key that
+ * expires restarts at 0 only once every entry it could resurrect is long gone.
+ */
+@Component
+public class CacheNamespaces {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheNamespaces.class);
+
+    public static final String ENTRY_KEY_PREFIX = "ebuy:cache:";
+    private static final String GENERATION_KEY_PREFIX = "ebuy:cache-gen:";
+    private static final String COUNT_KEY_PREFIX = "ebuy:cache-count:";
+
+    // INCR + PEXPIRE in one step. KEYS: generation; ARGV: ttl millis
+    private static final RedisScript<Long> ADVANCE_SCRIPT = RedisScript.of(
+            "local generation = redis.call('INCR', KEYS[1]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "return generation", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ConcurrentMap<String, CachedGeneration> generations = new ConcurrentHashMap<>();
+
+    @Value("${ebuy.cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${ebuy.cache.generation-refresh:5s}")
+    private Duration refreshInterval;
+
+    @Value("${ebuy.cache.generation-ttl:30d}")
+    private Duration generationTtl;
+
+    public CacheNamespaces(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * Current generation of a cache, 0 until the cache is first cleared.
+     */
+    public long current(String cacheName) {
+        long now = System.nanoTime();
+        CachedGeneration cached = generations.get(cacheName);
+        if (cached != null && now - cached.readAtNanos < refreshInterval.toNanos()) {
+            return cached.generation;
+        }
+        if (!redisEnabled) {
+            return cached != null ? cached.generation : 0L;
+        }
+
+        try {
+            String value = stringRedisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + cacheName);
+            long generation = value != null ? Long.parseLong(value) : 0L;
+            generations.put(cacheName, new CachedGeneration(generation, now));
+            return generation;
+        } catch (Exception e) {
+            logger.warn("Error reading generation for cache: {}", cacheName, e);
+            return cached != null ? cached.generation : 0L;
+        }
+    }
+
+    /**
+     * Moves a cache to a new generation, orphaning every entry written so far.
+     */
+    public long advance(String cacheName) {
+        Long generation = stringRedisTemplate.execute(ADVANCE_SCRIPT,
+                List.of(GENERATION_KEY_PREFIX + cacheName), Long.toString(generationTtl.toMillis()));
+        long next = generation != null ? generation : current(cacheName) + 1;
+        generations.put(cacheName, new CachedGeneration(next, System.nanoTime()));
+        return next;
+    }
+
+    /**
+     * Lifetime of generation and count keys since their last update.
+     */
+    public Duration generationTtl() {
+        return generationTtl;
+    }
+
+    public void forget(String cacheName) {
+        generations.remove(cacheName);
+    }
+
+    public String entryPrefix(String cacheName, long generation) {
+        return ENTRY_KEY_PREFIX + hashTag(cacheName, generation) + ":";
+    }
+
+    public String countKey(String cacheName, long generation) {
+        return COUNT_KEY_PREFIX + hashTag(cacheName, generation);
+    }
+
+    private static String hashTag(String cacheName, long generation) {
+        return "{" + cacheName + ":g" + generation + "}";
+    }
+
+    private record CachedGeneration(long generation, long readAtNanos) {
+    }
+}
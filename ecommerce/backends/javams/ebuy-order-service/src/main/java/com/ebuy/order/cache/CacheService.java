@@ -6,17 +6,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * High-performance cache service for order item operations.
- * Provides Redis-based caching with fallback to local cache for high availability.
+ * Two-tier near cache: a bounded in-process L1 ({@link LocalCacheTier}) is read first and
+ * Redis acts as the shared L2. Writes and evictions are broadcast through
+ * {@link CacheInvalidationBus} so other instances drop their L1 copies.
+ *
+ * <p>Redis keys live in generation-versioned namespaces ({@link CacheNamespaces}); clearing
+ * a cache bumps its generation instead of enumerating keys. Entry counts come from a
+ * per-generation counter maintained by the write and evict scripts below. TTL expiries do not
+ * decrement it; {@link CacheKeySweeper} resets it from a live-entry tally on every pass, so the
+ * reported count is approximate between passes.
  */
 @Service
 public class CacheService {
@@ -30,6 +49,26 @@ public class CacheService {
     public static final String PRODUCT_VALIDATION_CACHE = "productValidation";
     public static final String USER_PERMISSIONS_CACHE = "userPermissions";
 
+    // SET + count the entry if it is new, refresh the counter TTL. KEYS: entry, counter;
+    // ARGV: value, ttl millis, counter ttl millis
+    private static final RedisScript<Long> WRITE_ENTRY_SCRIPT = RedisScript.of(
+            "local added = 0 " +
+            "if redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2], 'NX') then " +
+            "  redis.call('INCR', KEYS[2]) added = 1 " +
+            "else " +
+            "  redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "end " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[3]) " +
+            "return added", Long.class);
+
+    // DEL + uncount the entry if it existed. KEYS: entry, counter
+    private static final RedisScript<Long> DELETE_ENTRY_SCRIPT = RedisScript.of(
+            "local removed = redis.call('DEL', KEYS[1]) " +
+            "if removed == 1 then redis.call('DECR', KEYS[2]) end " +
+            "return removed", Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
     @Value("${ebuy.cache.enabled:true}")
     private boolean cacheEnabled;
 
@@ -45,17 +84,38 @@ public class CacheService {
     @Value("${ebuy.cache.permissions-ttl:180}")
     private Duration permissionsTtl;
 
+    @Value("${ebuy.cache.pipeline-batch-size:1000}")
+    private int pipelineBatchSize;
+
     private final CacheManager cacheManager;
     private final RedisTemplate<String, Object> redisTemplate;
     private final StringRedisTemplate stringRedisTemplate;
+    private final LocalCacheTier localTier;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheMetrics cacheMetrics;
+    private final CacheNamespaces namespaces;
+    private final SingleFlight singleFlight;
+    private final EarlyRefreshPolicy earlyRefresh;
 
     @Autowired
     public CacheService(CacheManager cacheManager,
                         RedisTemplate<String, Object> redisTemplate,
-                        StringRedisTemplate stringRedisTemplate) {
+                        StringRedisTemplate stringRedisTemplate,
+                        LocalCacheTier localTier,
+                        CacheInvalidationBus invalidationBus,
+                        CacheMetrics cacheMetrics,
+                        CacheNamespaces namespaces,
+                        SingleFlight singleFlight,
+                        EarlyRefreshPolicy earlyRefresh) {
         this.cacheManager = cacheManager;
         this.redisTemplate = redisTemplate;
         this.stringRedisTemplate = stringRedisTemplate;
+        this.localTier = localTier;
+        this.invalidationBus = invalidationBus;
+        this.cacheMetrics = cacheMetrics;
+        this.namespaces = namespaces;
+        this.singleFlight = singleFlight;
+        this.earlyRefresh = earlyRefresh;
     }
 
     /**
@@ -77,15 +137,12 @@ public class CacheService {
 
         try {
             if (redisEnabled) {
-                String redisKey = buildRedisKey(cacheName, key);
-                redisTemplate.opsForValue().set(redisKey, value, ttl);
+                writeEntry(cacheName, namespaces.current(cacheName), key, value, ttl);
             }
 
-            // Also store in local cache as fallback
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache != null) {
-                cache.put(key, value);
-            }
+            String localKey = localKey(key);
+            localTier.put(cacheName, localKey, value);
+            invalidationBus.publishEvict(cacheName, List.of(localKey));
 
         } catch (Exception e) {
             logger.warn("Error caching value with key: {} in cache: {}", key, cacheName, e);
@@ -105,24 +162,29 @@ public class CacheService {
         logger.debug("Retrieving cached value with key: {} from cache: {}", key, cacheName);
 
         try {
-            // Try Redis first
+            // L1: in-process near cache
+            String localKey = localKey(key);
+            long start = System.nanoTime();
+            Object value = localTier.get(cacheName, localKey);
+            if (value != null) {
+                cacheMetrics.recordHit(cacheName, CacheMetrics.L1, start);
+                logger.debug("Cache hit in local cache for key: {}", key);
+                return type.cast(value);
+            }
+            cacheMetrics.recordMiss(cacheName, CacheMetrics.L1, start);
+
+            // L2: Redis, promoting hits into L1
             if (redisEnabled) {
+                start = System.nanoTime();
                 String redisKey = buildRedisKey(cacheName, key);
-                Object value = redisTemplate.opsForValue().get(redisKey);
+                value = redisTemplate.opsForValue().get(redisKey);
                 if (value != null) {
+                    cacheMetrics.recordHit(cacheName, CacheMetrics.L2, start);
                     logger.debug("Cache hit in Redis for key: {}", key);
+                    localTier.put(cacheName, localKey, value);
                     return type.cast(value);
                 }
-            }
-
-            // Fallback to local cache
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache != null) {
-                Cache.ValueWrapper wrapper = cache.get(key);
-                if (wrapper != null) {
-                    logger.debug("Cache hit in local cache for key: {}", key);
-                    return type.cast(wrapper.get());
-                }
+                cacheMetrics.recordMiss(cacheName, CacheMetrics.L2, start);
             }
 
             logger.debug("Cache miss for key: {} in cache: {}", key, cacheName);
@@ -134,6 +196,44 @@ public class CacheService {
         }
     }
 
+    /**
+     * Returns the cached value or loads it. Concurrent misses for the same key share one
+     * load ({@link SingleFlight}), and hits close to expiry may refresh early
+     * ({@link EarlyRefreshPolicy}) so entries do not all lapse at once. A null result is not
+     * cached.
+     */
+    public <T> T getOrLoad(String cacheName, Object key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        if (!cacheEnabled) {
+            return loader.get();
+        }
+
+        String flightKey = cacheName + ':' + localKey(key);
+        T cached = get(cacheName, key, type);
+        if (cached != null) {
+            if (singleFlight.inFlight(flightKey) || !earlyRefresh.shouldRefresh(flightKey)) {
+                return cached;
+            }
+            try {
+                return singleFlight.execute(flightKey, () -> load(cacheName, key, ttl, flightKey, loader));
+            } catch (Exception e) {
+                logger.warn("Early refresh failed for key: {} in cache: {}, serving cached value", key, cacheName, e);
+                return cached;
+            }
+        }
+
+        try {
+            return singleFlight.execute(flightKey, () -> {
+                // A previous leader may have filled the entry while we queued
+                T filled = get(cacheName, key, type);
+                return filled != null ? filled : load(cacheName, key, ttl, flightKey, loader);
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Cache load failed for key: " + key + " in cache: " + cacheName, e);
+        }
+    }
+
     /**
      * Removes a specific key from cache.
      */
@@ -147,11 +247,17 @@ public class CacheService {
         try {
             // Remove from Redis
             if (redisEnabled) {
-                String redisKey = buildRedisKey(cacheName, key);
-                redisTemplate.delete(redisKey);
+                long generation = namespaces.current(cacheName);
+                redisTemplate.execute(DELETE_ENTRY_SCRIPT,
+                        List.of(buildRedisKey(cacheName, generation, key), namespaces.countKey(cacheName, generation)));
             }
 
-            // Remove from local cache
+            // Remove from this instance's near cache and tell the others
+            String localKey = localKey(key);
+            localTier.invalidate(cacheName, localKey);
+            invalidationBus.publishEvict(cacheName, List.of(localKey));
+
+            // Drop the annotation-driven (@Cacheable) entry of the same name as well
             Cache cache = cacheManager.getCache(cacheName);
             if (cache != null) {
                 cache.evict(key);
@@ -173,17 +279,19 @@ public class CacheService {
         logger.info("Evicting all entries from cache: {}", cacheName);
 
         try {
-            // Clear Redis entries with pattern
+            // Orphan the current Redis namespace; its entries expire via TTL or the sweeper
             if (redisEnabled) {
-                String pattern = buildRedisKey(cacheName, "*");
-                Set<String> keys = stringRedisTemplate.keys(pattern);
-                if (keys != null && !keys.isEmpty()) {
-                    redisTemplate.delete(keys);
-                    logger.info("Cleared {} Redis cache entries for cache: {}", keys.size(), cacheName);
-                }
+                long previous = namespaces.current(cacheName);
+                long generation = namespaces.advance(cacheName);
+                stringRedisTemplate.delete(namespaces.countKey(cacheName, previous));
+                logger.info("Advanced Redis cache: {} to generation {}", cacheName, generation);
             }
 
-            // Clear local cache
+            // Clear near caches on every instance
+            localTier.clear(cacheName);
+            invalidationBus.publishClear(cacheName);
+
+            // Clear the annotation-driven (@Cacheable) cache of the same name
             Cache cache = cacheManager.getCache(cacheName);
             if (cache != null) {
                 cache.clear();
@@ -204,18 +312,15 @@ public class CacheService {
         }
 
         try {
-            // Check Redis first
+            if (localTier.get(cacheName, localKey(key)) != null) {
+                return true;
+            }
+
             if (redisEnabled) {
                 String redisKey = buildRedisKey(cacheName, key);
                 return Boolean.TRUE.equals(redisTemplate.hasKey(redisKey));
             }
 
-            // Check local cache
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache != null) {
-                return cache.get(key) != null;
-            }
-
             return false;
 
         } catch (Exception e) {
@@ -296,9 +401,10 @@ public class CacheService {
     }
 
     /**
-     * Stores multiple key-value pairs in cache atomically.
+     * Stores multiple key-value pairs in cache. Redis writes (SET with expiry) are pipelined,
+     * one round trip per {@code ebuy.cache.pipeline-batch-size} entries.
      */
-    public void multiPut(String cacheName, java.util.Map<Object, Object> keyValuePairs, Duration ttl) {
+    public void multiPut(String cacheName, Map<?, ?> keyValuePairs, Duration ttl) {
         if (!cacheEnabled || keyValuePairs.isEmpty()) {
             return;
         }
@@ -307,29 +413,17 @@ public class CacheService {
 
         try {
             if (redisEnabled) {
-                // Convert keys to Redis format
-                java.util.Map<String, Object> redisEntries = new java.util.HashMap<>();
-                for (java.util.Map.Entry<Object, Object> entry : keyValuePairs.entrySet()) {
-                    String redisKey = buildRedisKey(cacheName, entry.getKey());
-                    redisEntries.put(redisKey, entry.getValue());
-                }
-
-                // Store all entries
-                redisTemplate.opsForValue().multiSet(redisEntries);
-
-                // Set TTL for each entry
-                for (String redisKey : redisEntries.keySet()) {
-                    redisTemplate.expire(redisKey, ttl);
-                }
+                writeEntries(cacheName, namespaces.current(cacheName), keyValuePairs, ttl);
             }
 
-            // Also store in local cache
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache != null) {
-                for (java.util.Map.Entry<Object, Object> entry : keyValuePairs.entrySet()) {
-                    cache.put(entry.getKey(), entry.getValue());
-                }
+            // Also store in the near cache and invalidate other instances' copies
+            List<String> localKeys = new ArrayList<>(keyValuePairs.size());
+            for (Map.Entry<?, ?> entry : keyValuePairs.entrySet()) {
+                String localKey = localKey(entry.getKey());
+                localTier.put(cacheName, localKey, entry.getValue());
+                localKeys.add(localKey);
             }
+            invalidationBus.publishEvict(cacheName, localKeys);
 
         } catch (Exception e) {
             logger.warn("Error storing multiple entries in cache: {}", cacheName, e);
@@ -337,10 +431,12 @@ public class CacheService {
     }
 
     /**
-     * Retrieves multiple values from cache.
+     * Retrieves multiple values from cache. L1 is consulted first; the remaining keys are read
+     * with order-preserving {@code MGET}s in chunks. If Redis is unavailable the L1 hits are
+     * still returned.
      */
-    public java.util.Map<Object, Object> multiGet(String cacheName, java.util.Set<Object> keys) {
-        java.util.Map<Object, Object> result = new java.util.HashMap<>();
+    public Map<Object, Object> multiGet(String cacheName, Collection<?> keys) {
+        Map<Object, Object> result = new HashMap<>();
 
         if (!cacheEnabled || keys.isEmpty()) {
             return result;
@@ -349,36 +445,49 @@ public class CacheService {
         logger.debug("Retrieving {} entries from cache: {}", keys.size(), cacheName);
 
         try {
-            if (redisEnabled) {
-                // Convert keys to Redis format
-                java.util.List<String> redisKeys = keys.stream()
-                        .map(key -> buildRedisKey(cacheName, key))
-                        .collect(java.util.stream.Collectors.toList());
-
-                java.util.List<Object> values = redisTemplate.opsForValue().multiGet(redisKeys);
-
-                // Map back to original keys
-                java.util.Iterator<Object> keyIterator = keys.iterator();
-                for (int i = 0; i < values.size() && keyIterator.hasNext(); i++) {
-                    Object key = keyIterator.next();
-                    Object value = values.get(i);
-                    if (value != null) {
-                        result.put(key, value);
-                    }
+            // L1 first
+            long start = System.nanoTime();
+            List<Object> missing = new ArrayList<>();
+            for (Object key : keys) {
+                Object value = localTier.get(cacheName, localKey(key));
+                if (value != null) {
+                    result.put(key, value);
+                } else {
+                    missing.add(key);
                 }
             }
+            cacheMetrics.recordHits(cacheName, CacheMetrics.L1, result.size(), missing.size(), start);
+
+            // Remaining keys from Redis, promoting hits into L1
+            if (redisEnabled && !missing.isEmpty()) {
+                start = System.nanoTime();
+                long generation = namespaces.current(cacheName);
+                int hits = 0;
+                try {
+                    for (int from = 0; from < missing.size(); from += pipelineBatchSize) {
+                        List<Object> chunk = missing.subList(from, Math.min(missing.size(), from + pipelineBatchSize));
+                        List<String> redisKeys = new ArrayList<>(chunk.size());
+                        for (Object key : chunk) {
+                            redisKeys.add(buildRedisKey(cacheName, generation, key));
+                        }
 
-            // Fill missing entries from local cache
-            for (Object key : keys) {
-                if (!result.containsKey(key)) {
-                    Cache cache = cacheManager.getCache(cacheName);
-                    if (cache != null) {
-                        Cache.ValueWrapper wrapper = cache.get(key);
-                        if (wrapper != null) {
-                            result.put(key, wrapper.get());
+                        // MGET answers positionally, so values line up with chunk
+                        List<Object> values = redisTemplate.opsForValue().multiGet(redisKeys);
+                        for (int i = 0; values != null && i < values.size(); i++) {
+                            Object value = values.get(i);
+                            if (value != null) {
+                                Object key = chunk.get(i);
+                                result.put(key, value);
+                                localTier.put(cacheName, localKey(key), value);
+                                hits++;
+                            }
                         }
                     }
+                } catch (Exception e) {
+                    logger.warn("Redis unavailable for multiGet on cache: {}, serving {} local hits",
+                            cacheName, result.size(), e);
                 }
+                cacheMetrics.recordHits(cacheName, CacheMetrics.L2, hits, missing.size() - hits, start);
             }
 
             logger.debug("Retrieved {} out of {} requested entries from cache: {}",
@@ -391,6 +500,39 @@ public class CacheService {
         return result;
     }
 
+    /**
+     * Removes several keys from cache with one pipelined round trip per batch and a single
+     * invalidation broadcast.
+     */
+    public void multiEvict(String cacheName, Collection<?> keys) {
+        if (!cacheEnabled || keys.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Evicting {} entries from cache: {}", keys.size(), cacheName);
+
+        try {
+            if (redisEnabled) {
+                deleteEntries(cacheName, namespaces.current(cacheName), new ArrayList<>(keys));
+            }
+
+            List<String> localKeys = new ArrayList<>(keys.size());
+            for (Object key : keys) {
+                localKeys.add(localKey(key));
+            }
+            localTier.invalidateAll(cacheName, localKeys);
+            invalidationBus.publishEvict(cacheName, localKeys);
+
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                keys.forEach(cache::evict);
+            }
+
+        } catch (Exception e) {
+            logger.warn("Error evicting multiple entries from cache: {}", cacheName, e);
+        }
+    }
+
     /**
      * Gets cache statistics for monitoring.
      */
@@ -400,15 +542,18 @@ public class CacheService {
 
         try {
             if (redisEnabled) {
-                String pattern = buildRedisKey(cacheName, "*");
-                Set<String> keys = stringRedisTemplate.keys(pattern);
-                stats.setRedisEntryCount(keys != null ? keys.size() : 0);
+                String count = stringRedisTemplate.opsForValue()
+                        .get(namespaces.countKey(cacheName, namespaces.current(cacheName)));
+                stats.setRedisEntryCount(count != null ? (int) Math.max(0, Long.parseLong(count)) : 0);
             }
 
-            // Local cache stats would depend on the cache implementation
-            // For now, just indicate if cache exists
-            Cache cache = cacheManager.getCache(cacheName);
-            stats.setLocalCacheAvailable(cache != null);
+            stats.setLocalCacheAvailable(true);
+            stats.setLocalEntryCount(localTier.estimatedSize(cacheName));
+            stats.setL1HitCount(cacheMetrics.hitCount(cacheName, CacheMetrics.L1));
+            stats.setL1MissCount(cacheMetrics.missCount(cacheName, CacheMetrics.L1));
+            stats.setL2HitCount(cacheMetrics.hitCount(cacheName, CacheMetrics.L2));
+            stats.setL2MissCount(cacheMetrics.missCount(cacheName, CacheMetrics.L2));
+            stats.setHealthy(isHealthy());
 
         } catch (Exception e) {
             logger.warn("Error getting cache stats for cache: {}", cacheName, e);
@@ -420,7 +565,14 @@ public class CacheService {
     /**
      * Performs cache warming for frequently accessed data.
      */
-    public void warmUpCache(String cacheName, java.util.Map<Object, Object> warmUpData) {
+    public void warmUpCache(String cacheName, Map<?, ?> warmUpData) {
+        warmUpCache(cacheName, warmUpData, getCacheTtl(cacheName));
+    }
+
+    /**
+     * Performs cache warming with an explicit TTL, for caches whose readers use their own TTL.
+     */
+    public void warmUpCache(String cacheName, Map<?, ?> warmUpData, Duration ttl) {
         if (!cacheEnabled || warmUpData.isEmpty()) {
             return;
         }
@@ -428,7 +580,6 @@ public class CacheService {
         logger.info("Warming up cache: {} with {} entries", cacheName, warmUpData.size());
 
         try {
-            Duration ttl = getCacheTtl(cacheName);
             multiPut(cacheName, warmUpData, ttl);
 
             logger.info("Successfully warmed up cache: {} with {} entries",
@@ -456,19 +607,6 @@ public class CacheService {
                 }
             }
 
-            // Test local cache
-            Cache testCache = cacheManager.getCache("test");
-            if (testCache != null) {
-                String testKey = "health_check";
-                testCache.put(testKey, "ok");
-                Cache.ValueWrapper wrapper = testCache.get(testKey);
-                testCache.evict(testKey);
-
-                if (wrapper == null || !"ok".equals(wrapper.get())) {
-                    return false;
-                }
-            }
-
             return true;
 
         } catch (Exception e) {
@@ -479,8 +617,83 @@ public class CacheService {
 
     // Private helper methods
 
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
     private String buildRedisKey(String cacheName, Object key) {
-        return String.format("ebuy:cache:%s:%s", cacheName, key);
+        return buildRedisKey(cacheName, namespaces.current(cacheName), key);
+    }
+
+    private String buildRedisKey(String cacheName, long generation, Object key) {
+        return namespaces.entryPrefix(cacheName, generation) + key;
+    }
+
+    private void writeEntry(String cacheName, long generation, Object key, Object value, Duration ttl) {
+        redisTemplate.execute(WRITE_ENTRY_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER,
+                List.of(buildRedisKey(cacheName, generation, key), namespaces.countKey(cacheName, generation)),
+                serializeValue(value), Long.toString(ttl.toMillis()).getBytes(StandardCharsets.UTF_8),
+                counterTtlArg());
+    }
+
+    private <T> T load(String cacheName, Object key, Duration ttl, String flightKey, Supplier<T> loader) {
+        long start = System.nanoTime();
+        T value = loader.get();
+        if (value != null) {
+            put(cacheName, key, value, ttl);
+            earlyRefresh.recordLoad(flightKey, System.nanoTime() - start, ttl);
+        }
+        return value;
+    }
+
+    private void writeEntries(String cacheName, long generation, Map<?, ?> entries, Duration ttl) {
+        byte[] script = WRITE_ENTRY_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] ttlArg = Long.toString(ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+        byte[] counterTtlArg = counterTtlArg();
+        byte[] countKey = serializeKey(namespaces.countKey(cacheName, generation));
+
+        List<Map.Entry<?, ?>> pending = new ArrayList<>(entries.entrySet());
+        for (int from = 0; from < pending.size(); from += pipelineBatchSize) {
+            List<Map.Entry<?, ?>> chunk = pending.subList(from, Math.min(pending.size(), from + pipelineBatchSize));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<?, ?> entry : chunk) {
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2,
+                            serializeKey(buildRedisKey(cacheName, generation, entry.getKey())), countKey,
+                            serializeValue(entry.getValue()), ttlArg, counterTtlArg);
+                }
+                return null;
+            });
+        }
+    }
+
+    private void deleteEntries(String cacheName, long generation, List<?> keys) {
+        byte[] script = DELETE_ENTRY_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] countKey = serializeKey(namespaces.countKey(cacheName, generation));
+
+        for (int from = 0; from < keys.size(); from += pipelineBatchSize) {
+            List<?> chunk = keys.subList(from, Math.min(keys.size(), from + pipelineBatchSize));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Object key : chunk) {
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2,
+                            serializeKey(buildRedisKey(cacheName, generation, key)), countKey);
+                }
+                return null;
+            });
+        }
+    }
+
+    private byte[] counterTtlArg() {
+        return Long.toString(namespaces.generationTtl().toMillis()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
     }
 
     private Duration getCacheTtl(String cacheName) {
@@ -502,6 +715,11 @@ public class CacheService {
         private String cacheName;
         private int redisEntryCount;
         private boolean localCacheAvailable;
+        private long localEntryCount;
+        private long l1HitCount;
+        private long l1MissCount;
+        private long l2HitCount;
+        private long l2MissCount;
         private boolean healthy;
 
         // Getters and setters
@@ -529,6 +747,46 @@ public class CacheService {
             this.localCacheAvailable = localCacheAvailable;
         }
 
+        public long getLocalEntryCount() {
+            return localEntryCount;
+        }
+
+        public void setLocalEntryCount(long localEntryCount) {
+            this.localEntryCount = localEntryCount;
+        }
+
+        public long getL1HitCount() {
+            return l1HitCount;
+        }
+
+        public void setL1HitCount(long l1HitCount) {
+            this.l1HitCount = l1HitCount;
+        }
+
+        public long getL1MissCount() {
+            return l1MissCount;
+        }
+
+        public void setL1MissCount(long l1MissCount) {
+            this.l1MissCount = l1MissCount;
+        }
+
+        public long getL2HitCount() {
+            return l2HitCount;
+        }
+
+        public void setL2HitCount(long l2HitCount) {
+            this.l2HitCount = l2HitCount;
+        }
+
+        public long getL2MissCount() {
+            return l2MissCount;
+        }
+
+        public void setL2MissCount(long l2MissCount) {
+            this.l2MissCount = l2MissCount;
+        }
+
         public boolean isHealthy() {
             return healthy;
         }
@@ -543,6 +801,11 @@ public class CacheService {
                     "cacheName='" + cacheName + '\'' +
                     ", redisEntryCount=" + redisEntryCount +
                     ", localCacheAvailable=" + localCacheAvailable +
+                    ", localEntryCount=" + localEntryCount +
+                    ", l1HitCount=" + l1HitCount +
+                    ", l1MissCount=" + l1MissCount +
+                    ", l2HitCount=" + l2HitCount +
+                    ", l2MissCount=" + l2MissCount +
                     ", healthy=" + healthy +
                     '}';
         }
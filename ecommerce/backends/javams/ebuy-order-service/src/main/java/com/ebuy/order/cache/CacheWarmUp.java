@@ -0,0 +1,283 @@
+package com.ebuy.order.cache;
+
+import com.ebuy.order.dto.OrderDto;
+import com.ebuy.order.dto.OrderStatusDto;
+import com.ebuy.order.service.OrderItemService;
+import com.ebuy.order.service.OrderService;
+import com.ebuy.order.service.OrderStatusService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms the order caches after startup so a fresh instance does not send its first wave of
+ * reads to Postgres. Reference data, recent orders of the most active users and the item
+ * lists of recently placed orders are loaded in parallel within {@code ebuy.cache.warm-up.budget};
+ * whatever has not finished by then is abandoned.
+ *
+ * <p>{@link CacheWarmUpHealthIndicator} keeps the readiness group out of service until the
+ * warm-up is over, and {@link CacheWarmUpEndpoint} exposes per-step progress.
+ */
+@Component
+public class CacheWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmUp.class);
+
+    private static final String ORDERS_CACHE = "orders";
+
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED, TIMED_OUT, DISABLED }
+
+    private final OrderStatusService orderStatusService;
+    private final OrderService orderService;
+    private final OrderItemService orderItemService;
+    private final CacheManager cacheManager;
+
+    private final boolean enabled;
+    private final Duration budget;
+    private final int parallelism;
+    private final Duration lookback;
+    private final int activeUsers;
+    private final int ordersPerUser;
+    private final int hotOrders;
+    private final int batchSize;
+
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+    private volatile State state = State.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public CacheWarmUp(OrderStatusService orderStatusService,
+                       OrderService orderService,
+                       OrderItemService orderItemService,
+                       CacheManager cacheManager,
+                       @Value("${ebuy.cache.warm-up.enabled:true}") boolean enabled,
+                       @Value("${ebuy.cache.warm-up.budget:30s}") Duration budget,
+                       @Value("${ebuy.cache.warm-up.parallelism:3}") int parallelism,
+                       @Value("${ebuy.cache.warm-up.lookback:7d}") Duration lookback,
+                       @Value("${ebuy.cache.warm-up.active-users:500}") int activeUsers,
+                       @Value("${ebuy.cache.warm-up.orders-per-user:20}") int ordersPerUser,
+                       @Value("${ebuy.cache.warm-up.hot-orders:5000}") int hotOrders,
+                       @Value("${ebuy.cache.warm-up.batch-size:500}") int batchSize) {
+        this.orderStatusService = orderStatusService;
+        this.orderService = orderService;
+        this.orderItemService = orderItemService;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.parallelism = Math.max(1, parallelism);
+        this.lookback = lookback;
+        this.activeUsers = activeUsers;
+        this.ordersPerUser = ordersPerUser;
+        this.hotOrders = hotOrders;
+        this.batchSize = Math.max(1, batchSize);
+
+        addStep("order-statuses", this::warmOrderStatuses);
+        addStep("recent-orders", this::warmRecentOrders);
+        addStep("hot-order-items", this::warmHotOrderItems);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        Thread runner = new Thread(this::run, "cache-warm-up");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    /**
+     * @return true once the warm-up has finished, was abandoned at the budget, or is disabled
+     */
+    public boolean isDone() {
+        State current = state;
+        return current != State.PENDING && current != State.RUNNING;
+    }
+
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("state", state);
+        progress.put("budget", budget.toString());
+        if (startedAt != null) {
+            progress.put("startedAt", startedAt.toString());
+        }
+        if (finishedAt != null) {
+            progress.put("finishedAt", finishedAt.toString());
+        }
+        Map<String, Object> stepProgress = new LinkedHashMap<>();
+        steps.forEach((name, step) -> stepProgress.put(name, step.snapshot()));
+        progress.put("steps", stepProgress);
+        return progress;
+    }
+
+    void run() {
+        state = State.RUNNING;
+        startedAt = Instant.now();
+        long deadline = System.nanoTime() + budget.toNanos();
+        logger.info("Starting cache warm-up with a budget of {}", budget);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        State outcome = State.COMPLETED;
+        try {
+            CompletableFuture<?>[] futures = steps.values().stream()
+                    .map(step -> CompletableFuture.runAsync(() -> step.run(deadline), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            outcome = State.TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = State.TIMED_OUT;
+        } catch (ExecutionException e) {
+            // Step failures are recorded on the step itself
+        } finally {
+            executor.shutdownNow();
+            for (Step step : steps.values()) {
+                step.abandonIfRunning();
+                if (step.state == State.FAILED && outcome == State.COMPLETED) {
+                    outcome = State.FAILED;
+                }
+            }
+            finishedAt = Instant.now();
+            state = outcome;
+        }
+
+        logger.info("Cache warm-up {} in {} ms: {}", outcome,
+                Duration.between(startedAt, finishedAt).toMillis(), progress().get("steps"));
+    }
+
+    private boolean warmOrderStatuses(Step step, long deadline) {
+        List<OrderStatusDto> statuses = orderStatusService.getAllOrderStatuses();
+        orderStatusService.getActiveOrderStatuses();
+        orderStatusService.getDefaultOrderStatus();
+        for (OrderStatusDto status : statuses) {
+            if (expired(deadline)) {
+                return false;
+            }
+            orderStatusService.getOrderStatusById(status.getStatusId());
+            orderStatusService.getOrderStatusByName(status.getStatusName());
+            step.entries.incrementAndGet();
+        }
+        return true;
+    }
+
+    private boolean warmRecentOrders(Step step, long deadline) {
+        Cache cache = cacheManager.getCache(ORDERS_CACHE);
+        if (cache == null) {
+            return true;
+        }
+        List<OrderDto> orders = orderService.getRecentOrdersOfMostActiveUsers(
+                OffsetDateTime.now().minus(lookback), activeUsers, ordersPerUser);
+        for (OrderDto order : orders) {
+            if (expired(deadline)) {
+                return false;
+            }
+            cache.putIfAbsent(order.getOrderId(), order);
+            step.entries.incrementAndGet();
+        }
+        return true;
+    }
+
+    private boolean warmHotOrderItems(Step step, long deadline) {
+        List<Long> orderIds = orderService.getRecentOrderIds(OffsetDateTime.now().minus(lookback), hotOrders);
+        for (int from = 0; from < orderIds.size(); from += batchSize) {
+            if (expired(deadline)) {
+                return false;
+            }
+            List<Long> batch = orderIds.subList(from, Math.min(from + batchSize, orderIds.size()));
+            step.entries.addAndGet(orderItemService.warmUpOrderItemsByOrderIds(batch));
+        }
+        return true;
+    }
+
+    private static boolean expired(long deadline) {
+        return Thread.currentThread().isInterrupted() || System.nanoTime() >= deadline;
+    }
+
+    private void addStep(String name, StepBody body) {
+        steps.put(name, new Step(name, body));
+    }
+
+    @FunctionalInterface
+    private interface StepBody {
+        /**
+         * @return false if the step stopped early because the budget ran out
+         */
+        boolean run(Step step, long deadline);
+    }
+
+    private static final class Step {
+
+        private final String name;
+        private final StepBody body;
+        private final AtomicLong entries = new AtomicLong();
+        private volatile State state = State.PENDING;
+        private volatile long startedNanos;
+        private volatile long elapsedMillis;
+        private volatile String error;
+
+        Step(String name, StepBody body) {
+            this.name = name;
+            this.body = body;
+        }
+
+        void run(long deadline) {
+            state = State.RUNNING;
+            startedNanos = System.nanoTime();
+            try {
+                state = body.run(this, deadline) ? State.COMPLETED : State.TIMED_OUT;
+            } catch (Exception e) {
+                logger.warn("Cache warm-up step {} failed", name, e);
+                error = e.getMessage();
+                state = State.FAILED;
+            } finally {
+                elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            }
+        }
+
+        void abandonIfRunning() {
+            if (state == State.RUNNING || state == State.PENDING) {
+                state = State.TIMED_OUT;
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("state", state);
+            snapshot.put("entries", entries.get());
+            snapshot.put("elapsedMs", state == State.RUNNING
+                    ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos) : elapsedMillis);
+            if (error != null) {
+                snapshot.put("error", error);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ebuy.order.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/cachewarmup}: state and per-step progress of the startup cache warm-up.
+ */
+@Component
+@Endpoint(id = "cachewarmup")
+public class CacheWarmUpEndpoint {
+
+    private final CacheWarmUp cacheWarmUp;
+
+    public CacheWarmUpEndpoint(CacheWarmUp cacheWarmUp) {
+        this.cacheWarmUp = cacheWarmUp;
+    }
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        return cacheWarmUp.progress();
+    }
+}
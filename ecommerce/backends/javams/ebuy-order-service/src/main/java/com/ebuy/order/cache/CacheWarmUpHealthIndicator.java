@@ -0,0 +1,27 @@
+package com.ebuy.order.cache;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} while {@link CacheWarmUp} is running. Included in the
+ * readiness group only, so the instance only receives traffic once its caches are warm; it is
+ * kept out of the root health status by {@link CacheWarmUpHealthGroups}. A failed or
+ * timed-out warm-up still reports {@code UP} since it is best effort.
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUp cacheWarmUp;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUp cacheWarmUp) {
+        this.cacheWarmUp = cacheWarmUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmUp.isDone() ? Health.up() : Health.outOfService();
+        return builder.withDetails(cacheWarmUp.progress()).build();
+    }
+}
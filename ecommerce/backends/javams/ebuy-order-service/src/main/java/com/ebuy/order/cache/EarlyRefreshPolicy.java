@@ -0,0 +1,62 @@
+package com.ebuy.order.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Probabilistic early expiration (XFetch). Each load records how long it took and when the
+ * entry expires; a reader then refreshes early with a probability that rises as expiry
+ * approaches and with the cost of the load:
+ * {@code now + delta * beta * -ln(random) >= expiry}. Refreshes spread out in time instead
+ * of every reader missing at the same instant.
+ *
+ * <p>Only loads made by this instance are tracked; other entries simply expire.
+ */
+@Component
+public class EarlyRefreshPolicy {
+
+    private final Cache<String, LoadStats> loads;
+
+    @Value("${ebuy.cache.early-refresh.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ebuy.cache.early-refresh.beta:1.0}")
+    private double beta;
+
+    public EarlyRefreshPolicy(@Value("${ebuy.cache.local.max-size:10000}") long maxSize) {
+        this.loads = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public void recordLoad(String key, long loadNanos, Duration ttl) {
+        if (enabled) {
+            loads.put(key, new LoadStats(loadNanos, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    public boolean shouldRefresh(String key) {
+        if (!enabled) {
+            return false;
+        }
+        LoadStats stats = loads.getIfPresent(key);
+        if (stats == null) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        if (now >= stats.expiresAtNanos) {
+            // Past our own expiry: the entry was rewritten elsewhere or is about to miss
+            loads.invalidate(key);
+            return false;
+        }
+        double gap = stats.loadNanos * beta * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return now + gap >= stats.expiresAtNanos;
+    }
+
+    private record LoadStats(long loadNanos, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.ebuy.order.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process L1 tier of {@link CacheService}. One bounded Caffeine cache per cache name,
+ * keyed by the string form of the cache key so that entries line up with the Redis keys
+ * and with invalidation messages coming from other instances.
+ */
+@Component
+public class LocalCacheTier {
+
+    private final ConcurrentMap<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    @Value("${ebuy.cache.local.max-size:10000}")
+    private long maxSize;
+
+    @Value("${ebuy.cache.local.ttl:60s}")
+    private Duration ttl;
+
+    public Object get(String cacheName, String key) {
+        return cache(cacheName).getIfPresent(key);
+    }
+
+    public void put(String cacheName, String key, Object value) {
+        cache(cacheName).put(key, value);
+    }
+
+    public void invalidate(String cacheName, String key) {
+        Cache<String, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidateAll(String cacheName, Collection<String> keys) {
+        Cache<String, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    public void clear(String cacheName) {
+        Cache<String, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public long estimatedSize(String cacheName) {
+        Cache<String, Object> cache = caches.get(cacheName);
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+
+    private Cache<String, Object> cache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ebuy.order.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Request coalescing for cache loads: while one caller loads a key, concurrent callers for
+ * the same key wait on its future instead of hitting the database themselves. A waiter that
+ * exceeds {@code ebuy.cache.single-flight.wait-timeout} loads on its own.
+ */
+@Component
+public class SingleFlight {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    @Value("${ebuy.cache.single-flight.wait-timeout:10s}")
+    private Duration waitTimeout;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("ebuy.cache.loads")
+                .tag("role", "leader")
+                .description("Cache loads that went to the backing store")
+                .register(meterRegistry);
+        this.followers = Counter.builder("ebuy.cache.loads")
+                .tag("role", "follower")
+                .description("Cache loads coalesced onto an in-flight load")
+                .register(meterRegistry);
+    }
+
+    public boolean inFlight(String key) {
+        return flights.containsKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> loader) throws Exception {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, mine);
+        if (existing != null) {
+            followers.increment();
+            try {
+                return (T) existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } catch (TimeoutException e) {
+                logger.warn("Timed out waiting for in-flight load of {}, loading directly", key);
+                return loader.call();
+            }
+        }
+
+        leaders.increment();
+        try {
+            T value = loader.call();
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            flights.remove(key, mine);
+        }
+    }
+}
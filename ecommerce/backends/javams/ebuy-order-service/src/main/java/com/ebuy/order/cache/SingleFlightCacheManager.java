@@ -0,0 +1,164 @@
+package com.ebuy.order.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decorates the Spring {@link CacheManager} so that {@code @Cacheable(sync = true)} loads are
+ * coalesced per key through {@link SingleFlight} (the stock Redis cache synchronizes on the
+ * whole cache) and refreshed early according to {@link EarlyRefreshPolicy}. A loader that
+ * returns {@code null} is only cached when the target cache allows null values.
+ */
+public class SingleFlightCacheManager implements CacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlightCacheManager.class);
+
+    private final CacheManager delegate;
+    private final SingleFlight singleFlight;
+    private final EarlyRefreshPolicy earlyRefresh;
+    private final Duration ttl;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public SingleFlightCacheManager(CacheManager delegate, SingleFlight singleFlight,
+                                    EarlyRefreshPolicy earlyRefresh, Duration ttl) {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+        this.earlyRefresh = earlyRefresh;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target != null ? caches.computeIfAbsent(name, n -> new SingleFlightCache(target)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private final class SingleFlightCache implements Cache {
+
+        private final Cache target;
+
+        private SingleFlightCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            String flightKey = getName() + ':' + key;
+            ValueWrapper cached = target.get(key);
+
+            if (cached != null) {
+                // Refresh early only if we drew it and nobody else is already refreshing
+                if (singleFlight.inFlight(flightKey) || !earlyRefresh.shouldRefresh(flightKey)) {
+                    return (T) cached.get();
+                }
+                try {
+                    return singleFlight.execute(flightKey, () -> load(key, flightKey, valueLoader));
+                } catch (Exception e) {
+                    logger.warn("Early refresh failed for {}, serving cached value", flightKey, e);
+                    return (T) cached.get();
+                }
+            }
+
+            try {
+                return singleFlight.execute(flightKey, () -> {
+                    // A previous leader may have filled the entry while we queued
+                    ValueWrapper filled = target.get(key);
+                    return filled != null ? (T) filled.get() : load(key, flightKey, valueLoader);
+                });
+            } catch (ValueRetrievalException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        private <T> T load(Object key, String flightKey, Callable<T> valueLoader) {
+            long start = System.nanoTime();
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value == null && !allowsNullValues()) {
+                return null;
+            }
+            target.put(key, value);
+            earlyRefresh.recordLoad(flightKey, System.nanoTime() - start, ttl);
+            return value;
+        }
+
+        private boolean allowsNullValues() {
+            return target instanceof AbstractValueAdaptingCache adapting && adapting.isAllowNullValues();
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return target.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return target.invalidate();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ebuy.order.cache.codec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Redis value serializer shared by {@code CacheService} and the Spring cache manager.
+ *
+ * <p>Layout: {@code [0xEB][format version][codec id][payload]}. Codec id 0 carries the
+ * fallback serializer's bytes for values no {@link ValueCodec} handles. Entries without the
+ * marker byte are legacy values and go straight to the fallback, so caches written before
+ * this serializer stay readable. Unknown format versions or codec ids decode to
+ * {@code null}, i.e. a miss.
+ *
+ * <p>With {@code writeHeader} off, values are written in the legacy format; use that for the
+ * first pass of a rolling deploy while older instances are still reading.
+ */
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheValueSerializer.class);
+
+    static final byte MAGIC = (byte) 0xEB;
+    static final byte FORMAT_VERSION = 1;
+    static final byte FALLBACK_CODEC_ID = 0;
+    private static final int HEADER_LENGTH = 3;
+
+    private final ValueCodec[] codecs;
+    private final ValueCodec[] codecsById = new ValueCodec[256];
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeHeader;
+
+    public CacheValueSerializer(List<ValueCodec> codecs, RedisSerializer<Object> fallback, boolean writeHeader) {
+        this.codecs = codecs.toArray(new ValueCodec[0]);
+        for (ValueCodec codec : codecs) {
+            int id = codec.id() & 0xFF;
+            if (id == FALLBACK_CODEC_ID || codecsById[id] != null) {
+                throw new IllegalStateException("Duplicate or reserved cache codec id: " + id);
+            }
+            codecsById[id] = codec;
+        }
+        this.fallback = fallback;
+        this.writeHeader = writeHeader;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!writeHeader) {
+            return fallback.serialize(value);
+        }
+
+        for (ValueCodec codec : codecs) {
+            if (codec.supports(value)) {
+                BinaryOutput out = new BinaryOutput(128);
+                writeHeader(out, codec.id());
+                codec.encode(value, out);
+                return out.toByteArray();
+            }
+        }
+
+        byte[] payload = fallback.serialize(value);
+        BinaryOutput out = new BinaryOutput(HEADER_LENGTH + payload.length);
+        writeHeader(out, FALLBACK_CODEC_ID);
+        out.writeBytes(payload);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] > FORMAT_VERSION) {
+            logger.debug("Skipping cache value with unsupported format version");
+            return null;
+        }
+
+        int codecId = bytes[2] & 0xFF;
+        if (codecId == FALLBACK_CODEC_ID) {
+            return fallback.deserialize(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length));
+        }
+        ValueCodec codec = codecsById[codecId];
+        if (codec == null) {
+            logger.debug("Skipping cache value written by unknown codec {}", codecId);
+            return null;
+        }
+        return codec.decode(new BinaryInput(bytes, HEADER_LENGTH));
+    }
+
+    private static void writeHeader(BinaryOutput out, byte codecId) {
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(codecId);
+    }
+}
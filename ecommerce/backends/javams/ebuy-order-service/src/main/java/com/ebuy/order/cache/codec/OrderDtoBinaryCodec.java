@@ -0,0 +1,250 @@
+package com.ebuy.order.cache.codec;
+
+import com.ebuy.order.dto.OrderDto;
+import com.ebuy.order.dto.OrderItemDto;
+import com.ebuy.order.dto.OrderStatusDto;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema-aware binary encoding for the order DTOs and the {@code List<OrderItemDto>} values
+ * cached per order.
+ *
+ * <p>Each value starts with a type tag and that type's schema version, followed by a bitmap of
+ * non-null fields and then only the present fields in declaration order. Decoders read every
+ * schema version up to the current one, so appending a field means bumping the version and
+ * reading the new field only when {@code version >= n}. Values from a newer schema decode to
+ * {@code null} and are reloaded.
+ *
+ * <p>Records nested in an order (its status and items) are preceded by their own schema
+ * version, so bumping the item or status schema alone is enough for an older reader to
+ * treat an order holding them as a miss instead of misreading it. Order schema 1 predates
+ * these nested versions and is read with the first item and status schemas.
+ */
+@Component
+public class OrderDtoBinaryCodec implements ValueCodec {
+
+    static final byte CODEC_ID = 1;
+
+    static final int TYPE_ORDER = 1;
+    private static final int TYPE_ORDER_ITEM = 2;
+    private static final int TYPE_ORDER_STATUS = 3;
+    private static final int TYPE_ORDER_ITEM_LIST = 4;
+
+    // 2: nested status and item lists carry their own schema version
+    static final int ORDER_SCHEMA = 2;
+    static final int ORDER_ITEM_SCHEMA = 1;
+    static final int ORDER_STATUS_SCHEMA = 1;
+
+    @Override
+    public byte id() {
+        return CODEC_ID;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        if (value instanceof OrderDto || value instanceof OrderItemDto || value instanceof OrderStatusDto) {
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (!(element instanceof OrderItemDto)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void encode(Object value, BinaryOutput out) {
+        if (value instanceof OrderDto order) {
+            out.writeByte(TYPE_ORDER);
+            out.writeByte(ORDER_SCHEMA);
+            writeOrder(order, out);
+        } else if (value instanceof OrderItemDto item) {
+            out.writeByte(TYPE_ORDER_ITEM);
+            out.writeByte(ORDER_ITEM_SCHEMA);
+            writeOrderItem(item, out);
+        } else if (value instanceof OrderStatusDto status) {
+            out.writeByte(TYPE_ORDER_STATUS);
+            out.writeByte(ORDER_STATUS_SCHEMA);
+            writeOrderStatus(status, out);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TYPE_ORDER_ITEM_LIST);
+            out.writeByte(ORDER_ITEM_SCHEMA);
+            writeOrderItems(list, out);
+        } else {
+            throw new SerializationException("Unsupported value type: " + value.getClass().getName());
+        }
+    }
+
+    @Override
+    public Object decode(BinaryInput in) {
+        int type = in.readByte();
+        int version = in.readByte();
+        return switch (type) {
+            case TYPE_ORDER -> version > ORDER_SCHEMA ? null : readOrder(in, version);
+            case TYPE_ORDER_ITEM -> version > ORDER_ITEM_SCHEMA ? null : readOrderItem(in, version);
+            case TYPE_ORDER_STATUS -> version > ORDER_STATUS_SCHEMA ? null : readOrderStatus(in, version);
+            case TYPE_ORDER_ITEM_LIST -> version > ORDER_ITEM_SCHEMA ? null : readOrderItems(in, version);
+            default -> null;
+        };
+    }
+
+    // OrderDto: orderId, userId, status, orderDate, totalAmount, createdAt, modifiedAt,
+    // correlationId, serviceOrigin, rowVersion, orderItems
+
+    private void writeOrder(OrderDto order, BinaryOutput out) {
+        out.writeVarLong(presence(order.getOrderId(), order.getUserId(), order.getStatus(), order.getOrderDate(),
+                order.getTotalAmount(), order.getCreatedAt(), order.getModifiedAt(), order.getCorrelationId(),
+                order.getServiceOrigin(), order.getRowVersion(), order.getOrderItems()));
+        if (order.getOrderId() != null) out.writeSignedVarLong(order.getOrderId());
+        if (order.getUserId() != null) out.writeSignedVarLong(order.getUserId());
+        if (order.getStatus() != null) {
+            out.writeByte(ORDER_STATUS_SCHEMA);
+            writeOrderStatus(order.getStatus(), out);
+        }
+        if (order.getOrderDate() != null) out.writeDateTime(order.getOrderDate());
+        if (order.getTotalAmount() != null) out.writeDecimal(order.getTotalAmount());
+        if (order.getCreatedAt() != null) out.writeDateTime(order.getCreatedAt());
+        if (order.getModifiedAt() != null) out.writeDateTime(order.getModifiedAt());
+        if (order.getCorrelationId() != null) out.writeUuid(order.getCorrelationId());
+        if (order.getServiceOrigin() != null) out.writeString(order.getServiceOrigin());
+        if (order.getRowVersion() != null) out.writeSignedVarLong(order.getRowVersion());
+        if (order.getOrderItems() != null) {
+            out.writeByte(ORDER_ITEM_SCHEMA);
+            writeOrderItems(order.getOrderItems(), out);
+        }
+    }
+
+    private OrderDto readOrder(BinaryInput in, int version) {
+        long mask = in.readVarLong();
+        OrderDto order = new OrderDto();
+        if (isSet(mask, 0)) order.setOrderId(in.readSignedVarLong());
+        if (isSet(mask, 1)) order.setUserId(in.readSignedVarLong());
+        if (isSet(mask, 2)) {
+            int statusVersion = version >= 2 ? in.readByte() : 1;
+            if (statusVersion > ORDER_STATUS_SCHEMA) {
+                return null;
+            }
+            order.setStatus(readOrderStatus(in, statusVersion));
+        }
+        if (isSet(mask, 3)) order.setOrderDate(in.readDateTime());
+        if (isSet(mask, 4)) order.setTotalAmount(in.readDecimal());
+        if (isSet(mask, 5)) order.setCreatedAt(in.readDateTime());
+        if (isSet(mask, 6)) order.setModifiedAt(in.readDateTime());
+        if (isSet(mask, 7)) order.setCorrelationId(in.readUuid());
+        if (isSet(mask, 8)) order.setServiceOrigin(in.readString());
+        if (isSet(mask, 9)) order.setRowVersion(in.readSignedVarLong());
+        if (isSet(mask, 10)) {
+            int itemVersion = version >= 2 ? in.readByte() : 1;
+            if (itemVersion > ORDER_ITEM_SCHEMA) {
+                return null;
+            }
+            order.setOrderItems(readOrderItems(in, itemVersion));
+        } else {
+            order.setOrderItems(null);
+        }
+        return order;
+    }
+
+    // OrderItemDto: orderItemId, orderId, productId, quantity, price, discountMethodId,
+    // discountValue, finalPrice, createdAt, modifiedAt, deletedAt, isDeleted, rowVersion
+
+    private void writeOrderItem(OrderItemDto item, BinaryOutput out) {
+        out.writeVarLong(presence(item.getOrderItemId(), item.getOrderId(), item.getProductId(), item.getQuantity(),
+                item.getPrice(), item.getDiscountMethodId(), item.getDiscountValue(), item.getFinalPrice(),
+                item.getCreatedAt(), item.getModifiedAt(), item.getDeletedAt(), item.getIsDeleted(),
+                item.getRowVersion()));
+        if (item.getOrderItemId() != null) out.writeSignedVarLong(item.getOrderItemId());
+        if (item.getOrderId() != null) out.writeSignedVarLong(item.getOrderId());
+        if (item.getProductId() != null) out.writeSignedVarLong(item.getProductId());
+        if (item.getQuantity() != null) out.writeSignedVarLong(item.getQuantity());
+        if (item.getPrice() != null) out.writeDecimal(item.getPrice());
+        if (item.getDiscountMethodId() != null) out.writeSignedVarLong(item.getDiscountMethodId());
+        if (item.getDiscountValue() != null) out.writeDecimal(item.getDiscountValue());
+        if (item.getFinalPrice() != null) out.writeDecimal(item.getFinalPrice());
+        if (item.getCreatedAt() != null) out.writeDateTime(item.getCreatedAt());
+        if (item.getModifiedAt() != null) out.writeDateTime(item.getModifiedAt());
+        if (item.getDeletedAt() != null) out.writeDateTime(item.getDeletedAt());
+        if (item.getIsDeleted() != null) out.writeByte(item.getIsDeleted() ? 1 : 0);
+        if (item.getRowVersion() != null) out.writeSignedVarLong(item.getRowVersion());
+    }
+
+    private OrderItemDto readOrderItem(BinaryInput in, int version) {
+        long mask = in.readVarLong();
+        OrderItemDto item = new OrderItemDto();
+        if (isSet(mask, 0)) item.setOrderItemId(in.readSignedVarLong());
+        if (isSet(mask, 1)) item.setOrderId(in.readSignedVarLong());
+        if (isSet(mask, 2)) item.setProductId(in.readSignedVarLong());
+        if (isSet(mask, 3)) item.setQuantity((int) in.readSignedVarLong());
+        if (isSet(mask, 4)) item.setPrice(in.readDecimal());
+        if (isSet(mask, 5)) item.setDiscountMethodId(in.readSignedVarLong());
+        if (isSet(mask, 6)) item.setDiscountValue(in.readDecimal());
+        if (isSet(mask, 7)) item.setFinalPrice(in.readDecimal());
+        if (isSet(mask, 8)) item.setCreatedAt(in.readDateTime());
+        if (isSet(mask, 9)) item.setModifiedAt(in.readDateTime());
+        if (isSet(mask, 10)) item.setDeletedAt(in.readDateTime());
+        item.setIsDeleted(isSet(mask, 11) ? in.readByte() != 0 : null);
+        item.setRowVersion(isSet(mask, 12) ? in.readSignedVarLong() : null);
+        return item;
+    }
+
+    private void writeOrderItems(List<?> items, BinaryOutput out) {
+        out.writeVarLong(items.size());
+        for (Object item : items) {
+            writeOrderItem((OrderItemDto) item, out);
+        }
+    }
+
+    private List<OrderItemDto> readOrderItems(BinaryInput in, int version) {
+        int size = (int) in.readVarLong();
+        List<OrderItemDto> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(readOrderItem(in, version));
+        }
+        return items;
+    }
+
+    // OrderStatusDto: statusId, statusName, createdAt, modifiedAt, rowVersion
+
+    private void writeOrderStatus(OrderStatusDto status, BinaryOutput out) {
+        out.writeVarLong(presence(status.getStatusId(), status.getStatusName(), status.getCreatedAt(),
+                status.getModifiedAt(), status.getRowVersion()));
+        if (status.getStatusId() != null) out.writeSignedVarLong(status.getStatusId());
+        if (status.getStatusName() != null) out.writeString(status.getStatusName());
+        if (status.getCreatedAt() != null) out.writeDateTime(status.getCreatedAt());
+        if (status.getModifiedAt() != null) out.writeDateTime(status.getModifiedAt());
+        if (status.getRowVersion() != null) out.writeSignedVarLong(status.getRowVersion());
+    }
+
+    private OrderStatusDto readOrderStatus(BinaryInput in, int version) {
+        long mask = in.readVarLong();
+        OrderStatusDto status = new OrderStatusDto();
+        if (isSet(mask, 0)) status.setStatusId(in.readSignedVarLong());
+        if (isSet(mask, 1)) status.setStatusName(in.readString());
+        if (isSet(mask, 2)) status.setCreatedAt(in.readDateTime());
+        if (isSet(mask, 3)) status.setModifiedAt(in.readDateTime());
+        if (isSet(mask, 4)) status.setRowVersion(in.readSignedVarLong());
+        return status;
+    }
+
+    private static long presence(Object... fields) {
+        long mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    private static boolean isSet(long mask, int bit) {
+        return (mask & (1L << bit)) != 0;
+    }
+}
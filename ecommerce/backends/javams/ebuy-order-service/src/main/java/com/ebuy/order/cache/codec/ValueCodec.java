@@ -0,0 +1,22 @@
+package com.ebuy.order.cache.codec;
+
+/**
+ * Pluggable encoding for cached values. Every {@code ValueCodec} bean is registered with
+ * {@link CacheValueSerializer}, which picks the first codec that {@link #supports} a value
+ * and records the codec {@link #id} in the entry header. Ids are persisted in Redis and
+ * must never be reused; 0 is reserved for the general-purpose fallback.
+ */
+public interface ValueCodec {
+
+    byte id();
+
+    boolean supports(Object value);
+
+    void encode(Object value, BinaryOutput out);
+
+    /**
+     * @return the decoded value, or {@code null} if the payload was written by a newer
+     * schema this codec does not understand (treated as a cache miss)
+     */
+    Object decode(BinaryInput in);
+}
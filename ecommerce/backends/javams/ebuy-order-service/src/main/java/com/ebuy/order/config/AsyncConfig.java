@@ -0,0 +1,105 @@
+package com.ebuy.order.config;
+
+import com.ebuy.order.async.BoundedVirtualThreadExecutor;
+import com.ebuy.order.async.ContextPropagatingTaskDecorator;
+import com.ebuy.order.async.ExecutorMetrics;
+import com.ebuy.order.async.RejectionPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Named executors behind {@code @Async("eventExecutor")} and {@code @Async("auditExecutor")}.
+ * Each pool is either a bounded platform thread pool or a concurrency-limited virtual thread
+ * executor, as set in {@code ebuy.async.pools.<name>}.
+ */
+@Configuration
+@EnableAsync
+@EnableConfigurationProperties(AsyncExecutorProperties.class)
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+    public static final String AUDIT_EXECUTOR = "auditExecutor";
+
+    private final AsyncExecutorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfig(AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(name = EVENT_EXECUTOR)
+    public AsyncTaskExecutor eventExecutor() {
+        return createExecutor(EVENT_EXECUTOR);
+    }
+
+    @Bean(name = AUDIT_EXECUTOR)
+    public AsyncTaskExecutor auditExecutor() {
+        return createExecutor(AUDIT_EXECUTOR);
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                logger.error("Uncaught exception in async method {}.{}",
+                        method.getDeclaringClass().getSimpleName(), method.getName(), ex);
+    }
+
+    private AsyncTaskExecutor createExecutor(String name) {
+        AsyncExecutorProperties.Pool pool = properties.pool(name);
+        if (pool.getMode() == AsyncExecutorProperties.Mode.VIRTUAL) {
+            // The gauges need the executor, which needs the metrics; resolve through a reference
+            AtomicReference<BoundedVirtualThreadExecutor> ref = new AtomicReference<>();
+            ExecutorMetrics metrics = new ExecutorMetrics(meterRegistry, name,
+                    () -> ref.get() != null ? ref.get().getActiveCount() : 0,
+                    () -> ref.get() != null ? ref.get().getWaitingCount() : 0);
+            BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(name,
+                    pool.getMaxConcurrency(), pool.getAcquireTimeout(), pool.getRejectionPolicy(),
+                    pool.getAwaitTermination(), new ContextPropagatingTaskDecorator(metrics), metrics);
+            ref.set(executor);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        ExecutorMetrics metrics = new ExecutorMetrics(meterRegistry, name,
+                executor::getActiveCount, executor::getQueueSize);
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator(metrics));
+        executor.setRejectedExecutionHandler(countingHandler(pool.getRejectionPolicy(), metrics));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(pool.getAwaitTermination().toMillis());
+        return executor;
+    }
+
+    private static RejectedExecutionHandler countingHandler(RejectionPolicy policy, ExecutorMetrics metrics) {
+        RejectedExecutionHandler delegate = switch (policy) {
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+        return (task, executor) -> {
+            metrics.recordRejection();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.ebuy.order.config;
+
+import com.ebuy.order.async.RejectionPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named executor pools for {@code @Async} work ({@code ebuy.async.pools.<bean-name>.*}). A pool
+ * that is not configured runs with the defaults below.
+ */
+@ConfigurationProperties(prefix = "ebuy.async")
+public class AsyncExecutorProperties {
+
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    public Map<String, Pool> getPools() { return pools; }
+    public void setPools(Map<String, Pool> pools) { this.pools = pools; }
+
+    public Pool pool(String name) {
+        return pools.getOrDefault(name, new Pool());
+    }
+
+    public enum Mode {
+        /** Bounded {@code ThreadPoolExecutor} with a bounded queue. */
+        PLATFORM,
+        /** One virtual thread per task, at most {@code maxConcurrency} at a time. */
+        VIRTUAL
+    }
+
+    public static class Pool {
+
+        private Mode mode = Mode.PLATFORM;
+
+        /** Platform mode: threads kept alive when idle. */
+        private int coreSize = 2;
+
+        /** Platform mode: threads started once the queue is full. */
+        private int maxSize = 8;
+
+        /** Platform mode: tasks waiting for a thread. */
+        private int queueCapacity = 1000;
+
+        /** Platform mode: idle time before threads above the core size exit. */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /** Virtual mode: tasks running at the same time. */
+        private int maxConcurrency = 256;
+
+        /** Virtual mode: how long a submitter waits for a free slot before the task is rejected. */
+        private Duration acquireTimeout = Duration.ZERO;
+
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        /** How long shutdown waits for running tasks. */
+        private Duration awaitTermination = Duration.ofSeconds(30);
+
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+
+        public int getCoreSize() { return coreSize; }
+        public void setCoreSize(int coreSize) { this.coreSize = coreSize; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        public Duration getKeepAlive() { return keepAlive; }
+        public void setKeepAlive(Duration keepAlive) { this.keepAlive = keepAlive; }
+
+        public int getMaxConcurrency() { return maxConcurrency; }
+        public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+
+        public Duration getAcquireTimeout() { return acquireTimeout; }
+        public void setAcquireTimeout(Duration acquireTimeout) { this.acquireTimeout = acquireTimeout; }
+
+        public RejectionPolicy getRejectionPolicy() { return rejectionPolicy; }
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) { this.rejectionPolicy = rejectionPolicy; }
+
+        public Duration getAwaitTermination() { return awaitTermination; }
+        public void setAwaitTermination(Duration awaitTermination) { this.awaitTermination = awaitTermination; }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ebuy.order.config;
+
+import com.ebuy.order.cache.EarlyRefreshPolicy;
+import com.ebuy.order.cache.SingleFlight;
+import com.ebuy.order.cache.SingleFlightCacheManager;
+import com.ebuy.order.cache.codec.CacheValueSerializer;
+import com.ebuy.order.cache.codec.ValueCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Value serializer shared by {@code CacheService} and the Spring cache manager. Values no
+     * registered {@link ValueCodec} handles fall back to JDK serialization, the previous default.
+     */
+    @Bean
+    public CacheValueSerializer cacheValueSerializer(
+            List<ValueCodec> codecs,
+            @Value("${ebuy.cache.codec.write-format:binary}") String writeFormat) {
+        return new CacheValueSerializer(codecs, new JdkSerializationRedisSerializer(),
+                !"legacy".equalsIgnoreCase(writeFormat));
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CacheValueSerializer cacheValueSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(cacheValueSerializer);
+        template.setHashValueSerializer(cacheValueSerializer);
+        return template;
+    }
+
+    /**
+     * Default configuration for the Spring Redis caches. Defining this bean replaces the one
+     * Spring Boot derives from {@code spring.cache.redis.*}, so those properties are applied here.
+     */
+    @Bean
+    public RedisCacheConfiguration redisCacheConfiguration(CacheProperties cacheProperties,
+                                                           CacheValueSerializer cacheValueSerializer) {
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
+        if (redisProperties.getTimeToLive() != null) {
+            config = config.entryTtl(redisProperties.getTimeToLive());
+        }
+        if (redisProperties.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+
+    /**
+     * Subscriber connection for near-cache invalidation messages.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ebuy.cache.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Hands the caching annotations a {@link SingleFlightCacheManager} around the
+     * auto-configured cache manager, so {@code @Cacheable(sync = true)} loads are coalesced
+     * per key. The decorator is not a {@link CacheManager} bean itself: Spring Boot's cache
+     * auto-configuration stays in place and the {@code RedisCacheManager} bean can still be
+     * injected by its own type.
+     */
+    @Bean
+    public CachingConfigurer singleFlightCachingConfigurer(
+            ObjectProvider<CacheManager> cacheManager,
+            ObjectProvider<SingleFlight> singleFlight,
+            ObjectProvider<EarlyRefreshPolicy> earlyRefresh,
+            @Value("${spring.cache.redis.time-to-live:1h}") Duration ttl) {
+        return new CachingConfigurer() {
+            @Override
+            public CacheManager cacheManager() {
+                return new SingleFlightCacheManager(cacheManager.getObject(), singleFlight.getObject(),
+                        earlyRefresh.getObject(), ttl);
+            }
+        };
+    }
+}
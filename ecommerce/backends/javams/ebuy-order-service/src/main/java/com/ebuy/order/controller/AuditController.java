@@ -0,0 +1,83 @@
+package com.ebuy.order.controller;
+
+import com.ebuy.order.audit.AuditQueryService;
+import com.ebuy.order.dto.AuditLogPageDto;
+import com.ebuy.order.enums.AuditAction;
+import com.ebuy.order.enums.AuditLevel;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.OffsetDateTime;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/audit-logs")
+@Validated
+@RequiredArgsConstructor
+@Tag(name = "Audit Log", description = "APIs for browsing and exporting order audit history")
+public class AuditController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final AuditQueryService auditQueryService;
+
+    @Operation(summary = "Get order item audit history",
+            description = "Returns one page of an order item's audit history, newest first; pass nextCursor to continue")
+    @GetMapping("/order-items/{orderItemId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditLogPageDto> getOrderItemHistory(
+            @Parameter(description = "Order Item ID") @PathVariable @NotNull @Positive Long orderItemId,
+            @Parameter(description = "Only entries of this level") @RequestParam(required = false) AuditLevel level,
+            @Parameter(description = "Only entries of this action") @RequestParam(required = false) AuditAction action,
+            @Parameter(description = "Oldest entry time to include (ISO-8601); defaults to ebuy.audit.history-lookback ago")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) @Positive Integer limit) {
+
+        log.debug("Fetching audit history for order item: {}", orderItemId);
+        return ResponseEntity.ok(auditQueryService.getOrderItemHistory(orderItemId, level, action, since, cursor, limit));
+    }
+
+    @Operation(summary = "Get user audit history",
+            description = "Returns one page of the audit entries recorded for a user, newest first")
+    @GetMapping("/users/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditLogPageDto> getUserHistory(
+            @Parameter(description = "User ID") @PathVariable @NotNull @Positive Long userId,
+            @Parameter(description = "Only entries of this level") @RequestParam(required = false) AuditLevel level,
+            @Parameter(description = "Only entries of this action") @RequestParam(required = false) AuditAction action,
+            @Parameter(description = "Oldest entry time to include (ISO-8601); defaults to ebuy.audit.history-lookback ago")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(required = false) @Positive Integer limit) {
+
+        log.debug("Fetching audit history for user: {}", userId);
+        return ResponseEntity.ok(auditQueryService.getUserHistory(userId, level, action, since, cursor, limit));
+    }
+
+    @Operation(summary = "Export order item audit history",
+            description = "Streams an order item's audit history as newline-delimited JSON")
+    @GetMapping(value = "/order-items/{orderItemId}/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrderItemHistory(
+            @Parameter(description = "Order Item ID") @PathVariable @NotNull @Positive Long orderItemId,
+            @Parameter(description = "Only entries of this level") @RequestParam(required = false) AuditLevel level,
+            @Parameter(description = "Only entries of this action") @RequestParam(required = false) AuditAction action) {
+
+        log.info("Exporting audit history for order item: {}", orderItemId);
+        StreamingResponseBody body = out -> auditQueryService.exportOrderItemHistory(orderItemId, level, action, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
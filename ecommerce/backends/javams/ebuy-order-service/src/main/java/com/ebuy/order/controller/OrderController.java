@@ -13,7 +13,6 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -60,7 +59,6 @@ public class OrderController {
 
     @Operation(summary = "Get order by ID", description = "Retrieves an order by its unique identifier")
     @GetMapping("/{orderId}")
-    @Cacheable(value = "orders", key = "#orderId", unless = "#result == null")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<OrderDto> getOrderById(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId) {
@@ -72,7 +70,6 @@ public class OrderController {
 
     @Operation(summary = "Get order with items", description = "Retrieves an order with all its items")
     @GetMapping("/{orderId}/with-items")
-    @Cacheable(value = "orders-with-items", key = "#orderId", unless = "#result == null")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<OrderDto> getOrderWithItems(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId) {
@@ -84,7 +81,6 @@ public class OrderController {
 
     @Operation(summary = "Get order with status", description = "Retrieves an order with status information")
     @GetMapping("/{orderId}/with-status")
-    @Cacheable(value = "orders-with-status", key = "#orderId", unless = "#result == null")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<OrderDto> getOrderWithStatus(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId) {
@@ -96,7 +92,6 @@ public class OrderController {
 
     @Operation(summary = "Get order by correlation ID", description = "Retrieves an order by its correlation identifier")
     @GetMapping("/correlation/{correlationId}")
-    @Cacheable(value = "orders-by-correlation", key = "#correlationId", unless = "#result == null")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<OrderDto> getOrderByCorrelationId(
             @Parameter(description = "Correlation ID") @PathVariable @NotNull UUID correlationId) {
@@ -137,7 +132,6 @@ public class OrderController {
 
     @Operation(summary = "Get user orders", description = "Retrieves paginated orders for a specific user")
     @GetMapping("/user/{userId}")
-    @Cacheable(value = "user-orders", key = "#userId + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.userId")
     public ResponseEntity<Page<OrderDto>> getOrdersByUserId(
             @Parameter(description = "User ID") @PathVariable @NotNull @Positive Long userId,
@@ -175,7 +169,6 @@ public class OrderController {
 
     @Operation(summary = "Get orders by status", description = "Retrieves paginated orders with specific status")
     @GetMapping("/status/{statusId}")
-    @Cacheable(value = "orders-by-status", key = "#statusId + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<OrderDto>> getOrdersByStatus(
             @Parameter(description = "Status ID") @PathVariable @NotNull @Positive Long statusId,
@@ -192,7 +185,6 @@ public class OrderController {
 
     @Operation(summary = "Count user orders", description = "Returns the total count of orders for a user")
     @GetMapping("/user/{userId}/count")
-    @Cacheable(value = "user-order-count", key = "#userId")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.userId")
     public ResponseEntity<Long> countOrdersByUserId(
             @Parameter(description = "User ID") @PathVariable @NotNull @Positive Long userId) {
@@ -219,7 +211,6 @@ public class OrderController {
 
     @Operation(summary = "Get order summary", description = "Returns summarized information about orders")
     @GetMapping("/summary")
-    @Cacheable(value = "order-summary", key = "'global'")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Object> getOrderSummary() {
         log.debug("Fetching order summary");
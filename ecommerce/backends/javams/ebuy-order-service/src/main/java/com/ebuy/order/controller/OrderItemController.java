@@ -13,7 +13,6 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -42,7 +41,7 @@ public class OrderItemController {
     })
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    @CacheEvict(value = {"orders", "orders-with-items", "order-items"}, allEntries = true)
+    @CacheEvict(value = {"orders", "orders-with-items"}, allEntries = true)
     public ResponseEntity<OrderItemDto> addOrderItem(
             @Valid @RequestBody OrderItemDto orderItemDto,
             @RequestHeader(value = "X-User-ID", required = false) Long currentUserId) {
@@ -55,7 +54,6 @@ public class OrderItemController {
 
     @Operation(summary = "Get order item by ID", description = "Retrieves an order item by its unique identifier")
     @GetMapping("/{orderItemId}")
-    @Cacheable(value = "order-items", key = "#orderItemId", unless = "#result == null")
     @PreAuthorize("hasRole('ADMIN') or @orderItemService.isOrderItemAccessible(#orderItemId, authentication.name)")
     public ResponseEntity<OrderItemDto> getOrderItemById(
             @Parameter(description = "Order Item ID") @PathVariable @NotNull @Positive Long orderItemId) {
@@ -68,7 +66,7 @@ public class OrderItemController {
     @Operation(summary = "Update order item", description = "Updates an existing order item")
     @PutMapping("/{orderItemId}")
     @PreAuthorize("hasRole('ADMIN') or @orderItemService.isOrderItemAccessible(#orderItemId, authentication.name)")
-    @CacheEvict(value = {"orders", "orders-with-items", "order-items"}, allEntries = true)
+    @CacheEvict(value = {"orders", "orders-with-items"}, allEntries = true)
     public ResponseEntity<OrderItemDto> updateOrderItem(
             @Parameter(description = "Order Item ID") @PathVariable @NotNull @Positive Long orderItemId,
             @Valid @RequestBody OrderItemDto orderItemDto,
@@ -83,7 +81,7 @@ public class OrderItemController {
     @Operation(summary = "Remove order item", description = "Removes an item from an order (soft delete)")
     @DeleteMapping("/{orderItemId}")
     @PreAuthorize("hasRole('ADMIN') or @orderItemService.isOrderItemAccessible(#orderItemId, authentication.name)")
-    @CacheEvict(value = {"orders", "orders-with-items", "order-items"}, allEntries = true)
+    @CacheEvict(value = {"orders", "orders-with-items"}, allEntries = true)
     public ResponseEntity<Void> removeOrderItem(
             @Parameter(description = "Order Item ID") @PathVariable @NotNull @Positive Long orderItemId,
             @RequestHeader(value = "X-User-ID", required = false) Long currentUserId) {
@@ -96,7 +94,6 @@ public class OrderItemController {
 
     @Operation(summary = "Get order items", description = "Retrieves all items for a specific order")
     @GetMapping("/order/{orderId}")
-    @Cacheable(value = "order-items-by-order", key = "#orderId", unless = "#result.isEmpty()")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<List<OrderItemDto>> getOrderItemsByOrderId(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId) {
@@ -108,7 +105,6 @@ public class OrderItemController {
 
     @Operation(summary = "Get order item by order and product", description = "Retrieves a specific order item by order ID and product ID")
     @GetMapping("/order/{orderId}/product/{productId}")
-    @Cacheable(value = "order-item-by-order-product", key = "#orderId + '-' + #productId", unless = "#result == null")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<OrderItemDto> getOrderItemByOrderIdAndProductId(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId,
@@ -121,7 +117,6 @@ public class OrderItemController {
 
     @Operation(summary = "Check if product exists in order", description = "Checks if a specific product exists in an order")
     @GetMapping("/order/{orderId}/exists/product/{productId}")
-    @Cacheable(value = "order-item-exists", key = "#orderId + '-' + #productId")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<Boolean> existsByOrderIdAndProductId(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId,
@@ -134,7 +129,6 @@ public class OrderItemController {
 
     @Operation(summary = "Count order items", description = "Returns the total count of items in an order")
     @GetMapping("/order/{orderId}/count")
-    @Cacheable(value = "order-item-count", key = "#orderId")
     @PreAuthorize("hasRole('ADMIN') or @orderService.isOrderOwner(#orderId, authentication.name)")
     public ResponseEntity<Long> countOrderItemsByOrderId(
             @Parameter(description = "Order ID") @PathVariable @NotNull @Positive Long orderId) {
@@ -147,7 +141,7 @@ public class OrderItemController {
     @Operation(summary = "Update item quantity", description = "Updates the quantity of a specific order item")
     @PatchMapping("/{orderItemId}/quantity/{quantity}")
     @PreAuthorize("hasRole('ADMIN') or @orderItemService.isOrderItemAccessible(#orderItemId, authentication.name)")
-    @CacheEvict(value = {"orders", "orders-with-items", "order-items", "order-item-count"}, allEntries = true)
+    @CacheEvict(value = {"orders", "orders-with-items"}, allEntries = true)
     public ResponseEntity<OrderItemDto> updateOrderItemQuantity(
             @Parameter(description = "Order Item ID") @PathVariable @NotNull @Positive Long orderItemId,
             @Parameter(description = "New quantity") @PathVariable @NotNull @Positive Integer quantity,
@@ -162,7 +156,7 @@ public class OrderItemController {
     @Operation(summary = "Bulk update order items", description = "Updates multiple order items in a single request")
     @PutMapping("/bulk")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    @CacheEvict(value = {"orders", "orders-with-items", "order-items"}, allEntries = true)
+    @CacheEvict(value = {"orders", "orders-with-items"}, allEntries = true)
     public ResponseEntity<List<OrderItemDto>> bulkUpdateOrderItems(
             @Valid @RequestBody List<OrderItemDto> orderItemDtos,
             @RequestHeader(value = "X-User-ID", required = false) Long currentUserId) {
@@ -175,7 +169,6 @@ public class OrderItemController {
 
     @Operation(summary = "Get items by product", description = "Retrieves all order items containing a specific product")
     @GetMapping("/product/{productId}")
-    @Cacheable(value = "order-items-by-product", key = "#productId", unless = "#result.isEmpty()")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<OrderItemDto>> getOrderItemsByProductId(
             @Parameter(description = "Product ID") @PathVariable @NotNull @Positive Long productId,
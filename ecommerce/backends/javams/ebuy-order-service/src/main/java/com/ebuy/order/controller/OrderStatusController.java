@@ -13,8 +13,6 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -43,7 +41,6 @@ public class OrderStatusController {
     })
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @CacheEvict(value = "order-statuses", allEntries = true)
     public ResponseEntity<OrderStatusDto> createOrderStatus(
             @Valid @RequestBody OrderStatusDto orderStatusDto,
             @RequestHeader(value = "X-User-ID", required = false) Long currentUserId) {
@@ -56,7 +53,6 @@ public class OrderStatusController {
 
     @Operation(summary = "Get order status by ID", description = "Retrieves an order status by its unique identifier")
     @GetMapping("/{statusId}")
-    @Cacheable(value = "order-statuses", key = "#statusId", unless = "#result == null")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<OrderStatusDto> getOrderStatusById(
             @Parameter(description = "Status ID") @PathVariable @NotNull @Positive Long statusId) {
@@ -68,7 +64,6 @@ public class OrderStatusController {
 
     @Operation(summary = "Get order status by name", description = "Retrieves an order status by its name")
     @GetMapping("/name/{statusName}")
-    @Cacheable(value = "order-statuses-by-name", key = "#statusName.toLowerCase()", unless = "#result == null")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<OrderStatusDto> getOrderStatusByName(
             @Parameter(description = "Status name") @PathVariable @NotBlank String statusName) {
@@ -80,7 +75,6 @@ public class OrderStatusController {
 
     @Operation(summary = "Get all order statuses", description = "Retrieves all available order statuses")
     @GetMapping
-    @Cacheable(value = "all-order-statuses", unless = "#result.isEmpty()")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<OrderStatusDto>> getAllOrderStatuses() {
         log.debug("Fetching all order statuses");
@@ -91,7 +85,6 @@ public class OrderStatusController {
     @Operation(summary = "Update order status", description = "Updates an existing order status")
     @PutMapping("/{statusId}")
     @PreAuthorize("hasRole('ADMIN')")
-    @CacheEvict(value = {"order-statuses", "order-statuses-by-name", "all-order-statuses"}, allEntries = true)
     public ResponseEntity<OrderStatusDto> updateOrderStatus(
             @Parameter(description = "Status ID") @PathVariable @NotNull @Positive Long statusId,
             @Valid @RequestBody OrderStatusDto orderStatusDto,
@@ -106,7 +99,6 @@ public class OrderStatusController {
     @Operation(summary = "Delete order status", description = "Deletes an order status (soft delete)")
     @DeleteMapping("/{statusId}")
     @PreAuthorize("hasRole('ADMIN')")
-    @CacheEvict(value = {"order-statuses", "order-statuses-by-name", "all-order-statuses"}, allEntries = true)
     public ResponseEntity<Void> deleteOrderStatus(
             @Parameter(description = "Status ID") @PathVariable @NotNull @Positive Long statusId,
             @RequestHeader(value = "X-User-ID", required = false) Long currentUserId) {
@@ -119,7 +111,6 @@ public class OrderStatusController {
 
     @Operation(summary = "Check if status exists", description = "Checks if an order status exists by name")
     @GetMapping("/exists/name/{statusName}")
-    @Cacheable(value = "status-exists", key = "#statusName.toLowerCase()")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Boolean> existsByStatusName(
             @Parameter(description = "Status name") @PathVariable @NotBlank String statusName) {
@@ -0,0 +1,37 @@
+package com.ebuy.order.dto;
+
+import java.util.List;
+
+/**
+ * One page of audit history. {@code nextCursor} is null on the last page.
+ */
+public class AuditLogPageDto {
+
+    private List<AuditLogSummaryDto> items;
+    private String nextCursor;
+
+    // Constructors
+    public AuditLogPageDto() {}
+
+    public AuditLogPageDto(List<AuditLogSummaryDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<AuditLogSummaryDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AuditLogSummaryDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
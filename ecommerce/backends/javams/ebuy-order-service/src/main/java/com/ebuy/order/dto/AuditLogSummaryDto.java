@@ -0,0 +1,102 @@
+package com.ebuy.order.dto;
+
+import com.ebuy.order.enums.AuditAction;
+import com.ebuy.order.enums.AuditLevel;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Compact audit log row for history listings and exports; leaves out the audit payload and
+ * request details.
+ */
+public class AuditLogSummaryDto {
+
+    private Long auditId;
+    private AuditAction action;
+    private AuditLevel level;
+    private String entityType;
+    private Long entityId;
+    private Long userId;
+    private String description;
+    private OffsetDateTime createdAt;
+
+    // Constructors
+    public AuditLogSummaryDto() {}
+
+    public AuditLogSummaryDto(Long auditId, AuditAction action, AuditLevel level, String entityType,
+                              Long entityId, Long userId, String description, OffsetDateTime createdAt) {
+        this.auditId = auditId;
+        this.action = action;
+        this.level = level;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.userId = userId;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getAuditId() {
+        return auditId;
+    }
+
+    public void setAuditId(Long auditId) {
+        this.auditId = auditId;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public void setAction(AuditAction action) {
+        this.action = action;
+    }
+
+    public AuditLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(AuditLevel level) {
+        this.level = level;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
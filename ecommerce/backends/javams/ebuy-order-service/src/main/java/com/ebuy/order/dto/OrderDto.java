@@ -5,13 +5,16 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.Valid;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-public class OrderDto {
+public class OrderDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Long orderId;
 
@@ -4,13 +4,16 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 /**
  * Data Transfer Object for OrderItem with validation constraints.
  */
-public class OrderItemDto {
+public class OrderItemDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Long orderItemId;
 
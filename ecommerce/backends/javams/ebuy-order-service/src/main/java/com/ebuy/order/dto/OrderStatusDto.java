@@ -3,9 +3,12 @@ package com.ebuy.order.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.io.Serializable;
 import java.time.OffsetDateTime;
 
-public class OrderStatusDto {
+public class OrderStatusDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Long statusId;
 
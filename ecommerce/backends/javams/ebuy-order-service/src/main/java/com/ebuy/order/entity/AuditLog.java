@@ -8,12 +8,13 @@ import java.time.OffsetDateTime;
 
 /**
  * Audit log entity for tracking all order item operations.
+ * The table is range-partitioned by day on {@code created_at}, see {@code AuditPartitionManager}.
  */
 @Entity
 @Table(name = "audit_logs", schema = "order_schema",
         indexes = {
-                @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id"),
-                @Index(name = "idx_audit_user", columnList = "user_id"),
+                @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id, created_at DESC, audit_id DESC"),
+                @Index(name = "idx_audit_user", columnList = "user_id, created_at DESC, audit_id DESC"),
                 @Index(name = "idx_audit_timestamp", columnList = "created_at"),
                 @Index(name = "idx_audit_action", columnList = "action"),
                 @Index(name = "idx_audit_level", columnList = "level")
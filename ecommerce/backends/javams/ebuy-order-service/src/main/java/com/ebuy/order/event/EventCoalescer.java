@@ -0,0 +1,37 @@
+package com.ebuy.order.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Coalescing window for bursts of order item events. An update enqueued while the item's
+ * previous outbox row is unsent and younger than {@code ebuy.events.coalescing.window} is
+ * folded into that row, and {@link OutboxRelay} holds rows back until their window has
+ * passed. A zero window disables coalescing.
+ */
+@Component
+public class EventCoalescer {
+
+    private final Duration window;
+    private final MeterRegistry meterRegistry;
+
+    public EventCoalescer(@Value("${ebuy.events.coalescing.window:250ms}") Duration window,
+                          MeterRegistry meterRegistry) {
+        this.window = window;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Counts an event that was folded into an earlier one instead of being sent.
+     */
+    public void recordMerged(String channel) {
+        meterRegistry.counter("ebuy.events.coalesced", "channel", channel).increment();
+    }
+}
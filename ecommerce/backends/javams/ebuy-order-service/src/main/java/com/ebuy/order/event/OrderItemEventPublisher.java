@@ -1,6 +1,10 @@
 package com.ebuy.order.event;
 
 import com.ebuy.order.dto.OrderItemDto;
+import com.ebuy.order.entity.OutboxEvent;
+import com.ebuy.order.event.bus.LocalEventBus;
+import com.ebuy.order.event.codec.EventEncoder;
+import com.ebuy.order.repository.OutboxEventRepository;
 import com.ebuy.order.event.model.OrderItemEvent;
 import com.ebuy.order.event.model.EventMetadata;
 
@@ -10,21 +14,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * High-performance event publisher for order item operations.
- * Supports multiple event channels: Kafka, local Spring events, and webhooks.
+ * Supports multiple event channels: Kafka, the in-process event bus, and webhooks.
  * Designed for reliability with retry mechanisms and failure handling.
  */
 @Service
@@ -32,6 +40,8 @@ public class OrderItemEventPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderItemEventPublisher.class);
 
+    private static final String ORDER_ITEM_AGGREGATE = "ORDER_ITEM";
+
     @Value("${ebuy.events.enabled:true}")
     private boolean eventsEnabled;
 
@@ -56,20 +66,79 @@ public class OrderItemEventPublisher {
     @Value("${ebuy.events.async:true}")
     private boolean asyncPublishing;
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ApplicationEventPublisher applicationEventPublisher;
+    @Value("${ebuy.events.outbox.enabled:true}")
+    private boolean outboxEnabled;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final EventEncoder eventEncoder;
+    private final LocalEventBus localEventBus;
     private final ObjectMapper objectMapper;
     private final WebhookService webhookService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventCoalescer eventCoalescer;
 
     @Autowired
-    public OrderItemEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
-                                   ApplicationEventPublisher applicationEventPublisher,
+    public OrderItemEventPublisher(KafkaTemplate<String, byte[]> eventKafkaTemplate,
+                                   EventEncoder eventEncoder,
+                                   LocalEventBus localEventBus,
                                    ObjectMapper objectMapper,
-                                   WebhookService webhookService) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.applicationEventPublisher = applicationEventPublisher;
+                                   WebhookService webhookService,
+                                   OutboxEventRepository outboxEventRepository,
+                                   EventCoalescer eventCoalescer) {
+        this.kafkaTemplate = eventKafkaTemplate;
+        this.eventEncoder = eventEncoder;
+        this.localEventBus = localEventBus;
         this.objectMapper = objectMapper;
         this.webhookService = webhookService;
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventCoalescer = eventCoalescer;
+    }
+
+    public boolean isOutboxEnabled() {
+        return outboxEnabled;
+    }
+
+    /**
+     * Records an order item event in the transactional outbox as part of the caller's
+     * transaction; {@link OutboxRelay} sends it to Kafka. Local and webhook channels are
+     * notified after commit, so rolled-back changes never produce events.
+     *
+     * <p>An update to an item whose previous event is still unsent and inside the coalescing
+     * window replaces that event: the outbox row then carries the latest item state, the
+     * strongest event type of the burst and the net quantity delta.
+     *
+     * <p>Writers of one partition key are serialized until commit, so the key's outbox ids
+     * follow commit order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueOrderItemEvent(String eventType, OrderItemDto orderItemDto, Integer quantityDelta, Long userId) {
+        if (!eventsEnabled) {
+            return;
+        }
+
+        OrderItemEvent event = createOrderItemEvent(eventType, orderItemDto, userId);
+        event.setQuantityDelta(quantityDelta);
+        event.setCoalescedCount(1);
+        if (kafkaEnabled) {
+            String partitionKey = extractPartitionKey(event);
+            if (partitionKey != null) {
+                outboxEventRepository.lockPartitionKey(partitionKey);
+            }
+            if (!coalesceIntoPending(event)) {
+                outboxEventRepository.save(new OutboxEvent(ORDER_ITEM_AGGREGATE, orderItemDto.getOrderItemId(), eventType,
+                        orderItemEventsTopic, partitionKey, writePayload(event)));
+            }
+        }
+
+        if (localEventsEnabled || webhookEnabled) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishToLocalEvents(event);
+                    publishToWebhooks(event);
+                }
+            });
+        }
     }
 
     /**
@@ -283,6 +352,67 @@ public class OrderItemEventPublisher {
 
     // Private helper methods
 
+    /**
+     * Folds {@code event} into the item's unsent outbox row if one is still inside the window.
+     */
+    private boolean coalesceIntoPending(OrderItemEvent event) {
+        Long orderItemId = event.getOrderItem().getOrderItemId();
+        if (orderItemId == null || eventCoalescer.getWindow().isZero()
+                || coalescingRank(event.getEventType()) < 0) {
+            return false;
+        }
+
+        Optional<OutboxEvent> pending = outboxEventRepository.findLatestPending(ORDER_ITEM_AGGREGATE, orderItemId,
+                OffsetDateTime.now().minus(eventCoalescer.getWindow()));
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        OrderItemEvent previous;
+        try {
+            previous = eventEncoder.decode(pending.get().getPayload(), OrderItemEvent.class);
+        } catch (RuntimeException e) {
+            logger.warn("Unreadable pending outbox event {}, not coalescing", pending.get().getOutboxId(), e);
+            return false;
+        }
+        if (coalescingRank(previous.getEventType()) < 0) {
+            return false;
+        }
+
+        event.setEventId(previous.getEventId());
+        if (coalescingRank(previous.getEventType()) > coalescingRank(event.getEventType())) {
+            event.setEventType(previous.getEventType());
+        }
+        event.setQuantityDelta(sum(previous.getQuantityDelta(), event.getQuantityDelta()));
+        event.setCoalescedCount(sum(previous.getCoalescedCount(), 1));
+
+        if (outboxEventRepository.replacePending(pending.get().getOutboxId(), event.getEventType(), writePayload(event)) == 0) {
+            return false;
+        }
+        eventCoalescer.recordMerged("order-item");
+        return true;
+    }
+
+    /**
+     * Event types that may be collapsed, ranked by how much they tell a consumer; a burst is
+     * reported as its highest-ranked type. Other types (deletions) are never coalesced.
+     */
+    private static int coalescingRank(String eventType) {
+        return switch (eventType) {
+            case "ORDER_ITEM_QUANTITY_UPDATED" -> 0;
+            case "ORDER_ITEM_UPDATED" -> 1;
+            case "ORDER_ITEM_CREATED" -> 2;
+            default -> -1;
+        };
+    }
+
+    private static Integer sum(Integer a, Integer b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : a + b;
+    }
+
     private OrderItemEvent createOrderItemEvent(String eventType, OrderItemDto orderItemDto, Long userId) {
         OrderItemEvent event = new OrderItemEvent();
         event.setEventId(UUID.randomUUID().toString());
@@ -315,23 +445,37 @@ public class OrderItemEventPublisher {
 
     private CompletableFuture<Void> publishToKafkaAsync(String topic, Object event) {
         try {
-            String eventJson = objectMapper.writeValueAsString(event);
+            byte[] payload = writePayload(event);
             String partitionKey = extractPartitionKey(event);
 
-            return kafkaTemplate.send(topic, partitionKey, eventJson)
-                    .completable()
+            return kafkaTemplate.send(topic, partitionKey, payload)
                     .thenRun(() -> logger.debug("Successfully sent event to Kafka topic: {}", topic))
                     .exceptionally(throwable -> {
                         logger.error("Failed to send event to Kafka topic: {}", topic, throwable);
                         return null;
                     });
 
-        } catch (JsonProcessingException e) {
+        } catch (IllegalStateException e) {
             logger.error("Failed to serialize event for Kafka", e);
             return CompletableFuture.failedFuture(e);
         }
     }
 
+    /**
+     * Encodes an event exactly once into the bytes sent to Kafka. Event types with a registered
+     * schema use the binary encoding; others (integration events) are written as JSON bytes.
+     */
+    private byte[] writePayload(Object event) {
+        if (eventEncoder.supports(event)) {
+            return eventEncoder.encode(event);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event " + event.getClass().getSimpleName(), e);
+        }
+    }
+
     private CompletableFuture<Void> publishToLocalEvents(OrderItemEvent event) {
         if (!localEventsEnabled) {
             return CompletableFuture.completedFuture(null);
@@ -340,16 +484,18 @@ public class OrderItemEventPublisher {
         return publishLocalEventAsync(event);
     }
 
+    /**
+     * Hands the event to the in-process ring buffer; subscribers run on the bus consumer
+     * threads, so no task is submitted to the common pool per event.
+     */
     private CompletableFuture<Void> publishLocalEventAsync(Object event) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                applicationEventPublisher.publishEvent(event);
-                logger.debug("Successfully published local event");
-            } catch (Exception e) {
-                logger.error("Failed to publish local event", e);
-                throw new RuntimeException(e);
-            }
-        });
+        if (localEventBus.publish(event)) {
+            logger.debug("Successfully published local event");
+            return CompletableFuture.completedFuture(null);
+        }
+        logger.warn("Local event bus rejected {}", event.getClass().getSimpleName());
+        return CompletableFuture.failedFuture(
+                new IllegalStateException("Local event bus rejected " + event.getClass().getSimpleName()));
     }
 
     private CompletableFuture<Void> publishToWebhooks(OrderItemEvent event) {
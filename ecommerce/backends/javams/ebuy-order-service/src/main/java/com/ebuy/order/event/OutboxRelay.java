@@ -0,0 +1,254 @@
+package com.ebuy.order.event;
+
+import com.ebuy.order.entity.OutboxEvent;
+import com.ebuy.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Delivers {@code event_outbox} rows to Kafka. Each poll walks the unsent rows in keyset
+ * batches; a batch is claimed per partition key with {@code SKIP LOCKED} so several instances
+ * can relay in parallel without two of them holding rows of the same key, and marked sent
+ * with one bulk update in the same transaction.
+ *
+ * <p>Events of one key leave in outbox order, which is also their commit order because
+ * writers of a key serialize on {@link OutboxEventRepository#lockPartitionKey}. A batch is sent in waves, each carrying the
+ * oldest remaining event of every key with one producer flush, and a key whose send fails is
+ * dropped from the rest of the batch so its later events wait behind the retry. Failed rows
+ * are retried on later polls; at {@code max-attempts} they are marked dead-lettered, counted
+ * in {@code ebuy.outbox.events{result=dead_lettered}}, and stop blocking their key. Delivery
+ * is at-least-once and consumers should dedupe on eventId. Rows are held back for the
+ * coalescing window so bursts for one order item leave as one event.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ebuy.events.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventCoalescer eventCoalescer;
+    private final Counter sentEvents;
+    private final Counter failedEvents;
+    private final Counter deadLetteredEvents;
+    private final Timer batchTimer;
+
+    @Value("${ebuy.events.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ebuy.events.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${ebuy.events.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${ebuy.events.outbox.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    @Value("${ebuy.events.outbox.retention:7d}")
+    private Duration retention;
+
+    @Value("${ebuy.events.outbox.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, byte[]> eventKafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       EventCoalescer eventCoalescer,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = eventKafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventCoalescer = eventCoalescer;
+        this.sentEvents = Counter.builder("ebuy.outbox.events")
+                .tag("result", "sent")
+                .description("Outbox events relayed to Kafka")
+                .register(meterRegistry);
+        this.failedEvents = Counter.builder("ebuy.outbox.events")
+                .tag("result", "failed")
+                .description("Outbox events relayed to Kafka")
+                .register(meterRegistry);
+        this.deadLetteredEvents = Counter.builder("ebuy.outbox.events")
+                .tag("result", "dead_lettered")
+                .description("Outbox events relayed to Kafka")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("ebuy.outbox.batch")
+                .description("Time to send and mark one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ebuy.events.outbox.poll-interval-ms:200}")
+    public void relay() {
+        OffsetDateTime readyBefore = OffsetDateTime.now().minus(eventCoalescer.getWindow());
+        long afterId = 0;
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            long cursor = afterId;
+            Long lastId;
+            try {
+                lastId = transactionTemplate.execute(status -> relayBatch(cursor, readyBefore));
+            } catch (Exception e) {
+                logger.error("Outbox relay batch failed after id {}", cursor, e);
+                return;
+            }
+            if (lastId == null) {
+                return;
+            }
+            afterId = lastId;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ebuy.events.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${ebuy.events.outbox.purge-initial-delay-ms:300000}")
+    public void purgeSent() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(retention);
+        long purged = 0;
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(status ->
+                    outboxEventRepository.deleteSentBefore(cutoff, purgeBatchSize));
+            deleted = count != null ? count : 0;
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            logger.info("Purged {} sent outbox events older than {}", purged, cutoff);
+        }
+    }
+
+    /**
+     * @return the id of the last head of a full batch, or null when the backlog is drained.
+     *         Followers can sit above heads the next page still has to visit, so the cursor
+     *         never moves past the last head.
+     */
+    private Long relayBatch(long afterId, OffsetDateTime readyBefore) {
+        List<OutboxEvent> batch = outboxEventRepository.lockWaitingByKeyAfter(afterId, readyBefore, batchSize);
+        if (batch.isEmpty()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        Map<String, Deque<OutboxEvent>> byKey = new LinkedHashMap<>();
+        long lastHeadId = 0;
+        for (OutboxEvent event : batch) {
+            Deque<OutboxEvent> events = byKey.computeIfAbsent(orderingKey(event), key -> new ArrayDeque<>());
+            if (events.isEmpty()) {
+                lastHeadId = Math.max(lastHeadId, event.getOutboxId());
+            }
+            events.add(event);
+        }
+        int heads = byKey.size();
+
+        long deadline = start + sendTimeout.toNanos();
+        List<Long> sent = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        String lastError = null;
+        while (!byKey.isEmpty()) {
+            List<CompletableFuture<?>> sends = new ArrayList<>(byKey.size());
+            for (Deque<OutboxEvent> events : byKey.values()) {
+                OutboxEvent event = events.peek();
+                sends.add(kafkaTemplate.send(event.getTopic(), event.getPartitionKey(), event.getPayload()));
+            }
+            kafkaTemplate.flush();
+
+            int i = 0;
+            for (Iterator<Deque<OutboxEvent>> keys = byKey.values().iterator(); keys.hasNext(); i++) {
+                Deque<OutboxEvent> events = keys.next();
+                String error = awaitSend(sends.get(i), deadline);
+                if (error == null) {
+                    sent.add(events.poll().getOutboxId());
+                    if (events.isEmpty()) {
+                        keys.remove();
+                    }
+                } else {
+                    // Later events of this key stay unsent until the failed one goes through
+                    failed.add(events.peek());
+                    lastError = error;
+                    keys.remove();
+                }
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        if (!sent.isEmpty()) {
+            outboxEventRepository.markSent(sent, now);
+        }
+        if (!failed.isEmpty()) {
+            markFailed(failed, lastError, now);
+            logger.warn("Failed to relay {} of {} outbox events, holding back {} later events of their keys: {}",
+                    failed.size(), batch.size(), batch.size() - sent.size() - failed.size(), lastError);
+        }
+
+        sentEvents.increment(sent.size());
+        failedEvents.increment(failed.size());
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        return heads < batchSize ? null : lastHeadId;
+    }
+
+    private void markFailed(List<OutboxEvent> failed, String error, OffsetDateTime now) {
+        List<Long> ids = new ArrayList<>(failed.size());
+        List<Long> exhausted = new ArrayList<>();
+        for (OutboxEvent event : failed) {
+            ids.add(event.getOutboxId());
+            if (event.getAttempts() + 1 >= maxAttempts) {
+                exhausted.add(event.getOutboxId());
+            }
+        }
+        outboxEventRepository.markFailed(ids, error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (!exhausted.isEmpty()) {
+            outboxEventRepository.markDeadLettered(exhausted, now);
+            deadLetteredEvents.increment(exhausted.size());
+            logger.error("Dead-lettered outbox events {} after {} attempts: {}", exhausted, maxAttempts, error);
+        }
+    }
+
+    /**
+     * @return null if the send was acknowledged, otherwise the failure message
+     */
+    private static String awaitSend(CompletableFuture<?> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for send";
+        }
+    }
+
+    /**
+     * Events are ordered per Kafka key; events without one are independent of each other.
+     */
+    private static String orderingKey(OutboxEvent event) {
+        return event.getPartitionKey() != null ? event.getPartitionKey() : "#" + event.getOutboxId();
+    }
+}
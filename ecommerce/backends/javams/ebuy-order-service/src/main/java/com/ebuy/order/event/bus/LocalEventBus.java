@@ -0,0 +1,222 @@
+package com.ebuy.order.event.bus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process event bus on a preallocated ring buffer, in the style of the LMAX disruptor.
+ *
+ * <p>Producers claim a sequence with a CAS on the cursor, write the slot and mark it available;
+ * no task or queue node is allocated per event. Every {@link LocalEventSubscriber} bean runs on
+ * its own consumer thread with its own sequence, waits according to the configured
+ * {@link WaitStrategy} and processes everything published since its last pass as one batch. A
+ * producer never overtakes the slowest consumer: when the ring is full it waits up to
+ * {@code ebuy.events.bus.publish-timeout}, then drops the event and counts it.
+ */
+@Component
+public class LocalEventBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalEventBus.class);
+
+    private static final long FULL_RING_PARK_NANOS = 1_000;
+
+    private final int size;
+    private final int mask;
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final WaitStrategy waitStrategy;
+    private final long publishTimeoutNanos;
+    private final List<Consumer> consumers = new ArrayList<>();
+    private final Counter publishedEvents;
+    private final Counter droppedEvents;
+    private volatile boolean running;
+
+    public LocalEventBus(List<LocalEventSubscriber> subscribers,
+                         @Value("${ebuy.events.bus.ring-size:8192}") int ringSize,
+                         @Value("${ebuy.events.bus.wait-strategy:sleeping}") String waitStrategy,
+                         @Value("${ebuy.events.bus.publish-timeout:100ms}") Duration publishTimeout,
+                         MeterRegistry meterRegistry) {
+        if (ringSize < 1 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("ebuy.events.bus.ring-size must be a power of two: " + ringSize);
+        }
+        this.size = ringSize;
+        this.mask = ringSize - 1;
+        this.entries = new Object[ringSize];
+        this.published = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            published.set(i, -1);
+        }
+        this.waitStrategy = WaitStrategy.forName(waitStrategy);
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+
+        for (LocalEventSubscriber subscriber : subscribers) {
+            consumers.add(new Consumer(subscriber));
+        }
+
+        this.publishedEvents = Counter.builder("ebuy.events.bus.events")
+                .tag("result", "published")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("ebuy.events.bus.events")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("ebuy.events.bus.remaining", this, LocalEventBus::remainingCapacity)
+                .description("Free slots in the local event ring buffer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false if the bus is stopped or the ring stayed full for the publish timeout
+     */
+    public boolean publish(Object event) {
+        if (!running || consumers.isEmpty()) {
+            return running;
+        }
+
+        long sequence = claim();
+        if (sequence < 0) {
+            droppedEvents.increment();
+            return false;
+        }
+
+        int index = (int) (sequence & mask);
+        entries[index] = event;
+        // Volatile write: makes the entry visible to consumers that observe the sequence
+        published.set(index, sequence);
+        waitStrategy.signalAllWhenBlocking();
+        publishedEvents.increment();
+        return true;
+    }
+
+    public long remainingCapacity() {
+        return size - (cursor.get() - minimumConsumerSequence());
+    }
+
+    private long claim() {
+        long deadline = 0;
+        while (running) {
+            long current = cursor.get();
+            long next = current + 1;
+            if (next - size > minimumConsumerSequence()) {
+                long now = System.nanoTime();
+                if (deadline == 0) {
+                    deadline = now + publishTimeoutNanos;
+                } else if (now >= deadline) {
+                    return -1;
+                }
+                LockSupport.parkNanos(FULL_RING_PARK_NANOS);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+        return -1;
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? cursor.get() : minimum;
+    }
+
+    /**
+     * Highest sequence from {@code from} onwards up to which every slot has been published.
+     */
+    private long highestPublished(long from, long claimed) {
+        for (long sequence = from; sequence <= claimed; sequence++) {
+            if (published.get((int) (sequence & mask)) != sequence) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        waitStrategy.signalAllWhenBlocking();
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Consumer implements Runnable {
+
+        private final LocalEventSubscriber subscriber;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        Consumer(LocalEventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.thread = new Thread(this, "local-event-bus-" + subscriber.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (running || next <= cursor.get()) {
+                long claimed;
+                try {
+                    claimed = waitStrategy.waitFor(next, cursor::get, () -> running);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                long available = highestPublished(next, claimed);
+                if (available < next) {
+                    // Claimed but not yet written by its producer
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                for (long current = next; current <= available; current++) {
+                    Object event = entries[(int) (current & mask)];
+                    try {
+                        if (subscriber.supports(event)) {
+                            subscriber.onEvent(event, current, current == available);
+                        }
+                    } catch (Exception e) {
+                        logger.error("Local event subscriber {} failed on sequence {}",
+                                subscriber.getClass().getSimpleName(), current, e);
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+            }
+        }
+    }
+}
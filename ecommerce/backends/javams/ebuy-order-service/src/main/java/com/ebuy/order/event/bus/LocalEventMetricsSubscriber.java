@@ -0,0 +1,30 @@
+package com.ebuy.order.event.bus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts local events per type as they pass through the {@link LocalEventBus}.
+ */
+@Component
+public class LocalEventMetricsSubscriber implements LocalEventSubscriber {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    public LocalEventMetricsSubscriber(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvent(Object event, long sequence, boolean endOfBatch) {
+        counters.computeIfAbsent(event.getClass(), type -> Counter.builder("ebuy.events.local")
+                .tag("type", type.getSimpleName())
+                .register(meterRegistry))
+                .increment();
+    }
+}
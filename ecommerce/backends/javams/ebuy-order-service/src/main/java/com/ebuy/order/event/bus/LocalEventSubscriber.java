@@ -0,0 +1,15 @@
+package com.ebuy.order.event.bus;
+
+/**
+ * In-process consumer of events published on {@link LocalEventBus}. Each subscriber bean gets
+ * its own consumer thread and sees every event in publish order; {@code endOfBatch} marks the
+ * last event currently available, which is where batching subscribers should flush.
+ */
+public interface LocalEventSubscriber {
+
+    default boolean supports(Object event) {
+        return true;
+    }
+
+    void onEvent(Object event, long sequence, boolean endOfBatch) throws Exception;
+}
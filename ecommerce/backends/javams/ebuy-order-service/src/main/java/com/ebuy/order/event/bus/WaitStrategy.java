@@ -0,0 +1,138 @@
+package com.ebuy.order.event.bus;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * How an idle {@link LocalEventBus} consumer waits for the next sequence. Trades latency
+ * against CPU: {@code busy-spin} and {@code yielding} keep a core hot, {@code sleeping} backs
+ * off to short parks, {@code blocking} parks on a condition signalled by producers.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until {@code cursor} reaches {@code sequence} or {@code running} turns false.
+     *
+     * @return the last observed cursor value
+     */
+    long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) throws InterruptedException;
+
+    /**
+     * Called by producers after publishing; only blocking strategies need to act on it.
+     */
+    default void signalAllWhenBlocking() {
+    }
+
+    static WaitStrategy forName(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "busy-spin" -> new BusySpin();
+            case "yielding" -> new Yielding();
+            case "sleeping" -> new Sleeping();
+            case "blocking" -> new Blocking();
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        };
+    }
+
+    final class BusySpin implements WaitStrategy {
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) {
+            long available;
+            while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) {
+            int counter = SPIN_TRIES;
+            long available;
+            while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                if (counter > 0) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long PARK_NANOS = 100_000;
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) {
+            int counter = SPIN_TRIES + YIELD_TRIES;
+            long available;
+            while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                if (counter > YIELD_TRIES) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else if (counter > 0) {
+                    counter--;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+            return available;
+        }
+    }
+
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) throws InterruptedException {
+            long available = cursor.getAsLong();
+            if (available >= sequence) {
+                return available;
+            }
+            // Registered before re-reading the cursor so a concurrent publish is either seen here
+            // or sees the waiter and signals
+            waiters.incrementAndGet();
+            lock.lock();
+            try {
+                while (true) {
+                    if ((available = cursor.getAsLong()) >= sequence || !running.getAsBoolean()) {
+                        break;
+                    }
+                    // Timed so a stop request is noticed without a signal
+                    published.await(10, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                lock.unlock();
+                waiters.decrementAndGet();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            if (waiters.get() > 0) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
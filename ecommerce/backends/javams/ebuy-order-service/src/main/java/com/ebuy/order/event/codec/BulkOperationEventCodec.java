@@ -0,0 +1,85 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import com.ebuy.order.event.OrderItemEventPublisher.BulkOperationEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ebuy.order.event.codec.EventFields.isSet;
+import static com.ebuy.order.event.codec.EventFields.presence;
+
+@Component
+public class BulkOperationEventCodec implements EventCodec<BulkOperationEvent> {
+
+    private static final List<String> FIELDS = List.of(
+            "eventId:string", "eventType:string", "itemCount:int", "orderItemIds:array<long>", "success:boolean",
+            "errorMessage:string", "userId:long", "timestamp:timestamp", "metadata:EventMetadata.v1");
+
+    @Override
+    public Class<BulkOperationEvent> type() {
+        return BulkOperationEvent.class;
+    }
+
+    @Override
+    public String subject() {
+        return "BulkOperationEvent";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public List<String> fields() {
+        return FIELDS;
+    }
+
+    @Override
+    public void encode(BulkOperationEvent event, BinaryOutput out) {
+        out.writeVarLong(presence(event.getEventId(), event.getEventType(), event.getItemCount(),
+                event.getOrderItemIds(), event.getSuccess(), event.getErrorMessage(), event.getUserId(),
+                event.getTimestamp(), event.getMetadata()));
+        if (event.getEventId() != null) out.writeString(event.getEventId());
+        if (event.getEventType() != null) out.writeString(event.getEventType());
+        if (event.getItemCount() != null) out.writeSignedVarLong(event.getItemCount());
+        if (event.getOrderItemIds() != null) {
+            out.writeVarLong(event.getOrderItemIds().size());
+            for (Long orderItemId : event.getOrderItemIds()) {
+                out.writeSignedVarLong(orderItemId);
+            }
+        }
+        if (event.getSuccess() != null) out.writeByte(event.getSuccess() ? 1 : 0);
+        if (event.getErrorMessage() != null) out.writeString(event.getErrorMessage());
+        if (event.getUserId() != null) out.writeSignedVarLong(event.getUserId());
+        if (event.getTimestamp() != null) out.writeDateTime(event.getTimestamp());
+        if (event.getMetadata() != null) EventFields.writeMetadata(event.getMetadata(), out);
+    }
+
+    @Override
+    public BulkOperationEvent decode(BinaryInput in, int version) {
+        EventFields.checkVersion(this, version);
+        long mask = in.readVarLong();
+        BulkOperationEvent event = new BulkOperationEvent();
+        if (isSet(mask, 0)) event.setEventId(in.readString());
+        if (isSet(mask, 1)) event.setEventType(in.readString());
+        if (isSet(mask, 2)) event.setItemCount((int) in.readSignedVarLong());
+        if (isSet(mask, 3)) {
+            int size = (int) in.readVarLong();
+            List<Long> orderItemIds = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                orderItemIds.add(in.readSignedVarLong());
+            }
+            event.setOrderItemIds(orderItemIds);
+        }
+        if (isSet(mask, 4)) event.setSuccess(in.readByte() != 0);
+        if (isSet(mask, 5)) event.setErrorMessage(in.readString());
+        if (isSet(mask, 6)) event.setUserId(in.readSignedVarLong());
+        if (isSet(mask, 7)) event.setTimestamp(in.readDateTime());
+        if (isSet(mask, 8)) event.setMetadata(EventFields.readMetadata(in));
+        return event;
+    }
+}
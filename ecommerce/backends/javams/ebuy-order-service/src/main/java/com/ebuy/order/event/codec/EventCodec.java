@@ -0,0 +1,35 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+
+import java.util.List;
+
+/**
+ * Binary encoding of one event type. Every {@code EventCodec} bean is registered with
+ * {@link EventEncoder}, which checks {@link #fields()} against the registered schema for
+ * {@link #subject()} / {@link #version()} at startup.
+ */
+public interface EventCodec<T> {
+
+    Class<T> type();
+
+    String subject();
+
+    /**
+     * Schema version written by {@link #encode}.
+     */
+    int version();
+
+    /**
+     * Fields written by {@link #encode}, as {@code name:type} in wire order.
+     */
+    List<String> fields();
+
+    void encode(T event, BinaryOutput out);
+
+    /**
+     * Decodes a payload written with {@code version}, any registered version up to {@link #version()}.
+     */
+    T decode(BinaryInput in, int version);
+}
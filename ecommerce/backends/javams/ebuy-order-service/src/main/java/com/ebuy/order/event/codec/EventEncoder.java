@@ -0,0 +1,130 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes events once, straight to the bytes sent to Kafka and stored in the outbox.
+ *
+ * <p>Layout: {@code [0xEE][schema id varint][record]}. The schema id identifies subject and
+ * version in {@link EventSchemaRegistry}, so readers pick the right decoder for payloads
+ * written by older producers.
+ *
+ * <p>Nested records carry no id of their own on the wire. Each top-level schema pins the
+ * version of every nested record it holds ({@code metadata:EventMetadata.v1}), so a codec
+ * whose schema pins a nested version this build does not write fails at startup, and a
+ * payload pinning a nested version this build cannot read is refused instead of misread.
+ */
+@Component
+public class EventEncoder {
+
+    static final byte MAGIC = (byte) 0xEE;
+
+    private final Map<Class<?>, EventCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Class<?>, Integer> schemaIdsByType = new HashMap<>();
+    private final Map<String, EventCodec<?>> codecsBySubject = new HashMap<>();
+    private final EventSchemaRegistry registry;
+    private final Map<String, Integer> nestedVersions = Map.of(
+            EventFields.METADATA_SUBJECT, EventFields.METADATA_VERSION,
+            EventFields.ORDER_ITEM_SUBJECT, EventFields.ORDER_ITEM_VERSION);
+
+    public EventEncoder(List<EventCodec<?>> codecs, EventSchemaRegistry registry) {
+        this.registry = registry;
+        verify(EventFields.METADATA_SUBJECT, EventFields.METADATA_VERSION, EventFields.METADATA_FIELDS);
+        verify(EventFields.ORDER_ITEM_SUBJECT, EventFields.ORDER_ITEM_VERSION, EventFields.ORDER_ITEM_FIELDS);
+        for (EventCodec<?> codec : codecs) {
+            EventSchemaRegistry.Schema schema = verify(codec.subject(), codec.version(), codec.fields());
+            verifyNested(schema);
+            codecsByType.put(codec.type(), codec);
+            schemaIdsByType.put(codec.type(), schema.id());
+            codecsBySubject.put(codec.subject(), codec);
+        }
+    }
+
+    public boolean supports(Object event) {
+        return event != null && codecsByType.containsKey(event.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object event) {
+        EventCodec<Object> codec = (EventCodec<Object>) codecsByType.get(event.getClass());
+        if (codec == null) {
+            throw new IllegalArgumentException("No event codec for " + event.getClass().getName());
+        }
+        BinaryOutput out = new BinaryOutput(256);
+        out.writeByte(MAGIC);
+        out.writeVarLong(schemaIdsByType.get(event.getClass()));
+        codec.encode(event, out);
+        return out.toByteArray();
+    }
+
+    public Object decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            throw new IllegalArgumentException("Not an encoded event");
+        }
+        BinaryInput in = new BinaryInput(bytes, 1);
+        EventSchemaRegistry.Schema schema = registry.get((int) in.readVarLong());
+        EventCodec<?> codec = codecsBySubject.get(schema.subject());
+        if (codec == null) {
+            throw new IllegalArgumentException("No event codec for subject " + schema.subject());
+        }
+        for (Map.Entry<String, Integer> nested : pinnedVersions(schema).entrySet()) {
+            if (nested.getValue() > nestedVersions.get(nested.getKey())) {
+                throw new IllegalArgumentException(schema.subject() + " v" + schema.version() + " holds "
+                        + nested.getKey() + " v" + nested.getValue() + ", newer than this reader supports");
+            }
+        }
+        return codec.decode(in, schema.version());
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return type.cast(decode(bytes));
+    }
+
+    private EventSchemaRegistry.Schema verify(String subject, int version, List<String> fields) {
+        EventSchemaRegistry.Schema schema = registry.get(subject, version);
+        if (!schema.fields().equals(fields)) {
+            throw new IllegalStateException("Codec for " + subject + " v" + version
+                    + " does not match the registered schema: " + fields + " vs " + schema.fields());
+        }
+        return schema;
+    }
+
+    private void verifyNested(EventSchemaRegistry.Schema schema) {
+        for (Map.Entry<String, Integer> nested : pinnedVersions(schema).entrySet()) {
+            if (!nested.getValue().equals(nestedVersions.get(nested.getKey()))) {
+                throw new IllegalStateException(schema.subject() + " v" + schema.version() + " pins "
+                        + nested.getKey() + " v" + nested.getValue() + " but the codec writes v"
+                        + nestedVersions.get(nested.getKey()));
+            }
+            registry.get(nested.getKey(), nested.getValue());
+        }
+    }
+
+    /**
+     * Nested record versions a schema pins, by subject. A nested record type without a pinned
+     * version is rejected, since the payload would not say how to read it.
+     */
+    private Map<String, Integer> pinnedVersions(EventSchemaRegistry.Schema schema) {
+        Map<String, Integer> pinned = new HashMap<>();
+        for (String field : schema.fields()) {
+            String type = field.substring(field.indexOf(':') + 1);
+            int dot = type.lastIndexOf(".v");
+            String subject = dot < 0 ? type : type.substring(0, dot);
+            if (!nestedVersions.containsKey(subject)) {
+                continue;
+            }
+            if (dot < 0) {
+                throw new IllegalStateException(schema.subject() + " v" + schema.version()
+                        + " does not pin a version for nested " + subject + " in " + field);
+            }
+            pinned.put(subject, Integer.parseInt(type.substring(dot + 2)));
+        }
+        return pinned;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import com.ebuy.order.dto.OrderItemDto;
+import com.ebuy.order.event.model.EventMetadata;
+
+import java.util.List;
+
+/**
+ * Encodings shared by the event codecs: the nested {@code EventMetadata} and {@code OrderItem}
+ * records and the field-presence bitmap that precedes every record.
+ */
+final class EventFields {
+
+    static final String METADATA_SUBJECT = "EventMetadata";
+    static final int METADATA_VERSION = 1;
+    static final List<String> METADATA_FIELDS = List.of(
+            "source:string", "version:string", "correlationId:string", "origin:string");
+
+    static final String ORDER_ITEM_SUBJECT = "OrderItem";
+    static final int ORDER_ITEM_VERSION = 1;
+    static final List<String> ORDER_ITEM_FIELDS = List.of(
+            "orderItemId:long", "orderId:long", "productId:long", "quantity:int", "price:decimal",
+            "discountMethodId:long", "discountValue:decimal", "finalPrice:decimal", "createdAt:timestamp",
+            "modifiedAt:timestamp", "deletedAt:timestamp", "isDeleted:boolean", "rowVersion:long");
+
+    private EventFields() {
+    }
+
+    static long presence(Object... fields) {
+        long mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Guards a codec's {@code decode} against versions it has no layout for. Every version up to
+     * the codec's own is read by the same code, since fields are only ever appended.
+     */
+    static void checkVersion(EventCodec<?> codec, int version) {
+        if (version < 1 || version > codec.version()) {
+            throw new IllegalArgumentException("Unsupported " + codec.subject() + " schema version " + version);
+        }
+    }
+
+    static boolean isSet(long mask, int bit) {
+        return (mask & (1L << bit)) != 0;
+    }
+
+    static void writeMetadata(EventMetadata metadata, BinaryOutput out) {
+        out.writeVarLong(presence(metadata.getSource(), metadata.getVersion(),
+                metadata.getCorrelationId(), metadata.getOrigin()));
+        if (metadata.getSource() != null) out.writeString(metadata.getSource());
+        if (metadata.getVersion() != null) out.writeString(metadata.getVersion());
+        if (metadata.getCorrelationId() != null) out.writeString(metadata.getCorrelationId());
+        if (metadata.getOrigin() != null) out.writeString(metadata.getOrigin());
+    }
+
+    static EventMetadata readMetadata(BinaryInput in) {
+        long mask = in.readVarLong();
+        EventMetadata metadata = new EventMetadata();
+        if (isSet(mask, 0)) metadata.setSource(in.readString());
+        if (isSet(mask, 1)) metadata.setVersion(in.readString());
+        if (isSet(mask, 2)) metadata.setCorrelationId(in.readString());
+        if (isSet(mask, 3)) metadata.setOrigin(in.readString());
+        return metadata;
+    }
+
+    static void writeOrderItem(OrderItemDto item, BinaryOutput out) {
+        out.writeVarLong(presence(item.getOrderItemId(), item.getOrderId(), item.getProductId(), item.getQuantity(),
+                item.getPrice(), item.getDiscountMethodId(), item.getDiscountValue(), item.getFinalPrice(),
+                item.getCreatedAt(), item.getModifiedAt(), item.getDeletedAt(), item.getIsDeleted(),
+                item.getRowVersion()));
+        if (item.getOrderItemId() != null) out.writeSignedVarLong(item.getOrderItemId());
+        if (item.getOrderId() != null) out.writeSignedVarLong(item.getOrderId());
+        if (item.getProductId() != null) out.writeSignedVarLong(item.getProductId());
+        if (item.getQuantity() != null) out.writeSignedVarLong(item.getQuantity());
+        if (item.getPrice() != null) out.writeDecimal(item.getPrice());
+        if (item.getDiscountMethodId() != null) out.writeSignedVarLong(item.getDiscountMethodId());
+        if (item.getDiscountValue() != null) out.writeDecimal(item.getDiscountValue());
+        if (item.getFinalPrice() != null) out.writeDecimal(item.getFinalPrice());
+        if (item.getCreatedAt() != null) out.writeDateTime(item.getCreatedAt());
+        if (item.getModifiedAt() != null) out.writeDateTime(item.getModifiedAt());
+        if (item.getDeletedAt() != null) out.writeDateTime(item.getDeletedAt());
+        if (item.getIsDeleted() != null) out.writeByte(item.getIsDeleted() ? 1 : 0);
+        if (item.getRowVersion() != null) out.writeSignedVarLong(item.getRowVersion());
+    }
+
+    static OrderItemDto readOrderItem(BinaryInput in) {
+        long mask = in.readVarLong();
+        OrderItemDto item = new OrderItemDto();
+        if (isSet(mask, 0)) item.setOrderItemId(in.readSignedVarLong());
+        if (isSet(mask, 1)) item.setOrderId(in.readSignedVarLong());
+        if (isSet(mask, 2)) item.setProductId(in.readSignedVarLong());
+        if (isSet(mask, 3)) item.setQuantity((int) in.readSignedVarLong());
+        if (isSet(mask, 4)) item.setPrice(in.readDecimal());
+        if (isSet(mask, 5)) item.setDiscountMethodId(in.readSignedVarLong());
+        if (isSet(mask, 6)) item.setDiscountValue(in.readDecimal());
+        if (isSet(mask, 7)) item.setFinalPrice(in.readDecimal());
+        if (isSet(mask, 8)) item.setCreatedAt(in.readDateTime());
+        if (isSet(mask, 9)) item.setModifiedAt(in.readDateTime());
+        if (isSet(mask, 10)) item.setDeletedAt(in.readDateTime());
+        if (isSet(mask, 11)) item.setIsDeleted(in.readByte() != 0);
+        item.setRowVersion(isSet(mask, 12) ? in.readSignedVarLong() : null);
+        return item;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ebuy.order.event.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for a schema registry. Loads event schemas from
+ * {@code ebuy.events.schema-registry.location} (classpath or {@code file:} pattern); each
+ * document declares a subject, version, globally unique id and its fields as
+ * {@code name:type} in wire order. Ids are written into every encoded event and must never
+ * be reused.
+ */
+@Component
+public class EventSchemaRegistry {
+
+    public record Schema(String subject, int version, int id, List<String> fields) {
+    }
+
+    private final Map<Integer, Schema> byId = new HashMap<>();
+    private final Map<String, Schema> bySubjectVersion = new HashMap<>();
+
+    public EventSchemaRegistry(ObjectMapper objectMapper,
+                               @Value("${ebuy.events.schema-registry.location:classpath*:event-schemas/*.json}") String location)
+            throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+            try (InputStream in = resource.getInputStream()) {
+                register(objectMapper.readValue(in, Schema.class), resource.getDescription());
+            }
+        }
+    }
+
+    public Schema get(int id) {
+        Schema schema = byId.get(id);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown event schema id: " + id);
+        }
+        return schema;
+    }
+
+    public Schema get(String subject, int version) {
+        Schema schema = bySubjectVersion.get(subject + ".v" + version);
+        if (schema == null) {
+            throw new IllegalStateException("No registered schema for " + subject + " v" + version);
+        }
+        return schema;
+    }
+
+    private void register(Schema schema, String source) {
+        if (byId.putIfAbsent(schema.id(), schema) != null) {
+            throw new IllegalStateException("Duplicate event schema id " + schema.id() + " in " + source);
+        }
+        if (bySubjectVersion.putIfAbsent(schema.subject() + ".v" + schema.version(), schema) != null) {
+            throw new IllegalStateException("Duplicate schema " + schema.subject() + " v" + schema.version() + " in " + source);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import com.ebuy.order.event.OrderItemEventPublisher.InventoryEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.ebuy.order.event.codec.EventFields.isSet;
+import static com.ebuy.order.event.codec.EventFields.presence;
+
+@Component
+public class InventoryEventCodec implements EventCodec<InventoryEvent> {
+
+    private static final List<String> FIELDS = List.of(
+            "eventId:string", "eventType:string", "productId:long", "orderId:long", "orderItemId:long",
+            "quantityDelta:int", "userId:long", "timestamp:timestamp", "metadata:EventMetadata.v1");
+
+    @Override
+    public Class<InventoryEvent> type() {
+        return InventoryEvent.class;
+    }
+
+    @Override
+    public String subject() {
+        return "InventoryEvent";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public List<String> fields() {
+        return FIELDS;
+    }
+
+    @Override
+    public void encode(InventoryEvent event, BinaryOutput out) {
+        out.writeVarLong(presence(event.getEventId(), event.getEventType(), event.getProductId(), event.getOrderId(),
+                event.getOrderItemId(), event.getQuantityDelta(), event.getUserId(), event.getTimestamp(),
+                event.getMetadata()));
+        if (event.getEventId() != null) out.writeString(event.getEventId());
+        if (event.getEventType() != null) out.writeString(event.getEventType());
+        if (event.getProductId() != null) out.writeSignedVarLong(event.getProductId());
+        if (event.getOrderId() != null) out.writeSignedVarLong(event.getOrderId());
+        if (event.getOrderItemId() != null) out.writeSignedVarLong(event.getOrderItemId());
+        if (event.getQuantityDelta() != null) out.writeSignedVarLong(event.getQuantityDelta());
+        if (event.getUserId() != null) out.writeSignedVarLong(event.getUserId());
+        if (event.getTimestamp() != null) out.writeDateTime(event.getTimestamp());
+        if (event.getMetadata() != null) EventFields.writeMetadata(event.getMetadata(), out);
+    }
+
+    @Override
+    public InventoryEvent decode(BinaryInput in, int version) {
+        EventFields.checkVersion(this, version);
+        long mask = in.readVarLong();
+        InventoryEvent event = new InventoryEvent();
+        if (isSet(mask, 0)) event.setEventId(in.readString());
+        if (isSet(mask, 1)) event.setEventType(in.readString());
+        if (isSet(mask, 2)) event.setProductId(in.readSignedVarLong());
+        if (isSet(mask, 3)) event.setOrderId(in.readSignedVarLong());
+        if (isSet(mask, 4)) event.setOrderItemId(in.readSignedVarLong());
+        if (isSet(mask, 5)) event.setQuantityDelta((int) in.readSignedVarLong());
+        if (isSet(mask, 6)) event.setUserId(in.readSignedVarLong());
+        if (isSet(mask, 7)) event.setTimestamp(in.readDateTime());
+        if (isSet(mask, 8)) event.setMetadata(EventFields.readMetadata(in));
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import com.ebuy.order.event.model.OrderItemEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.ebuy.order.event.codec.EventFields.isSet;
+import static com.ebuy.order.event.codec.EventFields.presence;
+
+@Component
+public class OrderItemEventCodec implements EventCodec<OrderItemEvent> {
+
+    private static final List<String> FIELDS = List.of(
+            "eventId:string", "eventType:string", "orderItem:OrderItem.v1", "quantityDelta:int",
+            "coalescedCount:int", "userId:long", "timestamp:timestamp", "metadata:EventMetadata.v1");
+
+    @Override
+    public Class<OrderItemEvent> type() {
+        return OrderItemEvent.class;
+    }
+
+    @Override
+    public String subject() {
+        return "OrderItemEvent";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public List<String> fields() {
+        return FIELDS;
+    }
+
+    @Override
+    public void encode(OrderItemEvent event, BinaryOutput out) {
+        out.writeVarLong(presence(event.getEventId(), event.getEventType(), event.getOrderItem(),
+                event.getQuantityDelta(), event.getCoalescedCount(), event.getUserId(), event.getTimestamp(),
+                event.getMetadata()));
+        if (event.getEventId() != null) out.writeString(event.getEventId());
+        if (event.getEventType() != null) out.writeString(event.getEventType());
+        if (event.getOrderItem() != null) EventFields.writeOrderItem(event.getOrderItem(), out);
+        if (event.getQuantityDelta() != null) out.writeSignedVarLong(event.getQuantityDelta());
+        if (event.getCoalescedCount() != null) out.writeSignedVarLong(event.getCoalescedCount());
+        if (event.getUserId() != null) out.writeSignedVarLong(event.getUserId());
+        if (event.getTimestamp() != null) out.writeDateTime(event.getTimestamp());
+        if (event.getMetadata() != null) EventFields.writeMetadata(event.getMetadata(), out);
+    }
+
+    @Override
+    public OrderItemEvent decode(BinaryInput in, int version) {
+        EventFields.checkVersion(this, version);
+        long mask = in.readVarLong();
+        OrderItemEvent event = new OrderItemEvent();
+        if (isSet(mask, 0)) event.setEventId(in.readString());
+        if (isSet(mask, 1)) event.setEventType(in.readString());
+        if (isSet(mask, 2)) event.setOrderItem(EventFields.readOrderItem(in));
+        if (isSet(mask, 3)) event.setQuantityDelta((int) in.readSignedVarLong());
+        if (isSet(mask, 4)) event.setCoalescedCount((int) in.readSignedVarLong());
+        if (isSet(mask, 5)) event.setUserId(in.readSignedVarLong());
+        if (isSet(mask, 6)) event.setTimestamp(in.readDateTime());
+        if (isSet(mask, 7)) event.setMetadata(EventFields.readMetadata(in));
+        return event;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import com.ebuy.order.event.OrderItemEventPublisher.PricingEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.ebuy.order.event.codec.EventFields.isSet;
+import static com.ebuy.order.event.codec.EventFields.presence;
+
+@Component
+public class PricingEventCodec implements EventCodec<PricingEvent> {
+
+    private static final List<String> FIELDS = List.of(
+            "eventId:string", "eventType:string", "orderItemId:long", "productId:long", "oldPrice:decimal",
+            "newPrice:decimal", "oldFinalPrice:decimal", "newFinalPrice:decimal", "userId:long",
+            "timestamp:timestamp", "metadata:EventMetadata.v1");
+
+    @Override
+    public Class<PricingEvent> type() {
+        return PricingEvent.class;
+    }
+
+    @Override
+    public String subject() {
+        return "PricingEvent";
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public List<String> fields() {
+        return FIELDS;
+    }
+
+    @Override
+    public void encode(PricingEvent event, BinaryOutput out) {
+        out.writeVarLong(presence(event.getEventId(), event.getEventType(), event.getOrderItemId(),
+                event.getProductId(), event.getOldPrice(), event.getNewPrice(), event.getOldFinalPrice(),
+                event.getNewFinalPrice(), event.getUserId(), event.getTimestamp(), event.getMetadata()));
+        if (event.getEventId() != null) out.writeString(event.getEventId());
+        if (event.getEventType() != null) out.writeString(event.getEventType());
+        if (event.getOrderItemId() != null) out.writeSignedVarLong(event.getOrderItemId());
+        if (event.getProductId() != null) out.writeSignedVarLong(event.getProductId());
+        if (event.getOldPrice() != null) out.writeDecimal(event.getOldPrice());
+        if (event.getNewPrice() != null) out.writeDecimal(event.getNewPrice());
+        if (event.getOldFinalPrice() != null) out.writeDecimal(event.getOldFinalPrice());
+        if (event.getNewFinalPrice() != null) out.writeDecimal(event.getNewFinalPrice());
+        if (event.getUserId() != null) out.writeSignedVarLong(event.getUserId());
+        if (event.getTimestamp() != null) out.writeDateTime(event.getTimestamp());
+        if (event.getMetadata() != null) EventFields.writeMetadata(event.getMetadata(), out);
+    }
+
+    @Override
+    public PricingEvent decode(BinaryInput in, int version) {
+        EventFields.checkVersion(this, version);
+        long mask = in.readVarLong();
+        PricingEvent event = new PricingEvent();
+        if (isSet(mask, 0)) event.setEventId(in.readString());
+        if (isSet(mask, 1)) event.setEventType(in.readString());
+        if (isSet(mask, 2)) event.setOrderItemId(in.readSignedVarLong());
+        if (isSet(mask, 3)) event.setProductId(in.readSignedVarLong());
+        if (isSet(mask, 4)) event.setOldPrice(in.readDecimal());
+        if (isSet(mask, 5)) event.setNewPrice(in.readDecimal());
+        if (isSet(mask, 6)) event.setOldFinalPrice(in.readDecimal());
+        if (isSet(mask, 7)) event.setNewFinalPrice(in.readDecimal());
+        if (isSet(mask, 8)) event.setUserId(in.readSignedVarLong());
+        if (isSet(mask, 9)) event.setTimestamp(in.readDateTime());
+        if (isSet(mask, 10)) event.setMetadata(EventFields.readMetadata(in));
+        return event;
+    }
+}
@@ -10,6 +10,8 @@ public class OrderItemEvent {
     private String eventId;
     private String eventType;
     private OrderItemDto orderItem;
+    private Integer quantityDelta;
+    private Integer coalescedCount;
     private Long userId;
     private OffsetDateTime timestamp;
     private EventMetadata metadata;
@@ -34,6 +36,12 @@ public class OrderItemEvent {
     public OrderItemDto getOrderItem() { return orderItem; }
     public void setOrderItem(OrderItemDto orderItem) { this.orderItem = orderItem; }
 
+    public Integer getQuantityDelta() { return quantityDelta; }
+    public void setQuantityDelta(Integer quantityDelta) { this.quantityDelta = quantityDelta; }
+
+    public Integer getCoalescedCount() { return coalescedCount; }
+    public void setCoalescedCount(Integer coalescedCount) { this.coalescedCount = coalescedCount; }
+
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
 
@@ -181,6 +181,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    // Audit-specific exceptions
+
+    @ExceptionHandler(InvalidAuditCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidAuditCursor(InvalidAuditCursorException ex, WebRequest request) {
+        log.warn("Invalid audit cursor: {}", ex.getMessage());
+        ErrorResponse errorResponse = createErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "INVALID_AUDIT_CURSOR",
+                ex.getMessage(),
+                request
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     // Validation exceptions
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
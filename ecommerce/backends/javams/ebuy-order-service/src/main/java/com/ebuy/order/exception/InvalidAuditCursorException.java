@@ -0,0 +1,18 @@
+package com.ebuy.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAuditCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidAuditCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidAuditCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,36 +1,91 @@
 package com.ebuy.order.repository;
 
+import com.ebuy.order.dto.AuditLogSummaryDto;
 import com.ebuy.order.entity.AuditLog;
+import com.ebuy.order.enums.AuditAction;
 import com.ebuy.order.enums.AuditLevel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, Long entityId, int limit);
+    String SUMMARY = "SELECT new com.ebuy.order.dto.AuditLogSummaryDto(a.auditId, a.action, a.level, " +
+            "a.entityType, a.entityId, a.userId, a.description, a.createdAt) FROM AuditLog a ";
 
-    List<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId, int limit);
+    String FILTERS = "AND a.createdAt >= :since " +
+            "AND (:level IS NULL OR a.level = :level) " +
+            "AND (:action IS NULL OR a.action = :action) ";
 
-    List<AuditLog> findByLevelOrderByCreatedAtDesc(AuditLevel level, int limit);
+    // Keyset: rows strictly after the cursor in (createdAt DESC, auditId DESC) order
+    String AFTER_CURSOR = "AND (a.createdAt < :cursorAt OR (a.createdAt = :cursorAt AND a.auditId < :cursorId)) ";
+
+    String NEWEST_FIRST = "ORDER BY a.createdAt DESC, a.auditId DESC";
 
     @Query("SELECT COUNT(a) FROM AuditLog a WHERE a.createdAt >= :fromDate")
     long countByCreatedAtAfter(@Param("fromDate") OffsetDateTime fromDate);
 
-    @Modifying
-    @Query("DELETE FROM AuditLog a WHERE a.createdAt < :cutoffDate")
-    int deleteByCreatedAtBefore(@Param("cutoffDate") OffsetDateTime cutoffDate);
+    // The createdAt lower bound lets PostgreSQL prune audit_logs to the partitions it covers
+
+    @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+            "AND a.createdAt >= :since ORDER BY a.createdAt DESC")
+    List<AuditLog> findEntityHistorySince(@Param("entityType") String entityType,
+                                          @Param("entityId") Long entityId,
+                                          @Param("since") OffsetDateTime since,
+                                          Pageable pageable);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.userId = :userId AND a.createdAt >= :since ORDER BY a.createdAt DESC")
+    List<AuditLog> findUserHistorySince(@Param("userId") Long userId,
+                                        @Param("since") OffsetDateTime since,
+                                        Pageable pageable);
 
     @Query("SELECT a FROM AuditLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
             "AND a.level IN :levels ORDER BY a.createdAt DESC")
     List<AuditLog> findCriticalAuditLogs(@Param("entityType") String entityType,
                                          @Param("entityId") Long entityId,
                                          @Param("levels") List<AuditLevel> levels,
-                                         int limit);
+                                         Pageable pageable);
+
+    @Query(SUMMARY + "WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+            FILTERS + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogSummaryDto> findEntityHistoryPage(@Param("entityType") String entityType,
+                                                   @Param("entityId") Long entityId,
+                                                   @Param("since") OffsetDateTime since,
+                                                   @Param("level") AuditLevel level,
+                                                   @Param("action") AuditAction action,
+                                                   @Param("cursorAt") OffsetDateTime cursorAt,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY + "WHERE a.userId = :userId " +
+            FILTERS + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogSummaryDto> findUserHistoryPage(@Param("userId") Long userId,
+                                                 @Param("since") OffsetDateTime since,
+                                                 @Param("level") AuditLevel level,
+                                                 @Param("action") AuditAction action,
+                                                 @Param("cursorAt") OffsetDateTime cursorAt,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    /**
+     * Streams an entity's history for export; must be consumed inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY + "WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+            FILTERS + NEWEST_FIRST)
+    Stream<AuditLogSummaryDto> streamEntityHistory(@Param("entityType") String entityType,
+                                                   @Param("entityId") Long entityId,
+                                                   @Param("since") OffsetDateTime since,
+                                                   @Param("level") AuditLevel level,
+                                                   @Param("action") AuditAction action);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderOrderIdAndIsDeletedFalseOrderByOrderItemIdAsc(Long orderId);
 
+    List<OrderItem> findByOrderOrderIdInAndIsDeletedFalseOrderByOrderItemIdAsc(Collection<Long> orderIds);
+
     @Query("SELECT oi FROM OrderItem oi WHERE oi.order.orderId = :orderId AND oi.productId = :productId AND oi.isDeleted = false")
     Optional<OrderItem> findByOrderIdAndProductId(@Param("orderId") Long orderId, @Param("productId") Long productId);
 
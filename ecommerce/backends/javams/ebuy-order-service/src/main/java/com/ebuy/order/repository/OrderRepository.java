@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,4 +36,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("SELECT COUNT(o) FROM Order o WHERE o.userId = :userId AND o.isDeleted = false")
     long countByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    @Query("SELECT o.userId FROM Order o WHERE o.orderDate >= :since AND o.isDeleted = false GROUP BY o.userId ORDER BY COUNT(o) DESC")
+    List<Long> findMostActiveUserIds(@Param("since") OffsetDateTime since, Pageable pageable);
+
+    @Query(value = "SELECT o.* FROM order_schema.orders o JOIN (" +
+            "SELECT order_id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY order_date DESC) AS rn " +
+            "FROM order_schema.orders WHERE user_id IN (:userIds) AND order_date >= :since AND is_deleted = false" +
+            ") ranked ON ranked.order_id = o.order_id WHERE ranked.rn <= :perUser " +
+            "ORDER BY o.user_id, o.order_date DESC", nativeQuery = true)
+    List<Order> findRecentByUserIdIn(@Param("userIds") Collection<Long> userIds,
+                                     @Param("since") OffsetDateTime since,
+                                     @Param("perUser") int perUser);
+
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderDate >= :since AND o.isDeleted = false ORDER BY o.orderDate DESC")
+    List<Long> findRecentOrderIds(@Param("since") OffsetDateTime since, Pageable pageable);
+}
@@ -0,0 +1,87 @@
+package com.ebuy.order.repository;
+
+import com.ebuy.order.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Next keyset page of waiting events, claimed per partition key. A row heads its key when no
+     * older row with that key is still waiting; up to {@code limit} heads are locked with
+     * {@code SKIP LOCKED} and returned together with the later waiting rows of their keys, in
+     * outbox order. A key whose head another relay holds is skipped entirely, because that head
+     * is still unsent to every other transaction.
+     */
+    @Query(value = "WITH heads AS (" +
+            "SELECT e.outbox_id, e.partition_key FROM order_schema.event_outbox e " +
+            "WHERE e.sent_at IS NULL AND e.dead_lettered_at IS NULL AND e.outbox_id > :afterId " +
+            "AND e.created_at <= :readyBefore AND NOT EXISTS (" +
+            "SELECT 1 FROM order_schema.event_outbox older WHERE older.partition_key = e.partition_key " +
+            "AND older.sent_at IS NULL AND older.dead_lettered_at IS NULL AND older.outbox_id < e.outbox_id) " +
+            "ORDER BY e.outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "SELECT o.* FROM order_schema.event_outbox o JOIN heads h ON o.outbox_id = h.outbox_id " +
+            "OR (o.partition_key = h.partition_key AND o.outbox_id > h.outbox_id AND o.sent_at IS NULL " +
+            "AND o.dead_lettered_at IS NULL AND o.created_at <= :readyBefore) " +
+            "ORDER BY o.outbox_id FOR UPDATE OF o", nativeQuery = true)
+    List<OutboxEvent> lockWaitingByKeyAfter(@Param("afterId") long afterId,
+                                            @Param("readyBefore") OffsetDateTime readyBefore,
+                                            @Param("limit") int limit);
+
+    /**
+     * Queues the caller behind every other open transaction writing outbox rows for
+     * {@code partitionKey}, until the caller's transaction ends. Outbox ids come from an
+     * IDENTITY column, which hands them out in insert order rather than commit order: without
+     * this lock a relay could send a key's later row while an earlier id is still uncommitted
+     * and invisible to it. Call it before reading or writing the key's pending rows.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext('order_schema.event_outbox'), " +
+            "hashtext(:partitionKey))) l", nativeQuery = true)
+    int lockPartitionKey(@Param("partitionKey") String partitionKey);
+
+    /**
+     * Latest unsent event for an aggregate that is still inside its coalescing window.
+     */
+    @Query(value = "SELECT * FROM order_schema.event_outbox WHERE aggregate_type = :aggregateType " +
+            "AND aggregate_id = :aggregateId AND sent_at IS NULL AND dead_lettered_at IS NULL AND created_at > :since " +
+            "ORDER BY outbox_id DESC LIMIT 1", nativeQuery = true)
+    Optional<OutboxEvent> findLatestPending(@Param("aggregateType") String aggregateType,
+                                            @Param("aggregateId") Long aggregateId,
+                                            @Param("since") OffsetDateTime since);
+
+    /**
+     * Replaces a pending event with its coalesced successor; returns 0 if the relay sent it first.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.eventType = :eventType, e.payload = :payload " +
+            "WHERE e.outboxId = :outboxId AND e.sentAt IS NULL AND e.deadLetteredAt IS NULL")
+    int replacePending(@Param("outboxId") Long outboxId,
+                       @Param("eventType") String eventType,
+                       @Param("payload") byte[] payload);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt, e.attempts = e.attempts + 1 WHERE e.outboxId IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") OffsetDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.outboxId IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.deadLetteredAt = :deadLetteredAt WHERE e.outboxId IN :ids")
+    int markDeadLettered(@Param("ids") Collection<Long> ids, @Param("deadLetteredAt") OffsetDateTime deadLetteredAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_schema.event_outbox WHERE outbox_id IN (SELECT outbox_id FROM order_schema.event_outbox " +
+            "WHERE sent_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+}
@@ -4,15 +4,22 @@ import com.ebuy.order.entity.Order;
 import com.ebuy.order.repository.OrderRepository;
 import com.ebuy.order.enums.OrderStatus;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -29,8 +36,12 @@ public class SecurityService {
 
     private static final Logger logger = LoggerFactory.getLogger(SecurityService.class);
 
-    // Cache for authorization decisions to improve performance
-    private final ConcurrentMap<String, AuthorizationResult> authorizationCache = new ConcurrentHashMap<>();
+    // Bounded, TTL-evicting cache of authorization decisions
+    private final Cache<DecisionKey, Boolean> authorizationCache;
+
+    // Cached decision keys per subject (user id or username), so one user can be invalidated
+    // without scanning the whole cache
+    private final ConcurrentMap<Object, Set<DecisionKey>> keysBySubject = new ConcurrentHashMap<>();
 
     // Configurable roles and permissions
     private static final String ADMIN_ROLE = "ROLE_ADMIN";
@@ -44,14 +55,27 @@ public class SecurityService {
             OrderStatus.PROCESSING
     );
 
-    // Cache TTL in minutes
-    private static final int CACHE_TTL_MINUTES = 5;
-
     private final OrderRepository orderRepository;
 
     @Autowired
-    public SecurityService(OrderRepository orderRepository) {
+    public SecurityService(OrderRepository orderRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${ebuy.order.security.authorization-cache.max-entries:100000}") long maxEntries,
+                           @Value("${ebuy.order.security.authorization-cache.ttl:5m}") Duration ttl) {
         this.orderRepository = orderRepository;
+        this.authorizationCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // Keep the subject index in step with evictions, expirations and invalidations
+                .executor(Runnable::run)
+                .<DecisionKey, Boolean>removalListener((key, value, cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        unindex(key);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, authorizationCache, "authorization-decisions");
     }
 
     /**
@@ -60,19 +84,22 @@ public class SecurityService {
     public boolean canModifyOrder(Long orderId, Long currentUserId) {
         logger.debug("Checking modify permission for order: {} by user: {}", orderId, currentUserId);
 
-        String cacheKey = String.format("modify_%d_%d", orderId, currentUserId);
-        AuthorizationResult cachedResult = authorizationCache.get(cacheKey);
+        if (!DecisionKey.isCacheable(orderId) || currentUserId == null) {
+            return performOrderModifyCheck(orderId, currentUserId);
+        }
 
-        if (cachedResult != null && !cachedResult.isExpired()) {
+        DecisionKey cacheKey = DecisionKey.forUser(DecisionKind.MODIFY, orderId, currentUserId);
+        Boolean cachedResult = authorizationCache.getIfPresent(cacheKey);
+
+        if (cachedResult != null) {
             logger.debug("Using cached authorization result for order modify check");
-            return cachedResult.isAuthorized();
+            return cachedResult;
         }
 
         boolean canModify = performOrderModifyCheck(orderId, currentUserId);
 
         // Cache the result
-        authorizationCache.put(cacheKey, new AuthorizationResult(canModify,
-                OffsetDateTime.now().plus(CACHE_TTL_MINUTES, ChronoUnit.MINUTES)));
+        cacheDecision(cacheKey, canModify);
 
         return canModify;
     }
@@ -84,19 +111,22 @@ public class SecurityService {
     public boolean hasOrderAccess(Long orderId, String username) {
         logger.debug("Checking order access for order: {} by user: {}", orderId, username);
 
-        String cacheKey = String.format("access_%d_%s", orderId, username);
-        AuthorizationResult cachedResult = authorizationCache.get(cacheKey);
+        if (!DecisionKey.isCacheable(orderId) || username == null) {
+            return performOrderAccessCheck(orderId, username);
+        }
+
+        DecisionKey cacheKey = DecisionKey.forUsername(DecisionKind.ACCESS, orderId, username);
+        Boolean cachedResult = authorizationCache.getIfPresent(cacheKey);
 
-        if (cachedResult != null && !cachedResult.isExpired()) {
+        if (cachedResult != null) {
             logger.debug("Using cached authorization result for order access check");
-            return cachedResult.isAuthorized();
+            return cachedResult;
         }
 
         boolean hasAccess = performOrderAccessCheck(orderId, username);
 
         // Cache the result
-        authorizationCache.put(cacheKey, new AuthorizationResult(hasAccess,
-                OffsetDateTime.now().plus(CACHE_TTL_MINUTES, ChronoUnit.MINUTES)));
+        cacheDecision(cacheKey, hasAccess);
 
         return hasAccess;
     }
@@ -180,11 +210,16 @@ public class SecurityService {
     public boolean isOrderModifiable(Long orderId) {
         logger.debug("Checking if order is modifiable: {}", orderId);
 
-        String cacheKey = String.format("modifiable_%d", orderId);
-        AuthorizationResult cachedResult = authorizationCache.get(cacheKey);
+        // Order ids are positive, so an id the key cannot hold matches no order
+        if (!DecisionKey.isCacheable(orderId)) {
+            return false;
+        }
 
-        if (cachedResult != null && !cachedResult.isExpired()) {
-            return cachedResult.isAuthorized();
+        DecisionKey cacheKey = DecisionKey.forOrder(DecisionKind.MODIFIABLE, orderId);
+        Boolean cachedResult = authorizationCache.getIfPresent(cacheKey);
+
+        if (cachedResult != null) {
+            return cachedResult;
         }
 
         try {
@@ -198,8 +233,7 @@ public class SecurityService {
                     isWithinModificationTimeLimit(order.getCreatedAt());
 
             // Cache the result
-            authorizationCache.put(cacheKey, new AuthorizationResult(isModifiable,
-                    OffsetDateTime.now().plus(CACHE_TTL_MINUTES, ChronoUnit.MINUTES)));
+            cacheDecision(cacheKey, isModifiable);
 
             return isModifiable;
 
@@ -229,22 +263,74 @@ public class SecurityService {
      * Clears the authorization cache for a specific user.
      */
     public void clearUserAuthorizationCache(Long userId) {
-        authorizationCache.entrySet().removeIf(entry ->
-                entry.getKey().contains("_" + userId + "_") || entry.getKey().endsWith("_" + userId));
-
+        invalidateSubject(userId);
         logger.info("Cleared authorization cache for user: {}", userId);
     }
 
+    /**
+     * Clears the authorization cache entries keyed by username.
+     */
+    public void clearUserAuthorizationCache(String username) {
+        invalidateSubject(username);
+        logger.info("Cleared authorization cache for user: {}", username);
+    }
+
     /**
      * Clears the entire authorization cache.
      */
     public void clearAuthorizationCache() {
-        authorizationCache.clear();
+        authorizationCache.invalidateAll();
+        keysBySubject.clear();
         logger.info("Cleared all authorization cache");
     }
 
     // Private helper methods
 
+    private void cacheDecision(DecisionKey key, boolean authorized) {
+        Object subject = key.subject();
+        if (subject != null) {
+            // Index before inserting so a removal of the entry always finds its index entry
+            keysBySubject.compute(subject, (s, keys) -> {
+                Set<DecisionKey> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                indexed.add(key);
+                return indexed;
+            });
+        }
+        authorizationCache.put(key, authorized);
+
+        // A concurrent clearUserAuthorizationCache may have dropped the index between the
+        // two steps above; drop the entry too rather than let it outlive the invalidation
+        if (subject != null && !isIndexed(subject, key)) {
+            authorizationCache.invalidate(key);
+        }
+    }
+
+    private boolean isIndexed(Object subject, DecisionKey key) {
+        Set<DecisionKey> keys = keysBySubject.get(subject);
+        return keys != null && keys.contains(key);
+    }
+
+    private void unindex(DecisionKey key) {
+        Object subject = key != null ? key.subject() : null;
+        if (subject == null) {
+            return;
+        }
+        keysBySubject.computeIfPresent(subject, (s, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private void invalidateSubject(Object subject) {
+        if (subject == null) {
+            return;
+        }
+        Set<DecisionKey> keys = keysBySubject.remove(subject);
+        if (keys != null) {
+            authorizationCache.invalidateAll(keys);
+        }
+    }
+
     private boolean performOrderModifyCheck(Long orderId, Long currentUserId) {
         try {
             // Admin and order managers can modify any order
@@ -321,24 +407,54 @@ public class SecurityService {
 
     // Inner classes
 
+    private enum DecisionKind {
+        MODIFY,
+        ACCESS,
+        MODIFIABLE
+    }
+
     /**
-     * Represents a cached authorization result with expiration.
+     * Cache key of one authorization decision. The decision kind and order id share one long
+     * (kind in the top byte); the subject is a user id, or a username for checks that only
+     * know the username.
      */
-    private static class AuthorizationResult {
-        private final boolean authorized;
-        private final OffsetDateTime expiresAt;
+    private record DecisionKey(long kindAndOrder, long userId, String username) {
 
-        public AuthorizationResult(boolean authorized, OffsetDateTime expiresAt) {
-            this.authorized = authorized;
-            this.expiresAt = expiresAt;
+        private static final int KIND_SHIFT = 56;
+        private static final long ORDER_MASK = (1L << KIND_SHIFT) - 1;
+        private static final long NO_USER = Long.MIN_VALUE;
+
+        static DecisionKey forUser(DecisionKind kind, long orderId, long userId) {
+            return new DecisionKey(pack(kind, orderId), userId, null);
+        }
+
+        static DecisionKey forUsername(DecisionKind kind, long orderId, String username) {
+            return new DecisionKey(pack(kind, orderId), NO_USER, username);
+        }
+
+        static DecisionKey forOrder(DecisionKind kind, long orderId) {
+            return new DecisionKey(pack(kind, orderId), NO_USER, null);
         }
 
-        public boolean isAuthorized() {
-            return authorized;
+        static boolean isCacheable(Long orderId) {
+            return orderId != null && (orderId & ~ORDER_MASK) == 0;
         }
 
-        public boolean isExpired() {
-            return OffsetDateTime.now().isAfter(expiresAt);
+        private static long pack(DecisionKind kind, long orderId) {
+            if ((orderId & ~ORDER_MASK) != 0) {
+                throw new IllegalArgumentException("Order id out of range for authorization cache key: " + orderId);
+            }
+            return ((long) kind.ordinal() << KIND_SHIFT) | orderId;
+        }
+
+        /**
+         * The index key for per-user invalidation, or null for user-independent decisions.
+         */
+        Object subject() {
+            if (username != null) {
+                return username;
+            }
+            return userId != NO_USER ? userId : null;
         }
     }
 
@@ -2,7 +2,9 @@ package com.ebuy.order.service;
 
 import com.ebuy.order.dto.OrderItemDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing order items in the eBuy ecommerce platform.
@@ -65,6 +67,26 @@ public interface OrderItemService {
      */
     List<OrderItemDto> getOrderItemsByOrderId(Long orderId);
 
+    /**
+     * Retrieves the order items of several orders in one pass: cached lists are fetched in a
+     * single batch and the rest are loaded with one query.
+     *
+     * @param orderIds the order IDs
+     * @return order items keyed by order ID; orders without items map to an empty list
+     * @throws com.ebuy.order.exception.OrderItemRetrievalException if retrieval fails
+     */
+    Map<Long, List<OrderItemDto>> getOrderItemsByOrderIds(Collection<Long> orderIds);
+
+    /**
+     * Loads the order items of the given orders with one query and writes them to the cache,
+     * replacing any cached lists. Used by the startup cache warm-up.
+     *
+     * @param orderIds the order IDs
+     * @return number of orders written to the cache
+     * @throws com.ebuy.order.exception.OrderItemRetrievalException if retrieval fails
+     */
+    int warmUpOrderItemsByOrderIds(Collection<Long> orderIds);
+
     /**
      * Retrieves a specific order item by order ID and product ID.
      *
@@ -158,4 +158,26 @@ public interface OrderService {
      * @return true if user owns the order, false otherwise
      */
     boolean isOrderOwner(Long orderId, String username);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the latest orders of the users who placed the most orders since the given time.
+     * Used to warm the order caches on startup.
+     *
+     * @param since start of the activity window
+     * @param userLimit maximum number of users
+     * @param ordersPerUser maximum number of orders per user
+     * @return the orders, newest first per user
+     * @throws com.ebuy.order.exception.OrderRetrievalException if retrieval fails
+     */
+    List<OrderDto> getRecentOrdersOfMostActiveUsers(OffsetDateTime since, int userLimit, int ordersPerUser);
+
+    /**
+     * Retrieves the IDs of the most recently placed orders.
+     *
+     * @param since start of the window
+     * @param limit maximum number of IDs
+     * @return order IDs, newest first
+     * @throws com.ebuy.order.exception.OrderRetrievalException if retrieval fails
+     */
+    List<Long> getRecentOrderIds(OffsetDateTime since, int limit);
+}
@@ -35,8 +35,14 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -139,9 +145,9 @@ public class OrderItemServiceImpl implements OrderItemService {
             OrderItem savedOrderItem = orderItemRepository.save(orderItem);
             OrderItemDto result = orderItemMapper.toDto(savedOrderItem);
 
-            // Invalidate cache and publish event asynchronously
+            // Invalidate cache and publish event
             invalidateOrderItemsCache(orderItemDto.getOrderId());
-            publishOrderItemEvent("ORDER_ITEM_CREATED", result, currentUserId);
+            publishOrderItemEvent("ORDER_ITEM_CREATED", result, result.getQuantity(), currentUserId);
 
             // Audit log
             auditService.logOrderItemCreation(result, currentUserId);
@@ -195,6 +201,7 @@ public class OrderItemServiceImpl implements OrderItemService {
             validateItemQuantityLimits(orderItemDto.getQuantity());
 
             // Update fields
+            int previousQuantity = existingOrderItem.getQuantity();
             existingOrderItem.setQuantity(orderItemDto.getQuantity());
             existingOrderItem.setPrice(orderItemDto.getPrice());
             existingOrderItem.setDiscountMethodId(orderItemDto.getDiscountMethodId());
@@ -207,7 +214,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 
             // Invalidate cache and publish event
             invalidateOrderItemsCache(existingOrderItem.getOrder().getOrderId());
-            publishOrderItemEvent("ORDER_ITEM_UPDATED", result, currentUserId);
+            publishOrderItemEvent("ORDER_ITEM_UPDATED", result,
+                    result.getQuantity() - previousQuantity, currentUserId);
 
             // Audit log
             auditService.logOrderItemUpdate(result, currentUserId);
@@ -247,7 +255,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 
             // Invalidate cache and publish event
             invalidateOrderItemsCache(orderItem.getOrder().getOrderId());
-            publishOrderItemEvent("ORDER_ITEM_DELETED", orderItemMapper.toDto(orderItem), currentUserId);
+            publishOrderItemEvent("ORDER_ITEM_DELETED", orderItemMapper.toDto(orderItem),
+                    -orderItem.getQuantity(), currentUserId);
 
             // Audit log
             auditService.logOrderItemDeletion(orderItemId, currentUserId);
@@ -261,10 +270,16 @@ public class OrderItemServiceImpl implements OrderItemService {
     }
 
     @Override
-    @Cacheable(value = ORDER_ITEMS_BY_ORDER_CACHE, key = "#orderId")
+    @SuppressWarnings("unchecked")
     public List<OrderItemDto> getOrderItemsByOrderId(Long orderId) {
         logger.debug("Retrieving order items for order: {}", orderId);
 
+        // Concurrent misses for the same order share a single query
+        return cacheService.getOrLoad(ORDER_ITEMS_BY_ORDER_CACHE, orderId, List.class,
+                Duration.ofSeconds(cacheTtlSeconds), () -> loadOrderItemsByOrderId(orderId));
+    }
+
+    private List<OrderItemDto> loadOrderItemsByOrderId(Long orderId) {
         try {
             List<OrderItem> orderItems = orderItemRepository
                     .findByOrderOrderIdAndIsDeletedFalseOrderByOrderItemIdAsc(orderId);
@@ -279,6 +294,70 @@ public class OrderItemServiceImpl implements OrderItemService {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, List<OrderItemDto>> getOrderItemsByOrderIds(Collection<Long> orderIds) {
+        logger.debug("Retrieving order items for {} orders", orderIds.size());
+
+        Map<Long, List<OrderItemDto>> result = new LinkedHashMap<>();
+        if (CollectionUtils.isEmpty(orderIds)) {
+            return result;
+        }
+
+        Map<Object, Object> cached = cacheService.multiGet(ORDER_ITEMS_BY_ORDER_CACHE, orderIds);
+        List<Long> missing = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            Object items = cached.get(orderId);
+            if (items != null) {
+                result.put(orderId, (List<OrderItemDto>) items);
+            } else {
+                missing.add(orderId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        try {
+            Map<Long, List<OrderItemDto>> loaded = new HashMap<>();
+            missing.forEach(orderId -> loaded.put(orderId, new ArrayList<>()));
+            for (OrderItem orderItem : orderItemRepository.findByOrderOrderIdInAndIsDeletedFalseOrderByOrderItemIdAsc(missing)) {
+                loaded.get(orderItem.getOrder().getOrderId()).add(orderItemMapper.toDto(orderItem));
+            }
+
+            cacheService.multiPut(ORDER_ITEMS_BY_ORDER_CACHE, loaded, Duration.ofSeconds(cacheTtlSeconds));
+            missing.forEach(orderId -> result.put(orderId, loaded.get(orderId)));
+            return result;
+
+        } catch (Exception e) {
+            logger.error("Error retrieving order items for {} orders", missing.size(), e);
+            throw new OrderItemRetrievalException("Failed to retrieve order items", e);
+        }
+    }
+
+    @Override
+    public int warmUpOrderItemsByOrderIds(Collection<Long> orderIds) {
+        if (CollectionUtils.isEmpty(orderIds)) {
+            return 0;
+        }
+
+        try {
+            Map<Long, List<OrderItemDto>> loaded = new HashMap<>();
+            orderIds.forEach(orderId -> loaded.put(orderId, new ArrayList<>()));
+            for (OrderItem orderItem : orderItemRepository.findByOrderOrderIdInAndIsDeletedFalseOrderByOrderItemIdAsc(orderIds)) {
+                loaded.get(orderItem.getOrder().getOrderId()).add(orderItemMapper.toDto(orderItem));
+            }
+
+            cacheService.warmUpCache(ORDER_ITEMS_BY_ORDER_CACHE, loaded, Duration.ofSeconds(cacheTtlSeconds));
+            return loaded.size();
+
+        } catch (Exception e) {
+            logger.error("Error warming order items for {} orders", orderIds.size(), e);
+            throw new OrderItemRetrievalException("Failed to warm order items", e);
+        }
+    }
+
     @Override
     public OrderItemDto getOrderItemByOrderIdAndProductId(Long orderId, Long productId) {
         logger.debug("Retrieving order item by order: {} and product: {}", orderId, productId);
@@ -326,6 +405,7 @@ public class OrderItemServiceImpl implements OrderItemService {
             BigDecimal finalPrice = orderItem.getDiscountValue() != null ?
                     totalPrice.subtract(orderItem.getDiscountValue()) : totalPrice;
 
+            int previousQuantity = orderItem.getQuantity();
             orderItem.setQuantity(quantity);
             orderItem.setFinalPrice(finalPrice);
             orderItem.setModifiedAt(OffsetDateTime.now());
@@ -335,7 +415,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 
             // Invalidate cache and publish event
             invalidateOrderItemsCache(orderItem.getOrder().getOrderId());
-            publishOrderItemEvent("ORDER_ITEM_QUANTITY_UPDATED", result, currentUserId);
+            publishOrderItemEvent("ORDER_ITEM_QUANTITY_UPDATED", result,
+                    quantity - previousQuantity, currentUserId);
 
             logger.info("Successfully updated quantity for order item: {}", orderItemId);
             return result;
@@ -474,7 +555,13 @@ public class OrderItemServiceImpl implements OrderItemService {
         }
     }
 
-    private void publishOrderItemEvent(String eventType, OrderItemDto orderItemDto, Long userId) {
+    private void publishOrderItemEvent(String eventType, OrderItemDto orderItemDto, Integer quantityDelta, Long userId) {
+        if (eventPublisher.isOutboxEnabled()) {
+            // Written in the current transaction; the outbox relay delivers it after commit
+            eventPublisher.enqueueOrderItemEvent(eventType, orderItemDto, quantityDelta, userId);
+            return;
+        }
+
         CompletableFuture.runAsync(() -> {
             try {
                 eventPublisher.publishOrderItemEvent(eventType, orderItemDto, userId);
@@ -13,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -77,7 +78,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#orderId", unless = "#result == null")
+    @Cacheable(value = "orders", key = "#orderId", sync = true)
     public OrderDto getOrderById(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
@@ -85,7 +86,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders-with-items", key = "#orderId", unless = "#result == null")
+    @Cacheable(value = "orders-with-items", key = "#orderId", sync = true)
     public OrderDto getOrderWithItems(Long orderId) {
         Order order = orderRepository.findByIdWithItems(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
@@ -93,7 +94,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders-with-status", key = "#orderId", unless = "#result == null")
+    @Cacheable(value = "orders-with-status", key = "#orderId", sync = true)
     public OrderDto getOrderWithStatus(Long orderId) {
         Order order = orderRepository.findByIdWithStatus(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
@@ -269,6 +270,33 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Override
+    public List<OrderDto> getRecentOrdersOfMostActiveUsers(OffsetDateTime since, int userLimit, int ordersPerUser) {
+        try {
+            List<Long> userIds = orderRepository.findMostActiveUserIds(since, PageRequest.of(0, userLimit));
+            if (userIds.isEmpty()) {
+                return List.of();
+            }
+
+            return orderRepository.findRecentByUserIdIn(userIds, since, ordersPerUser).stream()
+                    .map(orderMapper::toDto)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Failed to retrieve recent orders of active users since {}", since, e);
+            throw new OrderRetrievalException("Failed to retrieve recent orders: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Long> getRecentOrderIds(OffsetDateTime since, int limit) {
+        try {
+            return orderRepository.findRecentOrderIds(since, PageRequest.of(0, limit));
+        } catch (Exception e) {
+            log.error("Failed to retrieve recent order ids since {}", since, e);
+            throw new OrderRetrievalException("Failed to retrieve recent order ids: " + e.getMessage());
+        }
+    }
+
     // Private helper methods
 
     private void validateOrderCreation(OrderDto orderDto, Long currentUserId) {
@@ -0,0 +1,37 @@
+package com.ebuy.order;
+
+import com.ebuy.order.dto.OrderItemDto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * One order and its lines, shared by the cache and event fixtures so that cached orders and
+ * the events about them describe the same data.
+ */
+public final class SampleOrder {
+
+    public static final long ORDER_ID = 1_000_042L;
+    public static final long USER_ID = 73_311L;
+    public static final UUID CORRELATION_ID = UUID.fromString("3f2b8c1e-7a4d-4e9b-9c2f-5d6e7f8a9b0c");
+    public static final String SERVICE_ORIGIN = "ebuy-order-service";
+
+    // Sub-microsecond digits and a non-UTC offset exercise timestamp encodings
+    public static final OffsetDateTime PLACED_AT =
+            OffsetDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000, ZoneOffset.ofHours(2));
+
+    private SampleOrder() {
+    }
+
+    /**
+     * Line {@code index} of the order; every other line carries a discount.
+     */
+    public static OrderItemDto item(int index) {
+        boolean discounted = index % 2 == 1;
+        return new OrderItemDto(5_000L + index, ORDER_ID, 20_000L + index, index + 1, new BigDecimal("49.99"),
+                discounted ? 7L : null, discounted ? new BigDecimal("5.00") : null, new BigDecimal("44.99"),
+                PLACED_AT, PLACED_AT, null, false, 1L);
+    }
+}
@@ -0,0 +1,160 @@
+package com.ebuy.order.audit;
+
+import com.ebuy.order.entity.AuditLog;
+import com.ebuy.order.enums.AuditAction;
+import com.ebuy.order.enums.AuditLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes audit records through a pool that does not autocommit, as configured in
+ * application.yml, and reads them back from a real Postgres built from
+ * {@code databases/order_db/create_schema.sql}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditBatchWriterIntegrationTest {
+
+    private static final Path SCHEMA = Path.of("../../../databases/order_db/create_schema.sql");
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath(SCHEMA), "/docker-entrypoint-initdb.d/01-order-schema.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.auto-commit", () -> "false");
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path spillDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditBatchWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("DELETE FROM order_schema.audit_logs"));
+    }
+
+    @Test
+    void batchIsCommitted() {
+        writer = writer("block");
+        writer.submit(record(1, "Order"));
+        writer.submit(record(2, "Order"));
+        writer.submit(record(3, "Order"));
+
+        writer.start();
+
+        awaitTrue(() -> written() == 3.0);
+        assertEquals(List.of(1L, 2L, 3L), storedEntityIds());
+    }
+
+    @Test
+    void rowsOfARejectedBatchAreCommittedOneByOne() {
+        writer = writer("block");
+        writer.submit(record(1, "Order"));
+        // Longer than entity_type VARCHAR(100), so the multi-row insert fails
+        writer.submit(record(2, "X".repeat(101)));
+        writer.submit(record(3, "Order"));
+
+        writer.start();
+
+        awaitTrue(() -> meterRegistry.get("ebuy.audit.records").tag("result", "failed").counter().count() == 1.0);
+        assertEquals(2.0, written());
+        assertEquals(List.of(1L, 3L), storedEntityIds());
+    }
+
+    @Test
+    void replayedSpillIsCommitted() throws Exception {
+        Files.write(spillDirectory.resolve("audit-spill-2025-03-14.jsonl"), List.of(
+                objectMapper.writeValueAsString(record(1, "Order")),
+                objectMapper.writeValueAsString(record(2, "Order"))));
+        writer = writer("spill");
+
+        writer.start();
+
+        awaitTrue(() -> written() == 2.0);
+        assertEquals(List.of(1L, 2L), storedEntityIds());
+    }
+
+    private AuditBatchWriter writer(String policy) {
+        return new AuditBatchWriter(jdbcTemplate, transactionManager, objectMapper, meterRegistry, 100,
+                Duration.ofMillis(20), 1000, policy, Duration.ofMillis(10), spillDirectory.toString(), 3);
+    }
+
+    private static AuditLog record(long entityId, String entityType) {
+        return new AuditLog(AuditAction.UPDATE, AuditLevel.INFO, entityType, entityId, 42L, "Order updated");
+    }
+
+    private double written() {
+        return meterRegistry.get("ebuy.audit.records").tag("result", "written").counter().count();
+    }
+
+    // An uncommitted insert is rolled back when the writer's connection goes back to the pool
+    private List<Long> storedEntityIds() {
+        return new TransactionTemplate(transactionManager).execute(status -> jdbcTemplate.queryForList(
+                "SELECT entity_id FROM order_schema.audit_logs ORDER BY entity_id", Long.class));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the audit writer");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ebuy.order.audit;
+
+import com.ebuy.order.entity.AuditLog;
+import com.ebuy.order.enums.AuditAction;
+import com.ebuy.order.enums.AuditLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditBatchWriterTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final FakeJdbc jdbc = new FakeJdbc();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditBatchWriter writer;
+
+    @TempDir
+    Path spillDirectory;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void spillReplayResumesAfterCommittedRowsAndDeadLettersABadRow() throws Exception {
+        String bad = json(record(2, FakeJdbc.REJECTED));
+        Files.write(spillDirectory.resolve("audit-spill-2025-03-14.jsonl"), List.of(
+                json(record(1, "Order")), bad, json(record(3, "Order")), "{not json"));
+        writer = writer("spill", 100, 20000, Duration.ofMillis(10));
+
+        writer.start();
+
+        awaitTrue(() -> spillFiles().isEmpty());
+        // Row 1 was committed before row 2 was first rejected, so later replays skip it
+        assertEquals(List.of(1L, 3L), jdbc.written);
+        assertEquals(MAX_ATTEMPTS, jdbc.rejected);
+        List<String> deadLettered = Files.readAllLines(deadLetterFile());
+        assertEquals(List.of(bad, "{not json"), deadLettered);
+        assertEquals(2.0, counter("dead_lettered"));
+        assertEquals(2.0, counter("written"));
+    }
+
+    @Test
+    void rejectedBatchIsWrittenRowByRow() {
+        writer = writer("block", 100, 20000, Duration.ofMillis(50));
+        writer.submit(record(1, "Order"));
+        writer.submit(record(2, FakeJdbc.REJECTED));
+        writer.submit(record(3, "Order"));
+
+        writer.start();
+
+        awaitTrue(() -> counter("failed") == 1.0);
+        assertEquals(3, jdbc.batchSizes.get(0));
+        assertEquals(List.of(1L, 3L), jdbc.written);
+        assertEquals(2.0, counter("written"));
+    }
+
+    @Test
+    void batchBeyondTheBindParameterLimitIsSplitAcrossStatements() {
+        writer = writer("block", 5000, 20000, Duration.ofMillis(50));
+        for (int i = 1; i <= 3000; i++) {
+            writer.submit(record(i, "Order"));
+        }
+
+        writer.start();
+
+        awaitTrue(() -> counter("written") == 3000.0);
+        assertEquals(List.of(2978, 22), jdbc.batchSizes);
+        assertEquals(0.0, counter("failed"));
+    }
+
+    @Test
+    void databaseOutageNeitherSplitsTheBatchNorCountsAnAttempt() throws Exception {
+        jdbc.down = true;
+        writer = writer("spill", 100, 20000, Duration.ofMillis(10));
+        writer.submit(record(1, "Order"));
+        writer.submit(record(2, "Order"));
+
+        writer.start();
+        awaitTrue(() -> counter("spilled") == 2.0);
+        awaitTrue(() -> jdbc.batchSizes.size() > MAX_ATTEMPTS + 1);
+        jdbc.down = false;
+
+        awaitTrue(() -> spillFiles().isEmpty());
+        assertEquals(2, jdbc.batchSizes.get(0));
+        assertEquals(List.of(1L, 2L), jdbc.written);
+        assertEquals(0.0, counter("dead_lettered"));
+        assertFalse(Files.exists(deadLetterFile()));
+    }
+
+    @Test
+    void blockPolicyDropAfterOfferTimeoutIsCounted() {
+        writer = writer("block", 100, 1, Duration.ofMillis(10));
+
+        assertTrue(writer.submit(record(1, "Order")));
+        assertFalse(writer.submit(record(2, "Order")));
+
+        assertEquals(1.0, meterRegistry.get("ebuy.audit.queue.offer-timeouts").counter().count());
+        assertEquals(1.0, counter("dropped"));
+    }
+
+    private AuditBatchWriter writer(String policy, int batchSize, int capacity, Duration maxDelay) {
+        return new AuditBatchWriter(jdbc, new NoOpTransactionManager(), objectMapper, meterRegistry, batchSize, maxDelay, capacity, policy,
+                Duration.ofMillis(10), spillDirectory.toString(), MAX_ATTEMPTS);
+    }
+
+    private static AuditLog record(long entityId, String entityType) {
+        return new AuditLog(AuditAction.UPDATE, AuditLevel.INFO, entityType, entityId, 42L, "Order updated");
+    }
+
+    private String json(AuditLog auditLog) throws IOException {
+        return objectMapper.writeValueAsString(auditLog);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("ebuy.audit.records").tag("result", result).counter().count();
+    }
+
+    private Path deadLetterFile() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("audit-dead-letter-"))
+                    .findFirst()
+                    .orElse(spillDirectory.resolve("audit-dead-letter-none.jsonl"));
+        }
+    }
+
+    private List<Path> spillFiles() {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("audit-spill-")).toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the audit writer");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * FakeJdbc has no connection to commit; transactions are covered by AuditBatchWriterIntegrationTest.
+     */
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    /**
+     * Accepts the writer's multi-row inserts the way Postgres would: all rows or none.
+     */
+    private static final class FakeJdbc extends JdbcTemplate {
+
+        static final String REJECTED = "Rejected";
+
+        private static final int COLUMNS = 11;
+
+        private final List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean down;
+        private volatile int rejected;
+
+        @Override
+        public int update(String sql, Object[] args, int[] argTypes) {
+            int rows = args.length / COLUMNS;
+            batchSizes.add(rows);
+            if (args.length > Short.MAX_VALUE) {
+                throw new DataIntegrityViolationException("Tried to send an out-of-range integer as a 2-byte value");
+            }
+            if (down) {
+                throw new CannotGetJdbcConnectionException("Connection refused");
+            }
+            List<Long> entityIds = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                if (REJECTED.equals(args[row * COLUMNS + 2])) {
+                    if (rows == 1) {
+                        rejected++;
+                    }
+                    throw new DataIntegrityViolationException("value too long for type character varying(100)");
+                }
+                entityIds.add((Long) args[row * COLUMNS + 3]);
+            }
+            written.addAll(entityIds);
+            return rows;
+        }
+    }
+}
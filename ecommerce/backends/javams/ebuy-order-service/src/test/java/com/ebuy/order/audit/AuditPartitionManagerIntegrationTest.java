@@ -0,0 +1,122 @@
+package com.ebuy.order.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Creates and drops audit log partitions against a real Postgres built from
+ * {@code databases/order_db/create_schema.sql}, through a pool that does not autocommit, as
+ * configured in application.yml.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditPartitionManagerIntegrationTest {
+
+    private static final Path SCHEMA = Path.of("../../../databases/order_db/create_schema.sql");
+    private static final int DAYS_AHEAD = 40;
+    private static final int RETENTION_DAYS = 90;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath(SCHEMA), "/docker-entrypoint-initdb.d/01-order-schema.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.auto-commit", () -> "false");
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void futurePartitionsAreCommitted() {
+        AuditPartitionManager manager = manager();
+        LocalDate lastDay = today().plusDays(DAYS_AHEAD);
+
+        assertTrue(manager.ensureFuturePartitions() > 0);
+
+        assertTrue(partitionExists(lastDay));
+        assertEquals(0, manager.ensureFuturePartitions());
+    }
+
+    @Test
+    void expiredPartitionsAreDetachedAndDropped() {
+        LocalDate expired = today().minusDays(RETENTION_DAYS + 5);
+        LocalDate alsoExpired = today().minusDays(RETENTION_DAYS + 1);
+        LocalDate kept = today().minusDays(RETENTION_DAYS - 1);
+        createPartition(expired);
+        createPartition(alsoExpired);
+        createPartition(kept);
+        inTransaction("INSERT INTO order_schema.audit_logs (action, level, entity_type, created_at) "
+                + "VALUES ('UPDATE', 'INFO', 'Order', '" + expired + " 12:00:00+00')");
+
+        assertEquals(2, manager().dropExpiredPartitions());
+
+        assertFalse(partitionExists(expired));
+        assertFalse(partitionExists(alsoExpired));
+        assertTrue(partitionExists(kept));
+        // A second run finds nothing left to drop and leaves current partitions alone
+        assertEquals(0, manager().dropExpiredPartitions());
+        assertTrue(partitionExists(today()));
+    }
+
+    private AuditPartitionManager manager() {
+        return new AuditPartitionManager(jdbcTemplate, transactionManager, true, DAYS_AHEAD, RETENTION_DAYS);
+    }
+
+    private void createPartition(LocalDate day) {
+        inTransaction("CREATE TABLE order_schema." + partitionName(day)
+                + " PARTITION OF order_schema.audit_logs FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('"
+                + day.plusDays(1) + " 00:00:00+00')");
+    }
+
+    private boolean partitionExists(LocalDate day) {
+        Boolean exists = new TransactionTemplate(transactionManager).execute(status -> jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, "order_schema." + partitionName(day)));
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private void inTransaction(String sql) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.execute(sql));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return "audit_logs_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
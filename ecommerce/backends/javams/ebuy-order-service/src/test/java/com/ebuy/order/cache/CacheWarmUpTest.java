@@ -0,0 +1,145 @@
+package com.ebuy.order.cache;
+
+import com.ebuy.order.cache.codec.OrderDtoBinaryCodec;
+import com.ebuy.order.config.CacheConfig;
+import com.ebuy.order.dto.OrderDto;
+import com.ebuy.order.entity.Order;
+import com.ebuy.order.entity.OrderStatus;
+import com.ebuy.order.mapper.OrderMapper;
+import com.ebuy.order.repository.OrderRepository;
+import com.ebuy.order.repository.OrderStatusRepository;
+import com.ebuy.order.service.OrderItemService;
+import com.ebuy.order.service.OrderService;
+import com.ebuy.order.service.OrderStatusService;
+import com.ebuy.order.service.impl.OrderServiceImpl;
+import com.ebuy.order.service.impl.OrderStatusServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the warm-up against services reached through the caching proxy and checks that the
+ * warmed keys are then served without a repository call.
+ */
+@SpringJUnitConfig
+@TestPropertySource(properties = "ebuy.cache.redis.enabled=false")
+class CacheWarmUpTest {
+
+    @Configuration
+    @Import({CacheConfig.class, CacheWarmUp.class, OrderServiceImpl.class, OrderStatusServiceImpl.class,
+            OrderDtoBinaryCodec.class, SingleFlight.class, EarlyRefreshPolicy.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+            cacheManager.setAllowNullValues(false);
+            return cacheManager;
+        }
+
+        @Bean
+        CacheProperties cacheProperties() {
+            return new CacheProperties();
+        }
+    }
+
+    @MockitoBean
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @MockitoBean
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private OrderStatusRepository orderStatusRepository;
+
+    @MockitoBean
+    private OrderMapper orderMapper;
+
+    @MockitoBean
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private CacheWarmUp cacheWarmUp;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        when(orderStatusRepository.findAll()).thenReturn(List.of(status(1L, "PENDING"), status(2L, "SHIPPED")));
+        when(orderStatusRepository.findByStatusNameIgnoreCase(anyString()))
+                .thenAnswer(invocation -> Optional.of(status(1L, invocation.getArgument(0))));
+        when(orderRepository.findMostActiveUserIds(any(), any())).thenReturn(List.of(100L));
+        when(orderRepository.findRecentByUserIdIn(anyCollection(), any(), anyInt()))
+                .thenReturn(List.of(order(7L), order(8L)));
+        when(orderMapper.toDto(any(Order.class))).thenAnswer(invocation -> {
+            OrderDto dto = new OrderDto();
+            dto.setOrderId(invocation.<Order>getArgument(0).getOrderId());
+            return dto;
+        });
+    }
+
+    @Test
+    void warmedKeysAreServedWithoutRepositoryCalls() {
+        cacheWarmUp.run();
+        assertEquals(CacheWarmUp.State.COMPLETED, cacheWarmUp.progress().get("state"));
+        clearInvocations(orderRepository, orderStatusRepository);
+
+        assertEquals(7L, orderService.getOrderById(7L).getOrderId());
+        assertEquals(8L, orderService.getOrderById(8L).getOrderId());
+        assertEquals(2, orderStatusService.getAllOrderStatuses().size());
+        assertEquals("SHIPPED", orderStatusService.getOrderStatusById(2L).getStatusName());
+        assertEquals(1L, orderStatusService.getOrderStatusByName("PENDING").getStatusId());
+        assertEquals(1L, orderStatusService.getDefaultOrderStatus().getStatusId());
+
+        verify(orderRepository, never()).findById(anyLong());
+        verifyNoInteractions(orderStatusRepository);
+    }
+
+    private static OrderStatus status(long id, String name) {
+        OrderStatus status = new OrderStatus(name);
+        status.setStatusId(id);
+        return status;
+    }
+
+    private static Order order(long id) {
+        Order order = new Order();
+        order.setOrderId(id);
+        return order;
+    }
+}
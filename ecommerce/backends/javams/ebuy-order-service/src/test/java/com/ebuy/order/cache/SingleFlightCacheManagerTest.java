@@ -0,0 +1,75 @@
+package com.ebuy.order.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SingleFlightCacheManagerTest {
+
+    private ConcurrentMapCacheManager delegate;
+    private SingleFlightCacheManager cacheManager;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCacheManager("orders");
+        SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(singleFlight, "waitTimeout", Duration.ofSeconds(5));
+        cacheManager = new SingleFlightCacheManager(delegate, singleFlight, new EarlyRefreshPolicy(100), Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void nullLoadIsNotCachedWhenTheCacheRejectsNulls() {
+        delegate.setAllowNullValues(false);
+        Cache cache = cacheManager.getCache("orders");
+
+        assertNull(cache.get("missing", this::loadNothing));
+        assertNull(cache.get("missing", this::loadNothing));
+
+        assertEquals(2, loads.get());
+        assertNull(delegate.getCache("orders").get("missing"));
+    }
+
+    @Test
+    void nullLoadIsCachedWhenTheCacheAllowsNulls() {
+        Cache cache = cacheManager.getCache("orders");
+
+        assertNull(cache.get("missing", this::loadNothing));
+        assertNull(cache.get("missing", this::loadNothing));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void nonNullLoadIsCachedOnce() {
+        delegate.setAllowNullValues(false);
+        Cache cache = cacheManager.getCache("orders");
+
+        assertEquals("order-1", cache.get("1", () -> {
+            loads.incrementAndGet();
+            return "order-1";
+        }));
+        assertEquals("order-1", cache.get("1", () -> {
+            loads.incrementAndGet();
+            return "order-2";
+        }));
+
+        assertEquals(1, loads.get());
+        assertEquals("order-1", delegate.getCache("orders").get("1").get());
+    }
+
+    private String loadNothing() {
+        loads.incrementAndGet();
+        return null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.ebuy.order.cache.codec;
+
+import com.ebuy.order.dto.OrderDto;
+import com.ebuy.order.dto.OrderItemDto;
+import com.ebuy.order.dto.OrderStatusDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheValueSerializerTest {
+
+    private final JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+    private final CacheValueSerializer serializer = new CacheValueSerializer(List.of(new OrderDtoBinaryCodec()), jdk, true);
+
+    @Test
+    void orderRoundTripsThroughBinaryCodec() {
+        OrderDto order = OrderFixtures.order(3);
+
+        byte[] bytes = serializer.serialize(order);
+
+        assertEquals(CacheValueSerializer.MAGIC, bytes[0]);
+        assertEquals(OrderDtoBinaryCodec.CODEC_ID, bytes[2]);
+        assertOrderEquals(order, (OrderDto) serializer.deserialize(bytes));
+    }
+
+    @Test
+    void nullFieldsStayNull() {
+        OrderDto order = new OrderDto();
+        order.setOrderId(1L);
+        order.setOrderItems(null);
+        OrderItemDto item = new OrderItemDto();
+        item.setIsDeleted(null);
+        item.setRowVersion(null);
+
+        assertOrderEquals(order, (OrderDto) serializer.deserialize(serializer.serialize(order)));
+        assertItemEquals(item, (OrderItemDto) serializer.deserialize(serializer.serialize(item)));
+    }
+
+    @Test
+    void largeAndNegativeNumbersRoundTrip() {
+        OrderItemDto item = OrderFixtures.items(1).get(0);
+        item.setOrderId(-1L);
+        item.setOrderItemId(Long.MIN_VALUE);
+        item.setProductId(Long.MAX_VALUE);
+        item.setQuantity(Integer.MIN_VALUE);
+        item.setPrice(new BigDecimal("123456789012345678901234567890.123456789"));
+        item.setDiscountValue(new BigDecimal("-0.0001"));
+
+        assertItemEquals(item, (OrderItemDto) serializer.deserialize(serializer.serialize(item)));
+    }
+
+    @Test
+    void itemListAndStatusRoundTrip() {
+        List<OrderItemDto> items = OrderFixtures.items(4);
+        OrderStatusDto status = OrderFixtures.status();
+
+        @SuppressWarnings("unchecked")
+        List<OrderItemDto> decodedItems = (List<OrderItemDto>) serializer.deserialize(serializer.serialize(items));
+        assertEquals(items.size(), decodedItems.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertItemEquals(items.get(i), decodedItems.get(i));
+        }
+        assertStatusEquals(status, (OrderStatusDto) serializer.deserialize(serializer.serialize(status)));
+    }
+
+    @Test
+    void valuesWithoutCodecUseFallbackBehindHeader() {
+        byte[] bytes = serializer.serialize("plain");
+
+        assertEquals(CacheValueSerializer.FALLBACK_CODEC_ID, bytes[2]);
+        assertEquals("plain", serializer.deserialize(bytes));
+    }
+
+    @Test
+    void legacyEntriesWithoutHeaderStillDecode() {
+        byte[] legacy = jdk.serialize("written before the codec");
+
+        assertNotEquals(CacheValueSerializer.MAGIC, legacy[0]);
+        assertEquals("written before the codec", serializer.deserialize(legacy));
+    }
+
+    @Test
+    void legacyWriteFormatIsReadableByBothVersions() {
+        CacheValueSerializer legacyWriter = new CacheValueSerializer(List.of(new OrderDtoBinaryCodec()), jdk, false);
+
+        byte[] bytes = legacyWriter.serialize("rolling deploy");
+
+        assertArrayEquals(jdk.serialize("rolling deploy"), bytes);
+        assertEquals("rolling deploy", serializer.deserialize(bytes));
+    }
+
+    @Test
+    void newerFormatVersionDecodesAsMiss() {
+        byte[] bytes = serializer.serialize(OrderFixtures.order(1));
+        bytes[1] = CacheValueSerializer.FORMAT_VERSION + 1;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void unknownCodecDecodesAsMiss() {
+        byte[] bytes = serializer.serialize(OrderFixtures.order(1));
+        bytes[2] = 42;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void newerSchemaVersionDecodesAsMiss() {
+        byte[] bytes = serializer.serialize(OrderFixtures.order(1));
+        // Header, then the codec's type tag and schema version
+        bytes[4]++;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void orderHoldingNewerItemSchemaDecodesAsMiss() {
+        BinaryOutput out = new BinaryOutput(32);
+        out.writeByte(OrderDtoBinaryCodec.TYPE_ORDER);
+        out.writeByte(OrderDtoBinaryCodec.ORDER_SCHEMA);
+        out.writeVarLong(1L | 1L << 10);
+        out.writeSignedVarLong(42L);
+        // An item list from a writer whose item schema gained a field this reader lacks
+        out.writeByte(OrderDtoBinaryCodec.ORDER_ITEM_SCHEMA + 1);
+        out.writeVarLong(1);
+        out.writeVarLong(1L | 1L << 13);
+        out.writeSignedVarLong(5_000L);
+        out.writeString("field added in the newer schema");
+
+        assertNull(new OrderDtoBinaryCodec().decode(new BinaryInput(out.toByteArray(), 0)));
+    }
+
+    @Test
+    void orderHoldingNewerStatusSchemaDecodesAsMiss() {
+        BinaryOutput out = new BinaryOutput(32);
+        out.writeByte(OrderDtoBinaryCodec.TYPE_ORDER);
+        out.writeByte(OrderDtoBinaryCodec.ORDER_SCHEMA);
+        out.writeVarLong(1L | 1L << 2);
+        out.writeSignedVarLong(42L);
+        out.writeByte(OrderDtoBinaryCodec.ORDER_STATUS_SCHEMA + 1);
+        out.writeVarLong(1L << 5);
+        out.writeString("field added in the newer schema");
+
+        assertNull(new OrderDtoBinaryCodec().decode(new BinaryInput(out.toByteArray(), 0)));
+    }
+
+    @Test
+    void firstOrderSchemaWithoutNestedVersionsStillDecodes() {
+        BinaryOutput out = new BinaryOutput(32);
+        out.writeByte(OrderDtoBinaryCodec.TYPE_ORDER);
+        out.writeByte(1);
+        out.writeVarLong(1L | 1L << 2 | 1L << 10);
+        out.writeSignedVarLong(42L);
+        out.writeVarLong(1L << 1);
+        out.writeString("CONFIRMED");
+        out.writeVarLong(1);
+        out.writeVarLong(1L);
+        out.writeSignedVarLong(5_000L);
+
+        OrderDto order = (OrderDto) new OrderDtoBinaryCodec().decode(new BinaryInput(out.toByteArray(), 0));
+
+        assertEquals(42L, order.getOrderId());
+        assertEquals("CONFIRMED", order.getStatus().getStatusName());
+        assertEquals(1, order.getOrderItems().size());
+        assertEquals(5_000L, order.getOrderItems().get(0).getOrderItemId());
+    }
+
+    @Test
+    void legacyWriteFormatRoundTripsOrders() {
+        CacheValueSerializer legacyWriter = new CacheValueSerializer(List.of(new OrderDtoBinaryCodec()), jdk, false);
+        OrderDto order = OrderFixtures.order(3);
+
+        assertOrderEquals(order, (OrderDto) serializer.deserialize(legacyWriter.serialize(order)));
+    }
+
+    @Test
+    void binaryEncodingIsSmallerThanJdkSerializationAndJson() {
+        CacheValueSerializer jsonOnly = new CacheValueSerializer(List.of(), OrderFixtures.json(), true);
+        for (int items : new int[] {1, 10, 50}) {
+            OrderDto order = OrderFixtures.order(items);
+            int binary = serializer.serialize(order).length;
+
+            assertTrue(binary < jdk.serialize(order).length, items + " items");
+            assertTrue(binary < jsonOnly.serialize(order).length, items + " items");
+        }
+    }
+
+    static void assertOrderEquals(OrderDto expected, OrderDto actual) {
+        assertEquals(expected.getOrderId(), actual.getOrderId());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        if (expected.getStatus() == null) {
+            assertNull(actual.getStatus());
+        } else {
+            assertStatusEquals(expected.getStatus(), actual.getStatus());
+        }
+        assertEquals(expected.getOrderDate(), actual.getOrderDate());
+        assertEquals(expected.getTotalAmount(), actual.getTotalAmount());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getModifiedAt(), actual.getModifiedAt());
+        assertEquals(expected.getCorrelationId(), actual.getCorrelationId());
+        assertEquals(expected.getServiceOrigin(), actual.getServiceOrigin());
+        assertEquals(expected.getRowVersion(), actual.getRowVersion());
+        if (expected.getOrderItems() == null) {
+            assertNull(actual.getOrderItems());
+            return;
+        }
+        assertEquals(expected.getOrderItems().size(), actual.getOrderItems().size());
+        for (int i = 0; i < expected.getOrderItems().size(); i++) {
+            assertItemEquals(expected.getOrderItems().get(i), actual.getOrderItems().get(i));
+        }
+    }
+
+    static void assertItemEquals(OrderItemDto expected, OrderItemDto actual) {
+        assertEquals(expected.getOrderItemId(), actual.getOrderItemId());
+        assertEquals(expected.getOrderId(), actual.getOrderId());
+        assertEquals(expected.getProductId(), actual.getProductId());
+        assertEquals(expected.getQuantity(), actual.getQuantity());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getDiscountMethodId(), actual.getDiscountMethodId());
+        assertEquals(expected.getDiscountValue(), actual.getDiscountValue());
+        assertEquals(expected.getFinalPrice(), actual.getFinalPrice());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getModifiedAt(), actual.getModifiedAt());
+        assertEquals(expected.getDeletedAt(), actual.getDeletedAt());
+        assertEquals(expected.getIsDeleted(), actual.getIsDeleted());
+        assertEquals(expected.getRowVersion(), actual.getRowVersion());
+    }
+
+    static void assertStatusEquals(OrderStatusDto expected, OrderStatusDto actual) {
+        assertEquals(expected.getStatusId(), actual.getStatusId());
+        assertEquals(expected.getStatusName(), actual.getStatusName());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getModifiedAt(), actual.getModifiedAt());
+        assertEquals(expected.getRowVersion(), actual.getRowVersion());
+    }
+}
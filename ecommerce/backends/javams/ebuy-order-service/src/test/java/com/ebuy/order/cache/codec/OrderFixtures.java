@@ -0,0 +1,64 @@
+package com.ebuy.order.cache.codec;
+
+import com.ebuy.order.SampleOrder;
+import com.ebuy.order.dto.OrderDto;
+import com.ebuy.order.dto.OrderItemDto;
+import com.ebuy.order.dto.OrderStatusDto;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ebuy.order.SampleOrder.PLACED_AT;
+
+/**
+ * {@link SampleOrder} as the order service caches it, with any number of lines.
+ * {@link #json()} is the Jackson serializer the benchmark compares against.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static OrderDto order(int itemCount) {
+        OrderDto order = new OrderDto();
+        order.setOrderId(SampleOrder.ORDER_ID);
+        order.setUserId(SampleOrder.USER_ID);
+        order.setStatus(status());
+        order.setOrderDate(PLACED_AT);
+        order.setTotalAmount(new BigDecimal("149.97"));
+        order.setCreatedAt(PLACED_AT);
+        order.setModifiedAt(PLACED_AT.plusMinutes(5));
+        order.setCorrelationId(SampleOrder.CORRELATION_ID);
+        order.setServiceOrigin(SampleOrder.SERVICE_ORIGIN);
+        order.setRowVersion(3L);
+        order.setOrderItems(items(itemCount));
+        return order;
+    }
+
+    static List<OrderItemDto> items(int count) {
+        List<OrderItemDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(SampleOrder.item(i));
+        }
+        return items;
+    }
+
+    static OrderStatusDto status() {
+        OrderStatusDto status = new OrderStatusDto("CONFIRMED");
+        status.setStatusId(2L);
+        status.setCreatedAt(PLACED_AT.minusYears(1));
+        status.setModifiedAt(PLACED_AT.minusYears(1));
+        status.setRowVersion(1L);
+        return status;
+    }
+
+    static RedisSerializer<Object> json() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        json.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        return json;
+    }
+}
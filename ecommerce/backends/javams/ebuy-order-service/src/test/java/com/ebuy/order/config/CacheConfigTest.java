@@ -0,0 +1,142 @@
+package com.ebuy.order.config;
+
+import com.ebuy.order.cache.EarlyRefreshPolicy;
+import com.ebuy.order.cache.SingleFlight;
+import com.ebuy.order.cache.codec.OrderDtoBinaryCodec;
+import com.ebuy.order.dto.OrderDto;
+import com.ebuy.order.entity.Order;
+import com.ebuy.order.mapper.OrderMapper;
+import com.ebuy.order.repository.OrderRepository;
+import com.ebuy.order.repository.OrderStatusRepository;
+import com.ebuy.order.service.OrderService;
+import com.ebuy.order.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Calls {@link OrderService} through the proxy that {@link CacheConfig} enables, backed by an
+ * in-memory cache manager instead of Redis.
+ */
+@SpringJUnitConfig
+@TestPropertySource(properties = "ebuy.cache.redis.enabled=false")
+class CacheConfigTest {
+
+    private static final int CALLERS = 8;
+
+    @Configuration
+    @Import({CacheConfig.class, OrderServiceImpl.class, OrderDtoBinaryCodec.class, SingleFlight.class,
+            EarlyRefreshPolicy.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+            cacheManager.setAllowNullValues(false);
+            return cacheManager;
+        }
+
+        @Bean
+        CacheProperties cacheProperties() {
+            return new CacheProperties();
+        }
+    }
+
+    @MockitoBean
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @MockitoBean
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private OrderStatusRepository orderStatusRepository;
+
+    @MockitoBean
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        when(orderRepository.findById(anyLong())).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            Order order = new Order();
+            order.setOrderId(invocation.getArgument(0));
+            return Optional.of(order);
+        });
+        when(orderMapper.toDto(any(Order.class))).thenAnswer(invocation -> {
+            OrderDto dto = new OrderDto();
+            dto.setOrderId(invocation.<Order>getArgument(0).getOrderId());
+            return dto;
+        });
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<OrderDto>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> orderService.getOrderById(42L)));
+            }
+            // Let the other callers queue behind the first load before it completes
+            while (loads.get() == 0) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<OrderDto> result : results) {
+                assertEquals(42L, result.get(5, TimeUnit.SECONDS).getOrderId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(42L, orderService.getOrderById(42L).getOrderId());
+        assertEquals(1, loads.get());
+    }
+}
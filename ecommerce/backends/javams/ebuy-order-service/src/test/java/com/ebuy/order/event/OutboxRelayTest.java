@@ -0,0 +1,301 @@
+package com.ebuy.order.event;
+
+import com.ebuy.order.entity.OutboxEvent;
+import com.ebuy.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private FakeOutbox outbox;
+    private FakeKafka kafka;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new FakeOutbox();
+        kafka = new FakeKafka();
+        meterRegistry = new SimpleMeterRegistry();
+        OutboxEventRepository repository = (OutboxEventRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {OutboxEventRepository.class},
+                (proxy, method, args) -> outbox.invoke(method.getName(), args));
+        relay = new OutboxRelay(repository, kafka, new NoOpTransactionManager(),
+                new EventCoalescer(Duration.ZERO, meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerPoll", 5);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void eventsOfOneKeyAreSentInOutboxOrder() {
+        outbox.add("order-1", "a1");
+        outbox.add("order-2", "b1");
+        outbox.add("order-1", "a2");
+        outbox.add("order-1", "a3");
+        outbox.add("order-2", "b2");
+
+        relay.relay();
+
+        assertEquals(List.of("a1", "b1", "a2", "b2", "a3"), kafka.sent);
+        // One wave per position in the longest key
+        assertEquals(3, kafka.flushes);
+        assertEquals(5, outbox.sentCount());
+    }
+
+    @Test
+    void failedEventHoldsBackLaterEventsOfItsKeyOnly() {
+        outbox.add("order-1", "a1");
+        outbox.add("order-1", "a2");
+        outbox.add("order-2", "b1");
+        outbox.add("order-2", "b2");
+        kafka.failures.add("a1");
+
+        relay.relay();
+
+        assertEquals(List.of("b1", "b2"), kafka.sent);
+        assertEquals(List.of("a1"), kafka.failed);
+        assertEquals(1, outbox.row("a1").getAttempts());
+        assertNull(outbox.row("a1").getSentAt());
+        assertEquals(0, outbox.row("a2").getAttempts());
+        assertNull(outbox.row("a2").getSentAt());
+        assertEquals(1.0, counter("failed"));
+    }
+
+    @Test
+    void heldBackEventsFollowTheirRetryOnTheNextPoll() {
+        outbox.add("order-1", "a1");
+        outbox.add("order-1", "a2");
+        kafka.failures.add("a1");
+        relay.relay();
+
+        kafka.failures.clear();
+        relay.relay();
+
+        assertEquals(List.of("a1", "a2"), kafka.sent);
+        assertNotNull(outbox.row("a1").getSentAt());
+        assertNotNull(outbox.row("a2").getSentAt());
+        assertEquals(2, outbox.row("a1").getAttempts());
+    }
+
+    @Test
+    void eventIsDeadLetteredAtMaxAttemptsAndStopsBlockingItsKey() {
+        outbox.add("order-1", "a1");
+        outbox.add("order-1", "a2");
+        kafka.failures.add("a1");
+
+        for (int poll = 0; poll < MAX_ATTEMPTS; poll++) {
+            relay.relay();
+        }
+        assertNotNull(outbox.row("a1").getDeadLetteredAt());
+        assertEquals(MAX_ATTEMPTS, outbox.row("a1").getAttempts());
+        assertEquals(1.0, counter("dead_lettered"));
+        assertEquals(List.of(), kafka.sent);
+
+        relay.relay();
+
+        assertEquals(List.of("a2"), kafka.sent);
+        assertNull(outbox.row("a1").getSentAt());
+        assertEquals(MAX_ATTEMPTS, kafka.failed.size());
+    }
+
+    @Test
+    void nextPageStartsAfterTheLastHeadNotTheLastFollower() {
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        outbox.add("order-1", "a1");
+        outbox.add("order-2", "b1");
+        outbox.add("order-3", "c1");
+        outbox.add("order-1", "a2");
+
+        relay.relay();
+
+        assertEquals(List.of("a1", "b1", "a2", "c1"), kafka.sent);
+        assertEquals(4, outbox.sentCount());
+    }
+
+    @Test
+    void eventsWithoutKeyAreIndependent() {
+        outbox.add(null, "n1");
+        outbox.add(null, "n2");
+        kafka.failures.add("n1");
+
+        relay.relay();
+
+        assertEquals(List.of("n2"), kafka.sent);
+        assertEquals(1, kafka.flushes);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("ebuy.outbox.events").tag("result", result).counter().count();
+    }
+
+    /**
+     * In-memory {@code event_outbox} answering the relay's queries the way the SQL does.
+     */
+    private static final class FakeOutbox {
+
+        private final List<OutboxEvent> rows = new ArrayList<>();
+
+        void add(String partitionKey, String payload) {
+            OutboxEvent event = new OutboxEvent("OrderItem", (long) rows.size(), "UPDATED", "order-item-events",
+                    partitionKey, payload.getBytes(StandardCharsets.UTF_8));
+            event.setOutboxId(rows.size() + 1L);
+            rows.add(event);
+        }
+
+        OutboxEvent row(String payload) {
+            return rows.stream()
+                    .filter(event -> payload.equals(new String(event.getPayload(), StandardCharsets.UTF_8)))
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        long sentCount() {
+            return rows.stream().filter(event -> event.getSentAt() != null).count();
+        }
+
+        @SuppressWarnings("unchecked")
+        Object invoke(String method, Object[] args) {
+            return switch (method) {
+                case "lockWaitingByKeyAfter" -> lockWaitingByKeyAfter((long) args[0], (int) args[2]);
+                case "markSent" -> update((Collection<Long>) args[0], event -> {
+                    event.setSentAt((OffsetDateTime) args[1]);
+                    event.setAttempts(event.getAttempts() + 1);
+                });
+                case "markFailed" -> update((Collection<Long>) args[0], event -> {
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setLastError((String) args[1]);
+                });
+                case "markDeadLettered" -> update((Collection<Long>) args[0],
+                        event -> event.setDeadLetteredAt((OffsetDateTime) args[1]));
+                default -> throw new UnsupportedOperationException(method);
+            };
+        }
+
+        private List<OutboxEvent> lockWaitingByKeyAfter(long afterId, int limit) {
+            Set<String> headKeys = new HashSet<>();
+            Set<Long> heads = new HashSet<>();
+            for (OutboxEvent event : rows) {
+                if (waiting(event) && event.getOutboxId() > afterId && heads.size() < limit && isHead(event)) {
+                    heads.add(event.getOutboxId());
+                    if (event.getPartitionKey() != null) {
+                        headKeys.add(event.getPartitionKey());
+                    }
+                }
+            }
+            List<OutboxEvent> claimed = new ArrayList<>();
+            for (OutboxEvent event : rows) {
+                if (heads.contains(event.getOutboxId())
+                        || (waiting(event) && event.getPartitionKey() != null && headKeys.contains(event.getPartitionKey()))) {
+                    claimed.add(copy(event));
+                }
+            }
+            return claimed;
+        }
+
+        private boolean isHead(OutboxEvent event) {
+            return rows.stream().noneMatch(older -> waiting(older) && older.getOutboxId() < event.getOutboxId()
+                    && older.getPartitionKey() != null && older.getPartitionKey().equals(event.getPartitionKey()));
+        }
+
+        private static boolean waiting(OutboxEvent event) {
+            return event.getSentAt() == null && event.getDeadLetteredAt() == null;
+        }
+
+        private int update(Collection<Long> ids, Consumer<OutboxEvent> change) {
+            int updated = 0;
+            for (OutboxEvent event : rows) {
+                if (ids.contains(event.getOutboxId())) {
+                    change.accept(event);
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        // The relay gets detached copies, as it would from a JPA query followed by bulk updates
+        private static OutboxEvent copy(OutboxEvent event) {
+            OutboxEvent copy = new OutboxEvent(event.getAggregateType(), event.getAggregateId(), event.getEventType(),
+                    event.getTopic(), event.getPartitionKey(), event.getPayload());
+            copy.setOutboxId(event.getOutboxId());
+            copy.setAttempts(event.getAttempts());
+            return copy;
+        }
+    }
+
+    private static final class FakeKafka extends KafkaTemplate<String, byte[]> {
+
+        private final List<String> sent = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+        private final Set<String> failures = new HashSet<>();
+        private int flushes;
+
+        FakeKafka() {
+            super(() -> {
+                throw new UnsupportedOperationException();
+            });
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, byte[]>> send(String topic, String key, byte[] data) {
+            String payload = new String(data, StandardCharsets.UTF_8);
+            if (failures.contains(payload)) {
+                failed.add(payload);
+                return CompletableFuture.failedFuture(new TimeoutException("Broker unavailable"));
+            }
+            sent.add(payload);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
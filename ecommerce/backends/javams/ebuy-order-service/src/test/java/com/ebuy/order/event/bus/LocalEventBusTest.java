@@ -0,0 +1,73 @@
+package com.ebuy.order.event.bus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalEventBusTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"busy-spin", "yielding", "sleeping", "blocking"})
+    void everySubscriberSeesEveryEventInOrder(String waitStrategy) throws InterruptedException {
+        int events = 50_000;
+        List<RecordingSubscriber> subscribers = List.of(new RecordingSubscriber(), new RecordingSubscriber(),
+                new RecordingSubscriber());
+        // A ring much smaller than the run, so producers wrap it and wait for the consumers
+        LocalEventBus bus = new LocalEventBus(List.copyOf(subscribers), 1024, waitStrategy, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+        bus.start();
+        try {
+            for (int i = 0; i < events; i++) {
+                assertTrue(bus.publish(i));
+            }
+            for (RecordingSubscriber subscriber : subscribers) {
+                assertTrue(subscriber.awaitCount(events, Duration.ofSeconds(10)), waitStrategy);
+            }
+        } finally {
+            bus.stop();
+        }
+
+        for (RecordingSubscriber subscriber : subscribers) {
+            assertEquals(events, subscriber.received.size());
+            for (int i = 0; i < events; i++) {
+                assertEquals(i, subscriber.received.get(i));
+            }
+            assertTrue(subscriber.batchEnds > 0);
+        }
+    }
+
+    private static final class RecordingSubscriber implements LocalEventSubscriber {
+
+        // Written only by this subscriber's consumer thread, read after the count is reached
+        private final List<Object> received = new ArrayList<>();
+        private int batchEnds;
+        private volatile int count;
+
+        @Override
+        public void onEvent(Object event, long sequence, boolean endOfBatch) {
+            received.add(event);
+            if (endOfBatch) {
+                batchEnds++;
+            }
+            count++;
+        }
+
+        boolean awaitCount(int expected, Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (count < expected) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.cache.codec.BinaryInput;
+import com.ebuy.order.cache.codec.BinaryOutput;
+import com.ebuy.order.event.OrderItemEventPublisher.BulkOperationEvent;
+import com.ebuy.order.event.model.OrderItemEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventEncoderTest {
+
+    private static final List<String> EVENT_TYPES =
+            List.of("OrderItemEvent", "InventoryEvent", "PricingEvent", "BulkOperationEvent");
+
+    private final ObjectMapper json = EventFixtures.json();
+    private final EventEncoder encoder = EventFixtures.encoder();
+
+    @TempDir
+    Path schemaDir;
+
+    @Test
+    void everyEventTypeRoundTrips() throws IOException {
+        for (String type : EVENT_TYPES) {
+            Object event = EventFixtures.event(type);
+
+            Object decoded = encoder.decode(encoder.encode(event));
+
+            assertEquals(event.getClass(), decoded.getClass());
+            assertEquals(json.valueToTree(event), json.valueToTree(decoded), type);
+        }
+    }
+
+    @Test
+    void binaryEncodingIsSmallerThanJson() throws IOException {
+        for (String type : EVENT_TYPES) {
+            Object event = EventFixtures.event(type);
+
+            assertTrue(encoder.encode(event).length < json.writeValueAsBytes(event).length, type);
+        }
+    }
+
+    @Test
+    void absentFieldsStayNull() {
+        OrderItemEvent event = new OrderItemEvent();
+        event.setEventType("ORDER_ITEM_DELETED");
+        BulkOperationEvent bulk = new BulkOperationEvent();
+        bulk.setOrderItemIds(List.of());
+
+        OrderItemEvent decoded = encoder.decode(encoder.encode(event), OrderItemEvent.class);
+        BulkOperationEvent decodedBulk = encoder.decode(encoder.encode(bulk), BulkOperationEvent.class);
+
+        assertEquals("ORDER_ITEM_DELETED", decoded.getEventType());
+        assertNull(decoded.getOrderItem());
+        assertNull(decoded.getMetadata());
+        assertEquals(List.of(), decodedBulk.getOrderItemIds());
+        assertNull(decodedBulk.getSuccess());
+    }
+
+    @Test
+    void payloadCarriesTheRegisteredSchemaId() {
+        for (String type : EVENT_TYPES) {
+            byte[] bytes = encoder.encode(EventFixtures.event(type));
+            BinaryInput in = new BinaryInput(bytes, 1);
+
+            assertEquals(EventEncoder.MAGIC, bytes[0]);
+            assertEquals(EventFixtures.registry().get(type, 1).id(), (int) in.readVarLong());
+        }
+    }
+
+    @Test
+    void payloadFromAnOlderProducerIsDecodedWithItsOwnVersion() throws IOException {
+        byte[] v1 = encoder.encode(EventFixtures.orderItemEvent());
+        copySchemas();
+        write("order-item-event.v2.json", 14, "OrderItemEvent", 2, OrderItemEventV2.FIELDS);
+        List<EventCodec<?>> codecs = new ArrayList<>(EventFixtures.codecs());
+        codecs.set(0, new OrderItemEventV2());
+        EventEncoder newer = EventFixtures.encoder("file:" + schemaDir + "/*.json", codecs);
+
+        OrderItemEvent decoded = newer.decode(v1, OrderItemEvent.class);
+        byte[] v2 = newer.encode(decoded);
+
+        assertEquals(json.valueToTree(EventFixtures.orderItemEvent()), json.valueToTree(decoded));
+        assertEquals(14, (int) new BinaryInput(v2, 1).readVarLong());
+        assertEquals(json.valueToTree(decoded), json.valueToTree(newer.decode(v2)));
+        // A reader that only knows v1 must refuse v2 rather than misread it
+        assertThrows(IllegalArgumentException.class, () -> encoder.decode(v2));
+    }
+
+    @Test
+    void codecThatDriftsFromItsSchemaFailsAtStartup() throws IOException {
+        copySchemas();
+        write("order-item-event.v1.json", 10, "OrderItemEvent", 1, List.of("eventId:string"));
+
+        assertThrows(IllegalStateException.class,
+                () -> EventFixtures.encoder("file:" + schemaDir + "/*.json", EventFixtures.codecs()));
+    }
+
+    @Test
+    void payloadHoldingANewerNestedVersionIsRefused() throws IOException {
+        copySchemas();
+        write("order-item.v2.json", 3, "OrderItem", 2, appended(EventFields.ORDER_ITEM_FIELDS, "channel:string"));
+        write("order-item-event.v2.json", 14, "OrderItemEvent", 2,
+                replaced(new OrderItemEventCodec().fields(), "orderItem:OrderItem.v1", "orderItem:OrderItem.v2"));
+        EventEncoder reader = EventFixtures.encoder("file:" + schemaDir + "/*.json", EventFixtures.codecs());
+        BinaryOutput out = new BinaryOutput(256);
+        out.writeByte(EventEncoder.MAGIC);
+        out.writeVarLong(14);
+        new OrderItemEventCodec().encode(EventFixtures.orderItemEvent(), out);
+
+        assertThrows(IllegalArgumentException.class, () -> reader.decode(out.toByteArray()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderItemEventCodec().decode(new BinaryInput(new byte[] {0}, 0), 2));
+    }
+
+    @Test
+    void codecPinningANestedVersionItDoesNotWriteFailsAtStartup() throws IOException {
+        copySchemas();
+        write("order-item.v2.json", 3, "OrderItem", 2, appended(EventFields.ORDER_ITEM_FIELDS, "channel:string"));
+        List<String> pinned = replaced(new OrderItemEventCodec().fields(), "orderItem:OrderItem.v1", "orderItem:OrderItem.v2");
+        write("order-item-event.v1.json", 10, "OrderItemEvent", 1, pinned);
+        List<EventCodec<?>> codecs = new ArrayList<>(EventFixtures.codecs());
+        codecs.set(0, new OrderItemEventCodec() {
+            @Override
+            public List<String> fields() {
+                return pinned;
+            }
+        });
+
+        assertThrows(IllegalStateException.class,
+                () -> EventFixtures.encoder("file:" + schemaDir + "/*.json", codecs));
+    }
+
+    @Test
+    void reusedSchemaIdIsRejected() throws IOException {
+        copySchemas();
+        write("order-item-event.v2.json", 10, "OrderItemEvent", 2, OrderItemEventV2.FIELDS);
+
+        assertThrows(IllegalStateException.class,
+                () -> EventFixtures.encoder("file:" + schemaDir + "/*.json", EventFixtures.codecs()));
+    }
+
+    @Test
+    void unknownSchemaIdAndForeignPayloadsAreRejected() {
+        BinaryOutput unknown = new BinaryOutput(8);
+        unknown.writeByte(EventEncoder.MAGIC);
+        unknown.writeVarLong(999);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.decode(unknown.toByteArray()));
+        assertThrows(IllegalArgumentException.class, () -> encoder.decode("{\"eventId\":\"1\"}".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> encoder.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("not an event"));
+    }
+
+    private void copySchemas() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(EventFixtures.SCHEMAS)) {
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, schemaDir.resolve(resource.getFilename()));
+            }
+        }
+    }
+
+    private void write(String file, int id, String subject, int version, List<String> fields) throws IOException {
+        Files.writeString(schemaDir.resolve(file), json.writeValueAsString(
+                new EventSchemaRegistry.Schema(subject, version, id, fields)));
+    }
+
+    private static List<String> appended(List<String> fields, String field) {
+        List<String> result = new ArrayList<>(fields);
+        result.add(field);
+        return List.copyOf(result);
+    }
+
+    private static List<String> replaced(List<String> fields, String field, String replacement) {
+        List<String> result = new ArrayList<>(fields);
+        result.set(result.indexOf(field), replacement);
+        return List.copyOf(result);
+    }
+
+    /**
+     * The next version of the order item event as a later release would ship it: one field
+     * appended, older payloads still readable.
+     */
+    private static final class OrderItemEventV2 extends OrderItemEventCodec {
+
+        static final List<String> FIELDS = appended(new OrderItemEventCodec().fields(), "channel:string");
+
+        @Override
+        public int version() {
+            return 2;
+        }
+
+        @Override
+        public List<String> fields() {
+            return FIELDS;
+        }
+
+        @Override
+        public void encode(OrderItemEvent event, BinaryOutput out) {
+            super.encode(event, out);
+            out.writeString("web");
+        }
+
+        @Override
+        public OrderItemEvent decode(BinaryInput in, int version) {
+            OrderItemEvent event = super.decode(in, version);
+            if (version >= 2) {
+                in.readString();
+            }
+            return event;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ebuy.order.event.codec;
+
+import com.ebuy.order.SampleOrder;
+import com.ebuy.order.dto.OrderItemDto;
+import com.ebuy.order.event.OrderItemEventPublisher.BulkOperationEvent;
+import com.ebuy.order.event.OrderItemEventPublisher.InventoryEvent;
+import com.ebuy.order.event.OrderItemEventPublisher.PricingEvent;
+import com.ebuy.order.event.model.EventMetadata;
+import com.ebuy.order.event.model.OrderItemEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * One event of each type about line 1 of {@link SampleOrder}, and encoders built over the
+ * shipped schemas or a test copy of them. {@link #json()} is the mapper events were
+ * published with before the binary encoding.
+ */
+final class EventFixtures {
+
+    static final String SCHEMAS = "classpath*:event-schemas/*.json";
+
+    private static final OffsetDateTime AT = SampleOrder.PLACED_AT.plusMinutes(5);
+    private static final OrderItemDto ITEM = SampleOrder.item(1);
+
+    private EventFixtures() {
+    }
+
+    static EventEncoder encoder() {
+        return encoder(SCHEMAS, codecs());
+    }
+
+    static EventEncoder encoder(String location, List<EventCodec<?>> codecs) {
+        return new EventEncoder(codecs, registry(location));
+    }
+
+    static EventSchemaRegistry registry() {
+        return registry(SCHEMAS);
+    }
+
+    static EventSchemaRegistry registry(String location) {
+        try {
+            return new EventSchemaRegistry(json(), location);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<EventCodec<?>> codecs() {
+        return List.of(new OrderItemEventCodec(), new InventoryEventCodec(), new PricingEventCodec(),
+                new BulkOperationEventCodec());
+    }
+
+    static Object event(String type) {
+        return switch (type) {
+            case "OrderItemEvent" -> orderItemEvent();
+            case "InventoryEvent" -> inventoryEvent();
+            case "PricingEvent" -> pricingEvent();
+            case "BulkOperationEvent" -> bulkOperationEvent();
+            default -> throw new IllegalArgumentException(type);
+        };
+    }
+
+    static OrderItemEvent orderItemEvent() {
+        OrderItemDto item = SampleOrder.item(1);
+        item.setModifiedAt(AT);
+        item.setRowVersion(2L);
+        OrderItemEvent event = new OrderItemEvent("ORDER_ITEM_UPDATED", item, SampleOrder.USER_ID);
+        event.setEventId("8d1f6a2e-4c3b-4f7e-9a1d-2b3c4d5e6f70");
+        event.setQuantityDelta(1);
+        event.setTimestamp(AT);
+        event.setMetadata(metadata());
+        return event;
+    }
+
+    static InventoryEvent inventoryEvent() {
+        InventoryEvent event = new InventoryEvent();
+        event.setEventId("0c9b8a7d-6e5f-4a3b-8c2d-1e0f9a8b7c6d");
+        event.setEventType("INVENTORY_RESERVED");
+        event.setProductId(ITEM.getProductId());
+        event.setOrderId(ITEM.getOrderId());
+        event.setOrderItemId(ITEM.getOrderItemId());
+        event.setQuantityDelta(-2);
+        event.setUserId(SampleOrder.USER_ID);
+        event.setTimestamp(AT);
+        event.setMetadata(metadata());
+        return event;
+    }
+
+    static PricingEvent pricingEvent() {
+        PricingEvent event = new PricingEvent();
+        event.setEventId("5a4b3c2d-1e0f-4a9b-8c7d-6e5f4a3b2c1d");
+        event.setEventType("PRICE_CHANGED");
+        event.setOrderItemId(ITEM.getOrderItemId());
+        event.setProductId(ITEM.getProductId());
+        event.setOldPrice(ITEM.getPrice());
+        event.setNewPrice(new BigDecimal("54.99"));
+        event.setOldFinalPrice(ITEM.getFinalPrice());
+        event.setNewFinalPrice(new BigDecimal("49.99"));
+        event.setUserId(SampleOrder.USER_ID);
+        event.setTimestamp(AT);
+        event.setMetadata(metadata());
+        return event;
+    }
+
+    static BulkOperationEvent bulkOperationEvent() {
+        BulkOperationEvent event = new BulkOperationEvent();
+        event.setEventId("9f8e7d6c-5b4a-4392-8170-6f5e4d3c2b1a");
+        event.setEventType("BULK_DELETE");
+        event.setItemCount(3);
+        event.setOrderItemIds(List.of(5_001L, 5_002L, 5_003L));
+        event.setSuccess(false);
+        event.setErrorMessage("Order item 5003 not found");
+        event.setUserId(SampleOrder.USER_ID);
+        event.setTimestamp(AT);
+        event.setMetadata(metadata());
+        return event;
+    }
+
+    static EventMetadata metadata() {
+        EventMetadata metadata = new EventMetadata();
+        metadata.setSource(SampleOrder.SERVICE_ORIGIN);
+        metadata.setVersion("1.0");
+        metadata.setCorrelationId(SampleOrder.CORRELATION_ID.toString());
+        metadata.setOrigin("api");
+        return metadata;
+    }
+
+    static ObjectMapper json() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
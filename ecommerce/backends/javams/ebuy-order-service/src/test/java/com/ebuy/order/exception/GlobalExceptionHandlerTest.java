@@ -0,0 +1,52 @@
+package com.ebuy.order.exception;
+
+import com.ebuy.order.audit.AuditQueryService;
+import com.ebuy.order.controller.AuditController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // The cursor is decoded before the repository is touched, so none is needed
+        AuditQueryService auditQueryService = new AuditQueryService(null, new ObjectMapper(), null, 50, 500, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuditController(auditQueryService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void invalidAuditCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/audit-logs/order-items/42")
+                        .param("cursor", "not-a-cursor")
+                        .header("X-Correlation-ID", "c-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.code").value("INVALID_AUDIT_CURSOR"))
+                .andExpect(jsonPath("$.message").value("Invalid audit cursor: not-a-cursor"))
+                .andExpect(jsonPath("$.path").value("/api/v1/audit-logs/order-items/42"))
+                .andExpect(jsonPath("$.correlationId").value("c-1"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    void invalidAuditCursorOnUserHistoryIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/audit-logs/users/7").param("cursor", "MTIzOmFiYw"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_AUDIT_CURSOR"));
+    }
+}
@@ -0,0 +1,189 @@
+package com.ebuy.order.repository;
+
+import com.ebuy.order.entity.OutboxEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the outbox relay's claim query against a real Postgres built from
+ * {@code databases/order_db/create_schema.sql}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEventRepositoryIntegrationTest {
+
+    private static final Path SCHEMA = Path.of("../../../databases/order_db/create_schema.sql");
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath(SCHEMA), "/docker-entrypoint-initdb.d/01-order-schema.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void laterEventsOfAKeyAreClaimedWithTheirHead() {
+        long a1 = insert("order-1", "a1");
+        long b1 = insert("order-2", "b1");
+        long a2 = insert("order-1", "a2");
+
+        assertEquals(List.of(a1, a2), ids(claim(1)));
+        assertEquals(List.of(a1, b1, a2), ids(claim(10)));
+    }
+
+    @Test
+    void keyWhoseHeadAnotherRelayHoldsIsSkipped() throws Exception {
+        long a1 = insert("order-1", "a1");
+        long a2 = insert("order-1", "a2");
+        long b1 = insert("order-2", "b1");
+        CountDownLatch claimedByFirst = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Long>> first = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                List<Long> ids = ids(repository.lockWaitingByKeyAfter(0, readyBefore(), 1));
+                claimedByFirst.countDown();
+                await(release);
+                return ids;
+            }));
+            assertTrue(claimedByFirst.await(10, TimeUnit.SECONDS));
+
+            // a1 is locked and a2 still has an older unsent row, so only order-2 is free
+            assertEquals(List.of(b1), ids(claim(10)));
+
+            release.countDown();
+            assertEquals(List.of(a1, a2), first.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void writersOfAKeyWaitForEachOtherToCommit() throws Exception {
+        CountDownLatch lockedByFirst = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> tx.executeWithoutResult(status -> {
+                repository.lockPartitionKey("order-1");
+                lockedByFirst.countDown();
+                await(release);
+            }));
+            assertTrue(lockedByFirst.await(10, TimeUnit.SECONDS));
+
+            // Another key is free, the same key waits until the first writer's transaction ends
+            tx.executeWithoutResult(status -> repository.lockPartitionKey("order-2"));
+            Future<?> second = executor.submit(() -> tx.executeWithoutResult(status ->
+                    repository.lockPartitionKey("order-1")));
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+
+            release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedHeadKeepsBlockingItsKeyUntilDeadLettered() {
+        long a1 = insert("order-1", "a1");
+        long a2 = insert("order-1", "a2");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> repository.markFailed(List.of(a1), "Broker unavailable"));
+        assertEquals(List.of(a1, a2), ids(claim(10)));
+
+        tx.executeWithoutResult(status -> repository.markDeadLettered(List.of(a1), OffsetDateTime.now()));
+        assertEquals(List.of(a2), ids(claim(10)));
+    }
+
+    @Test
+    void sentEventsNoLongerBlockTheirKey() {
+        long a1 = insert("order-1", "a1");
+        long a2 = insert("order-1", "a2");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.markSent(List.of(a1), OffsetDateTime.now()));
+
+        assertEquals(List.of(a2), ids(claim(10)));
+    }
+
+    private long insert(String partitionKey, String payload) {
+        return repository.saveAndFlush(new OutboxEvent("OrderItem", 1L, "UPDATED", "order-item-events",
+                partitionKey, payload.getBytes(StandardCharsets.UTF_8))).getOutboxId();
+    }
+
+    private List<OutboxEvent> claim(int limit) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                repository.lockWaitingByKeyAfter(0, readyBefore(), limit));
+    }
+
+    private static OffsetDateTime readyBefore() {
+        return OffsetDateTime.now().plusMinutes(1);
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getOutboxId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
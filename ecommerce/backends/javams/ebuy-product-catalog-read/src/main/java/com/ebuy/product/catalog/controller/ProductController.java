@@ -19,6 +19,14 @@ public class ProductController {
 
     private final ProductService productService;
 
+    @GetMapping("/bulk")
+    public List<ProductResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return productService.getProductsByIds(ids);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
         return ResponseEntity.of(Optional.ofNullable(productService.getProductById(id)));
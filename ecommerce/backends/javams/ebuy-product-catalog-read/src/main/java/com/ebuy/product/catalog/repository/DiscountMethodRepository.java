@@ -0,0 +1,9 @@
+package com.ebuy.product.catalog.repository;
+
+import com.ebuy.product.catalog.entity.DiscountMethod;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DiscountMethodRepository extends MongoRepository<DiscountMethod, Long> {
+}
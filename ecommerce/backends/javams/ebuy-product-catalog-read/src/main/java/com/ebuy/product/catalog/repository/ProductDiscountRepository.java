@@ -5,9 +5,12 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductDiscountRepository extends MongoRepository<ProductDiscount, String> {
     List<ProductDiscount> findByProductIdAndActiveTrueAndIsDeletedFalse(Long productId);
+
+    List<ProductDiscount> findByProductIdInAndActiveTrueAndIsDeletedFalse(Collection<Long> productIds);
 }
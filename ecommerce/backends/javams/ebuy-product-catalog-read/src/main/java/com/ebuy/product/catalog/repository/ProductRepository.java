@@ -3,6 +3,7 @@ package com.ebuy.product.catalog.repository;
 import com.ebuy.product.catalog.entity.Product;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +14,6 @@ public interface ProductRepository extends MongoRepository<Product, String> {
     List<Product> findByNameContainingIgnoreCaseAndIsDeletedFalse(String name);
 
     List<Product> findByCategoryIdAndIsDeletedFalse(Long categoryId);
+
+    List<Product> findByProductIdInAndIsDeletedFalse(Collection<Long> productIds);
 }
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.ebuy.product.catalog.service;
 
 import com.ebuy.product.catalog.dto.ProductResponse;
 import com.ebuy.product.catalog.entity.Category;
+import com.ebuy.product.catalog.entity.DiscountMethod;
 import com.ebuy.product.catalog.entity.Product;
 import com.ebuy.product.catalog.entity.ProductDiscount;
 import com.ebuy.product.catalog.repository.CategoryRepository;
+import com.ebuy.product.catalog.repository.DiscountMethodRepository;
 import com.ebuy.product.catalog.repository.ProductDiscountRepository;
 import com.ebuy.product.catalog.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,9 +15,13 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,7 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductDiscountRepository discountRepository;
+    private final DiscountMethodRepository discountMethodRepository;
 
     public List<Product> searchProductsByName(String name) {
         return productRepository.findByNameContainingIgnoreCaseAndIsDeletedFalse(name);
@@ -43,5 +50,64 @@ public class ProductService {
         return discountRepository.findByProductIdAndActiveTrueAndIsDeletedFalse(productId);
     }
 
+    /**
+     * Bulk lookup for callers that need several products at once (e.g. cart pricing). Runs a
+     * fixed number of queries regardless of how many ids are requested.
+     */
+    public List<ProductResponse> getProductsByIds(Collection<Long> productIds) {
+        List<Product> products = productRepository.findByProductIdInAndIsDeletedFalse(productIds);
+        Map<Long, List<ProductDiscount>> discountsByProduct = discountRepository
+                .findByProductIdInAndActiveTrueAndIsDeletedFalse(productIds).stream()
+                .collect(Collectors.groupingBy(ProductDiscount::getProductId));
+        Map<Long, DiscountMethod> methods = discountMethodRepository.findAllById(
+                        discountsByProduct.values().stream()
+                                .flatMap(List::stream)
+                                .map(ProductDiscount::getDiscountMethodId)
+                                .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(DiscountMethod::getDiscountMethodId, Function.identity()));
+
+        Instant now = Instant.now();
+        return products.stream()
+                .map(product -> ProductResponse.builder()
+                        .productId(product.getProductId())
+                        .name(product.getName())
+                        .description(product.getDescription())
+                        .price(product.getPrice())
+                        .discountedPrice(bestPrice(product.getPrice(),
+                                discountsByProduct.getOrDefault(product.getProductId(), List.of()), methods, now))
+                        .stock(product.getStock())
+                        .reorderLevel(product.getReorderLevel())
+                        .categoryId(product.getCategoryId())
+                        .imageUrl(product.getImageUrl())
+                        .sku(product.getSku())
+                        .createdAt(product.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     public void evictAllCaches() {}
+
+    private BigDecimal bestPrice(BigDecimal price, List<ProductDiscount> discounts,
+                                 Map<Long, DiscountMethod> methods, Instant now) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal best = price;
+        for (ProductDiscount discount : discounts) {
+            if ((discount.getStartDate() != null && now.isBefore(discount.getStartDate()))
+                    || (discount.getEndDate() != null && now.isAfter(discount.getEndDate()))
+                    || discount.getDiscountValue() == null) {
+                continue;
+            }
+            DiscountMethod method = methods.get(discount.getDiscountMethodId());
+            BigDecimal reduction = method != null && method.isPercentage()
+                    ? price.multiply(discount.getDiscountValue()).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+                    : discount.getDiscountValue();
+            if (method != null && method.getMaxDiscountValue() != null) {
+                reduction = reduction.min(method.getMaxDiscountValue());
+            }
+            best = best.min(price.subtract(reduction).max(BigDecimal.ZERO));
+        }
+        return best;
+    }
 }
@@ -41,6 +41,25 @@ END$$;
 CREATE INDEX IF NOT EXISTS ix_cart_items_user_id ON cart.cart_items (user_id);
 CREATE INDEX IF NOT EXISTS ix_cart_items_session_id ON cart.cart_items (session_id);
 CREATE INDEX IF NOT EXISTS ix_cart_items_is_deleted ON cart.cart_items (is_deleted);
+CREATE INDEX IF NOT EXISTS ix_cart_items_tombstoned ON cart.cart_items (cart_item_id) WHERE is_deleted = true;
+
+-- Rows removed by the background purger when app.cart.purge.mode=archive
+CREATE TABLE IF NOT EXISTS cart.cart_items_archive (
+  cart_item_id BIGINT PRIMARY KEY,
+  user_id BIGINT,
+  session_id VARCHAR(100),
+  product_id BIGINT NOT NULL,
+  quantity INT NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL,
+  modified_at TIMESTAMPTZ NOT NULL,
+  deleted_at TIMESTAMPTZ,
+  is_deleted BOOLEAN NOT NULL,
+  correlation_id UUID,
+  service_origin VARCHAR(50),
+  row_version BIGINT NOT NULL,
+  archive_reason VARCHAR(20) NOT NULL,
+  archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
 
 -- Safely drop & recreate trigger only if needed
 DO $$
@@ -65,6 +84,71 @@ BEGIN
 END$$;
 
 
+-- Active line count per cart owner ('U' = user_id, 'S' = session_id), maintained by trigger
+-- so the add-to-cart limit check reads one row instead of counting cart_items.
+CREATE TABLE IF NOT EXISTS cart.cart_summary (
+  owner_type CHAR(1) NOT NULL CHECK (owner_type IN ('U', 'S')),
+  owner_id VARCHAR(100) NOT NULL,
+  item_count INT NOT NULL DEFAULT 0 CHECK (item_count >= 0),
+  modified_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (owner_type, owner_id)
+);
+
+CREATE OR REPLACE FUNCTION adjust_cart_summary(p_user_id BIGINT, p_session_id VARCHAR, p_delta INT)
+RETURNS VOID AS $$
+BEGIN
+  IF p_user_id IS NOT NULL THEN
+    INSERT INTO cart.cart_summary (owner_type, owner_id, item_count)
+    VALUES ('U', p_user_id::text, GREATEST(p_delta, 0))
+    ON CONFLICT (owner_type, owner_id)
+    DO UPDATE SET item_count = GREATEST(cart.cart_summary.item_count + p_delta, 0), modified_at = NOW();
+  END IF;
+  IF p_session_id IS NOT NULL THEN
+    INSERT INTO cart.cart_summary (owner_type, owner_id, item_count)
+    VALUES ('S', p_session_id, GREATEST(p_delta, 0))
+    ON CONFLICT (owner_type, owner_id)
+    DO UPDATE SET item_count = GREATEST(cart.cart_summary.item_count + p_delta, 0), modified_at = NOW();
+  END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_cart_summary()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'UPDATE'
+     AND OLD.is_deleted = NEW.is_deleted
+     AND OLD.user_id IS NOT DISTINCT FROM NEW.user_id
+     AND OLD.session_id IS NOT DISTINCT FROM NEW.session_id THEN
+    RETURN NULL; -- quantity-only change
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') AND NOT OLD.is_deleted THEN
+    PERFORM adjust_cart_summary(OLD.user_id, OLD.session_id, -1);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NOT NEW.is_deleted THEN
+    PERFORM adjust_cart_summary(NEW.user_id, NEW.session_id, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_cart_items_summary') THEN
+    EXECUTE 'CREATE TRIGGER trg_cart_items_summary
+              AFTER INSERT OR UPDATE OR DELETE ON cart.cart_items
+              FOR EACH ROW EXECUTE FUNCTION maintain_cart_summary()';
+
+    -- Backfill counters for carts that existed before the trigger
+    INSERT INTO cart.cart_summary (owner_type, owner_id, item_count)
+    SELECT 'U', user_id::text, COUNT(*) FROM cart.cart_items
+    WHERE user_id IS NOT NULL AND is_deleted = false GROUP BY user_id
+    UNION ALL
+    SELECT 'S', session_id, COUNT(*) FROM cart.cart_items
+    WHERE session_id IS NOT NULL AND is_deleted = false GROUP BY session_id
+    ON CONFLICT (owner_type, owner_id) DO UPDATE SET item_count = EXCLUDED.item_count;
+  END IF;
+END$$;
+
 DO $$
 BEGIN
   IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname='svc_cart_writer') THEN CREATE ROLE svc_cart_writer NOLOGIN; END IF;
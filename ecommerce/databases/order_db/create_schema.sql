@@ -135,6 +135,84 @@ BEGIN
   END IF;
 END$$;
 
+-- Transactional outbox: events are inserted in the same transaction as the order item change
+-- and relayed to Kafka in batches by the service.
+CREATE TABLE IF NOT EXISTS order_schema.event_outbox (
+  outbox_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  aggregate_type VARCHAR(50) NOT NULL,
+  aggregate_id BIGINT,
+  event_type VARCHAR(100) NOT NULL,
+  topic VARCHAR(255) NOT NULL,
+  partition_key VARCHAR(100),
+  payload BYTEA NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  sent_at TIMESTAMPTZ,
+  attempts INT NOT NULL DEFAULT 0,
+  last_error VARCHAR(500),
+  -- Set once attempts reach ebuy.events.outbox.max-attempts; the row is no longer relayed
+  dead_lettered_at TIMESTAMPTZ
+);
+CREATE INDEX IF NOT EXISTS ix_event_outbox_unsent ON order_schema.event_outbox (outbox_id) WHERE sent_at IS NULL AND dead_lettered_at IS NULL;
+CREATE INDEX IF NOT EXISTS ix_event_outbox_sent_at ON order_schema.event_outbox (sent_at) WHERE sent_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS ix_event_outbox_pending_aggregate ON order_schema.event_outbox (aggregate_type, aggregate_id) WHERE sent_at IS NULL;
+-- Relay ordering check: is there an older waiting row with the same Kafka key?
+CREATE INDEX IF NOT EXISTS ix_event_outbox_pending_key ON order_schema.event_outbox (partition_key, outbox_id) WHERE sent_at IS NULL AND dead_lettered_at IS NULL;
+CREATE INDEX IF NOT EXISTS ix_event_outbox_dead_lettered ON order_schema.event_outbox (dead_lettered_at) WHERE dead_lettered_at IS NOT NULL;
+
+-- Audit log is range-partitioned by day on created_at; retention drops whole partitions
+CREATE SEQUENCE IF NOT EXISTS order_schema.audit_logs_audit_id_seq;
+CREATE TABLE IF NOT EXISTS order_schema.audit_logs (
+  audit_id BIGINT NOT NULL DEFAULT nextval('order_schema.audit_logs_audit_id_seq'),
+  action VARCHAR(50) NOT NULL,
+  level VARCHAR(20) NOT NULL,
+  entity_type VARCHAR(100) NOT NULL,
+  entity_id BIGINT,
+  user_id BIGINT,
+  description VARCHAR(500),
+  audit_data TEXT,
+  ip_address VARCHAR(45),
+  user_agent VARCHAR(500),
+  session_id VARCHAR(100),
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (audit_id, created_at)
+) PARTITION BY RANGE (created_at);
+ALTER SEQUENCE order_schema.audit_logs_audit_id_seq OWNED BY order_schema.audit_logs.audit_id;
+-- History indexes match the (created_at, audit_id) keyset order; level/action filters are checked in the index
+CREATE INDEX IF NOT EXISTS idx_audit_entity ON order_schema.audit_logs (entity_type, entity_id, created_at DESC, audit_id DESC) INCLUDE (level, action);
+CREATE INDEX IF NOT EXISTS idx_audit_user ON order_schema.audit_logs (user_id, created_at DESC, audit_id DESC) INCLUDE (level, action);
+CREATE INDEX IF NOT EXISTS idx_audit_timestamp ON order_schema.audit_logs (created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_action ON order_schema.audit_logs (action);
+CREATE INDEX IF NOT EXISTS idx_audit_level ON order_schema.audit_logs (level);
+
+-- Creates the daily partitions audit_logs_pYYYYMMDD from yesterday (UTC) up to days_ahead days out.
+-- Yesterday covers records queued or replayed across midnight. There is deliberately no DEFAULT
+-- partition: retention detaches with DETACH PARTITION ... CONCURRENTLY, which PostgreSQL refuses
+-- on a table that has one, so inserts are covered by creating days well ahead instead.
+-- Serialized with partition retention in AuditPartitionManager by the same advisory lock.
+CREATE OR REPLACE FUNCTION order_schema.ensure_audit_log_partitions(days_ahead INT)
+RETURNS INT AS $$
+DECLARE
+  day DATE;
+  created INT := 0;
+  partition_name TEXT;
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('order_schema.audit_logs'));
+  FOR i IN -1..days_ahead LOOP
+    day := (NOW() AT TIME ZONE 'UTC')::DATE + i;
+    partition_name := 'audit_logs_p' || to_char(day, 'YYYYMMDD');
+    IF to_regclass('order_schema.' || partition_name) IS NULL THEN
+      EXECUTE format(
+        'CREATE TABLE order_schema.%I PARTITION OF order_schema.audit_logs FOR VALUES FROM (%L) TO (%L)',
+        partition_name, day::TEXT || ' 00:00:00+00', (day + 1)::TEXT || ' 00:00:00+00');
+      created := created + 1;
+    END IF;
+  END LOOP;
+  RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT order_schema.ensure_audit_log_partitions(30);
+
 DO $$
 BEGIN
   IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname='svc_order_writer') THEN CREATE ROLE svc_order_writer NOLOGIN; END IF;